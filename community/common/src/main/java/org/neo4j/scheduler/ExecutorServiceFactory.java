@@ -27,6 +27,7 @@ import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
@@ -117,6 +118,30 @@ interface ExecutorServiceFactory {
         };
     }
 
+    /**
+     * Will execute at most thread-count jobs concurrently, by default as many as there are processors, and queue a bounded
+     * number of jobs. Jobs submitted when the queue is full are executed by the submitting thread, which bounds the number of
+     * threads without ever rejecting or discarding a job.
+     * Threads are cached for a little while and reused when possible.
+     */
+    static ExecutorServiceFactory boundedWithCallerRuns() {
+        return (group, factory, threadCount) -> {
+            if (threadCount == 0) {
+                threadCount = getRuntime().availableProcessors();
+            }
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threadCount,
+                    threadCount,
+                    10L,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(threadCount * 4),
+                    factory,
+                    (job, ignored) -> job.run());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        };
+    }
+
     abstract class ExecutorServiceAdapter extends AbstractExecutorService {
         protected final Group group;
         private volatile boolean shutdown;
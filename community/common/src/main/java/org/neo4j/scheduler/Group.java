@@ -63,11 +63,19 @@ public enum Group {
     INDEX_POPULATION_WORK("IndexPopulationWork", ExecutorServiceFactory.cached()),
     /** Background index sampling */
     INDEX_SAMPLING("IndexSampling"),
+    /** Background index compaction */
+    INDEX_COMPACTION("IndexCompaction"),
     /** Background index update applier, for eventually consistent indexes. */
     INDEX_UPDATING(
             "IndexUpdating",
             ExecutorServiceFactory
                     .singleThread()), // Single-threaded to serialise updates with opening/closing/flushing of indexes.
+    /**
+     * Searches partitions of partitioned indexes in parallel, on behalf of the threads querying them.
+     * Bounded by the number of processors so that many concurrent queries can't oversubscribe the machine. When all threads
+     * are busy the querying thread searches the partitions itself.
+     */
+    INDEX_PARTITION_SEARCH("IndexPartitionSearch", ExecutorServiceFactory.boundedWithCallerRuns()),
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER("FileIOHelper"),
     LOG_WRITER("LOG_WRITER"),
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.kernel.api.PropertyIndexQuery.exact;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.kernel.api.IndexReadSession;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.schema.IndexConfig;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+class IncludedPropertiesIndexTransactionStateTest extends KernelAPIWriteTestBase<KernelAPIWriteTestSupport> {
+    private static final String INDEX_NAME = "email including name";
+    private static final Value EMAIL = Values.stringValue("alice@example.com");
+
+    private int label;
+    private int email;
+    private int name;
+
+    @Override
+    public KernelAPIWriteTestSupport newTestSupport() {
+        return new WriteTestSupport();
+    }
+
+    @BeforeEach
+    void createIndex() throws Exception {
+        try (KernelTransaction tx = beginTransaction()) {
+            label = tx.tokenWrite().labelGetOrCreateForName("Person");
+            email = tx.tokenWrite().propertyKeyGetOrCreateForName("email");
+            name = tx.tokenWrite().propertyKeyGetOrCreateForName("name");
+            tx.commit();
+        }
+        try (KernelTransaction tx = beginTransaction()) {
+            tx.schemaWrite()
+                    .indexCreate(IndexPrototype.forSchema(forLabel(label, email))
+                            .withIndexType(IndexType.RANGE)
+                            .withName(INDEX_NAME)
+                            .withIndexConfig(IndexConfig.with(
+                                    IndexDescriptor.INCLUDED_PROPERTIES_SETTING, Values.intArray(new int[] {name}))));
+            tx.commit();
+        }
+        try (Transaction tx = graphDb.beginTx()) {
+            tx.schema().awaitIndexesOnline(2, MINUTES);
+            tx.commit();
+        }
+    }
+
+    @Test
+    void shouldSeeIncludedPropertyChangedInTransaction() throws Exception {
+        long node = createPerson(Values.stringValue("Alice"));
+
+        try (KernelTransaction tx = beginTransaction()) {
+            tx.dataWrite().nodeSetProperty(node, name, Values.stringValue("Alicia"));
+
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.stringValue("Alicia")));
+            tx.commit();
+        }
+
+        try (KernelTransaction tx = beginTransaction()) {
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.stringValue("Alicia")));
+        }
+    }
+
+    @Test
+    void shouldSeeIncludedPropertyAddedInTransaction() throws Exception {
+        long node = createPerson(Values.NO_VALUE);
+
+        try (KernelTransaction tx = beginTransaction()) {
+            tx.dataWrite().nodeSetProperty(node, name, Values.stringValue("Alice"));
+
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.stringValue("Alice")));
+            tx.commit();
+        }
+
+        try (KernelTransaction tx = beginTransaction()) {
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.stringValue("Alice")));
+        }
+    }
+
+    @Test
+    void shouldSeeIncludedPropertyRemovedInTransaction() throws Exception {
+        long node = createPerson(Values.stringValue("Alice"));
+
+        try (KernelTransaction tx = beginTransaction()) {
+            tx.dataWrite().nodeRemoveProperty(node, name);
+
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.NO_VALUE));
+            tx.commit();
+        }
+
+        try (KernelTransaction tx = beginTransaction()) {
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.NO_VALUE));
+        }
+    }
+
+    @Test
+    void shouldSeeIncludedPropertyOfNodeCreatedInTransaction() throws Exception {
+        try (KernelTransaction tx = beginTransaction()) {
+            long node = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeAddLabel(node, label);
+            tx.dataWrite().nodeSetProperty(node, name, Values.stringValue("Alice"));
+            tx.dataWrite().nodeSetProperty(node, email, EMAIL);
+            tx.dataWrite().nodeSetProperty(node, name, Values.stringValue("Alicia"));
+
+            assertThat(seek(tx)).containsExactly(Map.entry(node, Values.stringValue("Alicia")));
+        }
+    }
+
+    @Test
+    void shouldValidateSizeOfIncludedPropertySetInTransaction() throws Exception {
+        long node = createPerson(Values.stringValue("Alice"));
+
+        try (KernelTransaction tx = beginTransaction()) {
+            Value tooLarge = Values.stringValue(RandomStringUtils.randomAlphanumeric(10_000));
+            assertThatThrownBy(() -> tx.dataWrite().nodeSetProperty(node, name, tooLarge))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Property value is too large to index");
+        }
+    }
+
+    private long createPerson(Value nameValue) throws Exception {
+        try (KernelTransaction tx = beginTransaction()) {
+            long node = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeAddLabel(node, label);
+            tx.dataWrite().nodeSetProperty(node, email, EMAIL);
+            if (nameValue != Values.NO_VALUE) {
+                tx.dataWrite().nodeSetProperty(node, name, nameValue);
+            }
+            tx.commit();
+            return node;
+        }
+    }
+
+    private Map<Long, Value> seek(KernelTransaction tx) throws Exception {
+        IndexReadSession session =
+                tx.dataRead().indexReadSession(tx.schemaRead().indexGetForName(INDEX_NAME));
+        Map<Long, Value> hits = new HashMap<>();
+        try (NodeValueIndexCursor cursor =
+                tx.cursors().allocateNodeValueIndexCursor(NULL_CONTEXT, tx.memoryTracker())) {
+            tx.dataRead().nodeIndexSeek(tx.queryContext(), session, cursor, unconstrained(), exact(email, EMAIL));
+            while (cursor.next()) {
+                assertThat(cursor.numberOfIncludedProperties()).isEqualTo(1);
+                assertThat(hits.put(cursor.nodeReference(), cursor.includedPropertyValue(0)))
+                        .as("node %d seen more than once", cursor.nodeReference())
+                        .isNull();
+            }
+        }
+        return hits;
+    }
+}
@@ -36,6 +36,7 @@ import org.neo4j.graphdb.Transaction;
 import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.TokenSet;
 import org.neo4j.internal.kernel.api.exceptions.InvalidTransactionTypeKernelException;
+import org.neo4j.storageengine.api.NodeBatch;
 
 public abstract class NodeCursorTestBase<G extends KernelAPIReadTestSupport> extends KernelAPIReadTestBase<G> {
     private static List<Long> NODE_IDS;
@@ -87,6 +88,31 @@ public abstract class NodeCursorTestBase<G extends KernelAPIReadTestSupport> ext
         assertEquals(NODE_IDS, ids);
     }
 
+    @Test
+    void shouldScanNodesInBatches() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        NodeBatch batch = new NodeBatch(4);
+        try (NodeCursor nodes = cursors.allocateNodeCursor(NULL_CONTEXT)) {
+            // when
+            read.allNodesScan(nodes);
+            while (nodes.nextBatch(batch)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    long id = batch.ids()[i];
+                    ids.add(id);
+                    if (id == barbaz) {
+                        assertEquals(2, batch.labels()[i].length, "labels of barbaz");
+                    } else if (id == bare) {
+                        assertEquals(0, batch.labels()[i].length, "labels of bare");
+                    }
+                }
+            }
+        }
+
+        // then
+        assertEquals(NODE_IDS, ids);
+    }
+
     @Test
     void shouldAccessNodesByReference() {
         // given
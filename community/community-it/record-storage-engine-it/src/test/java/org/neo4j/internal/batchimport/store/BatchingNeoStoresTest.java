@@ -526,6 +526,7 @@ class BatchingNeoStoresTest {
                     databaseLayout,
                     Config.defaults(),
                     pageCache,
+                    scheduler,
                     fileSystem,
                     NullLogProvider.getInstance(),
                     NullLogProvider.getInstance(),
@@ -95,6 +95,7 @@ import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.lock.LockTracer;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.ClosedTransactionMetadata;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.MetadataProvider;
@@ -493,6 +494,7 @@ class NeoStoresTest {
                 databaseLayout,
                 config,
                 pageCache,
+                mock(JobScheduler.class),
                 fs,
                 NullLogProvider.getInstance(),
                 NullLogProvider.getInstance(),
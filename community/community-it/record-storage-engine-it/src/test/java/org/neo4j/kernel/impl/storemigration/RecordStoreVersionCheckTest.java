@@ -33,8 +33,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.eclipse.collections.api.factory.Sets;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.id.DefaultIdGeneratorFactory;
 import org.neo4j.internal.recordstorage.RecordStorageEngineFactory;
@@ -49,8 +52,10 @@ import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.impl.store.MetaDataStore;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
 import org.neo4j.kernel.impl.store.format.RecordFormats;
 import org.neo4j.kernel.impl.store.format.aligned.PageAligned;
+import org.neo4j.kernel.impl.store.format.standard.Standard;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.storageengine.api.StoreId;
@@ -180,6 +185,27 @@ class RecordStoreVersionCheckTest {
         assertThat(result.cause()).hasMessageContaining("Unknown store version 'engine_1-family_1-1.1");
     }
 
+    @ParameterizedTest
+    @MethodSource("formatsToMigrateFrom")
+    void migrationCheckShouldNotAllowMigrationIntoFormatWithInlinedProperties(RecordFormats formatToMigrateFrom) {
+        // given
+        createMetaDataStore(formatToMigrateFrom);
+        RecordStoreVersionCheck storeVersionCheck = new RecordStoreVersionCheck(
+                pageCache, databaseLayout, Config.defaults(include_versions_under_development, true));
+
+        // when
+        StoreVersionCheck.MigrationCheckResult result = storeVersionCheck.getAndCheckMigrationTargetVersion(
+                FormatFamily.ALIGNED_INLINED_PROPERTIES.name(), NULL_CONTEXT);
+
+        // then
+        assertEquals(StoreVersionCheck.MigrationOutcome.UNSUPPORTED_MIGRATION_PATH, result.outcome());
+        assertNull(result.cause());
+    }
+
+    private static Stream<RecordFormats> formatsToMigrateFrom() {
+        return Stream.of(Standard.LATEST_RECORD_FORMATS, PageAligned.LATEST_RECORD_FORMATS);
+    }
+
     @Test
     void tracePageCacheAccessOnMigrationCheck() throws IOException {
         RecordStoreVersionCheck storeVersionCheck = newStoreVersionCheck();
@@ -80,6 +80,15 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Integer> lucene_max_partition_size =
             newBuilder("internal.dbms.lucene.max_partition_size", INT, null).build();
 
+    @Internal
+    @Description("The maximum number of fulltext queries per index for which the top results are cached. "
+            + "Only the results of queries with a limit are cached, and a refresh of the index invalidates them. "
+            + "A value of 0 disables the cache.")
+    public static final Setting<Integer> fulltext_query_result_cache_size = newBuilder(
+                    "internal.dbms.index.fulltext.query_result_cache_size", INT, 1000)
+            .addConstraint(min(0))
+            .build();
+
     @Internal
     @Description("Include additional information in deadlock descriptions.")
     public static final Setting<Boolean> lock_manager_verbose_deadlocks = newBuilder(
@@ -497,6 +506,27 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(min(0))
             .build();
 
+    @Internal
+    @Description("Number of entries read when sampling a range or point index. Instead of reading all entries, "
+            + "the sample is read as chunks of adjacent entries spread over the whole index and the number of unique "
+            + "values is estimated from them. Indexes with less than twice as many entries are read fully, "
+            + "and 0 means that all indexes are read fully.")
+    public static final Setting<Integer> index_sampling_native_sample_size = newBuilder(
+                    "internal.dbms.index_sampling.native_sample_size", INT, 1_000_000)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description(
+            "Interval between background compactions of range, point and token lookup indexes. A compaction merges "
+                    + "under-filled tree nodes left behind after removals, so that their pages can be reused and lookups don't "
+                    + "have to visit more tree levels than needed. Compaction runs while the indexes are being updated, "
+                    + "in batches that give way to checkpoints and index drops. Zero means that indexes are never compacted.")
+    public static final Setting<Duration> index_compaction_interval = newBuilder(
+                    "internal.dbms.index.compaction_interval", DURATION, Duration.ZERO)
+            .addConstraint(min(Duration.ZERO))
+            .build();
+
     @Internal
     @Description("Set the maximum number of concurrent index populations across system. "
             + "This also limit the number of threads used to scan store. "
@@ -668,6 +698,14 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> archive_failed_index =
             newBuilder("internal.dbms.index.archive_failed", BOOL, false).build();
 
+    @Internal
+    @Description("Maintain a Bloom filter for each range and point index, which lets exact lookups of values that "
+            + "aren't in the index skip the index seek. The filter of an index is built when the index is populated, "
+            + "existing indexes get a filter first when they are re-created. A filter which no longer rules out "
+            + "enough values, because the index has grown or had entries removed, is rebuilt at a checkpoint.")
+    public static final Setting<Boolean> index_bloom_filters =
+            newBuilder("internal.dbms.index.bloom_filters", BOOL, false).build();
+
     @Internal
     @Description("Forces smaller ID cache, in order to preserve memory.")
     public static final Setting<Boolean> force_small_id_cache = newBuilder(
@@ -857,6 +895,24 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(max((long) Integer.MAX_VALUE))
             .build();
 
+    @Internal
+    @Description(
+            "Save the state of ongoing index populations on every checkpoint, so that a population interrupted by a restart "
+                    + "continues from where the store scan was at the last checkpoint instead of starting over. "
+                    + "Only applies to non-unique range and point indexes, other indexes are always populated from the start.")
+    public static final Setting<Boolean> index_population_resumable =
+            newBuilder("internal.dbms.index.population_resumable", BOOL, false).build();
+
+    @Internal
+    @Description(
+            "How long a checkpoint waits for ongoing index populations to pause their store scans and save their state. "
+                    + "The populations are asked to save their state at the same time, so this bounds the wait of the checkpoint "
+                    + "regardless of how many populations there are. A population that doesn't manage to save its state in time "
+                    + "will start over if the database is restarted.")
+    public static final Setting<Duration> index_population_checkpoint_timeout = newBuilder(
+                    "internal.dbms.index.population_checkpoint_timeout", DURATION, ofSeconds(30))
+            .build();
+
     @Internal
     @Description("Timeout for configuration command evaluation, per command.")
     public static final Setting<Duration> config_command_evaluation_timeout = newBuilder(
@@ -966,6 +1022,62 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.use_old_token_index_location", BOOL, false)
             .build();
 
+    @Internal
+    @Description("Number of nodes ahead of its current position that a partition of a parallel node scan has a "
+            + "background job look at, to fault in the pages holding the first property records of those nodes "
+            + "before they are read. Set to 0 to not prefetch any property pages.")
+    public static final Setting<Integer> parallel_scan_property_prefetch_distance = newBuilder(
+                    "internal.dbms.parallel_scan.property_prefetch_distance", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Keep packed adjacency lists of the relationships of dense nodes, per type and direction, next to the "
+            + "relationship store. Traversals of dense nodes read them instead of following the relationship chains "
+            + "of the relationship groups. The adjacency lists are built from the store on startup if they're missing, "
+            + "and deleted on startup if this is disabled.")
+    public static final Setting<Boolean> dense_node_adjacency_lists = newBuilder(
+                    "internal.dbms.storage.dense_node_adjacency_lists", BOOL, Boolean.FALSE)
+            .build();
+
+    @Internal
+    @Description("Keep the degrees of all nodes, per relationship type and direction, next to the relationship store. "
+            + "Degrees of sparse nodes for given relationship types are then looked up instead of counted by walking "
+            + "their relationship chains. The degrees are rebuilt from the store on startup if they're missing, "
+            + "and deleted on startup if this is disabled.")
+    public static final Setting<Boolean> sparse_node_degrees = newBuilder(
+                    "internal.dbms.storage.sparse_node_degrees", BOOL, Boolean.FALSE)
+            .build();
+
+    @Internal
+    @Description("Label and property key pairs, each given as 'Label:propertyKey', for which the property values of "
+            + "the nodes with the label are also kept in a column, an array indexed by node id next to the node store. "
+            + "Scans over one such property then read the column instead of the property chain of each node. "
+            + "A column is built from the store on startup if it's missing, and deleted on startup if its pair is no "
+            + "longer listed. Pairs whose label or property key doesn't exist on startup get their column on a later "
+            + "startup.")
+    public static final Setting<List<String>> columnar_node_properties = newBuilder(
+                    "internal.dbms.storage.columnar_node_properties", listOf(STRING), List.of())
+            .build();
+
+    @Internal
+    @Description("The amount of off-heap memory that the property values of a single transaction's state may occupy "
+            + "before the oldest of them are spilled to a temporary file. Only used when db.tx_state.memory_allocation "
+            + "is set to 'OFF_HEAP'. Zero means that property values are never spilled.")
+    public static final Setting<Long> tx_state_off_heap_values_spill_threshold = newBuilder(
+                    "internal.dbms.tx_state.off_heap_values_spill_threshold", BYTES, 0L)
+            .addConstraint(min(0L))
+            .build();
+
+    @Internal
+    @Description(
+            "Keep the pooled node and relationship cursors of a pooled transaction object when a transaction ends, "
+                    + "so that the next transaction using the same transaction object reuses them instead of allocating new "
+                    + "ones. Only has effect for databases where reads don't depend on a per-transaction version context.")
+    public static final Setting<Boolean> reuse_cursors_across_transactions = newBuilder(
+                    "internal.dbms.kernel.reuse_cursors_across_transactions", BOOL, false)
+            .build();
+
     @Description("Whether or not to do parallel index writes during online transaction application")
     @Internal
     public static final Setting<Boolean> parallel_index_updates_apply = newBuilder(
@@ -1027,7 +1139,8 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .build();
 
     @Internal
-    @Description("Multi versioned store transaction chunk size.")
+    @Description("Multi versioned store transaction chunk size. A transaction whose state, on heap and off heap, grows "
+            + "past this size appends its commands so far to the transaction log as a chunk of the same transaction.")
     public static final Setting<Long> multi_version_transaction_chunk_size = newBuilder(
                     "internal.db.multiversion.transaction.chunk.size", BYTES, mebiBytes(10))
             .build();
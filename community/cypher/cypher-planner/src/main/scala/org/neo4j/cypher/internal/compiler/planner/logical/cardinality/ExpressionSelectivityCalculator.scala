@@ -58,6 +58,7 @@ import org.neo4j.cypher.internal.compiler.planner.logical.steps.index.IndexCompa
 import org.neo4j.cypher.internal.expressions.AssertIsNode
 import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
 import org.neo4j.cypher.internal.expressions.Contains
+import org.neo4j.cypher.internal.expressions.DoubleLiteral
 import org.neo4j.cypher.internal.expressions.EndsWith
 import org.neo4j.cypher.internal.expressions.Equals
 import org.neo4j.cypher.internal.expressions.Expression
@@ -65,6 +66,7 @@ import org.neo4j.cypher.internal.expressions.False
 import org.neo4j.cypher.internal.expressions.GreaterThan
 import org.neo4j.cypher.internal.expressions.GreaterThanOrEqual
 import org.neo4j.cypher.internal.expressions.HasLabels
+import org.neo4j.cypher.internal.expressions.IntegerLiteral
 import org.neo4j.cypher.internal.expressions.LabelName
 import org.neo4j.cypher.internal.expressions.LessThan
 import org.neo4j.cypher.internal.expressions.LessThanOrEqual
@@ -85,6 +87,7 @@ import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.EntityType
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.IndexType
+import org.neo4j.cypher.internal.planner.spi.ValueBound
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.InputPosition
 import org.neo4j.cypher.internal.util.LabelId
@@ -432,7 +435,8 @@ case class ExpressionSelectivityCalculator(
             propertyExistsSelectivity <- stats.indexPropertyIsNotNullSelectivity(descriptor)
             propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
           } yield {
-            val pRangeBounded: Selectivity = getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity)
+            val pRangeBounded: Selectivity = histogramRangeSelectivity(seekable, descriptor, propEqValueSelectivity)
+              .getOrElse(getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity))
             pRangeBounded * propertyExistsSelectivity
           }
 
@@ -443,6 +447,50 @@ case class ExpressionSelectivityCalculator(
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+   * Selectivity of a range predicate among the entities having the property, from the value histogram of the index.
+   * Only possible if all bounds are numbers known at planning time.
+   */
+  private def histogramRangeSelectivity(
+    seekable: InequalityRangeSeekable,
+    descriptor: IndexDescriptor,
+    propEqValueSelectivity: Selectivity
+  ): Option[Selectivity] = {
+    val bounds = seekable.expr.inequalities.toIndexedSeq.map { inequality =>
+      numericValue(inequality.rhs).map { value =>
+        inequality match {
+          case _: GreaterThan        => (Some(ValueBound(value, inclusive = false)), None)
+          case _: GreaterThanOrEqual => (Some(ValueBound(value, inclusive = true)), None)
+          case _: LessThan           => (None, Some(ValueBound(value, inclusive = false)))
+          case _: LessThanOrEqual    => (None, Some(ValueBound(value, inclusive = true)))
+        }
+      }
+    }
+    if (bounds.exists(_.isEmpty)) {
+      None
+    } else {
+      stats.indexValueHistogram(descriptor).map { histogram =>
+        // The tightest bounds, where an exclusive bound is tighter than an inclusive one of the same value
+        val lower = bounds.flatMap(_.get._1).reduceOption((a, b) =>
+          if (b.value > a.value || (b.value == a.value && !b.inclusive)) b else a
+        )
+        val upper = bounds.flatMap(_.get._2).reduceOption((a, b) =>
+          if (b.value < a.value || (b.value == a.value && !b.inclusive)) b else a
+        )
+        // A non-empty range never matches fewer entities than a single value does
+        Selectivity(math.max(propEqValueSelectivity.factor, histogram.rangeFraction(lower, upper)))
+      }
+    }
+  }
+
+  private def numericValue(expression: Expression): Option[Double] = expression match {
+    case literal: IntegerLiteral                                  => Some(literal.value.doubleValue())
+    case literal: DoubleLiteral                                   => Some(literal.value.doubleValue())
+    case AutoExtractedParameter(_, _, literal: IntegerLiteral, _) => Some(literal.value.doubleValue())
+    case AutoExtractedParameter(_, _, literal: DoubleLiteral, _)  => Some(literal.value.doubleValue())
+    case _                                                        => None
+  }
+
   private def calculateSelectivityForPointDistanceSeekable(
     seekable: PointDistanceSeekable,
     labelInfo: LabelInfo,
@@ -62,6 +62,7 @@ import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_AL
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_WITH_LABEL_CARDINALITY
 import org.neo4j.cypher.internal.planner.spi.MutableGraphStatisticsSnapshot
 import org.neo4j.cypher.internal.planner.spi.PlanContext
+import org.neo4j.cypher.internal.planner.spi.ValueHistogram
 import org.neo4j.cypher.internal.util.ApproximateSize
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
@@ -293,6 +294,28 @@ abstract class ExpressionSelectivityCalculatorTest extends CypherFunSuite with A
     )
   }
 
+  test("closed (> && <=) range with one label and a value histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(60)),
+      lessThanOrEqual(nProp, literalInt(80))
+    )))
+
+    val stats = new mockStats() {
+      override def indexValueHistogram(index: IndexDescriptor): Option[ValueHistogram] =
+        if (index == indexPersonRange) Some(ValueHistogram(IndexedSeq(0.0, 25.0, 50.0, 75.0, 100.0), 1.0, Seq.empty))
+        else None
+    }
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(
+      personPropIsNotNullSel
+        * (15.0 / 25.0 + 5.0 / 25.0) / 4 // Selectivity for range, from the buckets it overlaps
+        +- 0.00000001
+    )
+  }
+
   test("half-open (>) range with one label, no index") {
     val inequality = nPredicate(nAnded(NonEmptyList(
       greaterThan(nProp, literalInt(3))
@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.spi
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics
+import org.neo4j.cypher.internal.planner.spi.ValueHistogram
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.RelTypeId
@@ -109,6 +110,26 @@ object TransactionBoundGraphStatistics {
           None
       }
 
+    override def indexValueHistogram(index: IndexDescriptor): Option[ValueHistogram] =
+      try {
+        maybeKernelIndexDescriptor(index).flatMap { indexDescriptor =>
+          val histogram = schemaRead.indexSample(indexDescriptor).valueHistogram()
+          if (histogram.isEmpty) {
+            None
+          } else {
+            Some(ValueHistogram(
+              histogram.boundaries().toIndexedSeq,
+              histogram.histogramFraction(),
+              histogram.mostCommonValues().toSeq.zip(histogram.mostCommonValueFractions())
+            ))
+          }
+        }
+      } catch {
+        case e: IndexNotFoundKernelException =>
+          log.debug("Index not found for indexValueHistogram", e)
+          None
+      }
+
     override def nodesAllCardinality(): Cardinality =
       Cardinality(read.countsForNodeWithoutTxState(TokenRead.ANY_LABEL))
 
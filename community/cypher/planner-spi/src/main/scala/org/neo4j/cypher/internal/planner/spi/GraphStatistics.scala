@@ -68,6 +68,13 @@ trait GraphStatistics {
    * indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop IS NOT NULL|
    */
   def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /**
+   * Distribution of the numeric values of the property in a single property index, if the index keeps it
+   *
+   * indexValueHistogram(:X, prop).rangeFraction(lower, upper) = s => |MATCH (a:X) WHERE has(x.prop)| * s = |MATCH (a:X) WHERE lower < x.prop < upper|
+   */
+  def indexValueHistogram(index: IndexDescriptor): Option[ValueHistogram] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -88,5 +95,8 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyIsNotNullSelectivity(index)
 
+  override def indexValueHistogram(index: IndexDescriptor): Option[ValueHistogram] =
+    delegate.indexValueHistogram(index)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 }
@@ -113,4 +113,8 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
 
   override def nodesAllCardinality(): Cardinality =
     snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
+
+  // Histograms change together with the unique value selectivity of the index, which is part of the snapshot anyway
+  override def indexValueHistogram(index: IndexDescriptor): Option[ValueHistogram] =
+    inner.indexValueHistogram(index)
 }
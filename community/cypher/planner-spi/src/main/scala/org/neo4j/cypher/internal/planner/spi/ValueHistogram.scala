@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.planner.spi
+
+/**
+ * Bound of a range of numeric values.
+ */
+case class ValueBound(value: Double, inclusive: Boolean)
+
+/**
+ * Distribution of the numeric values of the property in a single property index, as seen by the last sample of the index.
+ * All fractions are of the index entries, i.e. of the entities having the property.
+ *
+ * @param boundaries ascending boundaries of equi-depth buckets, which together hold `histogramFraction` of the entries.
+ * @param histogramFraction fraction of the entries held by the buckets.
+ * @param mostCommonValues values which are kept out of the buckets, each with the fraction of the entries having it.
+ */
+case class ValueHistogram(
+  boundaries: IndexedSeq[Double],
+  histogramFraction: Double,
+  mostCommonValues: Seq[(Double, Double)]
+) {
+
+  /**
+   * Estimates the fraction of the index entries with a numeric value within the given bounds, where a missing bound
+   * means that the range is unbounded in that direction.
+   * Within a bucket the values are assumed to be uniformly distributed.
+   */
+  def rangeFraction(lower: Option[ValueBound], upper: Option[ValueBound]): Double = {
+    def inRange(value: Double): Boolean =
+      lower.forall(bound => if (bound.inclusive) value >= bound.value else value > bound.value) &&
+        upper.forall(bound => if (bound.inclusive) value <= bound.value else value < bound.value)
+
+    val mostCommonFraction = mostCommonValues.collect { case (value, fraction) if inRange(value) => fraction }.sum
+
+    val buckets = boundaries.size - 1
+    val bucketsFraction =
+      if (buckets < 1) 0.0
+      else {
+        val from = lower.fold(Double.NegativeInfinity)(_.value)
+        val to = upper.fold(Double.PositiveInfinity)(_.value)
+        val coveredBuckets = (0 until buckets).map { i =>
+          val low = boundaries(i)
+          val high = boundaries(i + 1)
+          if (to < low || from > high) 0.0
+          else if (high == low) 1.0
+          else math.max(0.0, math.min(to, high) - math.max(from, low)) / (high - low)
+        }.sum
+        coveredBuckets / buckets
+      }
+
+    math.min(1.0, math.max(0.0, mostCommonFraction + histogramFraction * bucketsFraction))
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.planner.spi
+
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+
+class ValueHistogramTest extends CypherFunSuite {
+
+  // Ages 0 to 100 spread evenly over half of the entries, and a quarter of the entries with age 30
+  private val histogram = ValueHistogram(IndexedSeq(0.0, 25.0, 50.0, 75.0, 100.0), 0.5, Seq(30.0 -> 0.25))
+
+  test("unbounded range should cover all numeric entries") {
+    histogram.rangeFraction(None, None) shouldBe 0.75
+  }
+
+  test("should interpolate within buckets") {
+    histogram.rangeFraction(Some(ValueBound(60.0, inclusive = false)), None) shouldBe 0.2 +- 0.0001
+    histogram.rangeFraction(None, Some(ValueBound(12.5, inclusive = true))) shouldBe 0.0625 +- 0.0001
+  }
+
+  test("should include most common values within bounds") {
+    val upTo30 = histogram.rangeFraction(None, Some(ValueBound(30.0, inclusive = true)))
+    val below30 = histogram.rangeFraction(None, Some(ValueBound(30.0, inclusive = false)))
+    upTo30 - below30 shouldBe 0.25 +- 0.0001
+  }
+
+  test("range outside of the values should be empty") {
+    histogram.rangeFraction(Some(ValueBound(100.0, inclusive = false)), None) shouldBe 0.0
+    histogram.rangeFraction(
+      Some(ValueBound(60.0, inclusive = true)),
+      Some(ValueBound(40.0, inclusive = true))
+    ) shouldBe 0.0
+  }
+}
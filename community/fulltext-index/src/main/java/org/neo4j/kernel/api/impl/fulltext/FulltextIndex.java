@@ -25,6 +25,7 @@ import java.nio.file.Path;
 import java.util.List;
 import org.apache.lucene.analysis.Analyzer;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.impl.index.AbstractLuceneIndex;
 import org.neo4j.kernel.api.impl.index.SearcherReference;
@@ -40,6 +41,7 @@ public class FulltextIndex extends AbstractLuceneIndex<FulltextIndexReader> impl
     private final String[] propertyNames;
     private final Path transactionsFolder;
     private final IndexDescriptor descriptor;
+    private final FulltextQueryResultCache resultCache;
 
     FulltextIndex(
             PartitionedIndexStorage storage,
@@ -55,6 +57,8 @@ public class FulltextIndex extends AbstractLuceneIndex<FulltextIndexReader> impl
         this.analyzer = analyzer;
         this.propertyNames = propertyNames;
         this.propertyKeyTokenHolder = propertyKeyTokenHolder;
+        this.resultCache = new FulltextQueryResultCache(
+                config.get(GraphDatabaseInternalSettings.fulltext_query_result_cache_size));
         Path indexFolder = storage.getIndexFolder();
         transactionsFolder = indexFolder.resolve(indexFolder.getFileName() + ".tx");
     }
@@ -85,6 +89,6 @@ public class FulltextIndex extends AbstractLuceneIndex<FulltextIndexReader> impl
     protected FulltextIndexReader createPartitionedReader(List<AbstractIndexPartition> partitions) throws IOException {
         List<SearcherReference> searchers = acquireSearchers(partitions);
         return new FulltextIndexReader(
-                searchers, propertyKeyTokenHolder, getDescriptor(), config, analyzer, propertyNames);
+                searchers, propertyKeyTokenHolder, getDescriptor(), config, analyzer, propertyNames, resultCache);
     }
 }
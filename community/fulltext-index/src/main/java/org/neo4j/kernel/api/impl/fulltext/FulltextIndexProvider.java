@@ -115,6 +115,7 @@ public class FulltextIndexProvider extends IndexProvider {
             DirectoryFactory directoryFactory,
             DatabaseReadOnlyChecker readOnlyChecker,
             JobScheduler scheduler,
+            IndexUpdateSink.Monitor indexUpdateSinkMonitor,
             InternalLog log) {
         super(descriptor, directoryStructureFactory);
         this.fileSystem = fileSystem;
@@ -126,7 +127,9 @@ public class FulltextIndexProvider extends IndexProvider {
         defaultAnalyzerName = config.get(FulltextSettings.fulltext_default_analyzer);
         defaultEventuallyConsistentSetting = config.get(FulltextSettings.eventually_consistent);
         indexUpdateSink = new IndexUpdateSink(
-                scheduler, config.get(FulltextSettings.eventually_consistent_index_update_queue_max_length));
+                scheduler,
+                config.get(FulltextSettings.eventually_consistent_index_update_queue_max_length),
+                indexUpdateSinkMonitor);
         indexStorageFactory = buildIndexStorageFactory(fileSystem, directoryFactory, directoryStructure());
     }
 
@@ -63,6 +63,7 @@ public class FulltextIndexReader implements ValueIndexReader {
     private final Analyzer analyzer;
     private final String[] propertyNames;
     private final FulltextIndexTransactionState transactionState;
+    private final FulltextQueryResultCache resultCache;
 
     FulltextIndexReader(
             List<SearcherReference> searchers,
@@ -70,8 +71,10 @@ public class FulltextIndexReader implements ValueIndexReader {
             IndexDescriptor descriptor,
             Config config,
             Analyzer analyzer,
-            String[] propertyNames) {
+            String[] propertyNames,
+            FulltextQueryResultCache resultCache) {
         this.searchers = searchers;
+        this.resultCache = resultCache;
         this.propertyKeyTokenHolder = propertyKeyTokenHolder;
         this.index = descriptor;
         this.analyzer = analyzer;
@@ -93,10 +96,14 @@ public class FulltextIndexReader implements ValueIndexReader {
             PropertyIndexQuery... queries)
             throws IndexNotApplicableKernelException {
         BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
+        List<String> queryStrings = new ArrayList<>(queries.length);
+        List<String> queryAnalyzers = new ArrayList<>(queries.length);
         for (PropertyIndexQuery indexQuery : queries) {
             if (indexQuery.type() == IndexQueryType.FULLTEXT_SEARCH) {
                 PropertyIndexQuery.FulltextSearchPredicate fulltextSearch =
                         (PropertyIndexQuery.FulltextSearchPredicate) indexQuery;
+                queryStrings.add(fulltextSearch.query());
+                queryAnalyzers.add(fulltextSearch.queryAnalyzer());
                 try {
                     queryBuilder.add(
                             parseFulltextQuery(fulltextSearch.query(), fulltextSearch.queryAnalyzer()),
@@ -111,8 +118,9 @@ public class FulltextIndexReader implements ValueIndexReader {
             }
         }
         Query query = queryBuilder.build();
+        FulltextQueryResultCache.Key cacheKey = resultCache.key(queryStrings, queryAnalyzers, resultLimit(constraints));
         ValuesIterator itr =
-                searchLucene(query, constraints, context, context.cursorContext(), context.memoryTracker());
+                searchLucene(query, cacheKey, constraints, context, context.cursorContext(), context.memoryTracker());
         IndexProgressor progressor = new FulltextIndexProgressor(itr, client, constraints);
         client.initialize(index, progressor, accessMode, true, false, constraints, queries);
     }
@@ -171,11 +179,24 @@ public class FulltextIndexReader implements ValueIndexReader {
 
     private ValuesIterator searchLucene(
             Query query,
+            FulltextQueryResultCache.Key cacheKey,
             IndexQueryConstraints constraints,
             QueryContext context,
             CursorContext cursorContext,
             MemoryTracker memoryTracker) {
         try {
+            boolean includeTransactionState =
+                    context.getTransactionStateOrNull() != null && !isEventuallyConsistent(index);
+            // Results that include transaction state are only valid for that transaction, so they are never cached
+            long[] generation =
+                    includeTransactionState || cacheKey == null ? null : FulltextQueryResultCache.generation(searchers);
+            if (generation != null) {
+                ValuesIterator cached = resultCache.get(generation, cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
             // We are replicating the behaviour of IndexSearcher.search(Query, Collector), which starts out by
             // re-writing the query,
             // then creates a weight based on the query and index reader context, and then we finally search the leaf
@@ -185,8 +206,6 @@ public class FulltextIndexReader implements ValueIndexReader {
             // queries), so it's fine
             // that we only rewrite the query once with the first searcher in our partition list.
             query = searchers.get(0).getIndexSearcher().rewrite(query);
-            boolean includeTransactionState =
-                    context.getTransactionStateOrNull() != null && !isEventuallyConsistent(index);
             // If we have transaction state, then we need to make our result collector filter out all results touched by
             // the transaction state.
             // The reason we filter them out entirely, is that we will query the transaction state separately.
@@ -211,12 +230,23 @@ public class FulltextIndexReader implements ValueIndexReader {
                 results.add(search.search(query, constraints, statsCollector));
             }
 
-            return ScoreEntityIterator.mergeIterators(results);
+            ValuesIterator merged = ScoreEntityIterator.mergeIterators(results);
+            return generation != null ? resultCache.put(generation, cacheKey, merged) : merged;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @return the number of results needed to satisfy the limit and skip of the constraints, or 0 if there's no limit.
+     */
+    private static long resultLimit(IndexQueryConstraints constraints) {
+        if (constraints.limit().isEmpty()) {
+            return 0;
+        }
+        return constraints.limit().getAsLong() + constraints.skip().orElse(0);
+    }
+
     private String getPropertyKeyName(int propertyKey) throws TokenNotFoundException {
         return propertyKeyTokenHolder.getTokenById(propertyKey).name();
     }
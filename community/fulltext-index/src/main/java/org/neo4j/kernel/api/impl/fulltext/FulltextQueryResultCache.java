@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.neo4j.internal.helpers.collection.LfuCache;
+import org.neo4j.kernel.api.impl.index.SearcherReference;
+import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
+
+/**
+ * Caches the top results of fulltext queries with a limit, so that popular queries don't need to be scored by Lucene over and
+ * over again. The results are keyed by the query strings, their analyzers and the limit, and belong to a generation of the
+ * index, which is the versions of the Lucene readers of all index partitions. Refreshing the index opens new readers, so any
+ * refresh invalidates all cached results; they are cleared when the first result of a newer generation is cached.
+ * <p>
+ * Results are only cached for searches that don't include transaction state.
+ */
+class FulltextQueryResultCache {
+    /**
+     * Results of queries with a greater limit, including skip, are not cached.
+     */
+    static final long MAX_CACHED_RESULTS = 1_000;
+
+    private final LfuCache<Key, Result> cache;
+    // Guarded by this
+    private long[] currentGeneration;
+
+    FulltextQueryResultCache(int maxCachedQueries) {
+        this.cache = maxCachedQueries > 0 ? new LfuCache<>("Fulltext query results", maxCachedQueries) : null;
+    }
+
+    /**
+     * @return the key of the results of a search with the given query strings, query analyzers and limit, or {@code null}
+     * if its results shouldn't be cached.
+     */
+    Key key(List<String> queries, List<String> queryAnalyzers, long limit) {
+        if (cache == null || limit <= 0 || limit > MAX_CACHED_RESULTS) {
+            return null;
+        }
+        return new Key(queries, queryAnalyzers, limit);
+    }
+
+    /**
+     * @return the generation of the index that is searched by the given searchers, or {@code null} if it can't be told.
+     */
+    static long[] generation(List<SearcherReference> searchers) {
+        long[] versions = new long[searchers.size()];
+        for (int i = 0; i < versions.length; i++) {
+            IndexReader reader = searchers.get(i).getIndexSearcher().getIndexReader();
+            if (!(reader instanceof DirectoryReader directoryReader)) {
+                return null;
+            }
+            versions[i] = directoryReader.getVersion();
+        }
+        return versions;
+    }
+
+    /**
+     * @return an iterator over the cached results for the key in the given generation of the index, or {@code null} if there are
+     * none.
+     */
+    ValuesIterator get(long[] generation, Key key) {
+        Result result = cache.get(key);
+        if (result == null || !Arrays.equals(result.generation, generation)) {
+            return null;
+        }
+        return new ResultIterator(result);
+    }
+
+    /**
+     * Caches up to {@link Key#limit} results from the iterator, and returns an iterator over the same results.
+     */
+    ValuesIterator put(long[] generation, Key key, ValuesIterator results) {
+        int size = (int) key.limit;
+        long[] entityIds = new long[size];
+        float[] scores = new float[size];
+        int count = 0;
+        while (count < size && results.hasNext()) {
+            entityIds[count] = results.next();
+            scores[count] = results.currentScore();
+            count++;
+        }
+        Result result = new Result(generation, Arrays.copyOf(entityIds, count), Arrays.copyOf(scores, count));
+
+        synchronized (this) {
+            if (currentGeneration == null || isNewer(generation, currentGeneration)) {
+                cache.clear();
+                currentGeneration = generation;
+            }
+            if (Arrays.equals(generation, currentGeneration)) {
+                cache.put(key, result);
+            }
+        }
+        return new ResultIterator(result);
+    }
+
+    /**
+     * Partitions are only ever added to an index, and the version of a reader grows with every change to its partition.
+     */
+    private static boolean isNewer(long[] generation, long[] than) {
+        if (generation.length != than.length) {
+            return generation.length > than.length;
+        }
+        boolean newer = false;
+        for (int i = 0; i < generation.length; i++) {
+            if (generation[i] < than[i]) {
+                return false;
+            }
+            newer |= generation[i] > than[i];
+        }
+        return newer;
+    }
+
+    record Key(List<String> queries, List<String> queryAnalyzers, long limit) {}
+
+    private record Result(long[] generation, long[] entityIds, float[] scores) {}
+
+    private static class ResultIterator implements ValuesIterator {
+        private final Result result;
+        private int index = -1;
+
+        ResultIterator(Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public int remaining() {
+            return 0; // Not used.
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < result.entityIds.length - 1;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            index++;
+            return current();
+        }
+
+        @Override
+        public long current() {
+            return result.entityIds[index];
+        }
+
+        @Override
+        public float currentScore() {
+            return result.scores[index];
+        }
+    }
+}
@@ -21,7 +21,16 @@ package org.neo4j.kernel.api.impl.fulltext;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.internal.schema.SchemaDescriptorSupplier;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
 import org.neo4j.kernel.api.index.IndexReader;
@@ -30,43 +39,99 @@ import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
-import org.neo4j.util.concurrent.BinaryLatch;
+import org.neo4j.storageengine.api.UpdateMode;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
 
 /**
  * A sink for index updates that will eventually be applied.
+ * <p>
+ * Updates are queued per index and applied in batches by at most one job per index at a time, so updates to an index are
+ * applied in the order they were queued, while different indexes are updated in parallel. Updates to the same entity that
+ * are queued before the batch holding them is applied are coalesced into one, so an entity that is updated by many
+ * transactions in a short time only has its document replaced once. The updaters are closed after the batch holding their
+ * updates is applied, which means that the index is refreshed once per batch rather than once per transaction.
+ * <p>
+ * The number of queued updates is bounded, and {@link #enqueueUpdate(DatabaseIndex, IndexUpdater, IndexEntryUpdate)}
+ * blocks while the queue is full.
  */
 public class IndexUpdateSink {
     private final JobScheduler scheduler;
+    private final int updateQueueMaxLength;
     private final Semaphore updateQueueLimit;
+    private final Monitor monitor;
+    private final Map<DatabaseIndex<? extends IndexReader>, PendingUpdates> pendingUpdates = new ConcurrentHashMap<>();
 
-    IndexUpdateSink(JobScheduler scheduler, int eventuallyConsistentUpdateQueueLimit) {
+    IndexUpdateSink(JobScheduler scheduler, int eventuallyConsistentUpdateQueueLimit, Monitor monitor) {
         this.scheduler = scheduler;
-        updateQueueLimit = new Semaphore(eventuallyConsistentUpdateQueueLimit);
+        this.updateQueueMaxLength = eventuallyConsistentUpdateQueueLimit;
+        this.updateQueueLimit = new Semaphore(eventuallyConsistentUpdateQueueLimit);
+        this.monitor = monitor;
     }
 
     public void enqueueUpdate(
             DatabaseIndex<? extends IndexReader> index, IndexUpdater indexUpdater, IndexEntryUpdate<?> update) {
+        ValueIndexEntryUpdate<?> valueUpdate = indexUpdater.asValueUpdate(update);
+        if (valueUpdate == null) {
+            // Ignored by the index
+            return;
+        }
+        if (update(index, false, pending -> pending.coalesce(indexUpdater, valueUpdate))) {
+            // Coalesced with an already queued update of the same entity, which doesn't need room in the queue
+            return;
+        }
+
         updateQueueLimit.acquireUninterruptibly();
-        Runnable eventualUpdate = () -> {
-            try {
-                indexUpdater.process(update);
-            } catch (IndexEntryConflictException e) {
-                markAsFailed(index, e);
-            } finally {
+        try {
+            if (!update(index, true, pending -> pending.add(indexUpdater, valueUpdate))) {
+                // Coalesced with an already queued update of the same entity, so the queue didn't grow
                 updateQueueLimit.release();
             }
-        };
-
-        try {
-            var monitoringParams = JobMonitoringParams.systemJob(
-                    "Background update of index '" + index.getDescriptor().getName() + "'");
-            scheduler.schedule(Group.INDEX_UPDATING, monitoringParams, eventualUpdate);
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             updateQueueLimit.release(); // Avoid leaking permits if job scheduling fails.
             throw e;
         }
     }
 
+    public void closeUpdater(DatabaseIndex<? extends IndexReader> index, IndexUpdater indexUpdater) {
+        update(index, true, pending -> pending.close(indexUpdater));
+    }
+
+    /**
+     * Waits until all updates queued, and all updaters closed, before this call have been applied.
+     */
+    public void awaitUpdateApplication() {
+        for (PendingUpdates updates : pendingUpdates.values()) {
+            updates.awaitApplied();
+        }
+    }
+
+    /**
+     * @return the number of queued updates, after coalescing, which have not yet been applied to their index.
+     */
+    public int pendingUpdates() {
+        return updateQueueMaxLength - updateQueueLimit.availablePermits();
+    }
+
+    /**
+     * Updates the pending updates of an index while holding the lock of its entry in the map, so that it can't be removed
+     * from the map concurrently by {@link PendingUpdates#finishBatch()}.
+     */
+    private boolean update(
+            DatabaseIndex<? extends IndexReader> index, boolean create, Predicate<PendingUpdates> update) {
+        boolean[] result = new boolean[1];
+        pendingUpdates.compute(index, (key, pending) -> {
+            if (pending == null) {
+                if (!create) {
+                    return null;
+                }
+                pending = new PendingUpdates(key);
+            }
+            result[0] = update.test(pending);
+            return pending;
+        });
+        return result[0];
+    }
+
     private static void markAsFailed(DatabaseIndex<? extends IndexReader> index, IndexEntryConflictException conflict) {
         try {
             index.markAsFailed(conflict.getMessage());
@@ -76,21 +141,208 @@ public class IndexUpdateSink {
         }
     }
 
-    public void closeUpdater(DatabaseIndex<? extends IndexReader> index, IndexUpdater indexUpdater) {
-        var monitoringParams = JobMonitoringParams.systemJob(
-                "Closing of an updater for index '" + index.getDescriptor().getName() + "'");
-        scheduler.schedule(Group.INDEX_UPDATING, monitoringParams, () -> {
+    /**
+     * Merges two updates of the same entity into one, which has the same effect on the index as applying them in order.
+     * A document is replaced rather than added unless the entity is removed, since it isn't known whether or not the
+     * entity has a document by the time the update is applied.
+     */
+    private static <KEY extends SchemaDescriptorSupplier> ValueIndexEntryUpdate<KEY> coalescedUpdate(
+            ValueIndexEntryUpdate<KEY> previous, ValueIndexEntryUpdate<?> next) {
+        if (next.updateMode() == UpdateMode.REMOVED) {
+            return IndexEntryUpdate.remove(next.getEntityId(), previous.indexKey(), next.values());
+        }
+        var before = previous.updateMode() == UpdateMode.CHANGED ? previous.beforeValues() : previous.values();
+        return IndexEntryUpdate.change(next.getEntityId(), previous.indexKey(), before, next.values());
+    }
+
+    private record PendingUpdate(IndexUpdater updater, ValueIndexEntryUpdate<?> update) {}
+
+    private final class PendingUpdates {
+        private final DatabaseIndex<? extends IndexReader> index;
+        // All guarded by this
+        private LinkedHashMap<Long, PendingUpdate> updates = new LinkedHashMap<>();
+        private List<IndexUpdater> closedUpdaters = new ArrayList<>();
+        private long oldestQueuedNanos;
+        private boolean applying;
+        // Sequence numbers of the last queued update or closed updater, and of the last applied one
+        private long queued;
+        private long applied;
+
+        PendingUpdates(DatabaseIndex<? extends IndexReader> index) {
+            this.index = index;
+        }
+
+        /**
+         * @return {@code true} if the update was queued as a new entry, or {@code false} if it was coalesced with an
+         * already queued update of the same entity.
+         */
+        synchronized boolean add(IndexUpdater updater, ValueIndexEntryUpdate<?> update) {
+            if (coalesce(updater, update)) {
+                return false;
+            }
+            markQueued();
+            updates.put(update.getEntityId(), new PendingUpdate(updater, update));
+            queued++;
+            return true;
+        }
+
+        /**
+         * @return {@code true} if the update was coalesced with an already queued update of the same entity.
+         */
+        synchronized boolean coalesce(IndexUpdater updater, ValueIndexEntryUpdate<?> update) {
+            PendingUpdate previous = updates.get(update.getEntityId());
+            if (previous == null) {
+                return false;
+            }
+            // The latest updater applies the update, since it's closed after the updater of the previous one
+            updates.put(update.getEntityId(), new PendingUpdate(updater, coalescedUpdate(previous.update(), update)));
+            queued++;
+            return true;
+        }
+
+        synchronized boolean close(IndexUpdater updater) {
+            markQueued();
+            closedUpdaters.add(updater);
+            queued++;
+            return true;
+        }
+
+        synchronized void awaitApplied() {
+            long target = queued;
+            boolean interrupted = false;
+            while (applied < target) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void markQueued() {
+            if (updates.isEmpty() && closedUpdaters.isEmpty()) {
+                oldestQueuedNanos = System.nanoTime();
+                if (!applying) {
+                    scheduleBatch();
+                    applying = true;
+                }
+            }
+        }
+
+        private void scheduleBatch() {
+            var monitoringParams = JobMonitoringParams.systemJob(
+                    "Background update of index '" + index.getDescriptor().getName() + "'");
+            scheduler.schedule(Group.INDEX_UPDATING, monitoringParams, this::applyBatch);
+        }
+
+        private void applyBatch() {
+            LinkedHashMap<Long, PendingUpdate> batch;
+            List<IndexUpdater> updatersToClose;
+            long queuedNanos;
+            long batchEnd;
+            synchronized (this) {
+                batch = updates;
+                updatersToClose = closedUpdaters;
+                queuedNanos = oldestQueuedNanos;
+                batchEnd = queued;
+                updates = new LinkedHashMap<>();
+                closedUpdaters = new ArrayList<>();
+            }
+
             try {
-                indexUpdater.close();
-            } catch (IndexEntryConflictException e) {
-                markAsFailed(index, e);
+                apply(batch, updatersToClose);
+                monitor.updatesApplied(
+                        index.getDescriptor().getName(),
+                        batch.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedNanos));
+            } finally {
+                updateQueueLimit.release(batch.size());
+                synchronized (this) {
+                    applied = batchEnd;
+                    notifyAll();
+                }
+                finishBatch();
             }
-        });
+        }
+
+        /**
+         * Applies the updates one at a time, so that a failing update doesn't keep the rest of the batch from being applied,
+         * and then closes all the updaters, also when applying the updates failed. Failures other than conflicts, which
+         * mark the index as failed, are thrown when the whole batch has been handled.
+         */
+        private void apply(Map<Long, PendingUpdate> batch, List<IndexUpdater> updatersToClose) {
+            RuntimeException failure = null;
+            try {
+                for (PendingUpdate pending : batch.values()) {
+                    try {
+                        pending.updater().process(pending.update());
+                    } catch (IndexEntryConflictException e) {
+                        failure = markAsFailed(e, failure);
+                    } catch (RuntimeException e) {
+                        failure = Exceptions.chain(failure, e);
+                    }
+                }
+            } finally {
+                // Closing the updaters refreshes the index, which only does any work for the first of them
+                for (IndexUpdater updater : updatersToClose) {
+                    try {
+                        updater.close();
+                    } catch (IndexEntryConflictException e) {
+                        failure = markAsFailed(e, failure);
+                    } catch (RuntimeException e) {
+                        failure = Exceptions.chain(failure, e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private RuntimeException markAsFailed(IndexEntryConflictException conflict, RuntimeException failure) {
+            try {
+                IndexUpdateSink.markAsFailed(index, conflict);
+                return failure;
+            } catch (RuntimeException e) {
+                return Exceptions.chain(failure, e);
+            }
+        }
+
+        /**
+         * Schedules the next batch if more was queued while applying this one, or otherwise removes these pending updates
+         * from the map, so that nothing is kept for indexes that are no longer updated.
+         */
+        private void finishBatch() {
+            pendingUpdates.computeIfPresent(index, (key, pending) -> {
+                synchronized (this) {
+                    if (updates.isEmpty() && closedUpdaters.isEmpty()) {
+                        applying = false;
+                        return null;
+                    }
+                    scheduleBatch();
+                    return this;
+                }
+            });
+        }
     }
 
-    public void awaitUpdateApplication() {
-        BinaryLatch updateLatch = new BinaryLatch();
-        scheduler.schedule(Group.INDEX_UPDATING, JobMonitoringParams.NOT_MONITORED, updateLatch::release);
-        updateLatch.await();
+    public interface Monitor {
+        /**
+         * Called after a batch of queued updates has been applied to an index.
+         *
+         * @param indexName name of the updated index.
+         * @param updates number of updates in the batch, after coalescing updates of the same entity.
+         * @param lagMillis time from when the first update of the batch was queued until the batch was applied.
+         */
+        void updatesApplied(String indexName, int updates, long lagMillis);
+
+        class Adapter implements Monitor {
+            @Override
+            public void updatesApplied(String indexName, int updates, long lagMillis) { // no-op
+            }
+        }
     }
 }
@@ -31,7 +31,7 @@ public class NullIndexUpdateSink extends IndexUpdateSink {
     public static final NullIndexUpdateSink INSTANCE = new NullIndexUpdateSink();
 
     private NullIndexUpdateSink() {
-        super(null, 0);
+        super(null, 0, new Monitor.Adapter());
     }
 
     @Override
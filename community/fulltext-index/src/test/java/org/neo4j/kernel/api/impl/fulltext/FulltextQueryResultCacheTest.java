@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
+
+class FulltextQueryResultCacheTest {
+    private final FulltextQueryResultCache cache = new FulltextQueryResultCache(10);
+
+    @Test
+    void shouldOnlyCacheResultsOfQueriesWithLimit() {
+        assertThat(key("a", 0)).isNull();
+        assertThat(key("a", FulltextQueryResultCache.MAX_CACHED_RESULTS + 1)).isNull();
+        assertThat(key("a", FulltextQueryResultCache.MAX_CACHED_RESULTS)).isNotNull();
+        assertThat(new FulltextQueryResultCache(0).key(List.of("a"), Arrays.asList((String) null), 10))
+                .isNull();
+    }
+
+    @Test
+    void shouldReturnCachedTopResultsOfSameQueryInSameGeneration() {
+        // given
+        long[] generation = {3, 5};
+        FulltextQueryResultCache.Key key = key("a", 2);
+        ValuesIterator searched = cache.put(generation, key, results());
+
+        // when
+        ValuesIterator cached = cache.get(new long[] {3, 5}, key("a", 2));
+
+        // then
+        assertThat(toList(searched)).containsExactly("1:3.0", "2:2.0");
+        assertThat(toList(cached)).containsExactly("1:3.0", "2:2.0");
+        assertThat(cache.get(generation, key("b", 2))).isNull();
+        assertThat(cache.get(generation, key("a", 3))).isNull();
+        assertThat(cache.get(generation, new FulltextQueryResultCache.Key(List.of("a"), List.of("english"), 2)))
+                .isNull();
+    }
+
+    @Test
+    void shouldInvalidateResultsOfEarlierGeneration() {
+        // given
+        cache.put(new long[] {3, 5}, key("a", 2), results());
+        cache.put(new long[] {3, 5}, key("b", 2), results());
+
+        // when
+        cache.put(new long[] {3, 6}, key("b", 2), results());
+
+        // then
+        assertThat(cache.get(new long[] {3, 5}, key("a", 2))).isNull();
+        assertThat(cache.get(new long[] {3, 6}, key("a", 2))).isNull();
+        assertThat(cache.get(new long[] {3, 5}, key("b", 2))).isNull();
+        assertThat(cache.get(new long[] {3, 6}, key("b", 2))).isNotNull();
+    }
+
+    @Test
+    void shouldNotCacheResultsOfOlderGeneration() {
+        // given
+        cache.put(new long[] {3, 6}, key("a", 2), results());
+
+        // when
+        ValuesIterator searched = cache.put(new long[] {3, 5}, key("b", 2), results());
+
+        // then
+        assertThat(toList(searched)).containsExactly("1:3.0", "2:2.0");
+        assertThat(cache.get(new long[] {3, 5}, key("b", 2))).isNull();
+        assertThat(cache.get(new long[] {3, 6}, key("a", 2))).isNotNull();
+    }
+
+    private FulltextQueryResultCache.Key key(String query, long limit) {
+        return cache.key(List.of(query), Arrays.asList((String) null), limit);
+    }
+
+    private static ValuesIterator results() {
+        return new StubValuesIterator().add(1, 3f).add(2, 2f).add(3, 1f);
+    }
+
+    private static List<String> toList(ValuesIterator iterator) {
+        List<String> results = new ArrayList<>();
+        while (iterator.hasNext()) {
+            long entityId = iterator.next();
+            results.add(entityId + ":" + iterator.currentScore());
+        }
+        return results;
+    }
+}
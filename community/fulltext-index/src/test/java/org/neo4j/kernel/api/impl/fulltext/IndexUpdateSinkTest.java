@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.fulltext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.common.EntityType;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.kernel.api.index.IndexReader;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.test.OnDemandJobScheduler;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+class IndexUpdateSinkTest {
+    private static final IndexDescriptor DESCRIPTOR = forSchema(fulltext(EntityType.NODE, new int[] {1}, new int[] {2}))
+            .withName("index")
+            .materialise(1);
+
+    private final OnDemandJobScheduler scheduler = new OnDemandJobScheduler();
+    private final List<String> appliedBatches = new ArrayList<>();
+    private final IndexUpdateSink sink = new IndexUpdateSink(scheduler, 10, new IndexUpdateSink.Monitor.Adapter() {
+        @Override
+        public void updatesApplied(String indexName, int updates, long lagMillis) {
+            appliedBatches.add(indexName + ":" + updates);
+        }
+    });
+    private DatabaseIndex<? extends IndexReader> index;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseIndex<?> databaseIndex = mock(DatabaseIndex.class);
+        when(databaseIndex.getDescriptor()).thenReturn(DESCRIPTOR);
+        index = databaseIndex;
+    }
+
+    @Test
+    void shouldCoalesceQueuedUpdatesOfSameEntity() {
+        // given
+        RecordingUpdater first = new RecordingUpdater();
+        RecordingUpdater second = new RecordingUpdater();
+        sink.enqueueUpdate(index, first, IndexEntryUpdate.add(1, DESCRIPTOR, value("a")));
+        sink.enqueueUpdate(index, first, IndexEntryUpdate.add(2, DESCRIPTOR, value("x")));
+        sink.closeUpdater(index, first);
+        sink.enqueueUpdate(index, second, IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b")));
+        sink.enqueueUpdate(index, second, IndexEntryUpdate.remove(2, DESCRIPTOR, value("x")));
+        sink.enqueueUpdate(index, second, IndexEntryUpdate.add(3, DESCRIPTOR, value("y")));
+        sink.closeUpdater(index, second);
+        assertThat(sink.pendingUpdates()).isEqualTo(3);
+
+        // when
+        scheduler.runJob();
+
+        // then
+        assertThat(first.processed).isEmpty();
+        assertThat(second.processed)
+                .containsExactly(
+                        IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b")),
+                        IndexEntryUpdate.remove(2, DESCRIPTOR, value("x")),
+                        IndexEntryUpdate.add(3, DESCRIPTOR, value("y")));
+        assertThat(first.closed).isTrue();
+        assertThat(second.closed).isTrue();
+        assertThat(sink.pendingUpdates()).isZero();
+        assertThat(appliedBatches).containsExactly("index:3");
+        assertThat(scheduler.getJob()).isNull();
+    }
+
+    @Test
+    void shouldReplaceDocumentOfEntityRemovedAndAddedAgain() {
+        // given
+        RecordingUpdater updater = new RecordingUpdater();
+        sink.enqueueUpdate(index, updater, IndexEntryUpdate.remove(1, DESCRIPTOR, value("a")));
+        sink.enqueueUpdate(index, updater, IndexEntryUpdate.add(1, DESCRIPTOR, value("b")));
+
+        // when
+        scheduler.runJob();
+
+        // then
+        assertThat(updater.processed).containsExactly(IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b")));
+    }
+
+    @Test
+    void shouldApplyUpdatesQueuedWhileApplyingInNextBatch() {
+        // given
+        RecordingUpdater updater = new RecordingUpdater();
+        updater.onProcess = update -> {
+            if (update.getEntityId() == 1) {
+                sink.enqueueUpdate(index, updater, IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b")));
+                sink.closeUpdater(index, updater);
+            }
+        };
+        sink.enqueueUpdate(index, updater, IndexEntryUpdate.add(1, DESCRIPTOR, value("a")));
+
+        // when
+        scheduler.runJob();
+
+        // then
+        assertThat(updater.processed).containsExactly(IndexEntryUpdate.add(1, DESCRIPTOR, value("a")));
+        assertThat(updater.closed).isFalse();
+        assertThat(sink.pendingUpdates()).isOne();
+
+        // when
+        updater.onProcess = update -> {};
+        scheduler.runJob();
+
+        // then
+        assertThat(updater.processed)
+                .containsExactly(
+                        IndexEntryUpdate.add(1, DESCRIPTOR, value("a")),
+                        IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b")));
+        assertThat(updater.closed).isTrue();
+        assertThat(appliedBatches).containsExactly("index:1", "index:1");
+        assertThat(scheduler.getJob()).isNull();
+    }
+
+    @Test
+    void shouldNotNeedQueueCapacityForCoalescedUpdates() {
+        // given
+        IndexUpdateSink sink = new IndexUpdateSink(scheduler, 1, new IndexUpdateSink.Monitor.Adapter());
+        RecordingUpdater updater = new RecordingUpdater();
+        sink.enqueueUpdate(index, updater, IndexEntryUpdate.add(1, DESCRIPTOR, value("a")));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            sink.enqueueUpdate(index, updater, IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b" + i)));
+        }
+        scheduler.runJob();
+
+        // then
+        assertThat(updater.processed).containsExactly(IndexEntryUpdate.change(1, DESCRIPTOR, value("a"), value("b9")));
+        assertThat(sink.pendingUpdates()).isZero();
+    }
+
+    @Test
+    void shouldApplyRestOfBatchAndCloseAllUpdatersWhenUpdatesFail() throws Exception {
+        // given
+        RecordingUpdater first = new RecordingUpdater();
+        RecordingUpdater second = new RecordingUpdater();
+        RuntimeException processFailure = new RuntimeException("process");
+        RuntimeException closeFailure = new RuntimeException("close");
+        first.onProcess = update -> {
+            if (update.getEntityId() == 1) {
+                throw processFailure;
+            }
+        };
+        first.onClose = () -> {
+            throw closeFailure;
+        };
+        second.onProcess = update -> {
+            if (update.getEntityId() == 3) {
+                throw new UncheckedIndexEntryConflictException(
+                        new IndexEntryConflictException(EntityType.NODE, 3, 4, Values.of("c")));
+            }
+        };
+        sink.enqueueUpdate(index, first, IndexEntryUpdate.add(1, DESCRIPTOR, value("a")));
+        sink.enqueueUpdate(index, first, IndexEntryUpdate.add(2, DESCRIPTOR, value("b")));
+        sink.closeUpdater(index, first);
+        sink.enqueueUpdate(index, second, IndexEntryUpdate.add(3, DESCRIPTOR, value("c")));
+        sink.enqueueUpdate(index, second, IndexEntryUpdate.add(4, DESCRIPTOR, value("d")));
+        sink.closeUpdater(index, second);
+
+        // when
+        assertThatThrownBy(scheduler::runJob).isSameAs(processFailure).hasSuppressedException(closeFailure);
+
+        // then
+        assertThat(first.processed)
+                .containsExactly(
+                        IndexEntryUpdate.add(1, DESCRIPTOR, value("a")),
+                        IndexEntryUpdate.add(2, DESCRIPTOR, value("b")));
+        assertThat(second.processed)
+                .containsExactly(
+                        IndexEntryUpdate.add(3, DESCRIPTOR, value("c")),
+                        IndexEntryUpdate.add(4, DESCRIPTOR, value("d")));
+        assertThat(first.closed).isTrue();
+        assertThat(second.closed).isTrue();
+        verify(index).markAsFailed(anyString());
+        assertThat(sink.pendingUpdates()).isZero();
+    }
+
+    private static Value value(String value) {
+        return Values.stringValue(value);
+    }
+
+    private static class UncheckedIndexEntryConflictException extends RuntimeException {
+        private final IndexEntryConflictException conflict;
+
+        UncheckedIndexEntryConflictException(IndexEntryConflictException conflict) {
+            this.conflict = conflict;
+        }
+    }
+
+    private static class RecordingUpdater implements IndexUpdater {
+        private final List<IndexEntryUpdate<?>> processed = new ArrayList<>();
+        private Consumer<IndexEntryUpdate<?>> onProcess = update -> {};
+        private Runnable onClose = () -> {};
+        private boolean closed;
+
+        @Override
+        public void process(IndexEntryUpdate<?> update) throws IndexEntryConflictException {
+            processed.add(update);
+            try {
+                onProcess.accept(update);
+            } catch (UncheckedIndexEntryConflictException e) {
+                throw e.conflict;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+
+import java.io.IOException;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.PageCacheConfig;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+class GBPTreeBulkLoaderTest {
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension =
+            new PageCacheSupportExtension(PageCacheConfig.config().withPageSize(512));
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private PageCache pageCache;
+
+    private final SimpleLongLayout layout =
+            SimpleLongLayout.longLayout().withFixedSize(true).build();
+
+    @Test
+    void shouldLoadSortedEntriesIntoMultiLevelTree() throws IOException {
+        int count = 10_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(layout.key(i * 2), layout.value(i));
+                }
+                loader.finish();
+            }
+
+            assertContains(tree, layout, count);
+            NodeCounter nodes = countNodes(tree);
+            assertThat(nodes.levels).isGreaterThan(2);
+            // Internal nodes should be packed as well
+            assertThat(nodes.internalNodes).isLessThan(nodes.leaves / 10);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+            for (int i = 0; i < count; i++) {
+                try (Seeker<MutableLong, MutableLong> seeker =
+                        tree.seek(layout.key(i * 2), layout.key(i * 2), NULL_CONTEXT)) {
+                    assertThat(seeker.next()).isTrue();
+                    assertThat(seeker.value().longValue()).isEqualTo(i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldLoadDynamicSizeEntries() throws IOException {
+        SimpleByteArrayLayout byteArrayLayout = new SimpleByteArrayLayout();
+        int count = 5_000;
+        try (GBPTree<RawBytes, RawBytes> tree = tree(byteArrayLayout)) {
+            try (BulkLoader<RawBytes, RawBytes> loader = tree.bulkLoader(0.9, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(byteArrayLayout.key(i), byteArrayLayout.value(i));
+                }
+                loader.finish();
+            }
+
+            assertContains(tree, byteArrayLayout, count);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldProducePackedLeaves() throws IOException {
+        int count = 10_000;
+        int bulkLoadedLeaves;
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(layout.key(i), layout.value(i));
+                }
+                loader.finish();
+            }
+            bulkLoadedLeaves = countNodes(tree).leaves;
+        }
+
+        int writtenLeaves;
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout, "other")) {
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    writer.put(layout.key(i), layout.value(i));
+                }
+            }
+            writtenLeaves = countNodes(tree).leaves;
+        }
+
+        assertThat(bulkLoadedLeaves).isLessThan(writtenLeaves);
+    }
+
+    @Test
+    void shouldLeaveRoomInNodesAccordingToFillFactor() throws IOException {
+        int count = 10_000;
+        NodeCounter fullyPacked = loadAndCountNodes("full", count, 1);
+        NodeCounter halfPacked = loadAndCountNodes("half", count, 0.5);
+
+        assertThat(halfPacked.leaves).isGreaterThan((int) (fullyPacked.leaves * 1.8));
+        assertThat(halfPacked.leaves).isLessThan((int) (fullyPacked.leaves * 2.2));
+    }
+
+    @Test
+    void shouldAllowRegularWritesAfterBulkLoad() throws IOException {
+        int count = 5_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(layout.key(i * 2L), layout.value(i * 2L));
+                }
+                loader.finish();
+            }
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    writer.put(layout.key(i * 2L + 1), layout.value(i * 2L + 1));
+                }
+            }
+
+            assertContains(tree, layout, count * 2);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldMergeEqualKeys() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                loader.put(layout.key(1), layout.value(10));
+                loader.put(layout.key(1), layout.value(11));
+                loader.mergeIfExists(layout.key(1), layout.value(12), ValueMergers.overwrite());
+                loader.mergeIfExists(layout.key(2), layout.value(20), ValueMergers.overwrite());
+                loader.put(layout.key(3), layout.value(30));
+                loader.finish();
+            }
+
+            try (Seeker<MutableLong, MutableLong> seeker =
+                    tree.seek(layout.key(0), layout.key(Long.MAX_VALUE), NULL_CONTEXT)) {
+                assertThat(seeker.next()).isTrue();
+                assertThat(seeker.key().longValue()).isEqualTo(1);
+                assertThat(seeker.value().longValue()).isEqualTo(12);
+                assertThat(seeker.next()).isTrue();
+                assertThat(seeker.key().longValue()).isEqualTo(3);
+                assertThat(seeker.next()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepTreeEmptyAndReleaseLoadedNodesWhenClosedWithoutFinishing() throws IOException {
+        int count = 10_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            RuntimeException failure = new RuntimeException("Loading failed");
+            assertThatThrownBy(() -> {
+                        try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                            for (int i = 0; i < count; i++) {
+                                loader.put(layout.key(i), layout.value(i));
+                            }
+                            throw failure;
+                        }
+                    })
+                    .isSameAs(failure);
+
+            assertContains(tree, layout, 0);
+            // Would report the loaded nodes as unused pages if they weren't released
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+
+            // and the tree can be loaded again
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(layout.key(i), layout.value(i));
+                }
+                loader.finish();
+            }
+            assertContains(tree, layout, count);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotLoadEntriesAfterFinishing() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout);
+                BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+            loader.put(layout.key(1), layout.value(1));
+            loader.finish();
+
+            assertThatThrownBy(() -> loader.put(layout.key(2), layout.value(2)))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(loader::finish).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldFailOnKeysInDescendingOrder() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout);
+                BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(1, NULL_CONTEXT)) {
+            loader.put(layout.key(2), layout.value(2));
+            assertThatThrownBy(() -> loader.put(layout.key(1), layout.value(1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldFailOnNonEmptyTree() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                writer.put(layout.key(1), layout.value(1));
+            }
+
+            assertThatThrownBy(() -> tree.bulkLoader(1, NULL_CONTEXT)).isInstanceOf(IllegalStateException.class);
+
+            // and the tree should still be writable
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                writer.put(layout.key(2), layout.value(2));
+            }
+        }
+    }
+
+    @Test
+    void shouldNotCoExistWithOtherWriters() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout);
+                Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+            assertThatThrownBy(() -> tree.bulkLoader(1, NULL_CONTEXT)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldFailOnInvalidFillFactor() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout)) {
+            assertThatThrownBy(() -> tree.bulkLoader(0, NULL_CONTEXT)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> tree.bulkLoader(1.1, NULL_CONTEXT)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private NodeCounter loadAndCountNodes(String name, int count, double fillFactor) throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree(layout, name)) {
+            try (BulkLoader<MutableLong, MutableLong> loader = tree.bulkLoader(fillFactor, NULL_CONTEXT)) {
+                for (int i = 0; i < count; i++) {
+                    loader.put(layout.key(i), layout.value(i));
+                }
+                loader.finish();
+            }
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+            return countNodes(tree);
+        }
+    }
+
+    private <KEY, VALUE> GBPTree<KEY, VALUE> tree(Layout<KEY, VALUE> layout) {
+        return tree(layout, "index");
+    }
+
+    private <KEY, VALUE> GBPTree<KEY, VALUE> tree(Layout<KEY, VALUE> layout, String name) {
+        return new GBPTreeBuilder<>(pageCache, fileSystem, directory.file(name), layout).build();
+    }
+
+    private static <KEY, VALUE> void assertContains(GBPTree<KEY, VALUE> tree, TestLayout<KEY, VALUE> layout, int count)
+            throws IOException {
+        KEY low = layout.newKey();
+        KEY high = layout.newKey();
+        layout.initializeAsLowest(low);
+        layout.initializeAsHighest(high);
+        try (Seeker<KEY, VALUE> seeker = tree.seek(low, high, NULL_CONTEXT)) {
+            long previous = -1;
+            int seen = 0;
+            while (seeker.next()) {
+                long seed = layout.keySeed(seeker.key());
+                assertThat(seed).isGreaterThan(previous);
+                previous = seed;
+                seen++;
+            }
+            assertThat(seen).isEqualTo(count);
+        }
+    }
+
+    private static NodeCounter countNodes(GBPTree<?, ?> tree) throws IOException {
+        NodeCounter counter = new NodeCounter();
+        tree.visit(counter, NULL_CONTEXT);
+        return counter;
+    }
+
+    private static class NodeCounter extends GBPTreeVisitor.Adaptor {
+        private int levels;
+        private int leaves;
+        private int internalNodes;
+
+        @Override
+        public void beginLevel(int level) {
+            levels++;
+        }
+
+        @Override
+        public void beginNode(long pageId, boolean isLeaf, long generation, int keyCount) {
+            if (isLeaf) {
+                leaves++;
+            } else {
+                internalNodes++;
+            }
+        }
+    }
+}
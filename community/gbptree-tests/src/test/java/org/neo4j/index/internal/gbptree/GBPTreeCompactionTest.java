@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.PageCacheConfig;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class GBPTreeCompactionTest {
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension =
+            new PageCacheSupportExtension(PageCacheConfig.config().withPageSize(512));
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RandomSupport random;
+
+    private final SimpleLongLayout layout =
+            SimpleLongLayout.longLayout().withFixedSize(true).build();
+
+    @Test
+    void shouldMergeUnderfilledTreeNodesLeftBehindByRemovals() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            TreeSet<Long> expected = insertAndRemoveMost(tree, 10_000);
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+            NodeCounter before = countNodes(tree);
+
+            RecordingCompactionMonitor monitor = new RecordingCompactionMonitor();
+            tree.compact(monitor, NULL_CONTEXT);
+
+            NodeCounter after = countNodes(tree);
+            assertThat(monitor.completed).isTrue();
+            assertThat(monitor.releasedTreeNodes).isGreaterThan(0);
+            assertThat(after.internalNodes).isLessThan(before.internalNodes);
+            assertThat(after.leaves + after.internalNodes)
+                    .isLessThanOrEqualTo(before.leaves + before.internalNodes - (int) monitor.releasedTreeNodes);
+            assertThat(monitor.visitedLeaves).isLessThanOrEqualTo(before.leaves);
+            assertContent(tree, expected);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotChangeAnythingOnSecondCompaction() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            TreeSet<Long> expected = insertAndRemoveMost(tree, 10_000);
+            tree.compact(CompactionMonitor.NO_MONITOR, NULL_CONTEXT);
+            int leavesAfterFirst = countNodes(tree).leaves;
+
+            RecordingCompactionMonitor monitor = new RecordingCompactionMonitor();
+            tree.compact(monitor, NULL_CONTEXT);
+
+            assertThat(monitor.releasedTreeNodes).isZero();
+            assertThat(monitor.visitedLeaves).isEqualTo(leavesAfterFirst);
+            assertThat(countNodes(tree).leaves).isEqualTo(leavesAfterFirst);
+            assertContent(tree, expected);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldShrinkTreeWhenMostEntriesAreRemoved() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            int count = 20_000;
+            insert(tree, count);
+            int levelsBefore = countNodes(tree).levels;
+            TreeSet<Long> expected = new TreeSet<>();
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                for (long i = 0; i < count; i++) {
+                    if (i % 100 == 0) {
+                        expected.add(i);
+                    } else {
+                        writer.remove(layout.key(i));
+                    }
+                }
+            }
+
+            tree.compact(CompactionMonitor.NO_MONITOR, NULL_CONTEXT);
+
+            assertThat(countNodes(tree).levels).isLessThan(levelsBefore);
+            assertContent(tree, expected);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldCompactDynamicSizeTree() throws IOException {
+        SimpleByteArrayLayout byteArrayLayout = new SimpleByteArrayLayout();
+        int count = 5_000;
+        try (GBPTree<RawBytes, RawBytes> tree =
+                new GBPTreeBuilder<>(pageCache, fileSystem, directory.file("dynamic"), byteArrayLayout).build()) {
+            TreeSet<Long> expected = new TreeSet<>();
+            try (Writer<RawBytes, RawBytes> writer = tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+                for (long i = 0; i < count; i++) {
+                    writer.put(byteArrayLayout.key(i), byteArrayLayout.value(i));
+                }
+            }
+            try (Writer<RawBytes, RawBytes> writer = tree.writer(NULL_CONTEXT)) {
+                for (long i = 0; i < count; i++) {
+                    if (random.nextInt(100) < 90) {
+                        writer.remove(byteArrayLayout.key(i));
+                    } else {
+                        expected.add(i);
+                    }
+                }
+            }
+            int internalNodesBefore = countNodes(tree).internalNodes;
+
+            RecordingCompactionMonitor monitor = new RecordingCompactionMonitor();
+            tree.compact(monitor, NULL_CONTEXT);
+
+            assertThat(monitor.releasedTreeNodes).isGreaterThan(0);
+            assertThat(countNodes(tree).internalNodes).isLessThan(internalNodesBefore);
+            RawBytes low = byteArrayLayout.newKey();
+            RawBytes high = byteArrayLayout.newKey();
+            byteArrayLayout.initializeAsLowest(low);
+            byteArrayLayout.initializeAsHighest(high);
+            try (Seeker<RawBytes, RawBytes> seeker = tree.seek(low, high, NULL_CONTEXT)) {
+                for (long key : expected) {
+                    assertThat(seeker.next()).isTrue();
+                    assertThat(byteArrayLayout.keySeed(seeker.key())).isEqualTo(key);
+                }
+                assertThat(seeker.next()).isFalse();
+            }
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldStopWhenMonitorSaysSo() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            TreeSet<Long> expected = insertAndRemoveMost(tree, 10_000);
+            RecordingCompactionMonitor monitor = new RecordingCompactionMonitor() {
+                @Override
+                public int leavesPerBatch() {
+                    return 3;
+                }
+
+                @Override
+                public boolean batchCompleted(long visitedLeaves, long releasedTreeNodes) {
+                    super.batchCompleted(visitedLeaves, releasedTreeNodes);
+                    return batches < 2;
+                }
+            };
+
+            tree.compact(monitor, NULL_CONTEXT);
+
+            assertThat(monitor.batches).isEqualTo(2);
+            assertThat(monitor.completed).isTrue();
+            assertThat(monitor.visitedLeaves).isEqualTo(6);
+            assertContent(tree, expected);
+            assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldCompactEmptyAndSingleLeafTree() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            RecordingCompactionMonitor monitor = new RecordingCompactionMonitor();
+            tree.compact(monitor, NULL_CONTEXT);
+            assertThat(monitor.visitedLeaves).isEqualTo(1);
+
+            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                writer.put(layout.key(1), layout.value(1));
+            }
+            tree.compact(CompactionMonitor.NO_MONITOR, NULL_CONTEXT);
+            assertContent(tree, new TreeSet<>(List.of(1L)));
+        }
+    }
+
+    @Test
+    void shouldCompactConcurrentlyWithParallelWriters() throws Exception {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertAndRemoveMost(tree, 10_000);
+            int numberOfWriters = 4;
+            AtomicBoolean end = new AtomicBoolean();
+            ExecutorService executor = Executors.newFixedThreadPool(numberOfWriters);
+            try {
+                List<Future<TreeSet<Long>>> writers = new ArrayList<>();
+                for (int w = 0; w < numberOfWriters; w++) {
+                    int writerId = w;
+                    long seed = random.nextLong();
+                    writers.add(executor.submit(() -> {
+                        // Each writer owns the keys where key % numberOfWriters == writerId, inserting and removing
+                        // them
+                        Random writerRandom = new Random(seed);
+                        TreeSet<Long> inserted = new TreeSet<>();
+                        while (!end.get()) {
+                            try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                                for (int i = 0; i < 100; i++) {
+                                    long key = 20_000L + writerRandom.nextInt(5_000) * numberOfWriters + writerId;
+                                    if (writerRandom.nextBoolean()) {
+                                        writer.put(layout.key(key), layout.value(key));
+                                        inserted.add(key);
+                                    } else {
+                                        writer.remove(layout.key(key));
+                                        inserted.remove(key);
+                                    }
+                                }
+                            }
+                        }
+                        return inserted;
+                    }));
+                }
+
+                for (int i = 0; i < 5; i++) {
+                    tree.compact(CompactionMonitor.NO_MONITOR, NULL_CONTEXT);
+                }
+                end.set(true);
+                TreeSet<Long> expected = new TreeSet<>();
+                for (Future<TreeSet<Long>> writer : writers) {
+                    expected.addAll(writer.get());
+                }
+
+                try (Seeker<MutableLong, MutableLong> seeker =
+                        tree.seek(layout.key(20_000), layout.key(Long.MAX_VALUE), NULL_CONTEXT)) {
+                    for (long key : expected) {
+                        assertThat(seeker.next()).isTrue();
+                        assertThat(seeker.key().longValue()).isEqualTo(key);
+                    }
+                    assertThat(seeker.next()).isFalse();
+                }
+                assertThat(tree.consistencyCheck(NULL_CONTEXT_FACTORY, 1)).isTrue();
+            } finally {
+                end.set(true);
+                executor.shutdown();
+            }
+        }
+    }
+
+    private TreeSet<Long> insertAndRemoveMost(GBPTree<MutableLong, MutableLong> tree, int count) throws IOException {
+        insert(tree, count);
+        TreeSet<Long> expected = new TreeSet<>();
+        try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+            for (long i = 0; i < count; i++) {
+                if (random.nextInt(100) < 80) {
+                    writer.remove(layout.key(i));
+                } else {
+                    expected.add(i);
+                }
+            }
+        }
+        return expected;
+    }
+
+    private void insert(GBPTree<MutableLong, MutableLong> tree, int count) throws IOException {
+        try (Writer<MutableLong, MutableLong> writer = tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+            for (long i = 0; i < count; i++) {
+                writer.put(layout.key(i), layout.value(i));
+            }
+        }
+    }
+
+    private void assertContent(GBPTree<MutableLong, MutableLong> tree, TreeSet<Long> expected) throws IOException {
+        try (Seeker<MutableLong, MutableLong> seeker =
+                tree.seek(layout.key(0), layout.key(Long.MAX_VALUE), NULL_CONTEXT)) {
+            for (long key : expected) {
+                assertThat(seeker.next()).isTrue();
+                assertThat(seeker.key().longValue()).isEqualTo(key);
+                assertThat(seeker.value().longValue()).isEqualTo(key);
+            }
+            assertThat(seeker.next()).isFalse();
+        }
+    }
+
+    private GBPTree<MutableLong, MutableLong> tree() {
+        return new GBPTreeBuilder<>(pageCache, fileSystem, directory.file("index"), layout).build();
+    }
+
+    private static NodeCounter countNodes(GBPTree<?, ?> tree) throws IOException {
+        NodeCounter counter = new NodeCounter();
+        tree.visit(counter, NULL_CONTEXT);
+        return counter;
+    }
+
+    private static class NodeCounter extends GBPTreeVisitor.Adaptor {
+        private int levels;
+        private int leaves;
+        private int internalNodes;
+
+        @Override
+        public void beginLevel(int level) {
+            levels++;
+        }
+
+        @Override
+        public void beginNode(long pageId, boolean isLeaf, long generation, int keyCount) {
+            if (isLeaf) {
+                leaves++;
+            } else {
+                internalNodes++;
+            }
+        }
+    }
+
+    private static class RecordingCompactionMonitor implements CompactionMonitor {
+        int batches;
+        long visitedLeaves;
+        long releasedTreeNodes;
+        boolean completed;
+
+        @Override
+        public boolean batchCompleted(long visitedLeaves, long releasedTreeNodes) {
+            batches++;
+            return true;
+        }
+
+        @Override
+        public void compactionCompleted(long visitedLeaves, long releasedTreeNodes) {
+            this.visitedLeaves = visitedLeaves;
+            this.releasedTreeNodes = releasedTreeNodes;
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.PageCacheConfig;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class GBPTreeMultiSeekTest {
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension =
+            new PageCacheSupportExtension(PageCacheConfig.config().withPageSize(512));
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RandomSupport random;
+
+    private final SimpleLongLayout layout =
+            SimpleLongLayout.longLayout().withFixedSize(true).build();
+
+    @Test
+    void shouldFindSameHitsAsIndividualSeeks() throws IOException {
+        int count = 10_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, count);
+
+            // Both existing (even) and non-existing (odd) keys
+            List<MutableLong> keys = new ArrayList<>();
+            for (long key = random.nextInt(10); key < count * 2 + 10; key += 1 + random.nextInt(30)) {
+                keys.add(layout.key(key));
+            }
+
+            List<Long> expected = new ArrayList<>();
+            for (MutableLong key : keys) {
+                try (Seeker<MutableLong, MutableLong> seeker = tree.seek(key, key, NULL_CONTEXT)) {
+                    while (seeker.next()) {
+                        expected.add(seeker.key().longValue());
+                    }
+                }
+            }
+            assertThat(multiSeekKeys(tree, keys, keys)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void shouldSeekMixOfRangesAndExactKeys() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, 1_000);
+
+            List<MutableLong> from = List.of(
+                    layout.key(4), layout.key(10), layout.key(15), layout.key(20), layout.key(100), layout.key(1_500));
+            List<MutableLong> to = List.of(
+                    layout.key(4), layout.key(15), layout.key(15), layout.key(24), layout.key(100), layout.key(1_505));
+
+            assertThat(multiSeekKeys(tree, from, to))
+                    .containsExactly(4L, 10L, 12L, 14L, 20L, 22L, 100L, 1_500L, 1_502L, 1_504L);
+        }
+    }
+
+    @Test
+    void shouldPinFewerPagesThanIndividualSeeks() throws IOException {
+        int count = 10_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, count);
+            List<MutableLong> keys = new ArrayList<>();
+            for (long key = 1_000; key < 3_000; key += 6) {
+                keys.add(layout.key(key));
+            }
+
+            var contextFactory = new CursorContextFactory(new DefaultPageCacheTracer(), EMPTY);
+            long individualPins;
+            try (CursorContext cursorContext = contextFactory.create("individualSeeks")) {
+                for (MutableLong key : keys) {
+                    try (Seeker<MutableLong, MutableLong> seeker = tree.seek(key, key, cursorContext)) {
+                        assertThat(seeker.next()).isTrue();
+                    }
+                }
+                individualPins = cursorContext.getCursorTracer().pins();
+            }
+
+            long multiSeekPins;
+            try (CursorContext cursorContext = contextFactory.create("multiSeek");
+                    Seeker<MutableLong, MutableLong> seeker = tree.multiSeek(keys, keys, cursorContext)) {
+                int hits = 0;
+                while (seeker.next()) {
+                    hits++;
+                }
+                assertThat(hits).isEqualTo(keys.size());
+                multiSeekPins = cursorContext.getCursorTracer().pins();
+            }
+
+            assertThat(multiSeekPins).isLessThan(individualPins / 2);
+        }
+    }
+
+    @Test
+    void shouldNotFindAnythingWithoutRanges() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, 100);
+
+            assertThat(multiSeekKeys(tree, List.of(), List.of())).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldReuseSeekerForMultipleMultiSeeks() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, 1_000);
+
+            try (Seeker<MutableLong, MutableLong> seeker = tree.allocateSeeker(NULL_CONTEXT)) {
+                List<MutableLong> keys = List.of(layout.key(2), layout.key(1_000));
+                tree.multiSeek(seeker, keys, keys);
+                assertThat(seekerKeys(seeker)).containsExactly(2L, 1_000L);
+
+                tree.seek(seeker, layout.key(10), layout.key(14));
+                assertThat(seekerKeys(seeker)).containsExactly(10L, 12L);
+
+                keys = List.of(layout.key(6), layout.key(1_998));
+                tree.multiSeek(seeker, keys, keys);
+                assertThat(seekerKeys(seeker)).containsExactly(6L, 1_998L);
+            }
+        }
+    }
+
+    @Test
+    void shouldFailOnUnsortedOrOverlappingRanges() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            List<MutableLong> unsorted = List.of(layout.key(5), layout.key(3));
+            assertThatThrownBy(() -> tree.multiSeek(unsorted, unsorted, NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            List<MutableLong> duplicates = List.of(layout.key(3), layout.key(3));
+            assertThatThrownBy(() -> tree.multiSeek(duplicates, duplicates, NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThatThrownBy(() -> tree.multiSeek(
+                            List.of(layout.key(1), layout.key(5)),
+                            List.of(layout.key(6), layout.key(10)),
+                            NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThatThrownBy(() -> tree.multiSeek(List.of(layout.key(5)), List.of(layout.key(1)), NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThatThrownBy(() -> tree.multiSeek(List.of(layout.key(5)), List.of(), NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldFindAllKeysDuringConcurrentWrites() throws Throwable {
+        int count = 5_000;
+        try (GBPTree<MutableLong, MutableLong> tree = tree()) {
+            insertEvenKeys(tree, count);
+            List<MutableLong> keys = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            for (long key = 0; key < count * 2; key += 4) {
+                keys.add(layout.key(key));
+                expected.add(key);
+            }
+
+            // Odd keys are inserted and removed concurrently, causing splits and merges around the keys we look for
+            AtomicBoolean end = new AtomicBoolean();
+            AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+            Thread writerThread = new Thread(() -> {
+                try {
+                    for (int round = 0; !end.get(); round++) {
+                        try (Writer<MutableLong, MutableLong> writer = tree.writer(NULL_CONTEXT)) {
+                            for (long key = 1; key < count * 2; key += 2) {
+                                if (round % 2 == 0) {
+                                    writer.put(layout.key(key), layout.value(key));
+                                } else {
+                                    writer.remove(layout.key(key));
+                                }
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    writerFailure.set(e);
+                }
+            });
+            writerThread.start();
+            try {
+                for (int i = 0; i < 20; i++) {
+                    assertThat(multiSeekKeys(tree, keys, keys)).containsExactlyElementsOf(expected);
+                }
+            } finally {
+                end.set(true);
+                writerThread.join();
+            }
+            if (writerFailure.get() != null) {
+                throw writerFailure.get();
+            }
+        }
+    }
+
+    private List<Long> multiSeekKeys(
+            GBPTree<MutableLong, MutableLong> tree, List<MutableLong> from, List<MutableLong> to) throws IOException {
+        // The seeker may modify the provided keys when restarting from the root, give it copies
+        try (Seeker<MutableLong, MutableLong> seeker = tree.multiSeek(copies(from), copies(to), NULL_CONTEXT)) {
+            return seekerKeys(seeker);
+        }
+    }
+
+    private static List<Long> seekerKeys(Seeker<MutableLong, MutableLong> seeker) throws IOException {
+        List<Long> keys = new ArrayList<>();
+        while (seeker.next()) {
+            assertThat(seeker.value().longValue()).isEqualTo(seeker.key().longValue());
+            keys.add(seeker.key().longValue());
+        }
+        return keys;
+    }
+
+    private List<MutableLong> copies(List<MutableLong> keys) {
+        List<MutableLong> copies = new ArrayList<>(keys.size());
+        for (MutableLong key : keys) {
+            copies.add(layout.key(key.longValue()));
+        }
+        return copies;
+    }
+
+    private void insertEvenKeys(GBPTree<MutableLong, MutableLong> tree, int count) throws IOException {
+        try (Writer<MutableLong, MutableLong> writer = tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+            for (long i = 0; i < count; i++) {
+                writer.put(layout.key(i * 2), layout.value(i * 2));
+            }
+        }
+    }
+
+    private GBPTree<MutableLong, MutableLong> tree() {
+        return new GBPTreeBuilder<>(pageCache, fileSystem, directory.file("index"), layout).build();
+    }
+}
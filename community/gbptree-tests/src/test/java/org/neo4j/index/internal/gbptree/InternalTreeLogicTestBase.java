@@ -26,6 +26,12 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.neo4j.index.internal.gbptree.GBPTree.NO_MONITOR;
 import static org.neo4j.index.internal.gbptree.GBPTreeConsistencyChecker.assertNoCrashOrBrokenPointerInGSPP;
 import static org.neo4j.index.internal.gbptree.GenerationSafePointerPair.pointer;
@@ -434,6 +440,42 @@ abstract class InternalTreeLogicTestBase<KEY, VALUE> {
                 .isEqualTo(YES);
     }
 
+    @Test
+    void shouldNotAskToCompactLeafWhenNothingOnItsPathUnderflows() throws IOException {
+        // given a tree of three levels where all nodes to the left of the rightmost path are full
+        ratioToKeepInLeftOnSplit = 1;
+        initialize();
+        long seed = 0;
+        while (numberOfRootSplits < 2) {
+            insert(key(seed), value(seed));
+            seed++;
+        }
+        long leaf = rightmostLeafInSubtree(root.id(), 0);
+        KEY lastKeyInLeaf = keyAt(leaf, keyCount(leaf) - 1, LEAF);
+
+        // when compacting the rightmost leaf of the leftmost internal node
+        TreeWriterCoordination coordination = mock(TreeWriterCoordination.class);
+        when(coordination.arrivedAtChild(anyBoolean(), anyInt(), anyBoolean(), anyInt()))
+                .thenReturn(true);
+        InternalTreeLogic<KEY, VALUE> compactingLogic =
+                new InternalTreeLogic<>(id, node, layout, NO_MONITOR, coordination, DATA_LAYER_FLAG);
+        root.goTo(cursor);
+        compactingLogic.initialize(cursor, ratioToKeepInLeftOnSplit);
+        int releasedNodes = compactingLogic.compactLeaf(
+                cursor,
+                structurePropagation,
+                lastKeyInLeaf,
+                layout.newKey(),
+                stableGeneration,
+                unstableGeneration,
+                NULL_CONTEXT);
+
+        // then it's left as it is without asking to be let through, which would have made an optimistic writer
+        // pessimistic
+        assertThat(releasedNodes).isEqualTo(0);
+        verify(coordination, never()).beforeCompactingLeaf();
+    }
+
     /* REMOVE */
     @ParameterizedTest
     @MethodSource("generators")
@@ -2051,7 +2093,7 @@ abstract class InternalTreeLogicTestBase<KEY, VALUE> {
         handleAfterChange();
     }
 
-    private interface GenerationManager {
+    interface GenerationManager {
         void checkpoint();
 
         void recovery();
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.index.internal.gbptree.TreeNode.DATA_LAYER_FLAG;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.pagecache.PageCursor;
+
+public class TreeNodeDynamicSizePrefixCompressedTest extends TreeNodeTestBase<RawBytes, RawBytes> {
+    private static final long STABLE_GENERATION = 3;
+    private static final long UNSTABLE_GENERATION = 4;
+
+    private final SimpleByteArrayLayout layout = new SimpleByteArrayLayout();
+
+    @Override
+    protected TestLayout<RawBytes, RawBytes> getLayout() {
+        return layout;
+    }
+
+    @Override
+    protected TreeNodeDynamicSize<RawBytes, RawBytes> getNode(
+            int pageSize, Layout<RawBytes, RawBytes> layout, OffloadStore<RawBytes, RawBytes> offloadStore) {
+        return new TreeNodeDynamicSize<>(pageSize, layout, offloadStore, true);
+    }
+
+    @Override
+    void assertAdditionalHeader(PageCursor cursor, TreeNode<RawBytes, RawBytes> node, int pageSize) {
+        // When
+        int currentAllocSpace = ((TreeNodeDynamicSize<RawBytes, RawBytes>) node).getAllocOffset(cursor);
+
+        // Then
+        if (TreeNode.isLeaf(cursor)) {
+            assertEquals(pageSize - Short.BYTES, currentAllocSpace, "allocSpace point to empty key prefix");
+        } else {
+            assertEquals(pageSize, currentAllocSpace, "allocSpace point to end of page");
+        }
+    }
+
+    @Test
+    void mustStoreOnlyKeySuffixOfKeysSharingPrefix() throws IOException {
+        TreeNodeDynamicSize<RawBytes, RawBytes> node = getNode(PAGE_SIZE, layout, createOffloadStore());
+        node.initializeLeaf(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        RawBytes value = layout.newValue();
+        value.bytes = new byte[0];
+
+        // First key becomes key prefix of leaf
+        RawBytes first = keyWithPrefix(20, (byte) 1);
+        node.insertKeyValueAt(cursor, first, value, 0, 0, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        TreeNode.setKeyCount(cursor, 1);
+
+        // When
+        int allocOffsetBefore = node.getAllocOffset(cursor);
+        RawBytes second = keyWithPrefix(20, (byte) 2);
+        node.insertKeyValueAt(cursor, second, value, 1, 1, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        TreeNode.setKeyCount(cursor, 2);
+        int allocOffsetAfter = node.getAllocOffset(cursor);
+
+        // Then only key value size, shared prefix length and last byte of key is stored
+        assertEquals(3, allocOffsetBefore - allocOffsetAfter);
+        RawBytes readKey = layout.newKey();
+        node.keyAt(cursor, readKey, 0, TreeNode.Type.LEAF, NULL_CONTEXT);
+        assertThat(readKey.bytes).isEqualTo(first.bytes);
+        node.keyAt(cursor, readKey, 1, TreeNode.Type.LEAF, NULL_CONTEXT);
+        assertThat(readKey.bytes).isEqualTo(second.bytes);
+        assertEquals("", node.checkMetaConsistency(cursor, 2, TreeNode.Type.LEAF, null));
+    }
+
+    @Test
+    void mustResetKeyPrefixWhenInsertingIntoEmptyLeaf() throws IOException {
+        TreeNodeDynamicSize<RawBytes, RawBytes> node = getNode(PAGE_SIZE, layout, createOffloadStore());
+        node.initializeLeaf(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        RawBytes value = layout.newValue();
+        value.bytes = new byte[0];
+        RawBytes first = keyWithPrefix(20, (byte) 1);
+        node.insertKeyValueAt(cursor, first, value, 0, 0, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        node.removeKeyValueAt(cursor, 0, 1, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        TreeNode.setKeyCount(cursor, 0);
+
+        // When
+        RawBytes other = layout.newKey();
+        other.bytes = new byte[30];
+        Arrays.fill(other.bytes, (byte) 7);
+        node.insertKeyValueAt(cursor, other, value, 0, 0, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        TreeNode.setKeyCount(cursor, 1);
+
+        // Then dead space is gone and new key is the key prefix
+        assertEquals(0, node.getDeadSpace(cursor));
+        assertEquals(PAGE_SIZE - Short.BYTES - other.bytes.length - 3, node.getAllocOffset(cursor));
+        RawBytes readKey = layout.newKey();
+        node.keyAt(cursor, readKey, 0, TreeNode.Type.LEAF, NULL_CONTEXT);
+        assertThat(readKey.bytes).isEqualTo(other.bytes);
+        assertEquals("", node.checkMetaConsistency(cursor, 1, TreeNode.Type.LEAF, null));
+    }
+
+    private RawBytes keyWithPrefix(int length, byte lastByte) {
+        RawBytes key = layout.newKey();
+        key.bytes = new byte[length];
+        Arrays.fill(key.bytes, (byte) 5);
+        key.bytes[length - 1] = lastByte;
+        return key;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.UncheckedIOException;
+
+/**
+ * {@link Writer} which loads entries into an empty tree, see {@link DataTree#bulkLoader}.
+ * The loaded entries are only published to the tree by {@link #finish()}. Closing a bulk loader which hasn't been finished,
+ * e.g. because loading failed half-way through, releases the tree nodes written so far and leaves the tree empty,
+ * as it was before loading started.
+ *
+ * @param <KEY> type of keys
+ * @param <VALUE> type of values
+ */
+public interface BulkLoader<KEY, VALUE> extends Writer<KEY, VALUE> {
+    /**
+     * Publishes the loaded entries, making them visible to readers. No more entries can be loaded after this call
+     * and the bulk loader must still be {@link #close() closed} afterwards.
+     *
+     * @throws UncheckedIOException on index access error.
+     * @throws IllegalStateException if this bulk loader has already been finished.
+     */
+    void finish();
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+/**
+ * Observes and controls the progress of a {@link DataTree#compact(CompactionMonitor, org.neo4j.io.pagecache.context.CursorContext) compaction}.
+ * Compaction visits leaves in batches, where each batch is performed by a writer of its own. In between batches
+ * no locks are held, so blocking in {@link #batchCompleted(long, long)} throttles the compaction without holding up
+ * checkpoints or other writers.
+ */
+public interface CompactionMonitor {
+    int DEFAULT_LEAVES_PER_BATCH = 100;
+
+    CompactionMonitor NO_MONITOR = new CompactionMonitor() {};
+
+    /**
+     * @return number of leaves to visit in each batch.
+     */
+    default int leavesPerBatch() {
+        return DEFAULT_LEAVES_PER_BATCH;
+    }
+
+    /**
+     * Called after each batch, except the last one. Counts are accumulated since the start of the compaction.
+     *
+     * @param visitedLeaves number of leaves visited so far.
+     * @param releasedTreeNodes number of leaves and internal nodes merged into one of their siblings so far,
+     * i.e. the number of tree nodes released back to the free-list.
+     * @return {@code true} to continue the compaction, or {@code false} to stop it after this batch.
+     */
+    default boolean batchCompleted(long visitedLeaves, long releasedTreeNodes) {
+        return true;
+    }
+
+    /**
+     * Called when the compaction has completed, either by having visited all leaves or because it was stopped.
+     *
+     * @param visitedLeaves total number of leaves visited.
+     * @param releasedTreeNodes total number of leaves and internal nodes merged into one of their siblings.
+     */
+    default void compactionCompleted(long visitedLeaves, long releasedTreeNodes) {}
+}
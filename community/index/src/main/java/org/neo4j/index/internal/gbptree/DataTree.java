@@ -54,6 +54,37 @@ public interface DataTree<KEY, VALUE> extends Seeker.Factory<KEY, VALUE> {
      */
     Writer<KEY, VALUE> writer(int flags, CursorContext cursorContext) throws IOException;
 
+    /**
+     * Returns a {@link BulkLoader} which builds this tree bottom-up from entries given in strictly ascending key order,
+     * writing leaves and internal nodes filled up to the given fill factor without ever splitting a node.
+     * This is much cheaper than inserting the same entries with a {@link #writer(int, CursorContext) writer}
+     * and the resulting tree is more compact. The tree must be empty when calling this method and the loaded entries
+     * become visible when the returned bulk loader is {@link BulkLoader#finish() finished}. If it's closed without having
+     * been finished the tree is left empty. Like the {@link #W_BATCHED_SINGLE_THREADED} writer,
+     * the bulk loader cannot co-exist with other writers. Removing entries is not supported.
+     *
+     * @param fillFactor how full each node should be filled, in range (0,1], where 1 means fully packed nodes.
+     * Lower fill factor leaves room for subsequent inserts without immediately splitting nodes.
+     * @param cursorContext underlying page cursor context
+     * @return a {@link BulkLoader} for bulk loading this tree. The returned bulk loader must be {@link Writer#close() closed}
+     * after usage.
+     * @throws IllegalStateException if the tree isn't empty or if there are other writers active.
+     */
+    BulkLoader<KEY, VALUE> bulkLoader(double fillFactor, CursorContext cursorContext) throws IOException;
+
+    /**
+     * Compacts this tree online by visiting its leaves in key order and rebalancing or merging the under-filled ones
+     * with their siblings, as well as merging internal nodes which fit into their sibling, releasing merged tree nodes back
+     * to the free-list for reuse. This recovers space and seek depth lost to removals, without having to rebuild the tree.
+     * Compaction is performed in batches by parallel writers, so it can run concurrently with other parallel writers.
+     *
+     * @param monitor {@link CompactionMonitor} which gets notified about the progress and which can throttle or stop the compaction.
+     * @param cursorContext underlying page cursor context
+     * @throws IOException on page cache error.
+     * @throws IllegalStateException if a {@link #W_BATCHED_SINGLE_THREADED} writer is active.
+     */
+    void compact(CompactionMonitor monitor, CursorContext cursorContext) throws IOException;
+
     /**
      * Calculates an estimate of number of keys in this tree in O(log(n)) time. The number is only an estimate and may make its decision on a
      * concurrently changing tree, but should usually be correct within a couple of percents margin.
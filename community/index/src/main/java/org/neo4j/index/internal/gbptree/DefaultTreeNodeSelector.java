@@ -74,13 +74,39 @@ public class DefaultTreeNodeSelector {
         }
     };
 
+    /**
+     * Creates {@link TreeNodeDynamicSize} instances with prefix compressed keys in leaves.
+     */
+    private static final TreeNodeSelector.Factory DYNAMIC_PREFIX_COMPRESSED = new TreeNodeSelector.Factory() {
+        @Override
+        public <KEY, VALUE> TreeNode<KEY, VALUE> create(
+                int pageSize,
+                Layout<KEY, VALUE> layout,
+                OffloadStore<KEY, VALUE> offloadStore,
+                DependencyResolver dependencyResolver) {
+            return new TreeNodeDynamicSize<>(pageSize, layout, offloadStore, true);
+        }
+
+        @Override
+        public byte formatIdentifier() {
+            return TreeNodeDynamicSize.PREFIX_COMPRESSED_FORMAT_IDENTIFIER;
+        }
+
+        @Override
+        public byte formatVersion() {
+            return TreeNodeDynamicSize.PREFIX_COMPRESSED_FORMAT_VERSION;
+        }
+    };
+
     /**
      * Returns {@link TreeNodeSelector} that selects a format based on the given {@link Layout}.
      *
      * @return a {@link TreeNodeSelector} capable of instantiating the selected format.
      */
     public static TreeNodeSelector selector() {
-        // For now the selection is done in a simple fashion, by looking at layout.fixedSize().
-        return (Layout<?, ?> layout) -> layout.fixedSize() ? FIXED : DYNAMIC;
+        // For now the selection is done in a simple fashion, by looking at layout.fixedSize()
+        // and layout.compressKeyPrefixes().
+        return (Layout<?, ?> layout) ->
+                layout.fixedSize() ? FIXED : layout.compressKeyPrefixes() ? DYNAMIC_PREFIX_COMPRESSED : DYNAMIC;
     }
 }
@@ -94,6 +94,16 @@ import org.neo4j.io.pagecache.PageCursor;
  *
  * Tombstone
  * First bit in keyValueSize is used as a tombstone, set to 1 if key is dead.
+ *
+ * Shared prefix length
+ * Leaves with prefix compressed keys store, for each inlined key_value entry, how many bytes of the node key prefix
+ * the key shares. It's written directly after keyValueSize and keyValueSize then holds the size of the key suffix only.
+ * <pre>
+ * [S,s,s,s,s,s,s,s]
+ * </pre>
+ * If {@code S} is set the next byte contains the higher order bits of the shared prefix length.
+ * This first byte can fit shared prefix length <= 127 (0x7F) and with the second byte we can fit length <= 32767 (0x7FFF).
+ * prefix_compressed key_value entry - [keyValueSize 1B-4B|sharedPrefixLength 1B-2B|keySuffix|actualValue]
  */
 public class DynamicSizeUtil {
     static final int MIN_SIZE_KEY_VALUE_SIZE = 1 /*key*/ /*0B value*/;
@@ -119,6 +129,12 @@ public class DynamicSizeUtil {
     private static final int FLAG_ADDITIONAL_VALUE_SIZE = 0x80;
     private static final int SHIFT_LSB_KEY_SIZE = 5;
     private static final int SHIFT_LSB_VALUE_SIZE = 7;
+    // mask for one-byte shared prefix length to map to the s's in [_,s,s,s,s,s,s,s]
+    private static final int MASK_ONE_BYTE_SHARED_PREFIX_LENGTH = 0x7F;
+    // max two-byte shared prefix length to map to the s's in [_,s,s,s,s,s,s,s][s,s,s,s,s,s,s,s]
+    static final int MAX_TWO_BYTE_SHARED_PREFIX_LENGTH = 0x7FFF;
+    private static final int FLAG_ADDITIONAL_SHARED_PREFIX_LENGTH = 0x80;
+    private static final int SHIFT_LSB_SHARED_PREFIX_LENGTH = 7;
 
     static boolean putKeySize(PageCursor cursor, int keySize, boolean offload) {
         return putKeyValueSize(cursor, keySize, 0, offload);
@@ -236,6 +252,37 @@ public class DynamicSizeUtil {
                 + (valueSize > MASK_ONE_BYTE_VALUE_SIZE ? 1 : 0);
     }
 
+    static void putSharedPrefixLength(PageCursor cursor, int sharedPrefixLength) {
+        if (sharedPrefixLength > MAX_TWO_BYTE_SHARED_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(format(
+                    "Max supported shared prefix length is %d, but tried to store shared prefix length %d.",
+                    MAX_TWO_BYTE_SHARED_PREFIX_LENGTH, sharedPrefixLength));
+        }
+        boolean needsAdditionalByte = sharedPrefixLength > MASK_ONE_BYTE_SHARED_PREFIX_LENGTH;
+        byte firstByte = (byte) (sharedPrefixLength & MASK_ONE_BYTE_SHARED_PREFIX_LENGTH); // Least significant 7 bits
+        if (needsAdditionalByte) {
+            firstByte |= (byte) FLAG_ADDITIONAL_SHARED_PREFIX_LENGTH;
+        }
+        cursor.putByte(firstByte);
+        if (needsAdditionalByte) {
+            cursor.putByte((byte) (sharedPrefixLength >> SHIFT_LSB_SHARED_PREFIX_LENGTH));
+        }
+    }
+
+    static int readSharedPrefixLength(PageCursor cursor) {
+        byte firstByte = cursor.getByte();
+        int sharedPrefixLengthLsb = firstByte & MASK_ONE_BYTE_SHARED_PREFIX_LENGTH;
+        if ((firstByte & FLAG_ADDITIONAL_SHARED_PREFIX_LENGTH) != 0) {
+            int sharedPrefixLengthMsb = cursor.getByte() & 0xFF;
+            return (sharedPrefixLengthMsb << SHIFT_LSB_SHARED_PREFIX_LENGTH) | sharedPrefixLengthLsb;
+        }
+        return sharedPrefixLengthLsb;
+    }
+
+    static int getSharedPrefixLengthOverhead(int sharedPrefixLength) {
+        return sharedPrefixLength > MASK_ONE_BYTE_SHARED_PREFIX_LENGTH ? 2 : 1;
+    }
+
     static boolean extractTombstone(long keyValueSize) {
         return (keyValueSize & FLAG_READ_TOMBSTONE) != 0;
     }
@@ -157,6 +157,12 @@ public class GBPTree<KEY, VALUE> extends MultiRootGBPTree<SingleRoot, KEY, VALUE
         return access.seek(seeker, fromInclusive, toExclusive);
     }
 
+    @Override
+    public Seeker<KEY, VALUE> multiSeek(Seeker<KEY, VALUE> seeker, List<KEY> fromInclusive, List<KEY> toExclusive)
+            throws IOException {
+        return access.multiSeek(seeker, fromInclusive, toExclusive);
+    }
+
     @Override
     public List<KEY> partitionedSeek(
             KEY fromInclusive, KEY toExclusive, int desiredNumberOfPartitions, CursorContext cursorContext)
@@ -169,6 +175,16 @@ public class GBPTree<KEY, VALUE> extends MultiRootGBPTree<SingleRoot, KEY, VALUE
         return access.writer(flags, cursorContext);
     }
 
+    @Override
+    public BulkLoader<KEY, VALUE> bulkLoader(double fillFactor, CursorContext cursorContext) throws IOException {
+        return access.bulkLoader(fillFactor, cursorContext);
+    }
+
+    @Override
+    public void compact(CompactionMonitor monitor, CursorContext cursorContext) throws IOException {
+        access.compact(monitor, cursorContext);
+    }
+
     @Override
     public long estimateNumberOfEntriesInTree(CursorContext cursorContext) throws IOException {
         return access.estimateNumberOfEntriesInTree(cursorContext);
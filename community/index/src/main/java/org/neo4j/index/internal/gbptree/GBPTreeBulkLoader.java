@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static java.lang.String.format;
+import static org.neo4j.index.internal.gbptree.Generation.stableGeneration;
+import static org.neo4j.index.internal.gbptree.Generation.unstableGeneration;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import org.neo4j.index.internal.gbptree.MultiRootGBPTree.Monitor;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageCursorUtil;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * {@link BulkLoader} which builds a tree bottom-up from entries given in ascending key order, instead of inserting them
+ * top-down one by one like {@link GBPTreeWriter} does. Entries are appended to the rightmost leaf until it's filled up
+ * to the fill factor, at which point a new leaf is started and a splitter key for it is appended to the rightmost
+ * internal node on the level above, which is filled up in the same way. No node is ever split or visited twice.
+ * <p>
+ * Can only load into an empty tree and cannot co-exist with other writers. Keys must come in ascending order,
+ * where a key equal to the previous key is merged with it, using the given {@link ValueMerger}.
+ * The loaded entries become visible to readers when this loader is {@link #finish() finished}, until then the tree still
+ * has its empty root. Closing a loader which hasn't been finished releases the nodes it has written.
+ * Removing entries is not supported.
+ */
+class GBPTreeBulkLoader<KEY, VALUE> implements BulkLoader<KEY, VALUE> {
+    private final Layout<KEY, VALUE> layout;
+    private final PagedFile pagedFile;
+    private final TreeNode<KEY, VALUE> bTreeNode;
+    private final TreeRootExchange rootExchange;
+    private final ReadWriteLock checkpointLock;
+    private final ReadWriteLock writerLock;
+    private final FreeListIdProvider freeList;
+    private final Monitor monitor;
+    private final Consumer<Throwable> exceptionMessageAppender;
+    private final byte layerType;
+    private final double fillFactor;
+    private final List<Level> levels = new ArrayList<>();
+    private final KEY lastKey;
+    private final KEY readKey;
+    private final TreeNode.ValueHolder<VALUE> readValue;
+    private final KEY splitterKey;
+    private boolean writerLockAcquired;
+    private boolean finished;
+    private PageCursor cursor;
+    private CursorContext cursorContext;
+    private long stableGeneration;
+    private long unstableGeneration;
+    private long emptyRootId;
+
+    GBPTreeBulkLoader(
+            Layout<KEY, VALUE> layout,
+            PagedFile pagedFile,
+            TreeNode<KEY, VALUE> bTreeNode,
+            TreeRootExchange rootExchange,
+            ReadWriteLock checkpointLock,
+            ReadWriteLock writerLock,
+            FreeListIdProvider freeList,
+            Monitor monitor,
+            Consumer<Throwable> exceptionMessageAppender,
+            byte layerType,
+            double fillFactor) {
+        if (fillFactor <= 0 || fillFactor > 1) {
+            throw new IllegalArgumentException("Fill factor must be in range (0,1], but was " + fillFactor);
+        }
+        this.layout = layout;
+        this.pagedFile = pagedFile;
+        this.bTreeNode = bTreeNode;
+        this.rootExchange = rootExchange;
+        this.checkpointLock = checkpointLock;
+        this.writerLock = writerLock;
+        this.freeList = freeList;
+        this.monitor = monitor;
+        this.exceptionMessageAppender = exceptionMessageAppender;
+        this.layerType = layerType;
+        this.fillFactor = fillFactor;
+        this.lastKey = layout.newKey();
+        this.readKey = layout.newKey();
+        this.readValue = new TreeNode.ValueHolder<>(layout.newValue());
+        this.splitterKey = layout.newKey();
+    }
+
+    /**
+     * Acquires checkpoint read lock and exclusive writer lock and verifies that the tree is empty.
+     * When leaving this method the loader is either fully initialized or fully closed.
+     *
+     * @param generation current generation of the tree.
+     * @param cursorContext underlying page cursor context.
+     * @throws IOException on page cache error.
+     * @throws IllegalStateException if the tree isn't empty or if another writer is active.
+     */
+    void initialize(long generation, CursorContext cursorContext) throws IOException {
+        checkpointLock.readLock().lock();
+        if (!writerLock.writeLock().tryLock()) {
+            checkpointLock.readLock().unlock();
+            throw appendTreeInformation(new IllegalStateException(
+                    "Bulk loader cannot be used while the single writer or one or more parallel writers are active"));
+        }
+        writerLockAcquired = true;
+
+        boolean success = false;
+        try {
+            this.cursorContext = cursorContext;
+            stableGeneration = stableGeneration(generation);
+            unstableGeneration = unstableGeneration(generation);
+            cursor = pagedFile.io(0L /*Ignored*/, PagedFile.PF_SHARED_WRITE_LOCK, cursorContext);
+            Root root = rootExchange.getRoot();
+            root.goTo(cursor);
+            if (!TreeNode.isLeaf(cursor) || TreeNode.keyCount(cursor) != 0) {
+                throw appendTreeInformation(
+                        new IllegalStateException("Bulk loading is only supported into an empty tree"));
+            }
+            emptyRootId = root.id();
+            success = true;
+        } finally {
+            if (!success) {
+                close();
+            }
+        }
+    }
+
+    @Override
+    public void put(KEY key, VALUE value) {
+        merge(key, value, ValueMergers.overwrite());
+    }
+
+    @Override
+    public void merge(KEY key, VALUE value, ValueMerger<KEY, VALUE> valueMerger) {
+        internalMerge(key, value, valueMerger, true);
+    }
+
+    @Override
+    public void mergeIfExists(KEY key, VALUE value, ValueMerger<KEY, VALUE> valueMerger) {
+        internalMerge(key, value, valueMerger, false);
+    }
+
+    @Override
+    public VALUE remove(KEY key) {
+        throw appendTreeInformation(new UnsupportedOperationException("Bulk loader doesn't support removing entries"));
+    }
+
+    private void internalMerge(KEY key, VALUE value, ValueMerger<KEY, VALUE> valueMerger, boolean createIfNotExists) {
+        if (finished) {
+            throw appendTreeInformation(
+                    new IllegalStateException("Bulk loader cannot load entries after it has been finished"));
+        }
+        try {
+            int compare = levels.isEmpty() ? 1 : layout.compare(key, lastKey);
+            if (compare < 0) {
+                throw new IllegalArgumentException(format(
+                        "Bulk loader requires keys in ascending order, but got key:%s after key:%s", key, lastKey));
+            }
+            if (compare == 0) {
+                mergeWithLast(key, value, valueMerger);
+            } else if (createIfNotExists) {
+                bTreeNode.validateKeyValueSize(key, value);
+                append(key, value);
+            }
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable t) {
+            exceptionMessageAppender.accept(t);
+            throw t;
+        }
+        PointerChecking.checkOutOfBounds(cursor);
+    }
+
+    private void mergeWithLast(KEY key, VALUE value, ValueMerger<KEY, VALUE> valueMerger) throws IOException {
+        Level leafLevel = levels.get(0);
+        leafLevel.goTo(cursor);
+        if (leafLevel.keyCount == 0) {
+            // Last key was removed in an earlier merge
+            append(key, value);
+            return;
+        }
+        int pos = leafLevel.keyCount - 1;
+        bTreeNode.keyValueAt(cursor, readKey, readValue, pos, cursorContext);
+        var mergeResult = valueMerger.merge(readKey, key, readValue.value, value);
+        switch (mergeResult) {
+            case UNCHANGED -> {}
+            case REPLACED, MERGED -> {
+                var mergedValue = mergeResult == ValueMerger.MergeResult.REPLACED ? value : readValue.value;
+                if (!bTreeNode.setValueAt(
+                        cursor, mergedValue, pos, cursorContext, stableGeneration, unstableGeneration)) {
+                    // Value changed size, remove the last entry and append it again with the merged value
+                    removeLast(leafLevel);
+                    append(key, mergedValue);
+                }
+            }
+            case REMOVED -> removeLast(leafLevel);
+        }
+    }
+
+    private void removeLast(Level leafLevel) throws IOException {
+        leafLevel.keyCount = bTreeNode.removeKeyValueAt(
+                cursor,
+                leafLevel.keyCount - 1,
+                leafLevel.keyCount,
+                stableGeneration,
+                unstableGeneration,
+                cursorContext);
+        TreeNode.setKeyCount(cursor, leafLevel.keyCount);
+        if (leafLevel.keyCount > 0) {
+            // Splitter to next leaf needs to be derived from what is now the last key in this leaf
+            bTreeNode.keyAt(cursor, lastKey, leafLevel.keyCount - 1, LEAF, cursorContext);
+        }
+    }
+
+    private void append(KEY key, VALUE value) throws IOException {
+        if (levels.isEmpty()) {
+            levels.add(newLevel(LEAF, TreeNode.NO_NODE_FLAG));
+        }
+        Level leafLevel = levels.get(0);
+        leafLevel.goTo(cursor);
+        if (leafLevel.keyCount > 0 && !fitsInLeaf(leafLevel, key, value)) {
+            // Start a new leaf and let the level above know about it
+            layout.minimalSplitter(lastKey, key, splitterKey);
+            long leftLeafId = leafLevel.nodeId;
+            startNewNode(leafLevel, LEAF);
+            appendToParent(1, splitterKey, leftLeafId, leafLevel.nodeId);
+            leafLevel.goTo(cursor);
+        }
+        bTreeNode.insertKeyValueAt(
+                cursor,
+                key,
+                value,
+                leafLevel.keyCount,
+                leafLevel.keyCount,
+                stableGeneration,
+                unstableGeneration,
+                cursorContext);
+        leafLevel.keyCount++;
+        TreeNode.setKeyCount(cursor, leafLevel.keyCount);
+        // Read back rather than copied, so that following keys are compared to the last key the way a tree compares
+        // them
+        // to keys it has stored, without any state that the given key only has in memory
+        bTreeNode.keyAt(cursor, lastKey, leafLevel.keyCount - 1, LEAF, cursorContext);
+    }
+
+    /**
+     * Appends splitter key and right child to the rightmost internal node on the given level, creating that level
+     * with leftChild as its first child if it doesn't exist yet. If the rightmost internal node is full then a new
+     * node is started on that level, taking over the last key and child from its left sibling so that no internal
+     * node is ever left without keys. The taken over key is what separates the two nodes on the level above.
+     */
+    private void appendToParent(int levelIndex, KEY splitter, long leftChild, long rightChild) throws IOException {
+        if (levels.size() == levelIndex) {
+            Level newLevel = newLevel(INTERNAL, leftChild);
+            levels.add(newLevel);
+            monitor.treeGrowth();
+        }
+
+        Level level = levels.get(levelIndex);
+        level.goTo(cursor);
+        if (level.keyCount > 0 && !fitsInInternal(level, splitter)) {
+            // Take over last key and child from the current rightmost node
+            int lastPos = level.keyCount - 1;
+            KEY takenOverKey = bTreeNode.keyAt(cursor, layout.newKey(), lastPos, INTERNAL, cursorContext);
+            long takenOverChild = GenerationSafePointerPair.pointer(
+                    bTreeNode.childAt(cursor, level.keyCount, stableGeneration, unstableGeneration));
+            bTreeNode.removeKeyAndRightChildAt(
+                    cursor, lastPos, level.keyCount, stableGeneration, unstableGeneration, cursorContext);
+            level.keyCount--;
+            TreeNode.setKeyCount(cursor, level.keyCount);
+
+            long leftNodeId = level.nodeId;
+            startNewNode(level, INTERNAL);
+            level.goTo(cursor);
+            bTreeNode.setChildAt(cursor, takenOverChild, 0, stableGeneration, unstableGeneration);
+            appendToParent(levelIndex + 1, takenOverKey, leftNodeId, level.nodeId);
+            level.goTo(cursor);
+        }
+        bTreeNode.insertKeyAndRightChildAt(
+                cursor,
+                splitter,
+                rightChild,
+                level.keyCount,
+                level.keyCount,
+                stableGeneration,
+                unstableGeneration,
+                cursorContext);
+        level.keyCount++;
+        TreeNode.setKeyCount(cursor, level.keyCount);
+    }
+
+    private boolean fitsInLeaf(Level level, KEY key, VALUE value) {
+        var overflow = bTreeNode.leafOverflow(cursor, level.keyCount, key, value);
+        if (overflow == TreeNode.Overflow.YES) {
+            return false;
+        }
+        if (overflow == TreeNode.Overflow.NO_NEED_DEFRAG) {
+            bTreeNode.defragmentLeaf(cursor);
+        }
+        return bTreeNode.availableSpace(cursor, level.keyCount) - bTreeNode.totalSpaceOfKeyValue(key, value)
+                >= level.reservedSpace;
+    }
+
+    private boolean fitsInInternal(Level level, KEY key) {
+        var overflow = bTreeNode.internalOverflow(cursor, level.keyCount, key);
+        if (overflow == TreeNode.Overflow.YES) {
+            return false;
+        }
+        if (overflow == TreeNode.Overflow.NO_NEED_DEFRAG) {
+            bTreeNode.defragmentInternal(cursor);
+        }
+        return bTreeNode.availableSpace(cursor, level.keyCount) - bTreeNode.totalSpaceOfKeyChild(key)
+                >= level.reservedSpace;
+    }
+
+    private Level newLevel(TreeNode.Type type, long firstChild) throws IOException {
+        long nodeId = freeList.acquireNewId(stableGeneration, unstableGeneration, CursorCreator.bind(cursor));
+        goTo(cursor, nodeId);
+        initializeNode(type);
+        if (type == INTERNAL) {
+            bTreeNode.setChildAt(cursor, firstChild, 0, stableGeneration, unstableGeneration);
+        }
+        int reservedSpace = (int) ((1 - fillFactor) * bTreeNode.availableSpace(cursor, 0));
+        return new Level(nodeId, reservedSpace);
+    }
+
+    /**
+     * Starts a new rightmost node on the level, linked to the previous rightmost node as its right sibling.
+     */
+    private void startNewNode(Level level, TreeNode.Type type) throws IOException {
+        long newNodeId = freeList.acquireNewId(stableGeneration, unstableGeneration, CursorCreator.bind(cursor));
+        level.goTo(cursor);
+        TreeNode.setRightSibling(cursor, newNodeId, stableGeneration, unstableGeneration);
+        goTo(cursor, newNodeId);
+        initializeNode(type);
+        TreeNode.setLeftSibling(cursor, level.nodeId, stableGeneration, unstableGeneration);
+        level.nodeId = newNodeId;
+        level.keyCount = 0;
+    }
+
+    private void initializeNode(TreeNode.Type type) {
+        if (type == LEAF) {
+            bTreeNode.initializeLeaf(cursor, layerType, stableGeneration, unstableGeneration);
+        } else {
+            bTreeNode.initializeInternal(cursor, layerType, stableGeneration, unstableGeneration);
+        }
+    }
+
+    private static void goTo(PageCursor cursor, long nodeId) throws IOException {
+        PageCursorUtil.goTo(cursor, "bulk loaded node", nodeId);
+    }
+
+    /**
+     * Publishes the loaded tree by making the topmost node the new root and releasing the previous empty root.
+     * If nothing was loaded the tree is left as it was.
+     */
+    @Override
+    public void finish() {
+        if (!writerLockAcquired || finished) {
+            throw appendTreeInformation(new IllegalStateException(
+                    format("Tried to finish bulk loader, but bulk loader is already finished or closed. %s", this)));
+        }
+        try {
+            if (!levels.isEmpty()) {
+                long newRootId = levels.get(levels.size() - 1).nodeId;
+                rootExchange.setRoot(new Root(newRootId, unstableGeneration));
+                freeList.releaseId(stableGeneration, unstableGeneration, emptyRootId, CursorCreator.bind(cursor));
+                levels.clear();
+            }
+            finished = true;
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Releases the locks. If this loader hasn't been {@link #finish() finished} the nodes it has written are released,
+     * leaving the tree with its empty root.
+     */
+    @Override
+    public void close() {
+        if (!writerLockAcquired) {
+            throw appendTreeInformation(new IllegalStateException(
+                    format("Tried to close bulk loader, but bulk loader is already closed. %s", this)));
+        }
+        try {
+            if (cursor != null && !levels.isEmpty()) {
+                releaseLoadedNodes();
+            }
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } finally {
+            levels.clear();
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+            writerLock.writeLock().unlock();
+            checkpointLock.readLock().unlock();
+            writerLockAcquired = false;
+        }
+    }
+
+    /**
+     * Releases all nodes written by this loader, which are not reachable from the root. Every level is visited from its
+     * leftmost node, following the right sibling pointers.
+     */
+    private void releaseLoadedNodes() throws IOException {
+        for (Level level : levels) {
+            long nodeId = level.firstNodeId;
+            while (TreeNode.isNode(nodeId)) {
+                goTo(cursor, nodeId);
+                long rightSibling = GenerationSafePointerPair.pointer(
+                        TreeNode.rightSibling(cursor, stableGeneration, unstableGeneration));
+                freeList.releaseId(stableGeneration, unstableGeneration, nodeId, CursorCreator.bind(cursor));
+                nodeId = rightSibling;
+            }
+        }
+    }
+
+    private <T extends Exception> T appendTreeInformation(T exception) {
+        exceptionMessageAppender.accept(exception);
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return format("GBPTreeBulkLoader[fillFactor:%.2f, levels:%d]", fillFactor, levels.size());
+    }
+
+    /**
+     * Rightmost node on a level of the tree being loaded.
+     */
+    private static class Level {
+        private final int reservedSpace;
+        private final long firstNodeId;
+        private long nodeId;
+        private int keyCount;
+
+        Level(long nodeId, int reservedSpace) {
+            this.firstNodeId = nodeId;
+            this.nodeId = nodeId;
+            this.reservedSpace = reservedSpace;
+        }
+
+        void goTo(PageCursor cursor) throws IOException {
+            GBPTreeBulkLoader.goTo(cursor, nodeId);
+        }
+    }
+}
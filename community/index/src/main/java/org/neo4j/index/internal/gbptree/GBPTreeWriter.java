@@ -339,6 +339,70 @@ class GBPTreeWriter<K, V> implements Writer<K, V> {
         return result == InternalTreeLogic.RemoveResult.REMOVED && removedValue.defined ? removedValue.value : null;
     }
 
+    /**
+     * Compacts the leaf covering {@code key}, if it's underflowing, by rebalancing or merging it with its siblings.
+     * If it's the rightmost leaf of its parent then internal nodes on its path are merged with their siblings if they fit.
+     * The key to continue compacting the next leaf from is written into {@code nextKey}, which is set to highest
+     * if the compacted leaf was the rightmost leaf.
+     *
+     * @param key key covered by the leaf to compact.
+     * @param nextKey key to write the start of the next leaf into.
+     * @return number of tree nodes released by the compaction.
+     */
+    int compactLeaf(K key, K nextKey) {
+        int result;
+        try {
+            // Try optimistic mode
+            coordination.initialize();
+            if (!goToRoot()
+                    || (result = treeLogic.compactLeaf(
+                                    cursor,
+                                    structurePropagation,
+                                    key,
+                                    nextKey,
+                                    stableGeneration,
+                                    unstableGeneration,
+                                    cursorContext))
+                            == InternalTreeLogic.COMPACT_FAIL) {
+                // OK, didn't work. Flip to pessimistic mode and try again.
+                if (coordination.flipToPessimisticMode()) {
+                    assert structurePropagation.isEmpty();
+                    releaseCursorLockIfNeeded();
+                    if (!goToRoot()
+                            || (result = treeLogic.compactLeaf(
+                                            cursor,
+                                            structurePropagation,
+                                            key,
+                                            nextKey,
+                                            stableGeneration,
+                                            unstableGeneration,
+                                            cursorContext))
+                                    == InternalTreeLogic.COMPACT_FAIL) {
+                        throw appendTreeInformation(new TreeInconsistencyException(
+                                "Unable to compact leaf covering key:%s in pessimistic mode", key));
+                    }
+                } else {
+                    throw appendTreeInformation(
+                            new TreeInconsistencyException("Unable to compact leaf covering key:%s in mode", key));
+                }
+            }
+
+            handleStructureChanges(cursorContext);
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable e) {
+            exceptionMessageAppender.accept(e);
+            throw e;
+        } finally {
+            releaseCursorLockIfNeeded();
+            coordination.reset();
+        }
+
+        checkOutOfBounds(cursor);
+        return result;
+    }
+
     private void handleStructureChanges(CursorContext cursorContext) throws IOException {
         if (structurePropagation.hasRightKeyInsert) {
             // New root
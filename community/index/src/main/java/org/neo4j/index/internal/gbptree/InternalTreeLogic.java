@@ -28,6 +28,7 @@ import static org.neo4j.index.internal.gbptree.KeySearch.positionOf;
 import static org.neo4j.index.internal.gbptree.PointerChecking.assertNoSuccessor;
 import static org.neo4j.index.internal.gbptree.StructurePropagation.KeyReplaceStrategy.BUBBLE;
 import static org.neo4j.index.internal.gbptree.StructurePropagation.KeyReplaceStrategy.REPLACE;
+import static org.neo4j.index.internal.gbptree.StructurePropagation.NO_STRUCTURE_UPDATE;
 import static org.neo4j.index.internal.gbptree.StructurePropagation.UPDATE_LEFT_CHILD;
 import static org.neo4j.index.internal.gbptree.StructurePropagation.UPDATE_MID_CHILD;
 import static org.neo4j.index.internal.gbptree.StructurePropagation.UPDATE_RIGHT_CHILD;
@@ -93,11 +94,18 @@ import org.neo4j.io.pagecache.context.CursorContext;
 class InternalTreeLogic<KEY, VALUE> {
     static final double DEFAULT_SPLIT_RATIO = 0.5;
 
+    /**
+     * Returned from {@link #compactLeaf(PageCursor, StructurePropagation, Object, Object, long, long, CursorContext)}
+     * if the compaction was not permitted by the {@link TreeWriterCoordination}.
+     */
+    static final int COMPACT_FAIL = -1;
+
     private final IdProvider idProvider;
     private final TreeNode<KEY, VALUE> bTreeNode;
     private final Layout<KEY, VALUE> layout;
     private final KEY newKeyPlaceHolder;
     private final KEY readKey;
+    private final KEY separatorKey;
     private final TreeNode.ValueHolder<VALUE> readValue;
     private final Monitor monitor;
     private final TreeWriterCoordination coordination;
@@ -174,6 +182,7 @@ class InternalTreeLogic<KEY, VALUE> {
         this.layout = layout;
         this.newKeyPlaceHolder = layout.newKey();
         this.readKey = layout.newKey();
+        this.separatorKey = layout.newKey();
         this.readValue = new TreeNode.ValueHolder<>(layout.newValue());
         this.monitor = monitor;
         this.coordination = coordination;
@@ -995,6 +1004,239 @@ class InternalTreeLogic<KEY, VALUE> {
         return result;
     }
 
+    /**
+     * Compacts the leaf covering the given {@code key}, i.e. if the leaf is underflowing it will be rebalanced with or merged into
+     * one of its siblings, the same way as if the underflow would have been caused by a removal. This allows under-filled leaves
+     * that are left behind after removals, for example where no sibling could take their entries at that time, to be compacted later.
+     * <p>
+     * Internal nodes are not rebalanced or merged as part of removals, only released when they become empty. Therefore, when
+     * compacting the rightmost leaf of its parent, i.e. the last leaf visited in that parent if compacting from left to right,
+     * and an internal node on the path up to the root underflows, the internal nodes on that path are merged with a sibling
+     * under the same parent if both fit into one node. Nothing is changed, and the writer not made pessimistic, unless the leaf
+     * or an internal node on its path underflows.
+     * <p>
+     * The key range upper bound of the visited leaf is written into {@code nextKey} so that a caller can continue with the next leaf,
+     * or if this was the rightmost leaf then {@code nextKey} is {@link Layout#initializeAsHighest(Object) initialized as highest}.
+     * <p>
+     * Leaves cursor at the page which was last updated. No guarantees on offset.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree (if first operation since
+     * {@link #initialize(PageCursor,double)}) or at where last operation left it.
+     * @param structurePropagation {@link StructurePropagation} used to report structure changes between tree levels.
+     * @param key key which the leaf to compact covers.
+     * @param nextKey key to write the upper bound of the visited leaf into.
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @param cursorContext underlying page cursor context.
+     * @return number of tree nodes that were merged into a sibling and released, or {@link #COMPACT_FAIL} if the compaction
+     * was not permitted by the {@link TreeWriterCoordination}.
+     * @throws IOException on cursor failure
+     */
+    int compactLeaf(
+            PageCursor cursor,
+            StructurePropagation<KEY> structurePropagation,
+            KEY key,
+            KEY nextKey,
+            long stableGeneration,
+            long unstableGeneration,
+            CursorContext cursorContext)
+            throws IOException {
+        assert cursorIsAtExpectedLocation(cursor);
+        if (!moveToCorrectLeaf(cursor, key, stableGeneration, unstableGeneration, cursorContext)) {
+            return COMPACT_FAIL;
+        }
+
+        Level<KEY> leafLevel = levels[currentLevel];
+        if (leafLevel.upperIsOpenEnded) {
+            layout.initializeAsHighest(nextKey);
+        } else {
+            layout.copyKey(leafLevel.upper, nextKey);
+        }
+
+        int keyCount = keyCount(cursor);
+        boolean compactLeaf = bTreeNode.leafUnderflow(cursor, keyCount)
+                && (TreeNode.isNode(TreeNode.leftSibling(cursor, stableGeneration, unstableGeneration))
+                        || TreeNode.isNode(TreeNode.rightSibling(cursor, stableGeneration, unstableGeneration)));
+        boolean compactInternal =
+                currentLevel >= 2 && isRightmostChildOfParent(cursor) && hasInternalUnderflowOnPath(cursor);
+        if (!compactLeaf && !compactInternal) {
+            return 0;
+        }
+        if (!coordination.beforeCompactingLeaf()) {
+            return COMPACT_FAIL;
+        }
+
+        int releasedNodes = 0;
+        if (compactLeaf) {
+            createSuccessorIfNeeded(
+                    cursor, structurePropagation, UPDATE_MID_CHILD, stableGeneration, unstableGeneration);
+            if (underflowInLeaf(
+                    cursor, structurePropagation, keyCount, stableGeneration, unstableGeneration, cursorContext)) {
+                releasedNodes++;
+            }
+        }
+
+        // Propagate structure changes all the way up to the root and merge internal nodes on the way
+        int leafLevelIndex = currentLevel;
+        while (currentLevel > 0) {
+            boolean childIsInternal = currentLevel < leafLevelIndex;
+            int pos = levels[currentLevel].childPos;
+            popLevel(cursor);
+            handleStructureChangesOnLevel(
+                    cursor, structurePropagation, pos, stableGeneration, unstableGeneration, cursorContext);
+            if (childIsInternal
+                    && !structurePropagation.hasRightKeyInsert
+                    && !structurePropagation.hasLeftKeyReplace
+                    && !structurePropagation.hasRightKeyReplace
+                    && mergeInternalChildren(
+                            cursor, structurePropagation, pos, stableGeneration, unstableGeneration, cursorContext)) {
+                releasedNodes++;
+            }
+        }
+        tryShrinkTree(cursor, structurePropagation, stableGeneration, unstableGeneration);
+        return releasedNodes;
+    }
+
+    private boolean isRightmostChildOfParent(PageCursor cursor) throws IOException {
+        try (PageCursor parentCursor = cursor.openLinkedCursor(levels[currentLevel - 1].treeNodeId)) {
+            parentCursor.next();
+            return levels[currentLevel].childPos == keyCount(parentCursor);
+        }
+    }
+
+    /**
+     * Only the nodes on the path down to the leaf are looked at here, since those are the ones latched by the writer.
+     * Whether an underflowing internal node actually fits together with its sibling is checked in
+     * {@link #mergeInternalChildren(PageCursor, StructurePropagation, int, long, long, CursorContext)}.
+     *
+     * @return {@code true} if any internal node below the root on the path down to the leaf underflows.
+     */
+    private boolean hasInternalUnderflowOnPath(PageCursor cursor) throws IOException {
+        for (int level = 1; level < currentLevel; level++) {
+            try (PageCursor internalCursor = cursor.openLinkedCursor(levels[level].treeNodeId)) {
+                internalCursor.next();
+                if (bTreeNode.internalUnderflow(internalCursor, keyCount(internalCursor))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merges two internal children of the internal node where {@code cursor} sits, if the keys and children of the right
+     * child, together with the separator key between them, fit into the left child. The two children are the one at
+     * {@code childPos} and its left sibling, or its right sibling if it's the leftmost child. The right child is released.
+     * <p>
+     * Children with offloaded keys are left as they are, since their keys would have to be copied into the offload store again.
+     *
+     * @param cursor {@link PageCursor} pinned to the parent of the children to merge.
+     * @param structurePropagation {@link StructurePropagation} used to report structure changes between tree levels.
+     * @param childPos position of the child which was on the path down to the compacted leaf.
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @param cursorContext underlying page cursor context.
+     * @return {@code true} if the two children were merged, otherwise {@code false}.
+     * @throws IOException on cursor failure
+     */
+    private boolean mergeInternalChildren(
+            PageCursor cursor,
+            StructurePropagation<KEY> structurePropagation,
+            int childPos,
+            long stableGeneration,
+            long unstableGeneration,
+            CursorContext cursorContext)
+            throws IOException {
+        int keyCount = keyCount(cursor);
+        if (keyCount == 0) {
+            return false;
+        }
+        int leftPos = childPos > 0 ? childPos - 1 : 0;
+        long leftChild = bTreeNode.childAt(cursor, leftPos, stableGeneration, unstableGeneration);
+        checkChildPointer(leftChild, cursor, leftPos, bTreeNode, stableGeneration, unstableGeneration);
+        long rightChild = bTreeNode.childAt(cursor, leftPos + 1, stableGeneration, unstableGeneration);
+        checkChildPointer(rightChild, cursor, leftPos + 1, bTreeNode, stableGeneration, unstableGeneration);
+
+        // Will the separator key and all keys and children from the right child fit into the left child?
+        int rightKeyCount;
+        try (PageCursor leftCursor = cursor.openLinkedCursor(GenerationSafePointerPair.pointer(leftChild));
+                PageCursor rightCursor = leftCursor.openLinkedCursor(GenerationSafePointerPair.pointer(rightChild))) {
+            leftCursor.next();
+            rightCursor.next();
+            if (!isInternal(leftCursor) || !isInternal(rightCursor)) {
+                return false;
+            }
+            rightKeyCount = keyCount(rightCursor);
+            bTreeNode.keyAt(cursor, separatorKey, leftPos, INTERNAL, cursorContext);
+            int requiredSpace = bTreeNode.totalSpaceOfKeyChild(separatorKey);
+            for (int i = 0; i < rightKeyCount; i++) {
+                if (bTreeNode.offloadIdAt(rightCursor, i, INTERNAL) != TreeNode.NO_OFFLOAD_ID) {
+                    return false;
+                }
+                bTreeNode.keyAt(rightCursor, readKey, i, INTERNAL, cursorContext);
+                requiredSpace += bTreeNode.totalSpaceOfKeyChild(readKey);
+            }
+            if (requiredSpace > bTreeNode.availableSpace(leftCursor, keyCount(leftCursor))) {
+                return false;
+            }
+        }
+
+        createSuccessorIfNeeded(cursor, structurePropagation, UPDATE_MID_CHILD, stableGeneration, unstableGeneration);
+        try (PageCursor leftCursor = cursor.openLinkedCursor(GenerationSafePointerPair.pointer(leftChild))) {
+            leftCursor.next();
+            createSuccessorIfNeeded(
+                    leftCursor, structurePropagation, NO_STRUCTURE_UPDATE, stableGeneration, unstableGeneration);
+            bTreeNode.setChildAt(cursor, leftCursor.getCurrentPageId(), leftPos, stableGeneration, unstableGeneration);
+
+            try (PageCursor rightCursor = leftCursor.openLinkedCursor(GenerationSafePointerPair.pointer(rightChild))) {
+                rightCursor.next();
+
+                // Move separator key and everything in the right child over to the left child
+                int leftKeyCount = keyCount(leftCursor);
+                bTreeNode.defragmentInternal(leftCursor);
+                long child = bTreeNode.childAt(rightCursor, 0, stableGeneration, unstableGeneration);
+                checkChildPointer(child, rightCursor, 0, bTreeNode, stableGeneration, unstableGeneration);
+                bTreeNode.insertKeyAndRightChildAt(
+                        leftCursor,
+                        separatorKey,
+                        child,
+                        leftKeyCount,
+                        leftKeyCount,
+                        stableGeneration,
+                        unstableGeneration,
+                        cursorContext);
+                leftKeyCount++;
+                for (int i = 0; i < rightKeyCount; i++, leftKeyCount++) {
+                    bTreeNode.keyAt(rightCursor, readKey, i, INTERNAL, cursorContext);
+                    child = bTreeNode.childAt(rightCursor, i + 1, stableGeneration, unstableGeneration);
+                    checkChildPointer(child, rightCursor, i + 1, bTreeNode, stableGeneration, unstableGeneration);
+                    bTreeNode.insertKeyAndRightChildAt(
+                            leftCursor,
+                            readKey,
+                            child,
+                            leftKeyCount,
+                            leftKeyCount,
+                            stableGeneration,
+                            unstableGeneration,
+                            cursorContext);
+                }
+                TreeNode.setKeyCount(leftCursor, leftKeyCount);
+
+                // Release the right child
+                TreeNode.setSuccessor(rightCursor, leftCursor.getCurrentPageId(), stableGeneration, unstableGeneration);
+                connectLeftAndRightSibling(rightCursor, stableGeneration, unstableGeneration);
+                idProvider.releaseId(
+                        stableGeneration, unstableGeneration, rightCursor.getCurrentPageId(), bind(rightCursor));
+            }
+        }
+
+        // Remove separator key and the right child from the parent
+        bTreeNode.removeKeyAndRightChildAt(
+                cursor, leftPos, keyCount, stableGeneration, unstableGeneration, cursorContext);
+        TreeNode.setKeyCount(cursor, keyCount - 1);
+        return true;
+    }
+
     private void handleStructureChanges(
             PageCursor cursor,
             StructurePropagation<KEY> structurePropagation,
@@ -1013,81 +1255,92 @@ class InternalTreeLogic<KEY, VALUE> {
                 // Root split, let that be handled outside
                 break;
             }
+            handleStructureChangesOnLevel(
+                    cursor, structurePropagation, pos, stableGeneration, unstableGeneration, cursorContext);
+        }
+    }
 
-            if (structurePropagation.hasLeftChildUpdate) {
-                structurePropagation.hasLeftChildUpdate = false;
-                if (pos == 0) {
-                    updateRightmostChildInLeftSibling(
-                            cursor, structurePropagation.leftChild, stableGeneration, unstableGeneration);
-                } else {
-                    bTreeNode.setChildAt(
-                            cursor, structurePropagation.leftChild, pos - 1, stableGeneration, unstableGeneration);
-                }
+    private void handleStructureChangesOnLevel(
+            PageCursor cursor,
+            StructurePropagation<KEY> structurePropagation,
+            int pos,
+            long stableGeneration,
+            long unstableGeneration,
+            CursorContext cursorContext)
+            throws IOException {
+        if (structurePropagation.hasLeftChildUpdate) {
+            structurePropagation.hasLeftChildUpdate = false;
+            if (pos == 0) {
+                updateRightmostChildInLeftSibling(
+                        cursor, structurePropagation.leftChild, stableGeneration, unstableGeneration);
+            } else {
+                bTreeNode.setChildAt(
+                        cursor, structurePropagation.leftChild, pos - 1, stableGeneration, unstableGeneration);
             }
+        }
 
-            if (structurePropagation.hasMidChildUpdate) {
-                updateMidChild(cursor, structurePropagation, pos, stableGeneration, unstableGeneration);
-            }
+        if (structurePropagation.hasMidChildUpdate) {
+            updateMidChild(cursor, structurePropagation, pos, stableGeneration, unstableGeneration);
+        }
 
-            if (structurePropagation.hasRightChildUpdate) {
-                structurePropagation.hasRightChildUpdate = false;
-                int keyCount = keyCount(cursor);
-                if (pos == keyCount) {
-                    updateLeftmostChildInRightSibling(
-                            cursor, structurePropagation.rightChild, stableGeneration, unstableGeneration);
-                } else {
-                    bTreeNode.setChildAt(
-                            cursor, structurePropagation.rightChild, pos + 1, stableGeneration, unstableGeneration);
-                }
+        if (structurePropagation.hasRightChildUpdate) {
+            structurePropagation.hasRightChildUpdate = false;
+            int keyCount = keyCount(cursor);
+            if (pos == keyCount) {
+                updateLeftmostChildInRightSibling(
+                        cursor, structurePropagation.rightChild, stableGeneration, unstableGeneration);
+            } else {
+                bTreeNode.setChildAt(
+                        cursor, structurePropagation.rightChild, pos + 1, stableGeneration, unstableGeneration);
             }
+        }
 
-            // Insert before replace because replace can lead to split and another insert in next level.
-            // Replace can only come from rebalance on lower levels and because we do no rebalance among
-            // internal nodes we will only ever have one replace on our way up.
-            if (structurePropagation.hasRightKeyInsert) {
-                structurePropagation.hasRightKeyInsert = false;
-                insertInInternal(
+        // Insert before replace because replace can lead to split and another insert in next level.
+        // Replace can only come from rebalance on lower levels and because we do no rebalance among
+        // internal nodes we will only ever have one replace on our way up.
+        if (structurePropagation.hasRightKeyInsert) {
+            structurePropagation.hasRightKeyInsert = false;
+            insertInInternal(
+                    cursor,
+                    structurePropagation,
+                    keyCount(cursor),
+                    structurePropagation.rightKey,
+                    structurePropagation.rightChild,
+                    stableGeneration,
+                    unstableGeneration,
+                    cursorContext);
+        }
+
+        if (structurePropagation.hasLeftKeyReplace && levels[currentLevel].covers(structurePropagation.leftKey)) {
+            assert pos > 0 : "attempt to replace key left to the leftmost key";
+            structurePropagation.hasLeftKeyReplace = false;
+            switch (structurePropagation.keyReplaceStrategy) {
+                case REPLACE -> overwriteKeyInternal(
                         cursor,
                         structurePropagation,
-                        keyCount(cursor),
-                        structurePropagation.rightKey,
-                        structurePropagation.rightChild,
+                        structurePropagation.leftKey,
+                        pos - 1,
                         stableGeneration,
                         unstableGeneration,
                         cursorContext);
+                case BUBBLE -> replaceKeyByBubbleRightmostFromSubtree(
+                        cursor, structurePropagation, pos - 1, stableGeneration, unstableGeneration, cursorContext);
             }
+        }
 
-            if (structurePropagation.hasLeftKeyReplace && levels[currentLevel].covers(structurePropagation.leftKey)) {
-                assert pos > 0 : "attempt to replace key left to the leftmost key";
-                structurePropagation.hasLeftKeyReplace = false;
-                switch (structurePropagation.keyReplaceStrategy) {
-                    case REPLACE -> overwriteKeyInternal(
-                            cursor,
-                            structurePropagation,
-                            structurePropagation.leftKey,
-                            pos - 1,
-                            stableGeneration,
-                            unstableGeneration,
-                            cursorContext);
-                    case BUBBLE -> replaceKeyByBubbleRightmostFromSubtree(
-                            cursor, structurePropagation, pos - 1, stableGeneration, unstableGeneration, cursorContext);
-                }
-            }
-
-            if (structurePropagation.hasRightKeyReplace && levels[currentLevel].covers(structurePropagation.rightKey)) {
-                structurePropagation.hasRightKeyReplace = false;
-                switch (structurePropagation.keyReplaceStrategy) {
-                    case REPLACE -> overwriteKeyInternal(
-                            cursor,
-                            structurePropagation,
-                            structurePropagation.rightKey,
-                            pos,
-                            stableGeneration,
-                            unstableGeneration,
-                            cursorContext);
-                    case BUBBLE -> replaceKeyByBubbleRightmostFromSubtree(
-                            cursor, structurePropagation, pos, stableGeneration, unstableGeneration, cursorContext);
-                }
+        if (structurePropagation.hasRightKeyReplace && levels[currentLevel].covers(structurePropagation.rightKey)) {
+            structurePropagation.hasRightKeyReplace = false;
+            switch (structurePropagation.keyReplaceStrategy) {
+                case REPLACE -> overwriteKeyInternal(
+                        cursor,
+                        structurePropagation,
+                        structurePropagation.rightKey,
+                        pos,
+                        stableGeneration,
+                        unstableGeneration,
+                        cursorContext);
+                case BUBBLE -> replaceKeyByBubbleRightmostFromSubtree(
+                        cursor, structurePropagation, pos, stableGeneration, unstableGeneration, cursorContext);
             }
         }
     }
@@ -1366,9 +1619,10 @@ class InternalTreeLogic<KEY, VALUE> {
      * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
      * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
      * @param cursorContext underlying page cursor context.
+     * @return {@code true} if the leaf was merged with one of its siblings, i.e. one leaf was released, otherwise {@code false}.
      * @throws IOException on page access I/O error.
      */
-    private void underflowInLeaf(
+    private boolean underflowInLeaf(
             PageCursor cursor,
             StructurePropagation<KEY> structurePropagation,
             int keyCount,
@@ -1406,6 +1660,7 @@ class InternalTreeLogic<KEY, VALUE> {
                             keysToRebalance,
                             structurePropagation,
                             cursorContext);
+                    return false;
                 } else if (keysToRebalance == -1) {
                     // No need to create new unstable version of left sibling.
                     // Parent pointer will be updated later.
@@ -1419,6 +1674,7 @@ class InternalTreeLogic<KEY, VALUE> {
                             unstableGeneration,
                             cursorContext,
                             bind(leftSiblingCursor));
+                    return true;
                 }
             }
         } else if (TreeNode.isNode(rightSibling)) {
@@ -1444,9 +1700,11 @@ class InternalTreeLogic<KEY, VALUE> {
                             unstableGeneration,
                             cursorContext,
                             bind(rightSiblingCursor));
+                    return true;
                 }
             }
         }
+        return false;
     }
 
     private static void connectLeftAndRightSibling(PageCursor cursor, long stableGeneration, long unstableGeneration)
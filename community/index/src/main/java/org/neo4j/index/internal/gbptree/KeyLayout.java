@@ -147,6 +147,18 @@ public interface KeyLayout<KEY> extends Comparator<KEY> {
      */
     void initializeAsHighest(KEY key);
 
+    /**
+     * Indicate if keys in leaves of a dynamic size tree should be stored compressed against a key prefix common
+     * to keys in the same leaf. This pays off for layouts where neighbouring keys tend to share long serialized
+     * prefixes, e.g. composite keys with low cardinality leading parts. Only has effect if {@link #fixedSize()}
+     * is {@code false}. Changing this for an existing tree is not supported since it changes the tree format.
+     *
+     * @return {@code true} if keys in leaves should be prefix compressed, otherwise {@code false}.
+     */
+    default boolean compressKeyPrefixes() {
+        return false;
+    }
+
     /**
      * Adapter for {@link KeyLayout}, which contains convenient standard implementations of some methods.
      *
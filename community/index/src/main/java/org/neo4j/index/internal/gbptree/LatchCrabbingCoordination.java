@@ -222,6 +222,18 @@ class LatchCrabbingCoordination implements TreeWriterCoordination {
         }
     }
 
+    @Override
+    public boolean beforeCompactingLeaf() {
+        if (pessimistic) {
+            return true;
+        }
+
+        // Compacting a leaf will change its siblings and the internal nodes on its path, which is only safe to do
+        // in pessimistic mode where the whole path is write latched
+        inc(Stat.FAIL_LEAF_COMPACTION);
+        return false;
+    }
+
     @Override
     public void reset() {
         while (depth >= 0) {
@@ -323,7 +335,7 @@ class LatchCrabbingCoordination implements TreeWriterCoordination {
 
     private enum Stat {
         /**
-         * Total number of operations where one operation is one merge or remove on the writer.
+         * Total number of operations where one operation is one merge, remove or leaf compaction on the writer.
          */
         TOTAL_OPERATIONS,
         /**
@@ -346,6 +358,10 @@ class LatchCrabbingCoordination implements TreeWriterCoordination {
          * Number of "flip to pessimistic" caused by leaf underflow.
          */
         FAIL_LEAF_UNDERFLOW(PESSIMISTIC),
+        /**
+         * Number of "flip to pessimistic" caused by compaction of a leaf or the internal nodes on its path.
+         */
+        FAIL_LEAF_COMPACTION(PESSIMISTIC),
         /**
          * Number of "flip to pessimistic" caused by leaf needing successor and leaf's childPos in parent being either 0 or keyCount.
          */
@@ -473,6 +473,19 @@ class MultiRootLayer<ROOT_KEY, DATA_KEY, DATA_VALUE> extends RootLayer<ROOT_KEY,
                     DATA_LAYER_FLAG);
         }
 
+        @Override
+        public BulkLoader<DATA_KEY, DATA_VALUE> bulkLoader(double fillFactor, CursorContext cursorContext)
+                throws IOException {
+            return support.internalBulkLoader(
+                    dataLayout, dataTreeNode, fillFactor, cursorContext, rootMappingInteraction, DATA_LAYER_FLAG);
+        }
+
+        @Override
+        public void compact(CompactionMonitor monitor, CursorContext cursorContext) throws IOException {
+            support.internalCompact(
+                    dataLayout, dataTreeNode, monitor, cursorContext, rootMappingInteraction, DATA_LAYER_FLAG);
+        }
+
         @Override
         public Seeker<DATA_KEY, DATA_VALUE> allocateSeeker(CursorContext cursorContext) throws IOException {
             return support.internalAllocateSeeker(dataLayout, dataTreeNode, cursorContext, SeekCursor.NO_MONITOR);
@@ -485,6 +498,14 @@ class MultiRootLayer<ROOT_KEY, DATA_KEY, DATA_VALUE> extends RootLayer<ROOT_KEY,
                     seeker, rootMappingInteraction, fromInclusive, toExclusive, DEFAULT_MAX_READ_AHEAD, LEAF_LEVEL);
         }
 
+        @Override
+        public Seeker<DATA_KEY, DATA_VALUE> multiSeek(
+                Seeker<DATA_KEY, DATA_VALUE> seeker, List<DATA_KEY> fromInclusive, List<DATA_KEY> toExclusive)
+                throws IOException {
+            return support.initializeMultiSeeker(
+                    seeker, rootMappingInteraction, fromInclusive, toExclusive, DEFAULT_MAX_READ_AHEAD, LEAF_LEVEL);
+        }
+
         @Override
         public List<DATA_KEY> partitionedSeek(
                 DATA_KEY fromInclusive, DATA_KEY toExclusive, int numberOfPartitions, CursorContext cursorContext)
@@ -21,6 +21,7 @@ package org.neo4j.index.internal.gbptree;
 
 import static org.neo4j.index.internal.gbptree.Generation.stableGeneration;
 import static org.neo4j.index.internal.gbptree.Generation.unstableGeneration;
+import static org.neo4j.index.internal.gbptree.InternalTreeLogic.DEFAULT_SPLIT_RATIO;
 import static org.neo4j.index.internal.gbptree.PointerChecking.checkOutOfBounds;
 import static org.neo4j.index.internal.gbptree.SeekCursor.DEFAULT_MAX_READ_AHEAD;
 import static org.neo4j.index.internal.gbptree.SeekCursor.LEAF_LEVEL;
@@ -111,6 +112,24 @@ class RootLayerSupport {
                         searchLevel);
     }
 
+    <K, V> Seeker<K, V> initializeMultiSeeker(
+            Seeker<K, V> seeker,
+            RootSupplier rootSupplier,
+            List<K> fromInclusive,
+            List<K> toExclusive,
+            int readAheadLength,
+            int searchLevel)
+            throws IOException {
+        return ((SeekCursor<K, V>) seeker)
+                .initializeMultiSeek(
+                        c -> rootSupplier.getRoot().goTo(c),
+                        new TripCountingRootCatchup(rootSupplier),
+                        fromInclusive,
+                        toExclusive,
+                        readAheadLength,
+                        searchLevel);
+    }
+
     /**
      * We want to create a given number of partitions of the range given by <code>fromInclusive</code> and <code>toExclusive</code>.
      * We want the number of entries in each partition to be as equal as possible. We let the number of leaves in each partition
@@ -201,7 +220,7 @@ class RootLayerSupport {
                 .partition(splitterKeysInRange, fromInclusive, toExclusive, desiredNumberOfPartitions);
     }
 
-    <K, V> Writer<K, V> internalParallelWriter(
+    <K, V> GBPTreeWriter<K, V> internalParallelWriter(
             Layout<K, V> layout,
             TreeNode<K, V> treeNode,
             double ratioToKeepInLeftOnSplit,
@@ -215,6 +234,41 @@ class RootLayerSupport {
         return initializeWriter(writer, ratioToKeepInLeftOnSplit, cursorContext);
     }
 
+    <K, V> void internalCompact(
+            Layout<K, V> layout,
+            TreeNode<K, V> treeNode,
+            CompactionMonitor compactionMonitor,
+            CursorContext cursorContext,
+            TreeRootExchange rootExchange,
+            byte layerType)
+            throws IOException {
+        int leavesPerBatch = compactionMonitor.leavesPerBatch();
+        checkArgument(leavesPerBatch > 0, "Number of leaves per batch must be positive, but was %d", leavesPerBatch);
+        K key = layout.newKey();
+        K nextKey = layout.newKey();
+        K highest = layout.newKey();
+        layout.initializeAsLowest(key);
+        layout.initializeAsHighest(highest);
+        long visitedLeaves = 0;
+        long releasedTreeNodes = 0;
+        boolean hasMoreLeaves = true;
+        while (hasMoreLeaves) {
+            try (GBPTreeWriter<K, V> writer = internalParallelWriter(
+                    layout, treeNode, DEFAULT_SPLIT_RATIO, cursorContext, rootExchange, layerType)) {
+                for (int i = 0; i < leavesPerBatch && hasMoreLeaves; i++) {
+                    releasedTreeNodes += writer.compactLeaf(key, nextKey);
+                    visitedLeaves++;
+                    hasMoreLeaves = layout.compare(nextKey, highest) < 0;
+                    layout.copyKey(nextKey, key);
+                }
+            }
+            if (hasMoreLeaves && !compactionMonitor.batchCompleted(visitedLeaves, releasedTreeNodes)) {
+                break;
+            }
+        }
+        compactionMonitor.compactionCompleted(visitedLeaves, releasedTreeNodes);
+    }
+
     <K, V> GBPTreeWriter<K, V> newWriter(
             Layout<K, V> layout,
             TreeRootExchange rootChangeMonitor,
@@ -250,6 +304,35 @@ class RootLayerSupport {
         return writer;
     }
 
+    <K, V> BulkLoader<K, V> internalBulkLoader(
+            Layout<K, V> layout,
+            TreeNode<K, V> treeNode,
+            double fillFactor,
+            CursorContext cursorContext,
+            TreeRootExchange rootExchange,
+            byte layerType)
+            throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException(String.format("'%s' is read-only", pagedFile.path()));
+        }
+        cleanCheck.apply();
+        GBPTreeBulkLoader<K, V> bulkLoader = new GBPTreeBulkLoader<>(
+                layout,
+                pagedFile,
+                treeNode,
+                rootExchange,
+                checkpointLock,
+                writerLock,
+                freeList,
+                monitor,
+                exceptionDecorator,
+                layerType,
+                fillFactor);
+        bulkLoader.initialize(generationSupplier.getAsLong(), cursorContext);
+        changesSinceLastCheckpoint.set(true);
+        return bulkLoader;
+    }
+
     <K, V> OffloadStoreImpl<K, V> buildOffload(Layout<K, V> layout) {
         OffloadIdValidator idValidator = id -> id >= IdSpace.MIN_TREE_NODE_ID && id <= pagedFile.getLastPageId();
         return new OffloadStoreImpl<>(layout, freeList, pagedFile::io, idValidator, payloadSize);
@@ -388,6 +471,12 @@ class RootLayerSupport {
                     return initializeSeeker(seeker, rootSupplier, fromInclusive, toExclusive, 1, LEAF_LEVEL);
                 }
 
+                @Override
+                public Seeker<K, V> multiSeek(Seeker<K, V> seeker, List<K> fromInclusive, List<K> toExclusive)
+                        throws IOException {
+                    return initializeMultiSeeker(seeker, rootSupplier, fromInclusive, toExclusive, 1, LEAF_LEVEL);
+                }
+
                 @Override
                 public List<K> partitionedSeek(
                         K fromInclusive, K toExclusive, int numberOfPartitions, CursorContext cursorContext)
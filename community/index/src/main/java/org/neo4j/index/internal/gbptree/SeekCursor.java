@@ -25,6 +25,7 @@ import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
 import static org.neo4j.io.IOUtils.closeAllSilently;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import org.neo4j.io.pagecache.PageCursor;
@@ -52,6 +53,12 @@ import org.neo4j.util.Preconditions;
  * If fromInclusive <= toExclusive, then seek forwards, otherwise seek backwards
  * </pre>
  * <p>
+ * A seeker can also be initialized with a sorted list of forward key ranges, see
+ * {@link #initializeMultiSeek(RootInitializer, RootCatchup, List, List, int, int)}. When a range is exhausted the
+ * seeker tries to find the start of the next range in the current leaf, or its right sibling, before falling back
+ * to traversing down from the root again. This is safe since keys only ever move to the right, so a key which is
+ * larger than a key in the current leaf can only be found in that leaf or further to the right.
+ * <p>
  * Implementation note: there are assumptions that keys are unique in the tree.
  * <p>
  * <strong>Note on backwards seek</strong>
@@ -224,6 +231,21 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
      */
     private boolean exactMatch;
 
+    /**
+     * Start keys of all key ranges of a multi-seek, or {@code null} if this is a single range seek.
+     */
+    private List<KEY> multiSeekFromInclusive;
+
+    /**
+     * End keys of all key ranges of a multi-seek, or {@code null} if this is a single range seek.
+     */
+    private List<KEY> multiSeekToExclusive;
+
+    /**
+     * Index into {@link #multiSeekFromInclusive}/{@link #multiSeekToExclusive} of the next key range to seek.
+     */
+    private int nextRange;
+
     /**
      * {@link Layout} instance used to perform some functions around keys, like copying and comparing.
      */
@@ -244,6 +266,11 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
      */
     private final LongSupplier generationSupplier;
 
+    /**
+     * Places the {@link PageCursor} at the root, used when starting a new key range from the root.
+     */
+    private RootInitializer rootInitializer;
+
     /**
      * Retrieves latest root id and generation, moving the {@link PageCursor} to the root id and returning
      * the root generation. This is used when a query is re-traversing from the root, due to e.g. ending up
@@ -461,7 +488,6 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
         this.firstKeyInNode = layout.newKey();
     }
 
-    @SuppressWarnings("unchecked")
     SeekCursor<KEY, VALUE> initialize(
             RootInitializer rootInitializer,
             RootCatchup rootCatchup,
@@ -471,7 +497,131 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
             int searchLevel)
             throws IOException {
         Preconditions.checkState(!closed, "Seeker already closed");
+        this.rootInitializer = rootInitializer;
+        this.rootCatchup = rootCatchup;
+        this.searchLevel = searchLevel;
+        this.multiSeekFromInclusive = null;
+        this.multiSeekToExclusive = null;
+        this.nextRange = 0;
+        ensureBatchCapacity(layout.compare(fromInclusive, toExclusive) == 0 ? 1 : maxReadAhead);
+
+        try {
+            seekFromRoot(fromInclusive, toExclusive);
+        } catch (Throwable e) {
+            exceptionDecorator.accept(e);
+            closeAllSilently(this);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Initializes this seeker to seek multiple key ranges, one after the other, returning hits from all of them
+     * in ascending order. The key ranges must all be forward ranges, sorted and not overlapping, i.e. each start key
+     * must be equal to or greater than the end key of the previous range. A range where start and end key are equal
+     * is an exact match lookup, in which case the next range must start after that key.
+     * <p>
+     * Compared to initializing a seeker per range this saves the traversal from the root for every range that starts
+     * in the leaf where the previous range ended, or in its right sibling.
+     *
+     * @param rootInitializer places the cursor at the root.
+     * @param rootCatchup used when the seek needs to be restarted from the root.
+     * @param fromInclusive start keys of the ranges to seek.
+     * @param toExclusive end keys of the ranges to seek, one per start key.
+     * @param maxReadAhead max number of keys/values to read in one batch.
+     * @param searchLevel level of the tree to seek, must be {@link #LEAF_LEVEL}.
+     * @return this seeker.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    SeekCursor<KEY, VALUE> initializeMultiSeek(
+            RootInitializer rootInitializer,
+            RootCatchup rootCatchup,
+            List<KEY> fromInclusive,
+            List<KEY> toExclusive,
+            int maxReadAhead,
+            int searchLevel)
+            throws IOException {
+        Preconditions.checkState(!closed, "Seeker already closed");
+        boolean allExactMatches;
+        try {
+            allExactMatches = validateMultiSeekRanges(fromInclusive, toExclusive, searchLevel);
+        } catch (IllegalArgumentException e) {
+            closeAllSilently(this);
+            throw e;
+        }
+        this.rootInitializer = rootInitializer;
         this.rootCatchup = rootCatchup;
+        this.searchLevel = searchLevel;
+        this.multiSeekFromInclusive = fromInclusive;
+        this.multiSeekToExclusive = toExclusive;
+        this.nextRange = 1;
+        ensureBatchCapacity(allExactMatches ? 1 : maxReadAhead);
+
+        if (fromInclusive.isEmpty()) {
+            this.first = true;
+            this.ended = true;
+            return this;
+        }
+        try {
+            seekFromRoot(fromInclusive.get(0), toExclusive.get(0));
+        } catch (Throwable e) {
+            exceptionDecorator.accept(e);
+            closeAllSilently(this);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * @return {@code true} if all the given key ranges are exact match lookups.
+     * @throws IllegalArgumentException if the given key ranges are not valid for a multi-seek.
+     */
+    private boolean validateMultiSeekRanges(List<KEY> fromInclusive, List<KEY> toExclusive, int searchLevel) {
+        Preconditions.checkArgument(searchLevel == LEAF_LEVEL, "Multi-seek is only supported on leaf level");
+        Preconditions.checkArgument(
+                fromInclusive.size() == toExclusive.size(),
+                "Expected as many start keys as end keys, but got %d start keys and %d end keys",
+                fromInclusive.size(),
+                toExclusive.size());
+        boolean allExactMatches = true;
+        for (int i = 0; i < fromInclusive.size(); i++) {
+            int rangeComparison = layout.compare(fromInclusive.get(i), toExclusive.get(i));
+            Preconditions.checkArgument(
+                    rangeComparison <= 0,
+                    "Key range %d is not a forward range [%s,%s)",
+                    i,
+                    fromInclusive.get(i),
+                    toExclusive.get(i));
+            allExactMatches &= rangeComparison == 0;
+            if (i > 0) {
+                int gapComparison = layout.compare(fromInclusive.get(i), toExclusive.get(i - 1));
+                boolean previousIsExactMatch = layout.compare(fromInclusive.get(i - 1), toExclusive.get(i - 1)) == 0;
+                Preconditions.checkArgument(
+                        previousIsExactMatch ? gapComparison > 0 : gapComparison >= 0,
+                        "Key range %d, starting at %s, is not sorted after or overlaps the previous key range ending at %s",
+                        i,
+                        fromInclusive.get(i),
+                        toExclusive.get(i - 1));
+            }
+        }
+        return allExactMatches;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ensureBatchCapacity(int batchSize) {
+        if (mutableKeys == null || batchSize > mutableKeys.length) {
+            this.mutableKeys = (KEY[]) new Object[batchSize];
+            this.mutableValues = new TreeNode.ValueHolder[batchSize];
+            this.mutableKeys[0] = layout.newKey();
+            this.mutableValues[0] = new TreeNode.ValueHolder<>(layout.newValue());
+        }
+    }
+
+    /**
+     * Resets the state of this seeker to seek the given key range and traverses down from the root to the node
+     * where the range starts.
+     */
+    private void seekFromRoot(KEY fromInclusive, KEY toExclusive) throws IOException {
         this.lastFollowedPointerGeneration = rootInitializer.goToRoot(cursor);
         long generation = generationSupplier.getAsLong();
         this.stableGeneration = Generation.stableGeneration(generation);
@@ -488,14 +638,6 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
         this.first = true;
         this.seekForward = layout.compare(fromInclusive, toExclusive) <= 0;
         this.stride = seekForward ? 1 : -1;
-        this.searchLevel = searchLevel;
-        int batchSize = exactMatch ? 1 : maxReadAhead;
-        if (mutableKeys == null || batchSize > mutableKeys.length) {
-            this.mutableKeys = (KEY[]) new Object[batchSize];
-            this.mutableValues = new TreeNode.ValueHolder[batchSize];
-            this.mutableKeys[0] = layout.newKey();
-            this.mutableValues[0] = new TreeNode.ValueHolder<>(layout.newValue());
-        }
         this.ended = false;
         this.pos = 0;
         this.keyCount = 0;
@@ -511,14 +653,7 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
         this.prevSiblingId = 0;
         this.prevSiblingGeneration = 0;
 
-        try {
-            traverseDownToCorrectLevel();
-        } catch (Throwable e) {
-            exceptionDecorator.accept(e);
-            closeAllSilently(this);
-            throw e;
-        }
-        return this;
+        traverseDownToCorrectLevel();
     }
 
     /**
@@ -625,68 +760,221 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
     @Override
     public boolean next() throws IOException {
         try {
-            while (!ended) {
-                pos += stride;
-
-                // There are two main tracks in this loop:
-                // - (SLOW) no keys/values have been read and will therefore need to be read from the cursor.
-                //   Reading from the cursor means there are a lot of things around the actual keys and values
-                //   that need to be check to validate the read. This is expensive to do since there's so much
-                //   to validate. This is why keys/values are read in batches of N entries. The validations
-                //   are made only once per batch instead of once per key/value.
-                // - (FAST) there are keys/values read and validated and ready to simply be returned to the user.
-
-                if (cachedIndex + 1 < cachedLength
-                        && !(concurrentWriteHappened = cursor.shouldRetry())) { // FAST, key/value is readily available
-                    cachedIndex++;
-                    if (resultOnTrack && isValueDefined()) {
-                        return true;
+            do {
+                if (nextInRange()) {
+                    return true;
+                }
+            } while (seekNextRange());
+            return false;
+        } catch (Throwable e) {
+            exceptionDecorator.accept(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the next hit in the current key range.
+     *
+     * @return {@code true} if there was a next hit in the current key range, otherwise {@code false}.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    private boolean nextInRange() throws IOException {
+        while (!ended) {
+            pos += stride;
+
+            // There are two main tracks in this loop:
+            // - (SLOW) no keys/values have been read and will therefore need to be read from the cursor.
+            //   Reading from the cursor means there are a lot of things around the actual keys and values
+            //   that need to be check to validate the read. This is expensive to do since there's so much
+            //   to validate. This is why keys/values are read in batches of N entries. The validations
+            //   are made only once per batch instead of once per key/value.
+            // - (FAST) there are keys/values read and validated and ready to simply be returned to the user.
+
+            if (cachedIndex + 1 < cachedLength
+                    && !(concurrentWriteHappened = cursor.shouldRetry())) { // FAST, key/value is readily available
+                cachedIndex++;
+                if (resultOnTrack && isValueDefined()) {
+                    return true;
+                }
+                if (isResultKey()) {
+                    resultOnTrack = true;
+                    return true;
+                }
+                continue;
+            } else { // SLOW, next batch of keys/values needs to be read
+                if (resultOnTrack) {
+                    layout.copyKey(mutableKeys[cachedIndex], prevKey);
+                }
+                if (!readAndValidateNextKeyValueBatch()) {
+                    // Concurrent changes
+                    cachedLength = 0;
+                    continue;
+                }
+
+                // Below, the cached key/value at slot [0] will be used
+                if (!seekForward && pos >= keyCount) {
+                    goTo(prevSiblingId, prevSiblingGeneration, GBPPointerType.RIGHT_SIBLING, true);
+                    // Continue in the read loop above so that we can continue reading from previous sibling
+                    // or on next position
+                    continue;
+                }
+
+                if ((seekForward && pos >= keyCount) || (!seekForward && pos <= 0 && !insidePrevKey(cachedIndex))) {
+                    if (goToNextSibling()) {
+                        continue; // in the read loop above so that we can continue reading from next sibling
                     }
+                } else if (0 <= pos && pos < keyCount && insideEndRange(exactMatch, 0)) {
                     if (isResultKey()) {
                         resultOnTrack = true;
-                        return true;
+                        return true; // which marks this read a hit that user can see
                     }
                     continue;
-                } else { // SLOW, next batch of keys/values needs to be read
-                    if (resultOnTrack) {
-                        layout.copyKey(mutableKeys[cachedIndex], prevKey);
-                    }
-                    if (!readAndValidateNextKeyValueBatch()) {
-                        // Concurrent changes
-                        cachedLength = 0;
-                        continue;
-                    }
+                }
+            }
 
-                    // Below, the cached key/value at slot [0] will be used
-                    if (!seekForward && pos >= keyCount) {
-                        goTo(prevSiblingId, prevSiblingGeneration, GBPPointerType.RIGHT_SIBLING, true);
-                        // Continue in the read loop above so that we can continue reading from previous sibling
-                        // or on next position
-                        continue;
-                    }
+            // We've come too far and so this means the end of the result set
+            ended = true;
+            return false;
+        }
+        return false;
+    }
 
-                    if ((seekForward && pos >= keyCount) || (!seekForward && pos <= 0 && !insidePrevKey(cachedIndex))) {
-                        if (goToNextSibling()) {
-                            continue; // in the read loop above so that we can continue reading from next sibling
-                        }
-                    } else if (0 <= pos && pos < keyCount && insideEndRange(exactMatch, 0)) {
-                        if (isResultKey()) {
-                            resultOnTrack = true;
-                            return true; // which marks this read a hit that user can see
-                        }
-                        continue;
-                    }
+    /**
+     * Moves on to the next key range of a multi-seek, if there is one. The next range is preferably continued from
+     * the current leaf, see {@link #continueFromCurrentLeaf(Object, Object)}, otherwise by traversing down from
+     * the root.
+     *
+     * @return {@code true} if there was another key range to seek, otherwise {@code false}.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    private boolean seekNextRange() throws IOException {
+        if (closed || multiSeekFromInclusive == null || nextRange >= multiSeekFromInclusive.size()) {
+            return false;
+        }
+        KEY from = multiSeekFromInclusive.get(nextRange);
+        KEY to = multiSeekToExclusive.get(nextRange);
+        nextRange++;
+        if (!continueFromCurrentLeaf(from, to)) {
+            seekFromRoot(from, to);
+        }
+        return true;
+    }
+
+    /**
+     * Tries to start seeking the given key range from the leaf the cursor is currently on, or from its right sibling.
+     * This is only possible if the current leaf has a key which is smaller than {@code fromInclusive}, because keys
+     * only ever move to the right and so no key in the range can then be found in leaves to the left of it.
+     * The right sibling is only peeked at, using a linked cursor, and moved to if the range starts in it.
+     * Otherwise, the range is likely to start far away and it's cheaper to traverse down from the root.
+     * <p>
+     * Any inconsistency observed here makes this method give up, letting the caller traverse down from the root
+     * instead. After successfully returning from this method the next batch read will do a fresh search for
+     * {@code fromInclusive} in the node, with the usual validation, as if a concurrent write had happened.
+     *
+     * @param fromInclusive start of the key range to seek.
+     * @param toExclusive end of the key range to seek.
+     * @return {@code true} if the seeker is positioned to seek the given range, otherwise {@code false} meaning that
+     * the seek needs to be started from the root.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    private boolean continueFromCurrentLeaf(KEY fromInclusive, KEY toExclusive) throws IOException {
+        if (!seekForward || isInternal || searchLevel != LEAF_LEVEL) {
+            return false;
+        }
+        this.fromInclusive = fromInclusive;
+        this.toExclusive = toExclusive;
+        this.exactMatch = layout.compare(fromInclusive, toExclusive) == 0;
+
+        do {
+            try {
+                pointerId = 0;
+                pointerGeneration = 0;
+                if (!readHeader()) {
+                    continue;
+                }
+                searchResult = searchKey(fromInclusive, LEAF);
+                if (!KeySearch.isSuccess(searchResult)) {
+                    continue;
                 }
+                pos = positionOf(searchResult, false);
+                if (pos >= keyCount) {
+                    pointerId = readNextSibling();
+                    pointerGeneration = generationKeeper.generation;
+                }
+            } catch (Exception e) {
+                cursor.setCursorException(e.getMessage());
+            }
+        } while (cursor.shouldRetry());
+        checkOutOfBoundsAndClosed();
+        cursor.checkAndClearCursorException();
 
-                // We've come too far and so this means the end of the result set
-                ended = true;
+        if (!endedUpOnExpectedNode()
+                || !saneRead()
+                || isInternal
+                || TreeNode.isNode(successor)
+                || keyCount == 0
+                || (pos == 0 && !KeySearch.isHit(searchResult))) {
+            // Either something changed in this node or the range may start in a leaf to the left of it
+            return false;
+        }
+        if (pos >= keyCount) {
+            if (!GenerationSafePointerPair.isSuccess(pointerId)) {
                 return false;
             }
-        } catch (Throwable e) {
-            exceptionDecorator.accept(e);
-            throw e;
+            if (TreeNode.isNode(pointerId)) {
+                if (!rangeStartsInNextSibling()) {
+                    return false;
+                }
+                TreeNode.goTo(cursor, "sibling", pointerId);
+                lastFollowedPointerGeneration = pointerGeneration;
+            }
+            // else this is the last leaf, the range starts after the last key in the tree
         }
-        return false;
+
+        // The next batch read will search for fromInclusive in the node we're on
+        first = true;
+        ended = false;
+        pos = -1;
+        cachedIndex = 0;
+        cachedLength = 0;
+        resultOnTrack = false;
+        concurrentWriteHappened = true;
+        forceReadHeader = false;
+        verifyExpectedFirstAfterGoToNext = false;
+        return true;
+    }
+
+    /**
+     * Peeks at the right sibling, read before this call into {@link #pointerId}, using a linked cursor, without moving
+     * the main {@link PageCursor}.
+     *
+     * @return {@code true} if the right sibling looks like a leaf containing a key equal to or greater than
+     * {@link #fromInclusive}, otherwise {@code false}.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    private boolean rangeStartsInNextSibling() throws IOException {
+        boolean startsInSibling = false;
+        try (PageCursor scout = this.cursor.openLinkedCursor(GenerationSafePointerPair.pointer(pointerId))) {
+            scout.next();
+            if (TreeNode.nodeType(scout) == TreeNode.NODE_TYPE_TREE_NODE
+                    && TreeNode.isLeaf(scout)
+                    && TreeNode.generation(scout) <= pointerGeneration) {
+                int siblingKeyCount = TreeNode.keyCount(scout);
+                if (keyCountIsSane(siblingKeyCount) && siblingKeyCount > 0) {
+                    int siblingSearchResult = KeySearch.search(
+                            scout, bTreeNode, LEAF, fromInclusive, mutableKeys[0], siblingKeyCount, cursorContext);
+                    startsInSibling = KeySearch.isSuccess(siblingSearchResult)
+                            && KeySearch.positionOf(siblingSearchResult) < siblingKeyCount;
+                }
+            }
+
+            if (this.cursor.shouldRetry()) {
+                // Either the sibling or the current node changed while peeking, let the caller start from the root
+                return false;
+            }
+            checkOutOfBounds(this.cursor);
+        }
+        return startsInSibling;
     }
 
     private boolean readAndValidateNextKeyValueBatch() throws IOException {
@@ -104,6 +104,42 @@ public interface Seeker<KEY, VALUE> extends Closeable {
          */
         Seeker<KEY, VALUE> seek(Seeker<KEY, VALUE> seeker, KEY fromInclusive, KEY toExclusive) throws IOException;
 
+        /**
+         * Seeks hits in this tree, given multiple key ranges, e.g. a number of exact keys to look up. Hits from all ranges
+         * are iterated over, in ascending order, using the returned {@link Seeker}. This is cheaper than seeking each range
+         * separately, since a range which starts in the same leaf as the previous range ended in, or in its right sibling,
+         * is continued from there instead of traversing down from the root again.
+         * <p>
+         * The ranges must be seeking forwards, be sorted and not overlap, i.e. {@code fromInclusive[i]} must be equal to
+         * or greater than {@code toExclusive[i - 1]}. A range where {@code fromInclusive[i]} is equal to {@code toExclusive[i]}
+         * is an exact match lookup for that key.
+         *
+         * @param fromInclusive lower bounds of the ranges to seek (inclusive).
+         * @param toExclusive higher bounds of the ranges to seek (exclusive), one per lower bound.
+         * @param cursorContext underlying page cursor context
+         * @return a {@link Seeker} used to iterate over the hits within the specified key ranges.
+         * @throws IOException on error reading from index.
+         * @throws IllegalArgumentException if the ranges are not sorted or are overlapping.
+         */
+        default Seeker<KEY, VALUE> multiSeek(
+                List<KEY> fromInclusive, List<KEY> toExclusive, CursorContext cursorContext) throws IOException {
+            return multiSeek(allocateSeeker(cursorContext), fromInclusive, toExclusive);
+        }
+
+        /**
+         * Seeks multiple key ranges with an existing {@link Seeker} instance, for reduced overhead.
+         *
+         * @see #multiSeek(List, List, CursorContext)
+         * @param seeker {@link Seeker} instance to use to do this seek. This instance is also returned for convenience.
+         * @param fromInclusive lower bounds of the ranges to seek (inclusive).
+         * @param toExclusive higher bounds of the ranges to seek (exclusive), one per lower bound.
+         * @return a {@link Seeker} used to iterate over the hits within the specified key ranges.
+         * @throws IOException on error reading from index.
+         * @throws IllegalArgumentException if the ranges are not sorted or are overlapping.
+         */
+        Seeker<KEY, VALUE> multiSeek(Seeker<KEY, VALUE> seeker, List<KEY> fromInclusive, List<KEY> toExclusive)
+                throws IOException;
+
         /**
          * Partitions the provided key range into {@code numberOfPartitions} partitions and instantiates a {@link Seeker} for each.
          * Caller can seek through the partitions in parallel. Caller is responsible for closing the returned {@link Seeker seekers}.
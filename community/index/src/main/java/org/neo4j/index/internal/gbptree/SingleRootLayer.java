@@ -197,6 +197,18 @@ class SingleRootLayer<KEY, VALUE> extends RootLayer<SingleRoot, KEY, VALUE> {
                     LEAF_LEVEL);
         }
 
+        @Override
+        public Seeker<KEY, VALUE> multiSeek(Seeker<KEY, VALUE> seeker, List<KEY> fromInclusive, List<KEY> toExclusive)
+                throws IOException {
+            return support.initializeMultiSeeker(
+                    seeker,
+                    SingleRootLayer.this,
+                    fromInclusive,
+                    toExclusive,
+                    SeekCursor.DEFAULT_MAX_READ_AHEAD,
+                    LEAF_LEVEL);
+        }
+
         @Override
         public List<KEY> partitionedSeek(
                 KEY fromInclusive, KEY toExclusive, int numberOfPartitions, CursorContext cursorContext)
@@ -222,6 +234,17 @@ class SingleRootLayer<KEY, VALUE> extends RootLayer<SingleRoot, KEY, VALUE> {
             }
         }
 
+        @Override
+        public BulkLoader<KEY, VALUE> bulkLoader(double fillFactor, CursorContext cursorContext) throws IOException {
+            return support.internalBulkLoader(
+                    layout, treeNode, fillFactor, cursorContext, SingleRootLayer.this, DATA_LAYER_FLAG);
+        }
+
+        @Override
+        public void compact(CompactionMonitor monitor, CursorContext cursorContext) throws IOException {
+            support.internalCompact(layout, treeNode, monitor, cursorContext, SingleRootLayer.this, DATA_LAYER_FLAG);
+        }
+
         @Override
         public long estimateNumberOfEntriesInTree(CursorContext cursorContext) throws IOException {
             return support.estimateNumberOfEntriesInTree(layout, treeNode, SingleRootLayer.this, cursorContext);
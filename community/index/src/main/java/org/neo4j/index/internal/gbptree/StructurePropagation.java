@@ -198,6 +198,8 @@ class StructurePropagation<KEY> {
         sp.rightChild = childId;
     };
 
+    static final StructureUpdate NO_STRUCTURE_UPDATE = (sp, childId) -> {};
+
     enum KeyReplaceStrategy {
         REPLACE,
         BUBBLE
@@ -479,6 +479,12 @@ abstract class TreeNode<KEY, VALUE> {
 
     abstract boolean leafUnderflow(PageCursor cursor, int keyCount);
 
+    /**
+     * Is more than half of the space in this internal node available? Removals never merge internal nodes, so this is
+     * used to tell whether compaction has internal nodes to merge.
+     */
+    abstract boolean internalUnderflow(PageCursor cursor, int keyCount);
+
     /**
      * How do we best rebalance left and right leaf?
      * Can we move keys from underflowing left to right so that none of them underflow?
@@ -29,21 +29,29 @@ import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractOffload;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractTombstone;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractValueSize;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.getOverhead;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.getSharedPrefixLengthOverhead;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putKeySize;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putKeyValueSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putSharedPrefixLength;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putTombstone;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.readKeyValueSize;
 import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.readOffloadId;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.readSharedPrefixLength;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
 import static org.neo4j.io.ByteUnit.kibiBytes;
 
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.StringJoiner;
 import org.eclipse.collections.api.stack.primitive.IntStack;
 import org.eclipse.collections.api.stack.primitive.MutableIntStack;
 import org.eclipse.collections.impl.stack.mutable.primitive.IntArrayStack;
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.CursorException;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.util.VisibleForTesting;
@@ -80,11 +88,25 @@ import org.neo4j.util.VisibleForTesting;
  *
  * ---
  *
+ * LEAF WITH PREFIX COMPRESSED KEYS
+ * [                                   HEADER   86B                                                   ]|[KEY_OFFSETS]####[KEYS_VALUES][PREFIX][PREFIXLENGTH]
+ * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR][ALLOCOFFSET][DEADSPACE]|[K0*,K1*,K2*]->  <-[KV0,KV2,KV1][PREFIX][2B          ]
+ *
+ * Leaves can optionally be prefix compressed, see {@link KeyLayout#compressKeyPrefixes()}. Such a leaf keeps a key prefix at the very end of
+ * the page and every inlined entry only stores the part of its key that isn't shared with this prefix. The prefix is chosen when
+ * the leaf gets its first key or when it's created in a split, and stays the same for as long as the leaf has keys. Keys moving between
+ * leaves, i.e. in split, rebalance and merge, are re-encoded against the prefix of the leaf they move to. Internal nodes always store
+ * full keys since those are already kept short by {@link KeyLayout#minimalSplitter(Object, Object, Object)}.
+ *
+ * ---
+ *
  * See {@link DynamicSizeUtil} for more detailed layout for individual offset array entries and key / key_value entries.
  */
 public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
     static final byte FORMAT_IDENTIFIER = 3;
     static final byte FORMAT_VERSION = 0;
+    static final byte PREFIX_COMPRESSED_FORMAT_IDENTIFIER = 4;
+    static final byte PREFIX_COMPRESSED_FORMAT_VERSION = 0;
 
     /**
      * This is the fixed key value size cap in 4.0 and it is based on
@@ -102,6 +124,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
     private static final int LEAST_NUMBER_OF_ENTRIES_PER_PAGE = 2;
     private static final int MINIMUM_ENTRY_SIZE_CAP = Long.SIZE;
 
+    private static final int SIZE_LEAF_KEY_PREFIX_LENGTH = Short.BYTES;
+    /**
+     * Leaf key prefix is capped to a fraction of the inline entry size cap so that a leaf with a large prefix
+     * still has plenty of room for entries which doesn't share it, e.g. the new key in a split.
+     */
+    private static final int LEAF_KEY_PREFIX_SIZE_CAP_DIVISOR = 4;
+
     private final DynamicSizeOffsetFormat offsetFormat;
     private final int inlineKeyValueSizeCap;
     private final int keyValueSizeCap;
@@ -110,8 +139,19 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
     private final int halfSpace;
     private final OffloadStore<KEY, VALUE> offloadStore;
     private final int maxKeyCount;
+    private final boolean compressLeafKeyPrefixes;
+    private final int leafKeyPrefixSizeCap;
+    private final ThreadLocal<KeyBuffer> keyBuffers;
 
     TreeNodeDynamicSize(int pageSize, Layout<KEY, VALUE> layout, OffloadStore<KEY, VALUE> offloadStore) {
+        this(pageSize, layout, offloadStore, false);
+    }
+
+    TreeNodeDynamicSize(
+            int pageSize,
+            Layout<KEY, VALUE> layout,
+            OffloadStore<KEY, VALUE> offloadStore,
+            boolean compressLeafKeyPrefixes) {
         super(pageSize, layout);
 
         this.offsetFormat = selectOffsetFormat(pageSize);
@@ -181,6 +221,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         msbIsOffload = useOffloadStore(pageSize);
         inlineKeyValueSizeCap = inlineKeyValueSizeCap(pageSize);
         keyValueSizeCap = keyValueSizeCapFromPageSize(pageSize);
+        this.compressLeafKeyPrefixes = compressLeafKeyPrefixes;
+        this.leafKeyPrefixSizeCap = inlineKeyValueSizeCap / LEAF_KEY_PREFIX_SIZE_CAP_DIVISOR;
+        this.keyBuffers = ThreadLocal.withInitial(KeyBuffer::new);
 
         if (inlineKeyValueSizeCap < MINIMUM_ENTRY_SIZE_CAP) {
             throw new MetadataMismatchException(format(
@@ -224,7 +267,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
 
     @Override
     void writeAdditionalHeader(PageCursor cursor) {
-        setAllocOffset(cursor, pageSize);
+        if (compressLeafKeyPrefixes && isLeaf(cursor)) {
+            setLeafKeyPrefix(cursor, new byte[0], 0);
+        } else {
+            setAllocOffset(cursor, pageSize);
+        }
         setDeadSpace(cursor, 0);
     }
 
@@ -263,7 +310,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
                 readUnreliableKeyValueSize(cursor, keySize, valueSize, keyValueSize, pos);
                 return into;
             }
-            layout.readKey(cursor, into, keySize);
+            readKey(cursor, into, keySize, type);
         }
         return into;
     }
@@ -290,7 +337,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
                 readUnreliableKeyValueSize(cursor, keySize, valueSize, keyValueSize, pos);
                 return;
             }
-            layout.readKey(cursor, intoKey, keySize);
+            readKey(cursor, intoKey, keySize, LEAF);
             layout.readValue(cursor, intoValue.value, valueSize);
         }
     }
@@ -349,12 +396,34 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
             long unstableGeneration,
             CursorContext cursorContext)
             throws IOException {
-        // Where to write key?
-        int currentKeyValueOffset = getAllocOffset(cursor);
         int keySize = layout.keySize(key);
         int valueSize = layout.valueSize(value);
+        boolean canInline = canInline(keySize + valueSize);
+        byte[] keyBytes = null;
+        if (compressLeafKeyPrefixes && canInline) {
+            keyBytes = keyBytes(cursor, key, keySize);
+        }
+        if (compressLeafKeyPrefixes && keyCount == 0) {
+            // No live keys in this leaf, so take the opportunity to select a prefix fitting the keys coming here
+            resetLeafKeyPrefix(cursor, keyBytes);
+        }
+
+        // Where to write key?
+        int currentKeyValueOffset = getAllocOffset(cursor);
         int newKeyValueOffset;
-        if (canInline(keySize + valueSize)) {
+        if (canInline && compressLeafKeyPrefixes) {
+            int sharedPrefixLength = sharedLeafKeyPrefixLength(cursor, keyBytes);
+            int keySuffixSize = keySize - sharedPrefixLength;
+            newKeyValueOffset =
+                    currentKeyValueOffset - prefixCompressedEntrySize(keySuffixSize, valueSize, sharedPrefixLength);
+
+            // Write key suffix and value
+            cursor.setOffset(newKeyValueOffset);
+            putKeyValueSize(cursor, keySuffixSize, valueSize, false);
+            putSharedPrefixLength(cursor, sharedPrefixLength);
+            cursor.putBytes(keyBytes, sharedPrefixLength, keySuffixSize);
+            layout.writeValue(cursor, value);
+        } else if (canInline) {
             newKeyValueOffset = currentKeyValueOffset - keySize - valueSize - getOverhead(keySize, valueSize, false);
 
             // Write key and value
@@ -397,6 +466,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         boolean offload = DynamicSizeUtil.extractOffload(keyValueSize);
         int keySize = extractKeySize(keyValueSize);
         int valueSize = extractValueSize(keyValueSize);
+        int sharedPrefixLengthOverhead = readSharedPrefixLengthOverhead(cursor, LEAF, offload);
 
         // Free from offload
         if (offload) {
@@ -410,7 +480,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
 
         // Update dead space
         int deadSpace = getDeadSpace(cursor);
-        setDeadSpace(cursor, deadSpace + keySize + valueSize + getOverhead(keySize, valueSize, offload));
+        setDeadSpace(
+                cursor,
+                deadSpace
+                        + keySize
+                        + valueSize
+                        + getOverhead(keySize, valueSize, offload)
+                        + sharedPrefixLengthOverhead);
 
         // Remove from offset array
         removeSlotAt(cursor, pos, keyCount, keyPosOffsetLeaf(0), bytesKeyOffsetSize());
@@ -533,6 +609,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
                 readUnreliableKeyValueSize(cursor, keySize, valueSize, keyValueSize, pos);
                 return into;
             }
+            readSharedPrefixLengthOverhead(cursor, LEAF, false);
             progressCursor(cursor, keySize);
             layout.readValue(cursor, into.value, valueSize);
         }
@@ -556,6 +633,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int newValueSize = layout.valueSize(value);
         if (oldValueSize == newValueSize) {
             // Fine we can just overwrite
+            readSharedPrefixLengthOverhead(cursor, LEAF, extractOffload(keyValueSize));
             progressCursor(cursor, keySize);
             layout.writeValue(cursor, value);
             return true;
@@ -627,12 +705,17 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
 
     @Override
     Overflow leafOverflow(PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue) {
+        if (compressLeafKeyPrefixes && currentKeyCount == 0) {
+            // Inserting into a leaf without live keys resets the whole leaf, see insertKeyValueAt
+            return Overflow.NO;
+        }
+
         // How much space do we have?
         int deadSpace = getDeadSpace(cursor);
         int allocSpace = getAllocSpace(cursor, currentKeyCount, LEAF);
 
         // How much space do we need?
-        int neededSpace = totalSpaceOfKeyValue(newKey, newValue);
+        int neededSpace = totalSpaceOfKeyValue(cursor, newKey, newValue);
 
         // There is your answer!
         return neededSpace <= allocSpace
@@ -715,7 +798,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int oldOffsetCursor = 0;
         int newOffsetCursor = 0;
 
-        int aliveRangeOffset = pageSize; // Everything after this point is alive
+        int aliveRangeOffset = dataEndOffset(cursor, type); // Everything after this point is alive
         int deadRangeOffset; // Everything between this point and aliveRangeOffset is dead space
 
         // Rightmost alive keys does not need to move
@@ -805,12 +888,17 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         return availableSpace > halfSpace;
     }
 
+    @Override
+    boolean internalUnderflow(PageCursor cursor, int keyCount) {
+        return getAllocSpace(cursor, keyCount, INTERNAL) + getDeadSpace(cursor) > halfSpace;
+    }
+
     @Override
     int canRebalanceLeaves(PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount) {
         int leftActiveSpace = totalActiveSpace(leftCursor, leftKeyCount, LEAF);
         int rightActiveSpace = totalActiveSpace(rightCursor, rightKeyCount, LEAF);
 
-        if (leftActiveSpace + rightActiveSpace <= totalSpace) {
+        if (canMergeLeaves(leftCursor, leftKeyCount, rightCursor, rightKeyCount)) {
             // We can merge
             return -1;
         }
@@ -823,26 +911,38 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int currentDelta = Math.abs(leftActiveSpace - rightActiveSpace);
         int keysToMove = 0;
         int lastChunkSize;
+        int lastChunkSizeInRight;
         do {
             keysToMove++;
             lastChunkSize = totalSpaceOfKeyValue(leftCursor, leftKeyCount - keysToMove);
+            lastChunkSizeInRight = totalSpaceOfKeyValueIn(leftCursor, leftKeyCount - keysToMove, rightCursor);
             leftActiveSpace -= lastChunkSize;
-            rightActiveSpace += lastChunkSize;
+            rightActiveSpace += lastChunkSizeInRight;
 
             prevDelta = currentDelta;
             currentDelta = Math.abs(leftActiveSpace - rightActiveSpace);
-        } while (currentDelta < prevDelta);
+        } while (currentDelta < prevDelta && keysToMove < leftKeyCount);
         keysToMove--; // Move back to optimal split
         leftActiveSpace += lastChunkSize;
-        rightActiveSpace -= lastChunkSize;
+        rightActiveSpace -= lastChunkSizeInRight;
 
-        boolean canRebalance = leftActiveSpace > halfSpace && rightActiveSpace > halfSpace;
+        boolean canRebalance =
+                leftActiveSpace > halfSpace && rightActiveSpace > halfSpace && rightActiveSpace <= totalSpace;
         return canRebalance ? keysToMove : 0;
     }
 
     @Override
     boolean canMergeLeaves(PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount) {
-        int leftActiveSpace = totalActiveSpace(leftCursor, leftKeyCount, LEAF);
+        int leftActiveSpace;
+        if (compressLeafKeyPrefixes) {
+            // Keys from left will be re-encoded against the key prefix of right
+            leftActiveSpace = 0;
+            for (int pos = 0; pos < leftKeyCount; pos++) {
+                leftActiveSpace += totalSpaceOfKeyValueIn(leftCursor, pos, rightCursor);
+            }
+        } else {
+            leftActiveSpace = totalActiveSpace(leftCursor, leftKeyCount, LEAF);
+        }
         int rightActiveSpace = totalActiveSpace(rightCursor, rightKeyCount, LEAF);
         int totalSpace = this.totalSpace;
         return totalSpace >= leftActiveSpace + rightActiveSpace;
@@ -902,6 +1002,17 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int keyCountAfterInsert = leftKeyCount + 1;
         int rightKeyCount = keyCountAfterInsert - splitPos;
 
+        if (compressLeafKeyPrefixes) {
+            boolean newKeyInRight = insertPos >= splitPos;
+            selectSplitLeafKeyPrefix(
+                    leftCursor,
+                    newKeyInRight ? splitPos : splitPos - 1,
+                    leftKeyCount,
+                    newKeyInRight ? newKey : null,
+                    newValue,
+                    rightCursor);
+        }
+
         if (insertPos < splitPos) {
             //                v---------v       copy
             // before _,_,_,_,_,_,_,_,_,_
@@ -1057,9 +1168,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
 
     // NOTE: Does update keyCount
     private void moveKeysAndValues(PageCursor fromCursor, int fromPos, PageCursor toCursor, int toPos, int count) {
-        int firstAllocOffset = getAllocOffset(toCursor);
-        int toAllocOffset = firstAllocOffset;
+        int toAllocOffset = getAllocOffset(toCursor);
+        int totalMovedBytes = 0;
         for (int i = 0; i < count; i++, toPos++) {
+            // Size in 'to' may differ from size in 'from' if keys are prefix compressed
+            totalMovedBytes += totalSpaceOfKeyValue(fromCursor, fromPos + i) - bytesKeyOffsetSize();
             toAllocOffset = moveRawKeyValue(fromCursor, fromPos + i, toCursor, toAllocOffset);
             toCursor.setOffset(keyPosOffsetLeaf(toPos));
             offsetFormat.putOffset(toCursor, toAllocOffset);
@@ -1068,7 +1181,6 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
 
         // Update deadSpace
         int deadSpace = getDeadSpace(fromCursor);
-        int totalMovedBytes = firstAllocOffset - toAllocOffset;
         setDeadSpace(fromCursor, deadSpace + totalMovedBytes);
 
         // Key count
@@ -1081,21 +1193,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
      * @return new alloc offset in 'to'
      */
     private int moveRawKeyValue(PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset) {
-        // What to copy?
-        placeCursorAtActualKey(fromCursor, fromPos, LEAF);
-        int fromKeyOffset = fromCursor.getOffset();
-        long keyValueSize = readKeyValueSize(fromCursor, msbIsOffload);
-        int keySize = extractKeySize(keyValueSize);
-        int valueSize = extractValueSize(keyValueSize);
-        boolean offload = extractOffload(keyValueSize);
-
         // Copy
-        int toCopy = getOverhead(keySize, valueSize, offload) + keySize + valueSize;
-        int newRightAllocSpace = toAllocOffset - toCopy;
-        fromCursor.copyTo(fromKeyOffset, toCursor, newRightAllocSpace, toCopy);
+        int newRightAllocSpace = copyRawKeyValue(fromCursor, fromPos, toCursor, toAllocOffset);
 
         // Put tombstone
-        fromCursor.setOffset(fromKeyOffset);
+        placeCursorAtActualKey(fromCursor, fromPos, LEAF);
         putTombstone(fromCursor);
         return newRightAllocSpace;
     }
@@ -1139,6 +1241,24 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int valueSize = extractValueSize(keyValueSize);
         boolean offload = extractOffload(keyValueSize);
 
+        if (compressLeafKeyPrefixes && !offload) {
+            // Re-encode key against key prefix in 'to'
+            byte[] keyBytes = readPrefixCompressedKeyBytes(fromCursor, readSharedPrefixLength(fromCursor), keySize);
+            int fromValueOffset = fromCursor.getOffset();
+            int sharedPrefixLength = sharedLeafKeyPrefixLength(toCursor, keyBytes);
+            int keySuffixSize = keyBytes.length - sharedPrefixLength;
+            int newRightAllocSpace =
+                    toAllocOffset - prefixCompressedEntrySize(keySuffixSize, valueSize, sharedPrefixLength);
+            toCursor.setOffset(newRightAllocSpace);
+            putKeyValueSize(toCursor, keySuffixSize, valueSize, false);
+            putSharedPrefixLength(toCursor, sharedPrefixLength);
+            toCursor.putBytes(keyBytes, sharedPrefixLength, keySuffixSize);
+            if (valueSize > 0) {
+                fromCursor.copyTo(fromValueOffset, toCursor, toCursor.getOffset(), valueSize);
+            }
+            return newRightAllocSpace;
+        }
+
         // Copy
         int toCopy = getOverhead(keySize, valueSize, offload) + keySize + valueSize;
         int newRightAllocSpace = toAllocOffset - toCopy;
@@ -1146,6 +1266,256 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         return newRightAllocSpace;
     }
 
+    private int leafKeyPrefixLength(PageCursor cursor) {
+        return cursor.getShort(pageSize - SIZE_LEAF_KEY_PREFIX_LENGTH) & 0xFFFF;
+    }
+
+    private int leafKeyPrefixOffset(int prefixLength) {
+        return pageSize - SIZE_LEAF_KEY_PREFIX_LENGTH - prefixLength;
+    }
+
+    /**
+     * @return offset where key and value data ends, which is where the key prefix starts in a prefix compressed leaf.
+     */
+    private int dataEndOffset(PageCursor cursor, Type type) {
+        return compressLeafKeyPrefixes && type == LEAF ? leafKeyPrefixOffset(leafKeyPrefixLength(cursor)) : pageSize;
+    }
+
+    private byte[] leafKeyPrefix(PageCursor cursor) {
+        int prefixLength = leafKeyPrefixLength(cursor);
+        byte[] prefix = new byte[prefixLength];
+        cursor.setOffset(leafKeyPrefixOffset(prefixLength));
+        cursor.getBytes(prefix);
+        return prefix;
+    }
+
+    /**
+     * Writes key prefix at end of leaf and places alloc offset right before it.
+     * Leaf is expected to not have any keys.
+     */
+    private void setLeafKeyPrefix(PageCursor cursor, byte[] prefix, int prefixLength) {
+        cursor.putShort(pageSize - SIZE_LEAF_KEY_PREFIX_LENGTH, (short) prefixLength);
+        int prefixOffset = leafKeyPrefixOffset(prefixLength);
+        cursor.setOffset(prefixOffset);
+        cursor.putBytes(prefix, 0, prefixLength);
+        setAllocOffset(cursor, prefixOffset);
+    }
+
+    /**
+     * Called when inserting into an empty prefix compressed leaf. Clears whatever dead keys are left and
+     * uses the (capped) key as the new key prefix, or an empty prefix if key is offloaded.
+     */
+    private void resetLeafKeyPrefix(PageCursor cursor, byte[] keyBytes) {
+        int allocOffset = getAllocOffset(cursor);
+        zeroPad(cursor, allocOffset, pageSize - allocOffset);
+        if (keyBytes == null) {
+            setLeafKeyPrefix(cursor, new byte[0], 0);
+        } else {
+            setLeafKeyPrefix(cursor, keyBytes, Math.min(keyBytes.length, leafKeyPrefixSizeCap));
+        }
+        setDeadSpace(cursor, 0);
+    }
+
+    /**
+     * Selects key prefix for the new right sibling in a leaf split. Either the key prefix of left is kept, which means
+     * keys moving to right occupy the same space they did in left, or the common prefix of the keys that will end up
+     * in right is used, whichever makes those keys occupy the least space in total.
+     */
+    private void selectSplitLeafKeyPrefix(
+            PageCursor leftCursor, int fromPos, int toPos, KEY newKeyOrNull, VALUE newValue, PageCursor rightCursor) {
+        byte[][] keys = new byte[toPos - fromPos + 1][];
+        int count = 0;
+        for (int pos = fromPos; pos < toPos; pos++) {
+            placeCursorAtActualKey(leftCursor, pos, LEAF);
+            long keyValueSize = readKeyValueSize(leftCursor, msbIsOffload);
+            if (!extractOffload(keyValueSize)) {
+                int keySize = extractKeySize(keyValueSize);
+                keys[count++] = readPrefixCompressedKeyBytes(leftCursor, readSharedPrefixLength(leftCursor), keySize);
+            }
+        }
+        if (newKeyOrNull != null) {
+            int keySize = layout.keySize(newKeyOrNull);
+            if (canInline(keySize + layout.valueSize(newValue))) {
+                keys[count++] = keyBytes(leftCursor, newKeyOrNull, keySize);
+            }
+        }
+
+        byte[] leftPrefix = leafKeyPrefix(leftCursor);
+        byte[] commonPrefix = new byte[0];
+        if (count > 0) {
+            int commonLength = Math.min(keys[0].length, leafKeyPrefixSizeCap);
+            for (int i = 1; i < count; i++) {
+                int mismatch =
+                        Arrays.mismatch(keys[0], 0, commonLength, keys[i], 0, Math.min(commonLength, keys[i].length));
+                if (mismatch != -1) {
+                    commonLength = mismatch;
+                }
+            }
+            commonPrefix = Arrays.copyOf(keys[0], commonLength);
+        }
+
+        byte[] prefix =
+                prefixCompressedSpace(keys, count, commonPrefix) < prefixCompressedSpace(keys, count, leftPrefix)
+                        ? commonPrefix
+                        : leftPrefix;
+        setLeafKeyPrefix(rightCursor, prefix, prefix.length);
+    }
+
+    /**
+     * @return space that given keys would occupy, including the key prefix itself, if compressed against prefix.
+     * Value sizes are left out since they are not affected by the prefix.
+     */
+    private static int prefixCompressedSpace(byte[][] keys, int count, byte[] prefix) {
+        int space = prefix.length;
+        for (int i = 0; i < count; i++) {
+            int sharedPrefixLength = sharedPrefixLength(prefix, keys[i]);
+            space += prefixCompressedEntrySize(keys[i].length - sharedPrefixLength, 0, sharedPrefixLength);
+        }
+        return space;
+    }
+
+    private static int sharedPrefixLength(byte[] prefix, byte[] keyBytes) {
+        // Leave at least one byte of key as suffix so that an entry can never have an all zero header
+        int maxSharedLength = Math.min(prefix.length, keyBytes.length - 1);
+        int sharedLength = 0;
+        while (sharedLength < maxSharedLength && prefix[sharedLength] == keyBytes[sharedLength]) {
+            sharedLength++;
+        }
+        return sharedLength;
+    }
+
+    /**
+     * @return length of prefix that keyBytes shares with the key prefix of the leaf that cursor is pinned to.
+     */
+    private int sharedLeafKeyPrefixLength(PageCursor cursor, byte[] keyBytes) {
+        int prefixLength = leafKeyPrefixLength(cursor);
+        int prefixOffset = leafKeyPrefixOffset(prefixLength);
+        // Leave at least one byte of key as suffix so that an entry can never have an all zero header
+        int maxSharedLength = Math.min(prefixLength, keyBytes.length - 1);
+        int sharedLength = 0;
+        while (sharedLength < maxSharedLength
+                && cursor.getByte(prefixOffset + sharedLength) == keyBytes[sharedLength]) {
+            sharedLength++;
+        }
+        return sharedLength;
+    }
+
+    private static int prefixCompressedEntrySize(int keySuffixSize, int valueSize, int sharedPrefixLength) {
+        return getOverhead(keySuffixSize, valueSize, false)
+                + getSharedPrefixLengthOverhead(sharedPrefixLength)
+                + keySuffixSize
+                + valueSize;
+    }
+
+    /**
+     * Reads shared prefix length if entry has one, i.e. if it is an inlined key in a prefix compressed leaf.
+     * Cursor is expected to be placed right after key value size.
+     * @return number of bytes used by shared prefix length, 0 if entry has none.
+     */
+    private int readSharedPrefixLengthOverhead(PageCursor cursor, Type type, boolean offload) {
+        if (compressLeafKeyPrefixes && type == LEAF && !offload) {
+            return getSharedPrefixLengthOverhead(readSharedPrefixLength(cursor));
+        }
+        return 0;
+    }
+
+    private byte[] keyBytes(PageCursor cursor, KEY key, int keySize) {
+        byte[] keyBytes = new byte[keySize];
+        layout.writeKey(new ByteArrayPageCursor(ByteBuffer.wrap(keyBytes).order(cursor.getByteOrder())), key);
+        return keyBytes;
+    }
+
+    /**
+     * Assembles full key from key prefix of leaf and key suffix at current offset.
+     * Cursor is left right after key suffix.
+     */
+    private byte[] readPrefixCompressedKeyBytes(PageCursor cursor, int sharedPrefixLength, int keySuffixSize) {
+        byte[] keyBytes = new byte[sharedPrefixLength + keySuffixSize];
+        readPrefixCompressedKeyBytes(cursor, sharedPrefixLength, keySuffixSize, keyBytes);
+        return keyBytes;
+    }
+
+    /**
+     * Assembles full key from key prefix of leaf and key suffix at current offset into the given array, which must be
+     * large enough to hold both. Cursor is left right after key suffix.
+     */
+    private void readPrefixCompressedKeyBytes(
+            PageCursor cursor, int sharedPrefixLength, int keySuffixSize, byte[] into) {
+        int prefixLength = leafKeyPrefixLength(cursor);
+        if (sharedPrefixLength > prefixLength || prefixLength > leafKeyPrefixSizeCap) {
+            cursor.setCursorException(format(
+                    "Read unreliable key prefix, id=%d, sharedPrefixLength=%d, prefixLength=%d, keySuffixSize=%d",
+                    cursor.getCurrentPageId(), sharedPrefixLength, prefixLength, keySuffixSize));
+            sharedPrefixLength = 0;
+        }
+        int keySuffixOffset = cursor.getOffset();
+        cursor.setOffset(leafKeyPrefixOffset(prefixLength));
+        cursor.getBytes(into, 0, sharedPrefixLength);
+        cursor.setOffset(keySuffixOffset);
+        cursor.getBytes(into, sharedPrefixLength, keySuffixSize);
+    }
+
+    /**
+     * Reads key at current offset, cursor is expected to be placed right after key value size.
+     */
+    private void readKey(PageCursor cursor, KEY into, int keySize, Type type) {
+        if (!compressLeafKeyPrefixes || type != LEAF) {
+            layout.readKey(cursor, into, keySize);
+            return;
+        }
+        int sharedPrefixLength = readSharedPrefixLength(cursor);
+        if (sharedPrefixLength == 0) {
+            layout.readKey(cursor, into, keySize);
+            return;
+        }
+        int fullKeySize = sharedPrefixLength + keySize;
+        if (fullKeySize > leafKeyPrefixSizeCap + inlineKeyValueSizeCap) {
+            cursor.setCursorException(format(
+                    "Read unreliable key size, id=%d, sharedPrefixLength=%d, keySuffixSize=%d",
+                    cursor.getCurrentPageId(), sharedPrefixLength, keySize));
+            return;
+        }
+        KeyBuffer keyBuffer = keyBuffers.get();
+        keyBuffer.ensureCapacity(fullKeySize);
+        readPrefixCompressedKeyBytes(cursor, sharedPrefixLength, keySize, keyBuffer.bytes);
+        PageCursor keyCursor = keyBuffer.cursor(cursor.getByteOrder());
+        keyCursor.setOffset(0);
+        try {
+            layout.readKey(keyCursor, into, fullKeySize);
+            keyCursor.checkAndClearCursorException();
+        } catch (CursorException | BufferUnderflowException e) {
+            // Unlike page cursors, the buffer cursor throws on reads past its end. Either way the key bytes were
+            // inconsistent, so let the page cursor decide whether to retry the read.
+            cursor.setCursorException(format(
+                    "Read unreliable key, id=%d, sharedPrefixLength=%d, keySuffixSize=%d: %s",
+                    cursor.getCurrentPageId(), sharedPrefixLength, keySize, e));
+        }
+    }
+
+    /**
+     * Buffer which full keys of prefix compressed leaves are assembled in before being read, so that reading keys
+     * doesn't allocate. Tree nodes are shared by all readers and writers of a tree, so there's one buffer per thread,
+     * which grows to fit the largest key read by that thread.
+     */
+    private static class KeyBuffer {
+        private byte[] bytes = new byte[0];
+        private PageCursor cursor;
+
+        void ensureCapacity(int size) {
+            if (bytes.length < size) {
+                bytes = new byte[Math.max(size, bytes.length * 2)];
+                cursor = null;
+            }
+        }
+
+        PageCursor cursor(ByteOrder order) {
+            if (cursor == null || cursor.getByteOrder() != order) {
+                cursor = new ByteArrayPageCursor(ByteBuffer.wrap(bytes).order(order));
+            }
+            return cursor;
+        }
+    }
+
     private int getAllocSpace(PageCursor cursor, int keyCount, Type type) {
         int allocOffset = getAllocOffset(cursor);
         int endOfOffsetArray = type == LEAF ? keyPosOffsetLeaf(keyCount) : keyPosOffsetInternal(keyCount);
@@ -1155,20 +1525,23 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
     private void recordDeadAndAliveLeaf(
             PageCursor cursor, MutableIntStack deadKeysOffset, MutableIntStack aliveKeysOffset) {
         int currentOffset = getAllocOffset(cursor);
-        while (currentOffset < pageSize) {
+        int dataEndOffset = dataEndOffset(cursor, LEAF);
+        while (currentOffset < dataEndOffset) {
             cursor.setOffset(currentOffset);
             long keyValueSize = readKeyValueSize(cursor, msbIsOffload);
             int keySize = extractKeySize(keyValueSize);
             int valueSize = extractValueSize(keyValueSize);
             boolean offload = extractOffload(keyValueSize);
             boolean dead = extractTombstone(keyValueSize);
+            int sharedPrefixLengthOverhead = readSharedPrefixLengthOverhead(cursor, LEAF, offload);
 
             if (dead) {
                 deadKeysOffset.push(currentOffset);
             } else {
                 aliveKeysOffset.push(currentOffset);
             }
-            currentOffset += keySize + valueSize + getOverhead(keySize, valueSize, offload);
+            currentOffset +=
+                    keySize + valueSize + getOverhead(keySize, valueSize, offload) + sharedPrefixLengthOverhead;
         }
     }
 
@@ -1338,11 +1711,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int targetLeftSpace = (int) (this.totalSpace * ratioToKeepInLeftOnSplit);
         int splitPos = 0;
         int currentPos = 0;
-        int accumulatedLeftSpace = 0;
-        int currentDelta = targetLeftSpace;
+        // Left keeps its key prefix and right may need a copy of it, see selectSplitLeafKeyPrefix
+        int keyPrefixSpace = pageSize - dataEndOffset(cursor, LEAF);
+        int accumulatedLeftSpace = keyPrefixSpace;
+        int currentDelta = Math.abs(accumulatedLeftSpace - targetLeftSpace);
         int prevDelta;
-        int spaceOfNewKey = totalSpaceOfKeyValue(newKey, newValue);
-        int totalSpaceIncludingNewKey = totalActiveSpace(cursor, keyCountAfterInsert - 1, LEAF) + spaceOfNewKey;
+        int spaceOfNewKey = totalSpaceOfKeyValue(cursor, newKey, newValue);
+        int totalSpaceIncludingNewKey =
+                totalActiveSpace(cursor, keyCountAfterInsert - 1, LEAF) + spaceOfNewKey + keyPrefixSpace;
         boolean includedNew = false;
         boolean prevPosPossible;
         boolean thisPosPossible = false;
@@ -1391,13 +1767,31 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int keySize = layout.keySize(key);
         int valueSize = layout.valueSize(value);
         boolean canInline = canInline(keySize + valueSize);
-        if (canInline) {
+        if (canInline && compressLeafKeyPrefixes) {
+            // Without a leaf at hand, assume no shared key prefix
+            return bytesKeyOffsetSize() + prefixCompressedEntrySize(keySize, valueSize, 0);
+        } else if (canInline) {
             return bytesKeyOffsetSize() + getOverhead(keySize, valueSize, false) + keySize + valueSize;
         } else {
             return bytesKeyOffsetSize() + getOverhead(keySize, valueSize, true);
         }
     }
 
+    /**
+     * Like {@link #totalSpaceOfKeyValue(Object, Object)}, but exact for the leaf that cursor is pinned to,
+     * i.e. taking the key prefix of that leaf into account if leaf keys are prefix compressed.
+     */
+    private int totalSpaceOfKeyValue(PageCursor cursor, KEY key, VALUE value) {
+        int keySize = layout.keySize(key);
+        int valueSize = layout.valueSize(value);
+        if (!compressLeafKeyPrefixes || !canInline(keySize + valueSize)) {
+            return totalSpaceOfKeyValue(key, value);
+        }
+        int sharedPrefixLength = sharedLeafKeyPrefixLength(cursor, keyBytes(cursor, key, keySize));
+        return bytesKeyOffsetSize()
+                + prefixCompressedEntrySize(keySize - sharedPrefixLength, valueSize, sharedPrefixLength);
+    }
+
     @Override
     int totalSpaceOfKeyChild(KEY key) {
         int keySize = layout.keySize(key);
@@ -1415,7 +1809,33 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int keySize = extractKeySize(keyValueSize);
         int valueSize = extractValueSize(keyValueSize);
         boolean offload = extractOffload(keyValueSize);
-        return bytesKeyOffsetSize() + getOverhead(keySize, valueSize, offload) + keySize + valueSize;
+        int sharedPrefixLengthOverhead = readSharedPrefixLengthOverhead(cursor, LEAF, offload);
+        return bytesKeyOffsetSize()
+                + getOverhead(keySize, valueSize, offload)
+                + sharedPrefixLengthOverhead
+                + keySize
+                + valueSize;
+    }
+
+    /**
+     * Space that key and value at pos in 'from' would occupy if moved to 'to'. Only differs from the space
+     * it occupies in 'from' if leaf keys are prefix compressed, since keys are then re-encoded against the key prefix of 'to'.
+     */
+    private int totalSpaceOfKeyValueIn(PageCursor fromCursor, int pos, PageCursor toCursor) {
+        if (!compressLeafKeyPrefixes) {
+            return totalSpaceOfKeyValue(fromCursor, pos);
+        }
+        placeCursorAtActualKey(fromCursor, pos, LEAF);
+        long keyValueSize = readKeyValueSize(fromCursor, msbIsOffload);
+        int keySize = extractKeySize(keyValueSize);
+        int valueSize = extractValueSize(keyValueSize);
+        if (extractOffload(keyValueSize)) {
+            return bytesKeyOffsetSize() + getOverhead(keySize, valueSize, true);
+        }
+        byte[] keyBytes = readPrefixCompressedKeyBytes(fromCursor, readSharedPrefixLength(fromCursor), keySize);
+        int sharedPrefixLength = sharedLeafKeyPrefixLength(toCursor, keyBytes);
+        return bytesKeyOffsetSize()
+                + prefixCompressedEntrySize(keyBytes.length - sharedPrefixLength, valueSize, sharedPrefixLength);
     }
 
     private int totalSpaceOfKeyChild(PageCursor cursor, int pos) {
@@ -1526,8 +1946,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         // HEADER
         int allocOffset = getAllocOffset(cursor);
         int deadSpace = getDeadSpace(cursor);
-        String additionalHeader =
-                "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace=" + deadSpace + "] ";
+        int dataEndOffset = dataEndOffset(cursor, type);
+        String keyPrefix = "";
+        if (compressLeafKeyPrefixes && type == LEAF) {
+            keyPrefix = " keyPrefix=" + Arrays.toString(leafKeyPrefix(cursor));
+        }
+        String additionalHeader = "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace="
+                + deadSpace + keyPrefix + "] ";
 
         // OFFSET ARRAY
         String offsetArray = readOffsetArray(cursor, stableGeneration, unstableGeneration, type);
@@ -1543,7 +1968,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         VALUE readValue = layout.newValue();
         StringJoiner keys = new StringJoiner(" ");
         cursor.setOffset(allocOffset);
-        while (cursor.getOffset() < cursor.getPagedFile().payloadSize()) {
+        while (cursor.getOffset() < dataEndOffset) {
             StringJoiner singleKey = new StringJoiner("|");
             singleKey.add(Integer.toString(cursor.getOffset()));
             long keyValueSize = readKeyValueSize(cursor, msbIsOffload);
@@ -1567,7 +1992,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
                 long offloadId = readOffloadId(cursor);
                 singleKey.add(Long.toString(offloadId));
             } else {
-                layout.readKey(cursor, readKey, keySize);
+                readKey(cursor, readKey, keySize, type);
                 if (type == LEAF) {
                     layout.readValue(cursor, readValue, valueSize);
                 }
@@ -1647,7 +2072,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
             }
         }
 
-        if (allocOffset < pageSize && allocOffset >= 0) {
+        if (allocOffset < dataEndOffset(cursor, type) && allocOffset >= 0) {
             // Verify allocOffset point at start of key
             cursor.setOffset(allocOffset);
             long keyValueAtAllocOffset = readKeyValueSize(cursor, msbIsOffload);
@@ -1687,22 +2112,28 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         int offsetArrayEnd = keyPosOffset(keyCount, type);
         int offsetArraySize = offsetArrayEnd - offsetArrayStart;
 
+        // Key prefix
+        int dataEndOffset = dataEndOffset(cursor, type);
+        int keyPrefixSize = pageSize - dataEndOffset;
+
         // Alive keys
         int aliveKeySize = 0;
         int nextKeyOffset = getAllocOffset(cursor);
-        while (nextKeyOffset < pageSize) {
+        while (nextKeyOffset < dataEndOffset) {
             cursor.setOffset(nextKeyOffset);
             long keyValueSize = readKeyValueSize(cursor, msbIsOffload);
             int keySize = extractKeySize(keyValueSize);
             int valueSize = extractValueSize(keyValueSize);
             boolean offload = extractOffload(keyValueSize);
             boolean tombstone = extractTombstone(keyValueSize);
+            int sharedPrefixLengthOverhead = readSharedPrefixLengthOverhead(cursor, type, offload);
             if (!tombstone) {
-                aliveKeySize += getOverhead(keySize, valueSize, offload) + keySize + valueSize;
+                aliveKeySize +=
+                        getOverhead(keySize, valueSize, offload) + sharedPrefixLengthOverhead + keySize + valueSize;
             }
             nextKeyOffset = cursor.getOffset() + (offload ? DynamicSizeUtil.SIZE_OFFLOAD_ID : keySize + valueSize);
         }
-        return offsetArraySize + aliveKeySize;
+        return offsetArraySize + keyPrefixSize + aliveKeySize;
     }
 
     private String readAllocSpace(PageCursor cursor, int allocOffset, Type type) {
@@ -365,7 +365,7 @@ class TreeNodeFixedSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
     int availableSpace(PageCursor cursor, int currentKeyCount) {
         boolean isInternal = isInternal(cursor);
         return isInternal
-                ? internalMaxKeyCount - currentKeyCount * (keySize + childSize())
+                ? (internalMaxKeyCount - currentKeyCount) * (keySize + childSize())
                 : leafAvailableSpace(currentKeyCount);
     }
 
@@ -401,6 +401,11 @@ class TreeNodeFixedSize<KEY, VALUE> extends TreeNode<KEY, VALUE> {
         return leafAvailableSpace(keyCount) > halfLeafSpace;
     }
 
+    @Override
+    boolean internalUnderflow(PageCursor cursor, int keyCount) {
+        return (internalMaxKeyCount - keyCount) * 2 > internalMaxKeyCount;
+    }
+
     @Override
     int canRebalanceLeaves(PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount) {
         if (leftKeyCount + rightKeyCount >= leafMaxKeyCount()) {
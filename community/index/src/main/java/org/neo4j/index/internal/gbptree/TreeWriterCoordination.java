@@ -78,6 +78,13 @@ interface TreeWriterCoordination {
      */
     void beforeUnderflowInLeaf(long treeNodeId);
 
+    /**
+     * Called before compacting a leaf, i.e. rebalancing or merging it with its siblings without any preceding removal,
+     * and merging internal nodes on its path with their siblings.
+     * @return {@code true} if operation is permitted, otherwise {@code false}.
+     */
+    boolean beforeCompactingLeaf();
+
     /**
      * Ends the previously {@link #initialize() initialized} traversal,
      */
@@ -126,6 +133,11 @@ interface TreeWriterCoordination {
         @Override
         public void beforeUnderflowInLeaf(long treeNodeId) {}
 
+        @Override
+        public boolean beforeCompactingLeaf() {
+            return true;
+        }
+
         @Override
         public void reset() {}
 
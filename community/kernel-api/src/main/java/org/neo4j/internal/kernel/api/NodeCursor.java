@@ -20,6 +20,7 @@
 package org.neo4j.internal.kernel.api;
 
 import org.neo4j.storageengine.api.Degrees;
+import org.neo4j.storageengine.api.NodeBatch;
 import org.neo4j.storageengine.api.RelationshipSelection;
 
 /**
@@ -85,4 +86,20 @@ public interface NodeCursor extends EntityCursor {
      * @return min(degree(selection), maxDegree).
      */
     int degreeWithMax(int maxDegree, RelationshipSelection selection);
+
+    /**
+     * Reads the next nodes of a scan initialized by {@link Read#allNodesScan(NodeCursor)} or a {@link Scan} into {@code batch},
+     * which is cleared first, as an alternative to reading them one by one with {@link #next()}. A batch that isn't full
+     * doesn't mean that the scan is exhausted. After this call this cursor isn't placed at any node.
+     *
+     * @param batch the batch to read the nodes into.
+     * @return {@code true} if at least one node was read, or {@code false} if there were no more nodes to read.
+     */
+    default boolean nextBatch(NodeBatch batch) {
+        batch.clear();
+        while (!batch.isFull() && next()) {
+            batch.add(nodeReference(), labels().all());
+        }
+        return batch.size() > 0;
+    }
 }
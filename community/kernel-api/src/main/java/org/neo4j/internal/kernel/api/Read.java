@@ -237,7 +237,8 @@ public interface Read {
             throws KernelException;
 
     /**
-     * Return all nodes in the graph.
+     * Return all nodes in the graph. The nodes can be read one by one with {@link NodeCursor#next()},
+     * or in columnar batches with {@link NodeCursor#nextBatch(org.neo4j.storageengine.api.NodeBatch)}.
      *
      * @param cursor Cursor to initialize for scanning.
      */
@@ -438,6 +439,12 @@ public interface Read {
      */
     boolean relationshipExists(long reference);
 
+    /**
+     * Return all relationships in the graph. The relationships can be read one by one with {@link RelationshipScanCursor#next()},
+     * or in columnar batches with {@link RelationshipScanCursor#nextBatch(org.neo4j.storageengine.api.RelationshipBatch)}.
+     *
+     * @param cursor Cursor to initialize for scanning.
+     */
     void allRelationshipsScan(RelationshipScanCursor cursor);
 
     Scan<RelationshipScanCursor> allRelationshipsScan();
@@ -19,7 +19,25 @@
  */
 package org.neo4j.internal.kernel.api;
 
+import org.neo4j.storageengine.api.RelationshipBatch;
+
 /**
  * Cursor for scanning relationships, that is listing relationships without grouping by source or target node.
  */
-public interface RelationshipScanCursor extends RelationshipDataAccessor, Cursor {}
+public interface RelationshipScanCursor extends RelationshipDataAccessor, Cursor {
+    /**
+     * Reads the next relationships of a scan initialized by {@link Read#allRelationshipsScan(RelationshipScanCursor)} or a {@link Scan}
+     * into {@code batch}, which is cleared first, as an alternative to reading them one by one with {@link #next()}. A batch that isn't
+     * full doesn't mean that the scan is exhausted. After this call this cursor isn't placed at any relationship.
+     *
+     * @param batch the batch to read the relationships into.
+     * @return {@code true} if at least one relationship was read, or {@code false} if there were no more relationships to read.
+     */
+    default boolean nextBatch(RelationshipBatch batch) {
+        batch.clear();
+        while (!batch.isFull() && next()) {
+            batch.add(relationshipReference(), type(), sourceNodeReference(), targetNodeReference());
+        }
+        return batch.size() > 0;
+    }
+}
@@ -36,4 +36,24 @@ public interface ValueIndexCursor {
     boolean hasValue();
 
     Value propertyValue(int offset);
+
+    /**
+     * @return the number of included properties of the index, i.e. properties which are not part of the index schema but whose
+     * values can still be accessed from this cursor, see {@link #includedPropertyValue(int)}.
+     */
+    default int numberOfIncludedProperties() {
+        return 0;
+    }
+
+    /**
+     * Value of an included property of the entity at the cursor's current location. The value is served by the index when
+     * possible, otherwise it's read from the entity.
+     *
+     * @param offset offset of the property among the included properties of the index, in the order of
+     * {@link org.neo4j.internal.schema.IndexDescriptor#getIncludedPropertyIds()}.
+     * @return the value of the included property, or {@link org.neo4j.values.storable.Values#NO_VALUE} if the entity doesn't have it.
+     */
+    default Value includedPropertyValue(int offset) {
+        throw new IndexOutOfBoundsException("No included property at offset " + offset);
+    }
 }
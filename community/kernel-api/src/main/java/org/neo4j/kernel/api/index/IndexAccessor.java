@@ -27,6 +27,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.function.LongPredicate;
 import org.eclipse.collections.api.block.function.primitive.LongToLongFunction;
 import org.neo4j.annotations.documented.ReporterFactory;
@@ -196,6 +197,19 @@ public interface IndexAccessor extends Closeable, ConsistencyCheckable, MinimalI
      */
     long estimateNumberOfEntries(CursorContext cursorContext);
 
+    /**
+     * Compacts this index while it's online and being updated, e.g. by merging under-filled tree nodes left behind
+     * after removals, so that the space they take up can be reused.
+     *
+     * @param continueCompaction asked every now and then whether to continue, the compaction stops when it returns {@code false}.
+     * @param cursorContext underlying page cursor context
+     * @return number of pages released for reuse.
+     * @throws UncheckedIOException if there was a problem compacting the index.
+     */
+    default long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        return 0;
+    }
+
     /**
      * Inserts contents from another index. Any violations will be reported via the {@code conflictHandler}.
      *
@@ -396,6 +410,11 @@ public interface IndexAccessor extends Closeable, ConsistencyCheckable, MinimalI
             return delegate.estimateNumberOfEntries(cursorContext);
         }
 
+        @Override
+        public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+            return delegate.compact(continueCompaction, cursorContext);
+        }
+
         @Override
         public void insertFrom(
                 IndexAccessor other,
@@ -45,6 +45,12 @@ import org.neo4j.values.storable.Value;
 public interface IndexPopulator extends MinimalIndexAccessor {
     IndexPopulator EMPTY = new Adapter();
 
+    /**
+     * Returned from {@link #createOrResume()} when population starts from the beginning, and passed to
+     * {@link #checkpoint(long, CursorContext)} when the state of the population couldn't be saved.
+     */
+    long NO_SCAN_PROGRESS = -1;
+
     /**
      * Remove all data in the index and paves the way for populating an index.
      *
@@ -52,6 +58,32 @@ public interface IndexPopulator extends MinimalIndexAccessor {
      */
     void create() throws IOException;
 
+    /**
+     * Like {@link #create()}, but if the state of an earlier population of this index was saved by
+     * {@link #checkpoint(long, CursorContext)} then population continues from that state instead.
+     *
+     * @return the highest entity id that the store scan had processed when the resumed state was saved, i.e. the scan updates of all entities
+     * up to and including that id are already in this populator. {@link #NO_SCAN_PROGRESS} if population starts from the beginning.
+     * @throws UncheckedIOException on I/O error.
+     */
+    default long createOrResume() throws IOException {
+        create();
+        return NO_SCAN_PROGRESS;
+    }
+
+    /**
+     * Durably saves the state of this population, so that it can be {@link #createOrResume() resumed} after a restart.
+     * Called while the store scan is paused and all external updates for entities the scan has passed have been applied.
+     * The saved state must contain everything added to this populator so far.
+     *
+     * @param scannedEntityId the highest entity id that the store scan has processed, or {@link #NO_SCAN_PROGRESS} if the state couldn't be
+     * saved this time, in which case any earlier saved state must not be resumed from.
+     * @param cursorContext underlying page cache events tracer
+     * @throws UncheckedIOException on I/O error.
+     */
+    default void checkpoint(long scannedEntityId, CursorContext cursorContext) throws IOException { // no-op by default
+    }
+
     /**
      * Called when initially populating an index over existing data. Can be called concurrently by multiple threads.
      * All data coming in here is guaranteed to not
@@ -232,6 +264,16 @@ public interface IndexPopulator extends MinimalIndexAccessor {
             delegate.create();
         }
 
+        @Override
+        public long createOrResume() throws IOException {
+            return delegate.createOrResume();
+        }
+
+        @Override
+        public void checkpoint(long scannedEntityId, CursorContext cursorContext) throws IOException {
+            delegate.checkpoint(scannedEntityId, cursorContext);
+        }
+
         @Override
         public void drop() {
             delegate.drop();
@@ -26,6 +26,8 @@ public final class IndexSample {
     private final long uniqueValues;
     private final long sampleSize;
     private final long updates;
+    private final double uniqueValuesError;
+    private final IndexValueHistogram valueHistogram;
 
     public IndexSample() {
         this(0, 0, 0);
@@ -36,10 +38,33 @@ public final class IndexSample {
     }
 
     public IndexSample(long indexSize, long uniqueValues, long sampleSize, long updates) {
+        this(indexSize, uniqueValues, sampleSize, updates, 0);
+    }
+
+    /**
+     * @param uniqueValuesError relative standard error of {@code uniqueValues}, for samples where it is an estimate
+     * rather than an exact count of the sampled entries.
+     */
+    public IndexSample(long indexSize, long uniqueValues, long sampleSize, long updates, double uniqueValuesError) {
+        this(indexSize, uniqueValues, sampleSize, updates, uniqueValuesError, IndexValueHistogram.EMPTY);
+    }
+
+    /**
+     * @param valueHistogram distribution of the numeric values in the index, {@link IndexValueHistogram#EMPTY} if not known.
+     */
+    public IndexSample(
+            long indexSize,
+            long uniqueValues,
+            long sampleSize,
+            long updates,
+            double uniqueValuesError,
+            IndexValueHistogram valueHistogram) {
         this.indexSize = indexSize;
         this.uniqueValues = uniqueValues;
         this.sampleSize = sampleSize;
         this.updates = updates;
+        this.uniqueValuesError = uniqueValuesError;
+        this.valueHistogram = valueHistogram;
     }
 
     public long indexSize() {
@@ -58,6 +83,17 @@ public final class IndexSample {
         return updates;
     }
 
+    /**
+     * @return relative standard error of {@link #uniqueValues()}, {@code 0} if it isn't an estimate.
+     */
+    public double uniqueValuesError() {
+        return uniqueValuesError;
+    }
+
+    public IndexValueHistogram valueHistogram() {
+        return valueHistogram;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -70,12 +106,18 @@ public final class IndexSample {
         return indexSize == that.indexSize
                 && uniqueValues == that.uniqueValues
                 && sampleSize == that.sampleSize
-                && updates == that.updates;
+                && updates == that.updates
+                && Double.compare(uniqueValuesError, that.uniqueValuesError) == 0
+                && valueHistogram.equals(that.valueHistogram);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(new long[] {indexSize, uniqueValues, sampleSize, updates});
+        return 31
+                        * Arrays.hashCode(new long[] {
+                            indexSize, uniqueValues, sampleSize, updates, Double.doubleToLongBits(uniqueValuesError)
+                        })
+                + valueHistogram.hashCode();
     }
 
     @Override
@@ -84,6 +126,8 @@ public final class IndexSample {
                 + indexSize + ", uniqueValues="
                 + uniqueValues + ", sampleSize="
                 + sampleSize + ", updates="
-                + updates + '}';
+                + updates + ", uniqueValuesError="
+                + uniqueValuesError + ", valueHistogram="
+                + valueHistogram + '}';
     }
 }
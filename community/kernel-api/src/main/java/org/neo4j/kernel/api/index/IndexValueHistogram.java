@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import java.util.Arrays;
+import org.neo4j.util.Preconditions;
+
+/**
+ * Distribution of the numeric values in a single property index, as seen by the last sample of the index.
+ * <p>
+ * The most common values are listed separately together with the fraction of all index entries having them.
+ * The remaining numeric values are described by an equi-depth histogram, where each bucket holds the same number of entries
+ * and the bucket boundaries are {@code boundaries[i]} to {@code boundaries[i + 1]}. Together the buckets hold
+ * {@link #histogramFraction()} of all index entries.
+ */
+public final class IndexValueHistogram {
+    public static final IndexValueHistogram EMPTY =
+            new IndexValueHistogram(new double[0], 0, new double[0], new double[0]);
+
+    /**
+     * The maximum number of buckets and most common values, limited by what fits in a value in the statistics store.
+     */
+    public static final int MAX_BUCKETS = 16;
+
+    public static final int MAX_MOST_COMMON_VALUES = 4;
+
+    private final double[] boundaries;
+    private final double histogramFraction;
+    private final double[] mostCommonValues;
+    private final double[] mostCommonValueFractions;
+
+    public IndexValueHistogram(
+            double[] boundaries,
+            double histogramFraction,
+            double[] mostCommonValues,
+            double[] mostCommonValueFractions) {
+        Preconditions.checkArgument(
+                boundaries.length == 0 || (boundaries.length >= 2 && boundaries.length <= MAX_BUCKETS + 1),
+                "Expected between 1 and %d buckets, got %d boundaries",
+                MAX_BUCKETS,
+                boundaries.length);
+        Preconditions.checkArgument(
+                mostCommonValues.length == mostCommonValueFractions.length
+                        && mostCommonValues.length <= MAX_MOST_COMMON_VALUES,
+                "Expected at most %d most common values with a fraction each, got %d values and %d fractions",
+                MAX_MOST_COMMON_VALUES,
+                mostCommonValues.length,
+                mostCommonValueFractions.length);
+        this.boundaries = boundaries;
+        this.histogramFraction = histogramFraction;
+        this.mostCommonValues = mostCommonValues;
+        this.mostCommonValueFractions = mostCommonValueFractions;
+    }
+
+    public boolean isEmpty() {
+        return boundaries.length == 0 && mostCommonValues.length == 0;
+    }
+
+    public int numberOfBuckets() {
+        return Math.max(0, boundaries.length - 1);
+    }
+
+    /**
+     * @return ascending boundaries of the buckets, one more than the number of buckets.
+     */
+    public double[] boundaries() {
+        return boundaries.clone();
+    }
+
+    /**
+     * @return fraction of all index entries which are described by the buckets.
+     */
+    public double histogramFraction() {
+        return histogramFraction;
+    }
+
+    public double[] mostCommonValues() {
+        return mostCommonValues.clone();
+    }
+
+    /**
+     * @return for each of {@link #mostCommonValues()}, the fraction of all index entries having that value.
+     */
+    public double[] mostCommonValueFractions() {
+        return mostCommonValueFractions.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IndexValueHistogram that = (IndexValueHistogram) o;
+        return Double.compare(histogramFraction, that.histogramFraction) == 0
+                && Arrays.equals(boundaries, that.boundaries)
+                && Arrays.equals(mostCommonValues, that.mostCommonValues)
+                && Arrays.equals(mostCommonValueFractions, that.mostCommonValueFractions);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(histogramFraction);
+        result = 31 * result + Arrays.hashCode(boundaries);
+        result = 31 * result + Arrays.hashCode(mostCommonValues);
+        result = 31 * result + Arrays.hashCode(mostCommonValueFractions);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexValueHistogram{" + "boundaries="
+                + Arrays.toString(boundaries) + ", histogramFraction="
+                + histogramFraction + ", mostCommonValues="
+                + Arrays.toString(mostCommonValues) + ", mostCommonValueFractions="
+                + Arrays.toString(mostCommonValueFractions) + '}';
+    }
+}
@@ -46,6 +46,7 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 /**
  * Represent events related to property changes due to entity addition, deletion or update.
@@ -177,8 +178,7 @@ public class EntityUpdates {
      */
     public <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> valueUpdatesForIndexKeys(
             Iterable<INDEX_KEY> indexKeys) {
-        Iterable<INDEX_KEY> potentiallyRelevant =
-                Iterables.filter(indexKey -> atLeastOneRelevantChange(indexKey.schema()), indexKeys);
+        Iterable<INDEX_KEY> potentiallyRelevant = Iterables.filter(this::atLeastOneRelevantChange, indexKeys);
 
         return gatherUpdatesForPotentials(potentiallyRelevant);
     }
@@ -209,9 +209,10 @@ public class EntityUpdates {
         final MutableIntSet additionalPropertiesToLoad = new IntHashSet();
 
         for (INDEX_KEY indexKey : indexKeys) {
-            if (atLeastOneRelevantChange(indexKey.schema())) {
+            if (atLeastOneRelevantChange(indexKey)) {
                 potentiallyRelevant.add(indexKey);
-                gatherPropsToLoad(indexKey.schema(), additionalPropertiesToLoad);
+                gatherPropsToLoad(indexKey.schema().getPropertyIds(), additionalPropertiesToLoad);
+                gatherPropsToLoad(indexKey.getIncludedPropertyIds(), additionalPropertiesToLoad);
             }
         }
 
@@ -231,14 +232,21 @@ public class EntityUpdates {
             boolean relevantBefore = relevantBefore(schema);
             boolean relevantAfter = relevantAfter(schema);
             int[] propertyIds = schema.getPropertyIds();
+            int[] includedPropertyIds = indexKey.getIncludedPropertyIds();
             if (relevantBefore && !relevantAfter) {
-                indexUpdates.add(IndexEntryUpdate.remove(entityId, indexKey, valuesBefore(propertyIds)));
+                indexUpdates.add(
+                        IndexEntryUpdate.remove(entityId, indexKey, valuesBefore(propertyIds, includedPropertyIds)));
             } else if (!relevantBefore && relevantAfter) {
-                indexUpdates.add(IndexEntryUpdate.add(entityId, indexKey, valuesAfter(propertyIds)));
+                indexUpdates.add(
+                        IndexEntryUpdate.add(entityId, indexKey, valuesAfter(propertyIds, includedPropertyIds)));
             } else if (relevantBefore && relevantAfter) {
-                if (valuesChanged(propertyIds, schema.propertySchemaType())) {
+                if (valuesChanged(propertyIds, schema.propertySchemaType())
+                        || includedValuesChanged(includedPropertyIds)) {
                     indexUpdates.add(IndexEntryUpdate.change(
-                            entityId, indexKey, valuesBefore(propertyIds), valuesAfter(propertyIds)));
+                            entityId,
+                            indexKey,
+                            valuesBefore(propertyIds, includedPropertyIds),
+                            valuesAfter(propertyIds, includedPropertyIds)));
                 }
             }
         }
@@ -317,28 +325,34 @@ public class EntityUpdates {
         }
     }
 
-    private void gatherPropsToLoad(SchemaDescriptor schema, MutableIntSet target) {
-        for (int propertyId : schema.getPropertyIds()) {
+    private void gatherPropsToLoad(int[] propertyIds, MutableIntSet target) {
+        for (int propertyId : propertyIds) {
             if (knownProperties.get(propertyId) == null) {
                 target.add(propertyId);
             }
         }
     }
 
-    private boolean atLeastOneRelevantChange(SchemaDescriptor schema) {
+    private boolean atLeastOneRelevantChange(SchemaDescriptorSupplier indexKey) {
+        SchemaDescriptor schema = indexKey.schema();
         boolean affectedBefore = schema.isAffected(entityTokensBefore);
         boolean affectedAfter = schema.isAffected(entityTokensAfter);
         if (affectedBefore && affectedAfter) {
-            for (int propertyId : schema.getPropertyIds()) {
-                if (knownProperties.containsKey(propertyId)) {
-                    return true;
-                }
-            }
-            return false;
+            return hasAnyKnownProperty(schema.getPropertyIds())
+                    || hasAnyKnownProperty(indexKey.getIncludedPropertyIds());
         }
         return affectedBefore || affectedAfter;
     }
 
+    private boolean hasAnyKnownProperty(int[] propertyIds) {
+        for (int propertyId : propertyIds) {
+            if (knownProperties.containsKey(propertyId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean hasPropsBefore(int[] propertyIds, PropertySchemaType propertySchemaType) {
         boolean found = false;
         for (int propertyId : propertyIds) {
@@ -369,23 +383,49 @@ public class EntityUpdates {
         return found;
     }
 
-    private Value[] valuesBefore(int[] propertyIds) {
-        Value[] values = new Value[propertyIds.length];
+    /**
+     * Values of included properties follow the values of the schema properties, with {@link Values#NO_VALUE} for
+     * included properties that the entity doesn't have.
+     */
+    private Value[] valuesBefore(int[] propertyIds, int[] includedPropertyIds) {
+        Value[] values = new Value[propertyIds.length + includedPropertyIds.length];
         for (int i = 0; i < propertyIds.length; i++) {
             values[i] = knownProperties.get(propertyIds[i]).before;
         }
+        for (int i = 0; i < includedPropertyIds.length; i++) {
+            PropertyValue propertyValue = knownProperties.get(includedPropertyIds[i]);
+            values[propertyIds.length + i] = valueOrNoValue(propertyValue == null ? null : propertyValue.before);
+        }
         return values;
     }
 
-    private Value[] valuesAfter(int[] propertyIds) {
-        Value[] values = new Value[propertyIds.length];
+    private Value[] valuesAfter(int[] propertyIds, int[] includedPropertyIds) {
+        Value[] values = new Value[propertyIds.length + includedPropertyIds.length];
         for (int i = 0; i < propertyIds.length; i++) {
             PropertyValue propertyValue = knownProperties.get(propertyIds[i]);
             values[i] = propertyValue == null ? null : propertyValue.after;
         }
+        for (int i = 0; i < includedPropertyIds.length; i++) {
+            PropertyValue propertyValue = knownProperties.get(includedPropertyIds[i]);
+            values[propertyIds.length + i] = valueOrNoValue(propertyValue == null ? null : propertyValue.after);
+        }
         return values;
     }
 
+    private static Value valueOrNoValue(Value value) {
+        return value == null ? Values.NO_VALUE : value;
+    }
+
+    private boolean includedValuesChanged(int[] includedPropertyIds) {
+        for (int propertyId : includedPropertyIds) {
+            PropertyValue propertyValue = knownProperties.get(propertyId);
+            if (propertyValue != null && propertyValue.type != UnChanged && propertyValue.type != NoValue) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method should only be called in a context where you know that your entity is relevant both before and after
      */
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api;
+
+import org.neo4j.util.Preconditions;
+
+/**
+ * A batch of nodes read by a scan, in columns. The columns are plain arrays which are reused between batches,
+ * only the first {@link #size()} elements of each of them are valid.
+ *
+ * @see StorageNodeCursor#nextBatch(NodeBatch)
+ */
+public final class NodeBatch {
+    private final long[] ids;
+    private final long[][] labels;
+    private int size;
+
+    public NodeBatch(int capacity) {
+        Preconditions.requirePositive(capacity);
+        this.ids = new long[capacity];
+        this.labels = new long[capacity][];
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == ids.length;
+    }
+
+    /**
+     * @return the ids of the nodes in this batch, in the order they were read.
+     */
+    public long[] ids() {
+        return ids;
+    }
+
+    /**
+     * @return the label ids of each of the nodes in this batch, at the same index as the node id in {@link #ids()}.
+     */
+    public long[][] labels() {
+        return labels;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a node to this batch, which must not be {@link #isFull() full}.
+     */
+    public void add(long id, long[] labels) {
+        this.ids[size] = id;
+        this.labels[size] = labels;
+        size++;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api;
+
+import org.neo4j.util.Preconditions;
+
+/**
+ * A batch of relationships read by a scan, in columns. The columns are plain arrays which are reused between batches,
+ * only the first {@link #size()} elements of each of them are valid.
+ *
+ * @see StorageRelationshipScanCursor#nextBatch(RelationshipBatch)
+ */
+public final class RelationshipBatch {
+    private final long[] ids;
+    private final int[] types;
+    private final long[] sourceNodes;
+    private final long[] targetNodes;
+    private int size;
+
+    public RelationshipBatch(int capacity) {
+        Preconditions.requirePositive(capacity);
+        this.ids = new long[capacity];
+        this.types = new int[capacity];
+        this.sourceNodes = new long[capacity];
+        this.targetNodes = new long[capacity];
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == ids.length;
+    }
+
+    /**
+     * @return the ids of the relationships in this batch, in the order they were read.
+     */
+    public long[] ids() {
+        return ids;
+    }
+
+    /**
+     * @return the type of each of the relationships in this batch, at the same index as the relationship id in {@link #ids()}.
+     */
+    public int[] types() {
+        return types;
+    }
+
+    /**
+     * @return the source node of each of the relationships in this batch, at the same index as the relationship id in {@link #ids()}.
+     */
+    public long[] sourceNodes() {
+        return sourceNodes;
+    }
+
+    /**
+     * @return the target node of each of the relationships in this batch, at the same index as the relationship id in {@link #ids()}.
+     */
+    public long[] targetNodes() {
+        return targetNodes;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a relationship to this batch, which must not be {@link #isFull() full}.
+     */
+    public void add(long id, int type, long sourceNode, long targetNode) {
+        this.ids[size] = id;
+        this.types[size] = type;
+        this.sourceNodes[size] = sourceNode;
+        this.targetNodes[size] = targetNode;
+        size++;
+    }
+}
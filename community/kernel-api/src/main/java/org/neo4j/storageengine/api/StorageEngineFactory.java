@@ -145,6 +145,7 @@ public interface StorageEngineFactory {
             DatabaseLayout databaseLayout,
             Config config,
             PageCache pageCache,
+            JobScheduler jobScheduler,
             TokenHolders tokenHolders,
             SchemaState schemaState,
             ConstraintRuleAccessor constraintSemantics,
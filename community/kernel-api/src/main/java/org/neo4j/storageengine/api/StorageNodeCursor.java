@@ -93,4 +93,20 @@ public interface StorageNodeCursor extends StorageEntityScanCursor<AllNodeScan>
      * @return whether or not this node is dense.
      */
     boolean supportsFastDegreeLookup();
+
+    /**
+     * Reads the next nodes of a {@link #scan()} or {@link #scanBatch(Scan, long)} into {@code batch}, which is cleared first.
+     * Implementations may read fewer nodes than fit in the batch, e.g. to stop at a boundary in the underlying storage, so a batch
+     * that isn't full doesn't mean that the scan is exhausted. After this call this cursor isn't placed at any node.
+     *
+     * @param batch the batch to read the nodes into.
+     * @return {@code true} if at least one node was read, or {@code false} if there were no more nodes to read.
+     */
+    default boolean nextBatch(NodeBatch batch) {
+        batch.clear();
+        while (!batch.isFull() && next()) {
+            batch.add(entityReference(), labels());
+        }
+        return batch.size() > 0;
+    }
 }
@@ -80,6 +80,13 @@ public interface StoragePropertyCursor extends StorageCursor {
      */
     Value propertyValue();
 
+    /**
+     * Releases the memory this cursor has allocated from the memory tracker it was created with, e.g. buffers for reading
+     * property values. Unlike {@link #close()} the cursor can still be used after this call, and then allocates such memory again
+     * when it needs it.
+     */
+    default void releaseTrackedMemory() {}
+
     /**
      * Seeks the given property key id and returns its value. This is a one-shot call and to get more properties from this
      * cursor it will have to be initialized again.
@@ -58,6 +58,13 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader {
 
     Collection<IndexDescriptor> valueIndexesGetRelated(long[] tokens, int[] propertyKeyIds, EntityType entityType);
 
+    /**
+     * Returns all value indexes that have the property as an included property, and any of the tokens (labels or relationship types)
+     * and the entity type. Changing an included property doesn't change which entries such an index has.
+     */
+    Collection<IndexDescriptor> valueIndexesGetRelatedByIncludedProperty(
+            long[] tokens, int propertyKeyId, EntityType entityType);
+
     Collection<IndexBackedConstraintDescriptor> uniquenessConstraintsGetRelated(
             long[] tokens, int propertyKeyId, EntityType entityType);
 
@@ -115,6 +122,20 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader {
 
     long relationshipsGetCount(CursorContext cursorTracer);
 
+    /**
+     * @param cursorContext underlying page cursor context
+     * @return the highest id that a node in the store can have right now, or {@code -1} if there are no nodes.
+     * Nodes created after this call may get higher ids.
+     */
+    long nodesGetHighestPossibleIdInUse(CursorContext cursorContext);
+
+    /**
+     * @param cursorContext underlying page cursor context
+     * @return the highest id that a relationship in the store can have right now, or {@code -1} if there are no relationships.
+     * Relationships created after this call may get higher ids.
+     */
+    long relationshipsGetHighestPossibleIdInUse(CursorContext cursorContext);
+
     int labelCount();
 
     int propertyKeyCount();
@@ -32,4 +32,20 @@ public interface StorageRelationshipScanCursor
      * @param targetNodeReference target node reference of this relationship.
      */
     void single(long reference, long sourceNodeReference, int type, long targetNodeReference);
+
+    /**
+     * Reads the next relationships of a {@link #scan()} or {@link #scanBatch(Scan, long)} into {@code batch}, which is cleared first.
+     * Implementations may read fewer relationships than fit in the batch, e.g. to stop at a boundary in the underlying storage,
+     * so a batch that isn't full doesn't mean that the scan is exhausted. After this call this cursor isn't placed at any relationship.
+     *
+     * @param batch the batch to read the relationships into.
+     * @return {@code true} if at least one relationship was read, or {@code false} if there were no more relationships to read.
+     */
+    default boolean nextBatch(RelationshipBatch batch) {
+        batch.clear();
+        while (!batch.isFull() && next()) {
+            batch.add(entityReference(), type(), sourceNodeReference(), targetNodeReference());
+        }
+        return batch.size() > 0;
+    }
 }
@@ -88,10 +88,10 @@ public class ValueIndexEntryUpdate<INDEX_KEY extends SchemaDescriptorSupplier> e
     }
 
     private static void validateValuesLength(SchemaDescriptorSupplier indexKey, Value[] before, Value[] values) {
-        // we do not support partial index entries
-        assert indexKey.schema().getPropertyIds().length == values.length
+        // we do not support partial index entries, included properties follow the indexed ones
+        assert indexKey.schema().getPropertyIds().length + indexKey.getIncludedPropertyIds().length == values.length
                 : format(
-                        "ValueIndexEntryUpdate values must be of same length as index compositeness. "
+                        "ValueIndexEntryUpdate values must be of same length as index compositeness and included properties. "
                                 + "Index on %s, but got values %s",
                         indexKey.schema().toString(), Arrays.toString(values));
         assert before == null || before.length == values.length;
@@ -429,6 +429,7 @@ public class Database extends AbstractDatabase {
                 databaseLayout,
                 databaseConfig,
                 databasePageCache,
+                scheduler,
                 tokenHolders,
                 databaseSchemaState,
                 constraintSemantics,
@@ -25,6 +25,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.reuse_cursors_across_transactions;
 import static org.neo4j.configuration.GraphDatabaseSettings.memory_transaction_max_size;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_sampling_percentage;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_tracing_level;
@@ -86,6 +87,7 @@ import org.neo4j.internal.schema.SchemaState;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.context.EmptyVersionContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.AssertOpen;
 import org.neo4j.kernel.api.ExecutionContext;
@@ -189,6 +191,9 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     private final TransactionMemoryPool transactionMemoryPool;
     private CursorContext cursorContext;
     private final CursorContextFactory contextFactory;
+    private final boolean reuseCursors;
+    // whether the cursor context, and the pooled cursors bound to it, are kept from one transaction to the next
+    private boolean reuseCursorContext;
     private final DatabaseReadOnlyChecker readOnlyDatabaseChecker;
     private final TransactionIdGenerator transactionIdGenerator;
     private final SecurityAuthorizationHandler securityAuthorizationHandler;
@@ -289,6 +294,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         this.config = new LocalConfig(externalConfig);
         this.accessCapabilityFactory = accessCapabilityFactory;
         this.contextFactory = contextFactory;
+        this.reuseCursors = config.get(reuse_cursors_across_transactions);
         this.readOnlyDatabaseChecker = readOnlyDatabaseChecker;
         this.transactionIdGenerator = transactionIdGenerator;
         this.transactionMemoryPool = new TransactionMemoryPool(dbTransactionsPool, config, () -> !closed, logProvider);
@@ -386,7 +392,12 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         assert transactionMemoryPool.usedHeap() == 0;
         assert transactionMemoryPool.usedNative() == 0;
         assert !failedCleanup : "This transaction should not be reused since it did not close properly";
-        this.cursorContext = contextFactory.create(TRANSACTION_TAG);
+        if (!reuseCursorContext) {
+            this.cursorContext = contextFactory.create(TRANSACTION_TAG);
+            // Pooled cursors stay bound to the context they were allocated with, so they can only be kept between
+            // transactions if that context carries no per-transaction version state.
+            this.reuseCursorContext = reuseCursors && cursorContext.getVersionContext() == EmptyVersionContext.EMPTY;
+        }
         this.transactionalCursors.reset(cursorContext);
         this.accessCapability = accessCapabilityFactory.newAccessCapability(readOnlyDatabaseChecker);
         this.kernelTransactionMonitor = KernelTransaction.NO_MONITOR;
@@ -1259,7 +1270,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
                 error = Exceptions.chain(error, e);
             }
             try {
-                operations.release();
+                if (reuseCursorContext) {
+                    operations.releaseKeepingReusableCursors();
+                } else {
+                    operations.release();
+                }
             } catch (RuntimeException | Error e) {
                 error = Exceptions.chain(error, e);
             }
@@ -1352,6 +1367,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     }
 
     public void dispose() {
+        operations.release();
         storageReader.close();
         transactionMemoryPool.close();
         removeConfigChangeListeners(config);
@@ -30,6 +30,17 @@ import org.neo4j.kernel.impl.api.state.TxState;
 import org.neo4j.kernel.impl.transaction.tracing.TransactionEvent;
 import org.neo4j.memory.MemoryTracker;
 
+/**
+ * Appends the commands of a transaction on a multi-versioned store to the transaction log as a chunk, whenever its
+ * state, on heap and off heap, grows past
+ * {@link org.neo4j.configuration.GraphDatabaseInternalSettings#multi_version_transaction_chunk_size}.
+ * This is what keeps the memory of large write transactions bounded. The chunks make up a single transaction in the
+ * log, with the start entry written with the first chunk and the commit entry with the last one.
+ * <p>
+ * Transactions on other stores are not chunked: their commands are applied to the store as soon as they are appended,
+ * and the log has no entry that would roll back chunks that were appended before a transaction fails. Such transactions
+ * keep their whole state in memory until commit, limited by the transaction memory settings.
+ */
 public class ChunkSink implements ChunkedTransactionSink {
     private final TransactionClockContext clocks;
     private final long chunkSize;
@@ -44,7 +55,7 @@ public class ChunkSink implements ChunkedTransactionSink {
     @Override
     public void write(TxState txState, TransactionEvent transactionEvent) {
         MemoryTracker memoryTracker = txState.memoryTracker();
-        if (memoryTracker.estimatedHeapMemory() > chunkSize) {
+        if (memoryTracker.estimatedHeapMemory() + memoryTracker.usedNativeMemory() > chunkSize) {
             try (var commitEvent = transactionEvent.beginCommitEvent()) {
                 committer.commit(commitEvent, clocks.systemClock().millis(), memoryTracker, false);
                 txState.reset();
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
@@ -76,6 +77,11 @@ public abstract class AbstractDelegatingIndexProxy implements IndexProxy {
         getDelegate().refresh();
     }
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        return getDelegate().compact(continueCompaction, cursorContext);
+    }
+
     @Override
     public void close(CursorContext cursorContext) throws IOException {
         getDelegate().close(cursorContext);
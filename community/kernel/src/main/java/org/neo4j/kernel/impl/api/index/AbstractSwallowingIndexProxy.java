@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.api.index;
 
+import java.util.function.BooleanSupplier;
 import org.neo4j.internal.kernel.api.PopulationProgress;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.internal.schema.IndexDescriptor;
@@ -64,6 +65,11 @@ public abstract class AbstractSwallowingIndexProxy implements IndexProxy {
     @Override
     public void refresh() {}
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        return 0;
+    }
+
     @Override
     public IndexDescriptor getDescriptor() {
         return indexDescriptor;
@@ -26,6 +26,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
@@ -136,6 +137,21 @@ public class FlippableIndexProxy extends AbstractDelegatingIndexProxy {
         }
     }
 
+    /**
+     * Compaction runs in the background for a long time, so it gives way to anyone waiting to flip, drop or close
+     * this index by stopping after the current batch.
+     */
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        lock.readLock().lock();
+        try {
+            return delegate.compact(
+                    () -> !closed && !lock.hasQueuedThreads() && continueCompaction.getAsBoolean(), cursorContext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * Acquire the {@code ReadLock} in an <i>unfair</i> way, without waiting for queued up writers.
      * <p/>
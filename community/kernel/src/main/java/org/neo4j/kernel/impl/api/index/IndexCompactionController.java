@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.internal.kernel.api.InternalIndexState.ONLINE;
+
+import java.time.Duration;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Compacts the online indexes in the background every {@link GraphDatabaseInternalSettings#index_compaction_interval},
+ * so that space left behind after removals can be reused without rebuilding the indexes.
+ */
+class IndexCompactionController {
+    private static final String INDEX_COMPACTION_TAG = "indexCompaction";
+
+    private final IndexMapReference indexMapRef;
+    private final JobScheduler scheduler;
+    private final CursorContextFactory contextFactory;
+    private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final Duration interval;
+    private final String databaseName;
+    private final InternalLog log;
+    private volatile boolean stopped;
+    private JobHandle<?> compactionHandle;
+
+    IndexCompactionController(
+            IndexMapReference indexMapRef,
+            JobScheduler scheduler,
+            CursorContextFactory contextFactory,
+            DatabaseReadOnlyChecker readOnlyChecker,
+            Duration interval,
+            String databaseName,
+            InternalLogProvider logProvider) {
+        this.indexMapRef = indexMapRef;
+        this.scheduler = scheduler;
+        this.contextFactory = contextFactory;
+        this.readOnlyChecker = readOnlyChecker;
+        this.interval = interval;
+        this.databaseName = databaseName;
+        this.log = logProvider.getLog(getClass());
+    }
+
+    void start() {
+        if (interval.isZero()) {
+            return;
+        }
+        var monitoringParams = JobMonitoringParams.systemJob(databaseName, "Background compaction of indexes");
+        compactionHandle = scheduler.scheduleRecurring(
+                Group.INDEX_COMPACTION, monitoringParams, this::compactIndexes, interval.toMillis(), MILLISECONDS);
+    }
+
+    /**
+     * Stops the background compaction and waits for an ongoing compaction to stop, which it does after its current batch.
+     */
+    void stop() {
+        stopped = true;
+        if (compactionHandle != null) {
+            compactionHandle.cancel();
+        }
+        synchronized (this) {
+            compactionHandle = null;
+        }
+    }
+
+    synchronized void compactIndexes() {
+        try (var cursorContext = contextFactory.create(INDEX_COMPACTION_TAG)) {
+            for (IndexProxy proxy : indexMapRef.getAllIndexProxies()) {
+                if (stopped || readOnlyChecker.isReadOnly()) {
+                    return;
+                }
+                if (proxy.getState() != ONLINE) {
+                    continue;
+                }
+                try {
+                    long releasedPages = proxy.compact(() -> !stopped, cursorContext);
+                    if (releasedPages > 0) {
+                        log.info(format(
+                                "Compacted %s, %d pages were released for reuse",
+                                proxy.getDescriptor(), releasedPages));
+                    }
+                } catch (RuntimeException e) {
+                    log.warn(format("Unable to compact %s", proxy.getDescriptor()), e);
+                }
+            }
+        }
+    }
+}
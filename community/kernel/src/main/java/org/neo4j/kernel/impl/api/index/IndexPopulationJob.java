@@ -52,6 +52,7 @@ import org.neo4j.util.concurrent.Runnables;
  */
 public class IndexPopulationJob implements Runnable {
     private static final String INDEX_POPULATION_TAG = "indexPopulationJob";
+    private static final String INDEX_POPULATION_STOP_TAG = "indexPopulationJobStop";
     private final IndexMonitor monitor;
     private final CursorContextFactory contextFactory;
     private final MemoryTracker memoryTracker;
@@ -178,6 +179,10 @@ public class IndexPopulationJob implements Runnable {
      * Asynchronous call, need to {@link #awaitCompletion(long, TimeUnit) await completion}.
      */
     public void stop() {
+        // Let populations which are stopped, rather than completed, resume from here on next start
+        try (var cursorContext = contextFactory.create(INDEX_POPULATION_STOP_TAG)) {
+            multiPopulator.checkpointBeforeStop(cursorContext);
+        }
         // Stop the population
         if (storeScan != null) {
             stopped = true;
@@ -187,6 +192,14 @@ public class IndexPopulationJob implements Runnable {
         }
     }
 
+    /**
+     * Request a checkpoint of the populations of this job as part of a checkpoint of the database, to be awaited separately.
+     * @see MultipleIndexPopulator#requestCheckpoint()
+     */
+    MultipleIndexPopulator.Checkpoint requestCheckpoint() {
+        return multiPopulator.requestCheckpoint();
+    }
+
     /**
      * Stop population of specific index. Index will remain in {@link InternalIndexState#POPULATING populating state} to be rebuilt on next db start up.
      * @param population {@link MultipleIndexPopulator.IndexPopulation} to be stopped.
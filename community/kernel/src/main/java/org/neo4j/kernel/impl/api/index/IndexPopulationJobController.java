@@ -21,10 +21,13 @@ package org.neo4j.kernel.impl.api.index;
 
 import static org.neo4j.scheduler.Group.INDEX_POPULATION;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.scheduler.JobScheduler;
 
 class IndexPopulationJobController {
@@ -53,6 +56,18 @@ class IndexPopulationJobController {
         }
     }
 
+    void checkpoint(CursorContext cursorContext) {
+        // Requested from all jobs before awaiting any of them, so that the checkpoint waits for the timeout once rather
+        // than per job
+        List<MultipleIndexPopulator.Checkpoint> checkpoints = new ArrayList<>();
+        for (IndexPopulationJob job : populationJobs) {
+            checkpoints.add(job.requestCheckpoint());
+        }
+        for (MultipleIndexPopulator.Checkpoint checkpoint : checkpoints) {
+            checkpoint.await(cursorContext);
+        }
+    }
+
     void startIndexPopulation(IndexPopulationJob job) {
         populationJobs.add(job);
         job.setHandle(scheduler.schedule(
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
@@ -83,6 +84,13 @@ public interface IndexProxy extends MinimalIndexAccessor {
 
     void refresh() throws IOException;
 
+    /**
+     * Compacts the index if it's online, see {@link IndexAccessor#compact(BooleanSupplier, CursorContext)}.
+     *
+     * @return number of pages released for reuse.
+     */
+    long compact(BooleanSupplier continueCompaction, CursorContext cursorContext);
+
     /**
      * @throws IndexNotFoundKernelException if the index isn't online yet.
      * @throws UnsupportedOperationException if underlying index is not Value Index
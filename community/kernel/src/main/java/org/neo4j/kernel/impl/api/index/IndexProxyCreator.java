@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.api.index;
 
 import static org.neo4j.internal.schema.IndexType.LOOKUP;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 import java.io.IOException;
 import java.nio.file.OpenOption;
@@ -106,6 +107,20 @@ class IndexProxyCreator {
         return new ContractCheckingIndexProxy(proxy);
     }
 
+    /**
+     * Like {@link #createRecoveringIndexProxy(IndexDescriptor)}, but the updates of recovered transactions are added to the saved state
+     * of the interrupted population of the index, for the population to {@link IndexPopulator#createOrResume() resume} from.
+     */
+    IndexProxy createResumingRecoveringIndexProxy(IndexDescriptor descriptor, int blockSize) {
+        RecoveredIndexPopulation recoveredPopulation = new RecoveredIndexPopulation(
+                descriptor,
+                bufferFactory -> populatorFromProvider(descriptor, samplingConfig, bufferFactory, INSTANCE),
+                blockSize,
+                logProvider.getLog(RecoveredIndexPopulation.class));
+        IndexProxy proxy = new RecoveringIndexProxy(descriptor, recoveredPopulation);
+        return new ContractCheckingIndexProxy(proxy);
+    }
+
     IndexProxy createOnlineIndexProxy(IndexDescriptor descriptor) {
         try {
             IndexAccessor onlineAccessor = onlineAccessorFromProvider(descriptor, samplingConfig);
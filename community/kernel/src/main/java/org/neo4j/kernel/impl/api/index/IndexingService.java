@@ -56,6 +56,7 @@ import org.neo4j.common.EntityType;
 import org.neo4j.common.Subject;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.exceptions.UnderlyingStorageException;
@@ -132,6 +133,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
     private final IndexMonitor monitor;
     private final SchemaState schemaState;
     private final IndexPopulationJobController populationJobController;
+    private final IndexCompactionController compactionController;
     private final IndexStoreView storeView;
     private final StorageEngineIndexingBehaviour storageEngineIndexingBehaviour;
 
@@ -176,6 +178,14 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
         this.internalLogProvider = internalLogProvider;
         this.monitor = monitor;
         this.populationJobController = new IndexPopulationJobController(scheduler);
+        this.compactionController = new IndexCompactionController(
+                indexMapRef,
+                scheduler,
+                contextFactory,
+                readOnlyChecker,
+                config.get(GraphDatabaseInternalSettings.index_compaction_interval),
+                databaseName,
+                internalLogProvider);
         this.internalLog = internalLogProvider.getLog(getClass());
         this.indexStatisticsStore = indexStatisticsStore;
         this.contextFactory = contextFactory;
@@ -218,7 +228,12 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
                                     // The database was shut down during population, or a crash has occurred, or some
                                     // other sad thing.
                                     monitor.initialState(databaseName, descriptor, POPULATING);
-                                    yield indexProxyCreator.createRecoveringIndexProxy(descriptor);
+                                    yield config.get(GraphDatabaseInternalSettings.index_population_resumable)
+                                            ? indexProxyCreator.createResumingRecoveringIndexProxy(
+                                                    descriptor,
+                                                    config.get(GraphDatabaseInternalSettings.index_populator_block_size)
+                                                            .intValue())
+                                            : indexProxyCreator.createRecoveringIndexProxy(descriptor);
                                 }
                                 case FAILED -> {
                                     monitor.initialState(databaseName, descriptor, FAILED);
@@ -285,6 +300,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
 
         samplingController.recoverIndexSamples();
         samplingController.start();
+        compactionController.start();
 
         // So at this point we've started population of indexes that needs to be rebuilt in the background.
         // Indexes backing uniqueness constraints are normally built within the transaction creating the constraint
@@ -407,6 +423,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
     @Override
     public void stop() throws Exception {
         samplingController.stop();
+        compactionController.stop();
         populationJobController.stop();
     }
 
@@ -624,6 +641,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
                 proxy.force(fileFlushEvent, cursorContext);
             }
         }));
+        populationJobController.checkpoint(cursorContext);
     }
 
     private LongObjectProcedure<IndexProxy> indexProxyOperation(
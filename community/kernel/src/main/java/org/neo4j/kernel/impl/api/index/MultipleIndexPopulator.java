@@ -20,11 +20,14 @@
 package org.neo4j.kernel.impl.api.index;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.joining;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 import static org.eclipse.collections.impl.utility.ArrayIterate.contains;
 import static org.neo4j.internal.schema.IndexType.LOOKUP;
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
+import static org.neo4j.kernel.api.index.IndexPopulator.NO_SCAN_PROGRESS;
 import static org.neo4j.kernel.impl.api.index.IndexPopulationFailure.failure;
 
 import java.io.IOException;
@@ -35,9 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntPredicate;
 import java.util.stream.IntStream;
@@ -107,6 +114,10 @@ import org.neo4j.values.storable.Value;
  * {@link #queueThreshold} than all queued concurrent updates are flushed after the store scan in
  * {@link #flipAfterStoreScan(CursorContext)}.
  * <p>
+ * With {@link GraphDatabaseInternalSettings#index_population_resumable} the populations are {@link #checkpoint(CursorContext) checkpointed}
+ * together with the database. The thread executing the store scan applies the queued updates and lets each populator save its state
+ * together with the current scan position, so that population can resume from there after a restart instead of scanning from the beginning.
+ * <p>
  */
 public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, AutoCloseable {
     private static final String MULTIPLE_INDEX_POPULATOR_TAG = "multipleIndexPopulator";
@@ -116,6 +127,16 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
     private final int queueThreshold;
     final int batchMaxByteSizeScan;
     private final boolean printDebug;
+    private final boolean resumable;
+    private final long checkpointTimeoutMillis;
+
+    // Checkpoint requested by the checkpointing thread, to be carried out by the thread executing the store scan
+    private final AtomicReference<CompletableFuture<Boolean>> requestedCheckpoint = new AtomicReference<>();
+    private volatile boolean scanRunning;
+    // Whether the populations have been checkpointed for the last time before being stopped
+    private volatile boolean checkpointedForStop;
+    // The highest scan position any of the populations have been resumed from
+    private volatile long maxResumedScanPosition = NO_SCAN_PROGRESS;
 
     // Concurrency queue since multiple concurrent threads may enqueue updates into it. It is important for this queue
     // to have fast #size() method since it might be drained in batches
@@ -173,6 +194,9 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         this.queueThreshold = config.get(GraphDatabaseInternalSettings.index_population_queue_threshold);
         this.batchMaxByteSizeScan = config.get(GraphDatabaseInternalSettings.index_population_batch_max_byte_size)
                 .intValue();
+        this.resumable = config.get(GraphDatabaseInternalSettings.index_population_resumable);
+        this.checkpointTimeoutMillis = config.get(GraphDatabaseInternalSettings.index_population_checkpoint_timeout)
+                .toMillis();
     }
 
     IndexPopulation addPopulator(
@@ -235,9 +259,23 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             storeScan = new LoggingStoreScan(innerStoreScan, true);
         }
         storeScan.setPhaseTracker(phaseTracker);
+        resumeStoreScan(storeScan);
         return storeScan;
     }
 
+    private void resumeStoreScan(StoreScan scan) {
+        long resumeAfter = Long.MAX_VALUE;
+        for (IndexPopulation population : populations) {
+            resumeAfter = Math.min(resumeAfter, population.resumedScanPosition);
+            maxResumedScanPosition = Math.max(maxResumedScanPosition, population.resumedScanPosition);
+        }
+        // Scan updates of entities up to where each population was resumed from are skipped, even if the scan visits
+        // them
+        if (resumeAfter != Long.MAX_VALUE && resumeAfter != NO_SCAN_PROGRESS && scan.resumeAfter(resumeAfter)) {
+            log.info("Resuming store scan after entity %d", resumeAfter);
+        }
+    }
+
     /**
      * Queues an update to be fed into the index populators. These updates come from changes being made
      * to storage while a concurrent scan is happening to keep populators up to date with all latest changes.
@@ -326,6 +364,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
      */
     @Override
     public void close() {
+        scanEnded();
         phaseTracker.stop();
         closeAllUnchecked(cursorContext);
     }
@@ -369,7 +408,8 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
     }
 
     private IntStream propertyKeyIds(IndexPopulation population) {
-        return IntStream.of(population.schema().getPropertyIds());
+        return IntStream.concat(
+                IntStream.of(population.schema().getPropertyIds()), IntStream.of(population.getIncludedPropertyIds()));
     }
 
     private int[] entityTokenIds() {
@@ -392,6 +432,18 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
      * @param indexPopulation {@link IndexPopulation} to stop.
      */
     void stop(IndexPopulation indexPopulation, CursorContext cursorContext) {
+        if (resumable && !checkpointedForStop) {
+            // Updates made since the last checkpoint would be missing from the saved state on next start
+            try {
+                indexPopulation.populator.checkpoint(NO_SCAN_PROGRESS, cursorContext);
+            } catch (Throwable e) {
+                log.warn(
+                        format(
+                                "Failed to discard saved state of population of index: [%s]",
+                                indexPopulation.userDescription(tokenNameLookup)),
+                        e);
+            }
+        }
         indexPopulation.disconnectAndStop(cursorContext);
         checkEmpty();
     }
@@ -416,15 +468,135 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         return populations.remove(indexPopulation);
     }
 
+    /**
+     * Checkpoints all ongoing populations, as part of a checkpoint of the database. This is carried out by the thread executing the store
+     * scan, which applies the queued updates first, so that the saved state of the populations includes all updates of the transactions
+     * covered by the checkpoint of the database. If that can't be done within
+     * {@link GraphDatabaseInternalSettings#index_population_checkpoint_timeout}, or the store scan isn't running, the saved state of the
+     * populations is discarded instead since it would be missing some of those updates.
+     *
+     * @return {@code true} if the populations were checkpointed, otherwise {@code false}.
+     */
+    boolean checkpoint(CursorContext cursorContext) {
+        return requestCheckpoint().await(cursorContext);
+    }
+
+    /**
+     * Asks the thread executing the store scan to checkpoint all ongoing populations, without waiting for it to happen. Requesting
+     * checkpoints of several populators before awaiting any of them lets their store scans pause at the same time, so that they are all
+     * awaited within the same {@link GraphDatabaseInternalSettings#index_population_checkpoint_timeout}.
+     *
+     * @return the requested checkpoint, to {@link Checkpoint#await(CursorContext) await}.
+     * @see #checkpoint(CursorContext)
+     */
+    Checkpoint requestCheckpoint() {
+        if (!resumable) {
+            return Checkpoint.NONE;
+        }
+        CompletableFuture<Boolean> request = null;
+        if (scanRunning) {
+            request = new CompletableFuture<>();
+            CompletableFuture<Boolean> previous = requestedCheckpoint.getAndSet(request);
+            if (previous != null) {
+                previous.complete(false);
+            }
+        }
+        return new Checkpoint(this, request, System.nanoTime() + MILLISECONDS.toNanos(checkpointTimeoutMillis));
+    }
+
+    /**
+     * Checkpoints all ongoing populations for the last time before they are {@link #stop(CursorContext) stopped}, so that they keep their
+     * saved state for resuming population on next start.
+     */
+    void checkpointBeforeStop(CursorContext cursorContext) {
+        checkpointedForStop = checkpoint(cursorContext);
+    }
+
+    private void discardCheckpoints(CursorContext cursorContext) {
+        for (IndexPopulation population : populations) {
+            try {
+                population.populator.checkpoint(NO_SCAN_PROGRESS, cursorContext);
+            } catch (Throwable e) {
+                log.warn(
+                        format(
+                                "Failed to discard saved state of population of index: [%s]",
+                                population.userDescription(tokenNameLookup)),
+                        e);
+            }
+        }
+    }
+
+    private boolean awaitCheckpoint(CompletableFuture<Boolean> request, long deadlineNanos) {
+        try {
+            // The scan may have ended after the request was made, in which case nobody would carry it out
+            if (!scanRunning && requestedCheckpoint.compareAndSet(request, null)) {
+                return false;
+            }
+            return request.get(Math.max(deadlineNanos - System.nanoTime(), 0), NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (requestedCheckpoint.compareAndSet(request, null)) {
+                return false;
+            }
+            // The scan thread has picked up the request just now, so it will complete it shortly
+            return request.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return requestedCheckpoint.compareAndSet(request, null) ? false : request.join();
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private void completeCheckpointRequest(CompletableFuture<Boolean> request, long currentlyIndexedNodeId) {
+        boolean checkpointed = false;
+        try {
+            if (currentlyIndexedNodeId != Long.MAX_VALUE) {
+                for (IndexPopulation population : populations) {
+                    population.populator.checkpoint(
+                            Math.max(currentlyIndexedNodeId, population.resumedScanPosition), cursorContext);
+                }
+                checkpointed = true;
+                if (printDebug) {
+                    log.info("Checkpointed populations at %d", currentlyIndexedNodeId);
+                }
+            }
+        } catch (Throwable e) {
+            log.warn("Failed to checkpoint index populations", e);
+        } finally {
+            request.complete(checkpointed);
+        }
+    }
+
+    private void scanEnded() {
+        scanRunning = false;
+        CompletableFuture<Boolean> request = requestedCheckpoint.getAndSet(null);
+        if (request != null) {
+            request.complete(false);
+        }
+    }
+
     @Override
     public boolean needToApplyExternalUpdates() {
         int queueSize = concurrentUpdateQueue.size();
         return (queueSize > 0 && queueSize >= queueThreshold)
-                || concurrentUpdateQueueByteSize.get() >= batchMaxByteSizeScan;
+                || concurrentUpdateQueueByteSize.get() >= batchMaxByteSizeScan
+                || requestedCheckpoint.get() != null;
     }
 
     @Override
     public void applyExternalUpdates(long currentlyIndexedNodeId) {
+        // Taken before draining the queue, so that the checkpoint includes all updates queued before it was requested
+        CompletableFuture<Boolean> checkpointRequest = requestedCheckpoint.getAndSet(null);
+        try {
+            applyQueuedUpdates(currentlyIndexedNodeId);
+        } finally {
+            if (checkpointRequest != null) {
+                completeCheckpointRequest(checkpointRequest, currentlyIndexedNodeId);
+            }
+        }
+    }
+
+    private void applyQueuedUpdates(long currentlyIndexedNodeId) {
         if (concurrentUpdateQueue.isEmpty()) {
             return;
         }
@@ -443,7 +615,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
                 // large
                 // drift over time. Therefore each update polled from the queue will subtract its size instead.
                 updateByteSizeDrained += update != null ? update.roughSizeOfUpdate() : 0;
-                if (update != null && update.getEntityId() <= currentlyIndexedNodeId) {
+                if (update != null && update.getEntityId() <= appliedUpTo(update, currentlyIndexedNodeId)) {
                     updater.process(update);
                     if (printDebug) {
                         log.info("Applied %s from queue", update.describe(tokenNameLookup));
@@ -459,6 +631,22 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         }
     }
 
+    /**
+     * Updates of entities which the store scan will visit later are skipped, except for populations which were resumed from
+     * further ahead than that since the scan updates of those entities will be skipped instead.
+     */
+    private long appliedUpTo(IndexEntryUpdate<?> update, long currentlyIndexedNodeId) {
+        if (update.getEntityId() <= currentlyIndexedNodeId || update.getEntityId() > maxResumedScanPosition) {
+            return currentlyIndexedNodeId;
+        }
+        for (IndexPopulation population : populations) {
+            if (population.schema().equals(update.indexKey().schema())) {
+                return Math.max(currentlyIndexedNodeId, population.resumedScanPosition);
+            }
+        }
+        return currentlyIndexedNodeId;
+    }
+
     private void forEachPopulation(ThrowingConsumer<IndexPopulation, Exception> action, CursorContext cursorContext) {
         for (IndexPopulation population : populations) {
             try {
@@ -564,6 +752,8 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         private final FailedIndexProxyFactory failedIndexProxyFactory;
         private boolean populationOngoing = true;
         private final ReentrantLock populatorLock = new ReentrantLock();
+        // Entities up to and including this id were scanned before population was resumed
+        private long resumedScanPosition = NO_SCAN_PROGRESS;
 
         IndexPopulation(
                 IndexPopulator populator,
@@ -584,7 +774,16 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             populatorLock.lock();
             try {
                 if (populationOngoing) {
-                    populator.create();
+                    if (resumable) {
+                        resumedScanPosition = populator.createOrResume();
+                        if (resumedScanPosition != NO_SCAN_PROGRESS) {
+                            log.info(
+                                    "Index population resumed after entity %d: [%s]",
+                                    resumedScanPosition, userDescription(tokenNameLookup));
+                        }
+                    } else {
+                        populator.create();
+                    }
                 }
             } finally {
                 populatorLock.unlock();
@@ -663,6 +862,11 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             return indexProxyStrategy.getIndexDescriptor().schema();
         }
 
+        @Override
+        public int[] getIncludedPropertyIds() {
+            return indexProxyStrategy.getIndexDescriptor().getIncludedPropertyIds();
+        }
+
         @Override
         public String userDescription(TokenNameLookup tokenNameLookup) {
             return indexProxyStrategy.getIndexUserDescription();
@@ -730,6 +934,10 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             for (EntityUpdates update : entityUpdates) {
                 for (IndexEntryUpdate<IndexPopulation> indexUpdate : update.valueUpdatesForIndexKeys(populations)) {
                     IndexPopulation population = indexUpdate.indexKey();
+                    if (indexUpdate.getEntityId() <= population.resumedScanPosition) {
+                        // Already added before population was resumed
+                        continue;
+                    }
                     population.populator.includeSample(indexUpdate);
                     updates.computeIfAbsent(population, p -> new ArrayList<>()).add(indexUpdate);
                 }
@@ -787,7 +995,12 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
 
         @Override
         public void run(ExternalUpdatesCheck externalUpdatesCheck) {
-            delegate.run(externalUpdatesCheck);
+            scanRunning = true;
+            try {
+                delegate.run(externalUpdatesCheck);
+            } finally {
+                scanEnded();
+            }
             String entityType;
             if (nodeScan) {
                 entityType = "node";
@@ -812,7 +1025,46 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         public void setPhaseTracker(PhaseTracker phaseTracker) {
             delegate.setPhaseTracker(phaseTracker);
         }
+
+        @Override
+        public boolean resumeAfter(long entityId) {
+            return delegate.resumeAfter(entityId);
+        }
     }
 
     private record IndexPopulationUpdater(IndexPopulation population, IndexUpdater updater) {}
+
+    /**
+     * A checkpoint of the ongoing populations, {@link #requestCheckpoint() requested} from the thread executing the store scan.
+     */
+    static final class Checkpoint {
+        static final Checkpoint NONE = new Checkpoint(null, null, 0);
+
+        private final MultipleIndexPopulator populator;
+        private final CompletableFuture<Boolean> request;
+        private final long deadlineNanos;
+
+        private Checkpoint(MultipleIndexPopulator populator, CompletableFuture<Boolean> request, long deadlineNanos) {
+            this.populator = populator;
+            this.request = request;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Waits until the populations have been checkpointed, or until the timeout which started when the checkpoint was requested has passed.
+         * The saved state of populations which weren't checkpointed is discarded.
+         *
+         * @return {@code true} if the populations were checkpointed, otherwise {@code false}.
+         */
+        boolean await(CursorContext cursorContext) {
+            if (populator == null) {
+                return false;
+            }
+            boolean checkpointed = request != null && populator.awaitCheckpoint(request, deadlineNanos);
+            if (!checkpointed) {
+                populator.discardCheckpoints(cursorContext);
+            }
+            return checkpointed;
+        }
+    }
 }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
@@ -128,6 +129,11 @@ public class OnlineIndexProxy implements IndexProxy {
         accessor.refresh();
     }
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        return accessor.compact(continueCompaction, cursorContext);
+    }
+
     @Override
     public void close(CursorContext cursorContext) throws IOException {
         accessor.close();
@@ -24,6 +24,7 @@ import static org.neo4j.internal.helpers.collection.Iterators.emptyResourceItera
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
@@ -100,6 +101,12 @@ public class PopulatingIndexProxy implements IndexProxy {
         // Ignored... this isn't called from the outside while we're populating the index.
     }
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        // Ignored... the index is compacted once it's online.
+        return 0;
+    }
+
     @Override
     public void close(CursorContext cursorContext) {
         job.stop(indexPopulation, cursorContext);
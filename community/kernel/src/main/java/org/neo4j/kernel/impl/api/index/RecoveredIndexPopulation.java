@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import static java.lang.String.format;
+import static org.neo4j.kernel.api.index.IndexPopulator.NO_SCAN_PROGRESS;
+
+import java.util.function.Function;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.memory.ByteBufferFactory;
+import org.neo4j.io.memory.UnsafeDirectByteBufferAllocator;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+
+/**
+ * Keeps the saved state of an interrupted population, see {@link IndexPopulator#createOrResume()}, in step with the transactions
+ * replayed by recovery. The saved state includes the updates of all transactions up to the last checkpoint of the database, and
+ * recovery replays the transactions after that, so those updates are added to the saved state for the population to resume with.
+ * Updates of entities the population had yet to scan are left out, since the resumed scan will see them.
+ * <p>
+ * The populator is only opened once there is an update for the index, otherwise its saved state is already in step.
+ */
+class RecoveredIndexPopulation {
+    private final IndexDescriptor descriptor;
+    private final Function<ByteBufferFactory, IndexPopulator> populatorFactory;
+    private final int blockSize;
+    private final InternalLog log;
+    private ByteBufferFactory bufferFactory;
+    private IndexPopulator populator;
+    private long scannedEntityId = NO_SCAN_PROGRESS;
+    private boolean closed;
+
+    RecoveredIndexPopulation(
+            IndexDescriptor descriptor,
+            Function<ByteBufferFactory, IndexPopulator> populatorFactory,
+            int blockSize,
+            InternalLog log) {
+        this.descriptor = descriptor;
+        this.populatorFactory = populatorFactory;
+        this.blockSize = blockSize;
+        this.log = log;
+    }
+
+    synchronized void process(IndexEntryUpdate<?> update, CursorContext cursorContext) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (populator == null) {
+                open();
+                if (scannedEntityId == NO_SCAN_PROGRESS) {
+                    // Nothing to resume from, the index will be populated from scratch
+                    closePopulator(cursorContext, false);
+                    return;
+                }
+            }
+            if (update.getEntityId() <= scannedEntityId) {
+                try (IndexUpdater updater = populator.newPopulatingUpdater(cursorContext)) {
+                    updater.process(update);
+                }
+            }
+        } catch (Throwable e) {
+            log.warn(
+                    format(
+                            "Unable to keep saved state of population of index %s, it will be populated from scratch",
+                            descriptor),
+                    e);
+            closePopulator(cursorContext, false);
+        }
+    }
+
+    /**
+     * Saves the state of the population including the recovered updates, for the population to resume from.
+     */
+    synchronized void close(CursorContext cursorContext) {
+        if (!closed) {
+            closePopulator(cursorContext, true);
+        }
+    }
+
+    private void open() throws Exception {
+        bufferFactory = new ByteBufferFactory(UnsafeDirectByteBufferAllocator::new, blockSize);
+        populator = populatorFactory.apply(bufferFactory);
+        scannedEntityId = populator.createOrResume();
+    }
+
+    private void closePopulator(CursorContext cursorContext, boolean keepSavedState) {
+        closed = true;
+        if (populator == null) {
+            return;
+        }
+        try {
+            populator.checkpoint(keepSavedState ? scannedEntityId : NO_SCAN_PROGRESS, cursorContext);
+        } catch (Throwable e) {
+            log.warn(format("Unable to save state of population of index %s", descriptor), e);
+            try {
+                populator.checkpoint(NO_SCAN_PROGRESS, cursorContext);
+            } catch (Throwable ignored) {
+                // The index will be populated from scratch
+            }
+        } finally {
+            try {
+                populator.close(false, cursorContext);
+            } finally {
+                bufferFactory.close();
+            }
+        }
+    }
+}
@@ -26,11 +26,41 @@ import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.PopulationProgress;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.values.storable.Value;
 
 public class RecoveringIndexProxy extends AbstractSwallowingIndexProxy {
+    private final RecoveredIndexPopulation recoveredPopulation;
+
     RecoveringIndexProxy(IndexDescriptor indexDescriptor) {
+        this(indexDescriptor, null);
+    }
+
+    /**
+     * @param recoveredPopulation if not {@code null}, updates are not swallowed but added to the saved state of the interrupted
+     * population of this index, which is saved when this proxy is dropped or closed.
+     */
+    RecoveringIndexProxy(IndexDescriptor indexDescriptor, RecoveredIndexPopulation recoveredPopulation) {
         super(indexDescriptor, null);
+        this.recoveredPopulation = recoveredPopulation;
+    }
+
+    @Override
+    public IndexUpdater newUpdater(IndexUpdateMode mode, CursorContext cursorContext, boolean parallel) {
+        if (recoveredPopulation == null) {
+            return super.newUpdater(mode, cursorContext, parallel);
+        }
+        return new IndexUpdater() {
+            @Override
+            public void process(IndexEntryUpdate<?> update) {
+                recoveredPopulation.process(update, cursorContext);
+            }
+
+            @Override
+            public void close() {}
+        };
     }
 
     @Override
@@ -69,7 +99,17 @@ public class RecoveringIndexProxy extends AbstractSwallowingIndexProxy {
     }
 
     @Override
-    public void drop() {}
+    public void drop() {
+        // Dropped only to be replaced by a populating proxy, which may resume from the saved state
+        close(CursorContext.NULL_CONTEXT);
+    }
+
+    @Override
+    public void close(CursorContext cursorContext) {
+        if (recoveredPopulation != null) {
+            recoveredPopulation.close(cursorContext);
+        }
+    }
 
     @Override
     public IndexPopulationFailure getPopulationFailure() throws IllegalStateException {
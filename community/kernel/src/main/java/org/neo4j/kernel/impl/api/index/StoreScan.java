@@ -36,6 +36,16 @@ public interface StoreScan {
     default void setPhaseTracker(PhaseTracker phaseTracker) { // no-op
     }
 
+    /**
+     * Lets this scan skip the entities which an earlier, interrupted, scan has visited already.
+     * Must not be called once scan has already started.
+     * @param entityId the highest entity id visited by the earlier scan.
+     * @return {@code true} if entities up to and including {@code entityId} are skipped, otherwise {@code false} and all entities are visited.
+     */
+    default boolean resumeAfter(long entityId) {
+        return false;
+    }
+
     /**
      * Interaction point from the store scan with the index population to synchronize store scan with applying external concurrent updates
      * that happens while the store scan is running.
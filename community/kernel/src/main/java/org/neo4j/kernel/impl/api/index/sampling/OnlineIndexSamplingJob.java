@@ -83,9 +83,13 @@ class OnlineIndexSamplingJob implements IndexSamplingJob {
                         indexStatisticsStore.replaceStats(indexId, sample);
                         durationLogger.markAsFinished();
                         log.debug(format(
-                                "Sampled index %s with %d unique values in sample of avg size %d taken from "
-                                        + "index containing %d entries",
-                                indexUserDescription, sample.uniqueValues(), sample.sampleSize(), sample.indexSize()));
+                                "Sampled index %s with %d unique values (relative error %.4f) in sample of avg size %d "
+                                        + "taken from index containing %d entries",
+                                indexUserDescription,
+                                sample.uniqueValues(),
+                                sample.uniqueValuesError(),
+                                sample.sampleSize(),
+                                sample.indexSize()));
                     } else {
                         durationLogger.markAsAborted("Index no longer ONLINE");
                     }
@@ -52,8 +52,12 @@ import static org.neo4j.values.storable.Values.stringArray;
 import static org.neo4j.values.storable.Values.stringValue;
 import static org.neo4j.values.storable.Values.timeArray;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -65,9 +69,13 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.internal.helpers.ArrayUtil;
 import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.ByteBuffers;
 import org.neo4j.kernel.impl.util.collection.Memory;
 import org.neo4j.kernel.impl.util.collection.MemoryAllocator;
 import org.neo4j.memory.MemoryTracker;
@@ -125,18 +133,54 @@ public class AppendOnlyValuesContainer implements ValuesContainer {
     private final Writer writer;
     private final MemoryAllocator allocator;
     private final MemoryTracker memoryTracker;
+    private final FileSystemAbstraction fs;
+    private final long spillThreshold;
+    // file offsets of the chunks that have been spilled, which are always the oldest ones
+    private final LongArrayList spillOffsets = new LongArrayList();
     private ByteBuffer currentChunk;
+    private long inMemoryChunksSize;
+    private Path spillFile;
+    private StoreChannel spillChannel;
+    private long spillFileSize;
+    private ByteOrder spillByteOrder;
+    private ByteBuffer spilledChunk;
+    private int spilledChunkIdx = -1;
     private boolean closed;
 
     public AppendOnlyValuesContainer(MemoryAllocator allocator, MemoryTracker memoryTracker) {
-        this(CHUNK_SIZE, allocator, memoryTracker);
+        this(CHUNK_SIZE, allocator, memoryTracker, null, 0);
+    }
+
+    /**
+     * Creates a container that keeps at most {@code spillThreshold} bytes of chunks in memory. When adding a value would need
+     * a new chunk beyond that, the oldest chunks are moved to a temporary file and read back from there on access.
+     *
+     * @param fs file system to create the temporary file in.
+     * @param spillThreshold max size of the chunks kept in memory, or {@code 0} to keep all chunks in memory.
+     */
+    public AppendOnlyValuesContainer(
+            MemoryAllocator allocator, MemoryTracker memoryTracker, FileSystemAbstraction fs, long spillThreshold) {
+        this(CHUNK_SIZE, allocator, memoryTracker, fs, spillThreshold);
     }
 
     @VisibleForTesting
     AppendOnlyValuesContainer(int chunkSize, MemoryAllocator allocator, MemoryTracker memoryTracker) {
+        this(chunkSize, allocator, memoryTracker, null, 0);
+    }
+
+    @VisibleForTesting
+    AppendOnlyValuesContainer(
+            int chunkSize,
+            MemoryAllocator allocator,
+            MemoryTracker memoryTracker,
+            FileSystemAbstraction fs,
+            long spillThreshold) {
+        checkArgument(spillThreshold == 0 || fs != null, "Spilling values requires a file system");
         this.chunkSize = chunkSize;
         this.allocator = allocator;
         this.memoryTracker = memoryTracker;
+        this.fs = fs;
+        this.spillThreshold = spillThreshold;
         this.writer = new Writer();
     }
 
@@ -166,7 +210,7 @@ public class AppendOnlyValuesContainer implements ValuesContainer {
                 chunkIdx,
                 chunks.size(),
                 ref);
-        final ByteBuffer chunk = chunks.get(chunkIdx);
+        final ByteBuffer chunk = chunk(chunkIdx);
         checkArgument(offset >= 0 && offset < chunk.position(), "invalid chunk offset (%d), ref: 0x%X", offset, ref);
         final int typeId = chunk.get(offset) & 0xFF;
         checkArgument(typeId != REMOVED, "element is already removed, ref: 0x%X", ref);
@@ -183,8 +227,11 @@ public class AppendOnlyValuesContainer implements ValuesContainer {
         final Value removed = get(ref);
         final int chunkIdx = (int) (ref >>> 32);
         final int chunkOffset = (int) ref;
-        final ByteBuffer chunk = chunks.get(chunkIdx);
+        final ByteBuffer chunk = chunk(chunkIdx);
         chunk.put(chunkOffset, (byte) REMOVED);
+        if (chunkIdx < spillOffsets.size()) {
+            writeSpilled(ByteBuffer.wrap(new byte[] {(byte) REMOVED}), spillOffsets.get(chunkIdx) + chunkOffset);
+        }
         return removed;
     }
 
@@ -192,11 +239,21 @@ public class AppendOnlyValuesContainer implements ValuesContainer {
     public void close() {
         assertNotClosed();
         closed = true;
-        allocated.forEach(m -> m.free(memoryTracker));
+        for (Memory memory : allocated) {
+            if (memory != null) {
+                memory.free(memoryTracker);
+            }
+        }
         allocated.clear();
         chunks.clear();
         writer.close();
         currentChunk = null;
+        closeSpillFile();
+    }
+
+    @VisibleForTesting
+    int spilledChunks() {
+        return spillOffsets.size();
     }
 
     private void assertNotClosed() {
@@ -204,13 +261,101 @@ public class AppendOnlyValuesContainer implements ValuesContainer {
     }
 
     private ByteBuffer addNewChunk(int size) {
+        if (spillThreshold > 0) {
+            while (inMemoryChunksSize + size > spillThreshold && spillOffsets.size() < chunks.size()) {
+                spillChunk(spillOffsets.size());
+            }
+        }
         final Memory memory = allocator.allocate(size, false, memoryTracker);
         final ByteBuffer chunk = memory.asByteBuffer();
         allocated.add(memory);
         chunks.add(chunk);
+        inMemoryChunksSize += memory.size();
         return chunk;
     }
 
+    private ByteBuffer chunk(int chunkIdx) {
+        final ByteBuffer chunk = chunks.get(chunkIdx);
+        return chunk != null ? chunk : readSpilledChunk(chunkIdx);
+    }
+
+    private void spillChunk(int chunkIdx) {
+        final ByteBuffer chunk = chunks.get(chunkIdx);
+        try {
+            if (spillChannel == null) {
+                spillFile = fs.createTempFile("neo4j-tx-state-values-", ".tmp");
+                spillChannel = fs.write(spillFile);
+                spillByteOrder = chunk.order();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final ByteBuffer content = chunk.duplicate().flip();
+        spillOffsets.add(spillFileSize);
+        writeSpilled(content, spillFileSize);
+        spillFileSize += chunk.position();
+
+        final Memory memory = allocated.set(chunkIdx, null);
+        chunks.set(chunkIdx, null);
+        inMemoryChunksSize -= memory.size();
+        memory.free(memoryTracker);
+    }
+
+    private ByteBuffer readSpilledChunk(int chunkIdx) {
+        if (spilledChunkIdx == chunkIdx) {
+            return spilledChunk;
+        }
+        final long start = spillOffsets.get(chunkIdx);
+        final long end = chunkIdx + 1 < spillOffsets.size() ? spillOffsets.get(chunkIdx + 1) : spillFileSize;
+        final int length = (int) (end - start);
+        if (spilledChunk == null || spilledChunk.capacity() < length) {
+            releaseSpilledChunk();
+            spilledChunk = ByteBuffers.allocate(max(chunkSize, length), spillByteOrder, memoryTracker);
+        }
+        spilledChunkIdx = -1;
+        spilledChunk.clear().limit(length);
+        try {
+            spillChannel.position(start);
+            spillChannel.readAll(spilledChunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        spilledChunkIdx = chunkIdx;
+        return spilledChunk;
+    }
+
+    private void writeSpilled(ByteBuffer data, long position) {
+        try {
+            spillChannel.writeAll(data, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void releaseSpilledChunk() {
+        if (spilledChunk != null) {
+            memoryTracker.releaseHeap(spilledChunk.capacity());
+            spilledChunk = null;
+            spilledChunkIdx = -1;
+        }
+    }
+
+    private void closeSpillFile() {
+        releaseSpilledChunk();
+        spillOffsets.clear();
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+                fs.deleteFile(spillFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                spillChannel = null;
+                spillFile = null;
+            }
+        }
+    }
+
     private static BooleanValue readBoolean(ByteBuffer chunk, int offset) {
         return booleanValue(chunk.get(offset) != 0);
     }
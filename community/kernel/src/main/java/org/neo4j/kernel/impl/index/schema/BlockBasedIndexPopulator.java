@@ -20,7 +20,6 @@
 package org.neo4j.kernel.impl.index.schema;
 
 import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
-import static org.neo4j.index.internal.gbptree.DataTree.W_SPLIT_KEEP_ALL_LEFT;
 import static org.neo4j.internal.helpers.collection.Iterables.first;
 import static org.neo4j.io.ByteUnit.kibiBytes;
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
@@ -58,6 +57,7 @@ import org.neo4j.kernel.api.index.IndexEntryConflictHandler;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.api.index.IndexValueValidator;
 import org.neo4j.kernel.impl.api.index.PhaseTracker;
 import org.neo4j.kernel.impl.api.index.updater.DelegatingIndexUpdater;
@@ -98,6 +98,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     public static final Monitor NO_MONITOR = new Monitor.Adapter();
 
     private final boolean archiveFailedIndex;
+    private final boolean resumable;
     private final MemoryTracker memoryTracker;
     /**
      * When merging all blocks together the algorithm does multiple passes over the block storage, until the number of blocks reaches 1.
@@ -120,6 +121,9 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     private IndexSample nonUniqueIndexSample;
     private final AtomicLong numberOfIndexUpdatesSinceSample = new AtomicLong();
     private IndexValueValidator validator;
+    // highest entity id the store scan had processed at the last checkpoint of this population
+    private long scannedEntityId = NO_SCAN_PROGRESS;
+    private boolean failed;
 
     // progress state
     private final AtomicLong numberOfAppliedScanUpdates = new AtomicLong();
@@ -138,6 +142,8 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             ImmutableSet<OpenOption> openOptions) {
         super(databaseIndexContext, indexFiles, layout, descriptor, openOptions);
         this.archiveFailedIndex = archiveFailedIndex;
+        // Constraint indexes still populating on restart are dropped as orphaned, so there's nothing to resume for them
+        this.resumable = config.get(GraphDatabaseInternalSettings.index_population_resumable) && !descriptor.isUnique();
         this.memoryTracker = memoryTracker;
         this.mergeFactor = config.get(GraphDatabaseInternalSettings.index_populator_merge_factor);
         this.monitor = monitor;
@@ -164,18 +170,109 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             indexFiles.archiveIndex();
         }
         super.create();
-        Path storeFile = indexFiles.getStoreFile();
-        Path externalUpdatesFile = storeFile.resolveSibling(storeFile.getFileName() + ".ext");
+        PopulationCheckpoint.delete(fileSystem, indexFiles);
+        validator = instantiateValueValidator();
+        externalUpdates = newExternalUpdates();
+    }
+
+    /**
+     * Continues from the state saved by the last {@link #checkpoint(long, CursorContext)}, if there is one. The scan updates and
+     * external updates written up to that checkpoint are kept and new ones are added after them, while the tree is created anew
+     * since nothing is written to it until the scan has completed.
+     */
+    @Override
+    public synchronized long createOrResume() throws IOException {
+        PopulationCheckpoint checkpoint =
+                resumable ? PopulationCheckpoint.read(fileSystem, PopulationCheckpoint.fileFor(indexFiles)) : null;
+        if (checkpoint == null || !canResumeFrom(checkpoint)) {
+            create();
+            return NO_SCAN_PROGRESS;
+        }
+
+        recreateTree();
         validator = instantiateValueValidator();
-        externalUpdates = new IndexUpdateStorage<>(
+        externalUpdates = newExternalUpdates();
+        externalUpdates.resume(checkpoint.externalUpdates());
+        List<BlockStorage.Checkpoint> parts = checkpoint.scanUpdates();
+        for (int id = 0; id < parts.size(); id++) {
+            allScanUpdates.add(new ThreadLocalBlockStorage(id, parts.get(id)));
+        }
+        // Files of parts created after the checkpoint would otherwise be written over by new parts with the same id
+        for (int id = parts.size(); fileSystem.fileExists(scanUpdatesFile(id)); id++) {
+            fileSystem.deleteFile(scanUpdatesFile(id));
+        }
+        scannedEntityId = checkpoint.scannedEntityId();
+        return scannedEntityId;
+    }
+
+    private boolean canResumeFrom(PopulationCheckpoint checkpoint) throws IOException {
+        SimpleEntryStorage.Checkpoint external = checkpoint.externalUpdates();
+        if (external.count() > 0 && !hasFileOfAtLeast(externalUpdatesFile(), external.position())) {
+            return false;
+        }
+        List<BlockStorage.Checkpoint> parts = checkpoint.scanUpdates();
+        for (int id = 0; id < parts.size(); id++) {
+            BlockStorage.Checkpoint part = parts.get(id);
+            if (part.numberOfBlocks() == 0 || !hasFileOfAtLeast(scanUpdatesFile(id), part.position())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasFileOfAtLeast(Path file, long length) throws IOException {
+        return fileSystem.fileExists(file) && fileSystem.getFileSize(file) >= length;
+    }
+
+    /**
+     * Saves the scan updates and external updates added so far, together with the given scan position, so that population can
+     * {@link #createOrResume() resume} from here after a restart. Buffered scan updates are written as blocks of their own, so every
+     * checkpoint makes the blocks to merge somewhat smaller.
+     */
+    @Override
+    public synchronized void checkpoint(long scannedEntityId, CursorContext cursorContext) throws IOException {
+        if (!resumable) {
+            return;
+        }
+        if (scannedEntityId == NO_SCAN_PROGRESS
+                || externalUpdates == null
+                || scanCompleted
+                || cancellation.cancelled()) {
+            // An earlier checkpoint may lack updates made since then, so it mustn't be resumed from anymore
+            PopulationCheckpoint.delete(fileSystem, indexFiles);
+            return;
+        }
+        // A resumed population has all entities up to where it was resumed from, even if this scan hasn't reached them
+        // yet
+        this.scannedEntityId = Math.max(this.scannedEntityId, scannedEntityId);
+        List<BlockStorage.Checkpoint> parts = new ArrayList<>(allScanUpdates.size());
+        for (ThreadLocalBlockStorage part : allScanUpdates) {
+            parts.add(part.blockStorage.checkpoint());
+        }
+        new PopulationCheckpoint(this.scannedEntityId, externalUpdates.checkpoint(), parts)
+                .write(fileSystem, PopulationCheckpoint.fileFor(indexFiles));
+    }
+
+    private IndexUpdateStorage<KEY> newExternalUpdates() {
+        return new IndexUpdateStorage<>(
                 fileSystem,
-                externalUpdatesFile,
+                externalUpdatesFile(),
                 bufferFactory.globalAllocator(),
                 smallerBufferSize(),
                 layout,
                 memoryTracker);
     }
 
+    private Path externalUpdatesFile() {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling(storeFile.getFileName() + ".ext");
+    }
+
+    private Path scanUpdatesFile(int id) {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling(storeFile.getFileName() + ".scan-" + id);
+    }
+
     protected abstract IndexValueValidator instantiateValueValidator();
 
     private int smallerBufferSize() {
@@ -220,6 +317,15 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         if (cancellation.cancelled()) {
             return false;
         }
+        if (resumable) {
+            // Merging rewrites the files with scan updates, so the population can't be resumed from a checkpoint
+            // anymore
+            try {
+                PopulationCheckpoint.delete(fileSystem, indexFiles);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         mergeOngoingLatch = new CountDownLatch(1);
         return true;
     }
@@ -404,7 +510,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         }
 
         // Merge the (sorted) scan updates from all the different threads in pairs until only one stream remain,
-        // and direct that stream towards the tree writer (which itself is only single threaded)
+        // and direct that stream towards the tree bulk loader (which itself is only single threaded)
         try (var readBuffers = new CompositeBuffer();
                 var singleBlockScopedBuffer = allocator.allocate((int) kibiBytes(8), memoryTracker)) {
             // Get the initial list of parts
@@ -423,6 +529,9 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             }
 
             Comparator<KEY> samplingComparator = descriptor.isUnique() ? null : layout::compareValue;
+            // Every entry passes through the merge once, so the histogram is built from all of them
+            IndexValueHistogramBuilder histogram =
+                    !descriptor.isUnique() && sampleValueHistogram() ? new IndexValueHistogramBuilder() : null;
             try (var merger = new PartMerger<>(
                             populationWorkScheduler,
                             parts,
@@ -431,12 +540,32 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
                             cancellation,
                             PartMerger.DEFAULT_BATCH_SIZE);
                     var allEntries = merger.startMerge();
-                    var writer = tree.writer(W_BATCHED_SINGLE_THREADED | W_SPLIT_KEEP_ALL_LEFT, cursorContext)) {
+                    // The tree is empty and the entries come in order, so the tree can be built bottom-up from packed
+                    // leaves. It's only published once all entries have been loaded
+                    var loader = tree.bulkLoader(1, cursorContext)) {
                 while (allEntries.next() && !cancellation.cancelled()) {
-                    writeToTree(writer, recordingConflictDetector, allEntries.key());
+                    writeToTree(loader, recordingConflictDetector, allEntries.key());
+                    if (histogram != null) {
+                        histogram.include(allEntries.key().firstValue());
+                    }
                     numberOfAppliedScanUpdates.incrementAndGet();
                 }
-                return descriptor.isUnique() ? null : allEntries.buildIndexSample();
+                if (!cancellation.cancelled()) {
+                    loader.finish();
+                }
+                if (descriptor.isUnique()) {
+                    return null;
+                }
+                IndexSample sample = allEntries.buildIndexSample();
+                return histogram == null
+                        ? sample
+                        : new IndexSample(
+                                sample.indexSize(),
+                                sample.uniqueValues(),
+                                sample.sampleSize(),
+                                0,
+                                0,
+                                histogram.build());
             }
         }
     }
@@ -503,22 +632,50 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     public synchronized void drop() {
         runAll(
                 "Failed while trying to drop index",
-                this::closeBlockStorage /* Close internal resources */,
+                () -> closeBlockStorage(false) /* Close internal resources */,
+                this::deleteCheckpoint,
                 super::drop /* Super drop will close inherited resources */);
     }
 
     @Override
     public synchronized void close(boolean populationCompletedSuccessfully, CursorContext cursorContext) {
+        // A population that is only stopped keeps its files for resuming from its last checkpoint on next start
+        boolean keepForResume = !populationCompletedSuccessfully && !failed && hasCheckpoint();
         runAll(
                 "Failed while trying to close index",
-                this::closeBlockStorage /* Close internal resources */,
+                () -> closeBlockStorage(keepForResume) /* Close internal resources */,
+                () -> {
+                    if (!keepForResume) {
+                        deleteCheckpoint();
+                    }
+                },
                 () -> super.close(
                         populationCompletedSuccessfully,
                         cursorContext) /* Super close will close inherited resources */);
     }
 
+    @Override
+    public void markAsFailed(String failure) {
+        failed = true;
+        super.markAsFailed(failure);
+    }
+
+    private boolean hasCheckpoint() {
+        return resumable && !scanCompleted && fileSystem.fileExists(PopulationCheckpoint.fileFor(indexFiles));
+    }
+
+    private void deleteCheckpoint() {
+        if (resumable) {
+            try {
+                PopulationCheckpoint.delete(fileSystem, indexFiles);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     // Always called from synchronized method
-    private void closeBlockStorage() {
+    private void closeBlockStorage(boolean keepFiles) {
         // This method may be called while scanCompleted is running. This could be a drop or shutdown(?) which happens
         // when this population
         // is in its final stages. scanCompleted merges things in multiple threads. Those threads will abort when they
@@ -540,6 +697,12 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             }
         }
 
+        if (keepFiles) {
+            allScanUpdates.forEach(local -> local.blockStorage.keepFileOnClose());
+            if (externalUpdates != null) {
+                externalUpdates.keepFileOnClose();
+            }
+        }
         List<Closeable> toClose = allScanUpdates.stream()
                 .map(local -> local.blockStorage)
                 .collect(Collectors.toCollection(ArrayList::new));
@@ -640,7 +803,17 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
                 nonUniqueIndexSample.indexSize(),
                 nonUniqueIndexSample.uniqueValues(),
                 nonUniqueIndexSample.sampleSize(),
-                numberOfIndexUpdatesSinceSample.get());
+                numberOfIndexUpdatesSinceSample.get(),
+                nonUniqueIndexSample.uniqueValuesError(),
+                nonUniqueIndexSample.valueHistogram());
+    }
+
+    /**
+     * @return whether or not the sample built when the scanned entries are merged into the tree should include an
+     * {@link IndexValueHistogram}.
+     */
+    boolean sampleValueHistogram() {
+        return false;
     }
 
     /**
@@ -656,9 +829,14 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
 
         ThreadLocalBlockStorage(int id) throws IOException {
             super(monitor);
-            Path storeFile = indexFiles.getStoreFile();
-            Path blockFile = storeFile.resolveSibling(storeFile.getFileName() + ".scan-" + id);
-            this.blockStorage = new BlockStorage<>(layout, bufferFactory, fileSystem, blockFile, this, memoryTracker);
+            this.blockStorage =
+                    new BlockStorage<>(layout, bufferFactory, fileSystem, scanUpdatesFile(id), this, memoryTracker);
+        }
+
+        ThreadLocalBlockStorage(int id, BlockStorage.Checkpoint checkpoint) throws IOException {
+            super(monitor);
+            this.blockStorage = new BlockStorage<>(
+                    layout, bufferFactory, fileSystem, scanUpdatesFile(id), this, memoryTracker, checkpoint);
         }
 
         @Override
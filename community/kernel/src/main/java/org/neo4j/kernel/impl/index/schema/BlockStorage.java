@@ -69,6 +69,7 @@ class BlockStorage<KEY, VALUE> implements Closeable {
     private int currentBufferSize;
     private boolean doneAdding;
     private long entryCount;
+    private boolean keepFileOnClose;
 
     BlockStorage(
             Layout<KEY, VALUE> layout,
@@ -91,6 +92,26 @@ class BlockStorage<KEY, VALUE> implements Closeable {
         resetBufferedEntries();
     }
 
+    /**
+     * Opens a block storage which continues adding to the blocks that were in the file at the given {@link #checkpoint()}.
+     * Anything written to the file after that checkpoint is discarded.
+     */
+    BlockStorage(
+            Layout<KEY, VALUE> layout,
+            ByteBufferFactory bufferFactory,
+            FileSystemAbstraction fs,
+            Path blockFile,
+            Monitor monitor,
+            MemoryTracker memoryTracker,
+            Checkpoint checkpoint)
+            throws IOException {
+        this(layout, bufferFactory, fs, blockFile, monitor, memoryTracker);
+        storeChannel.truncate(checkpoint.position());
+        storeChannel.position(checkpoint.position());
+        this.numberOfBlocksInCurrentFile = checkpoint.numberOfBlocks();
+        this.entryCount = checkpoint.entryCount();
+    }
+
     public void add(KEY key, VALUE value) throws IOException {
         Preconditions.checkState(!doneAdding, "Cannot add more after done adding");
 
@@ -107,6 +128,30 @@ class BlockStorage<KEY, VALUE> implements Closeable {
         monitor.entryAdded(entrySize);
     }
 
+    /**
+     * Writes the buffered entries as a block of their own and forces the file, so that the blocks written so far survive a restart.
+     * Adding can continue after this call.
+     *
+     * @return the state to reopen this block storage from, see {@link #BlockStorage(Layout, ByteBufferFactory, FileSystemAbstraction, Path,
+     * Monitor, MemoryTracker, Checkpoint)}.
+     */
+    Checkpoint checkpoint() throws IOException {
+        Preconditions.checkState(!doneAdding, "Cannot checkpoint after done adding");
+        if (!bufferedEntries.isEmpty()) {
+            flushAndResetBuffer();
+            numberOfBlocksInCurrentFile++;
+        }
+        storeChannel.force(false);
+        return new Checkpoint(storeChannel.position(), numberOfBlocksInCurrentFile, entryCount);
+    }
+
+    /**
+     * Makes {@link #close()} leave the file in place, e.g. to continue from a {@link #checkpoint()} after a restart.
+     */
+    void keepFileOnClose() {
+        keepFileOnClose = true;
+    }
+
     void doneAdding() throws IOException {
         if (!bufferedEntries.isEmpty()) {
             flushAndResetBuffer();
@@ -362,7 +407,7 @@ class BlockStorage<KEY, VALUE> implements Closeable {
     @Override
     public void close() throws IOException {
         IOUtils.closeAll(storeChannel);
-        if (fs.fileExists(blockFile)) {
+        if (!keepFileOnClose && fs.fileExists(blockFile)) {
             fs.deleteFile(blockFile);
         }
     }
@@ -464,6 +509,15 @@ class BlockStorage<KEY, VALUE> implements Closeable {
         Monitor NO_MONITOR = new Adapter();
     }
 
+    /**
+     * State of a {@link BlockStorage} at a {@link #checkpoint()}.
+     *
+     * @param position the length of the file, which ends with the last complete block.
+     * @param numberOfBlocks number of blocks in the file.
+     * @param entryCount number of entries in all the blocks.
+     */
+    record Checkpoint(long position, long numberOfBlocks, long entryCount) {}
+
     @FunctionalInterface
     public interface Cancellation {
         Cancellation NOT_CANCELLABLE = () -> false;
@@ -19,34 +19,65 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
+
+import java.util.Arrays;
 import java.util.StringJoiner;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
 
 /**
  * {@link RangeKey} which has an array of {@link RangeKey} inside and can therefore hold composite key state.
  * For single-keys please instead use the more efficient {@link RangeKey}.
+ * <p>
+ * The key can also hold values of included properties, in slots following the slots of the key values. Included values are
+ * not compared, and so never affect the order of keys nor what a seek finds, and an included slot can be without a value.
  */
 final class CompositeRangeKey extends RangeKey {
+    private static final byte NO_INCLUDED_VALUE = 0;
+    private static final byte INCLUDED_VALUE = 1;
+    private static final int INCLUDED_VALUE_MARKER_SIZE = Byte.BYTES;
+
     private RangeKey[] states;
+    private RangeKey[] includedStates;
+    private boolean[] hasIncludedValue;
 
     CompositeRangeKey(int slots) {
+        this(slots, 0);
+    }
+
+    CompositeRangeKey(int slots, int includedSlots) {
         states = new RangeKey[slots];
         for (int i = 0; i < slots; i++) {
             states[i] = new RangeKey();
         }
+        includedStates = new RangeKey[includedSlots];
+        for (int i = 0; i < includedSlots; i++) {
+            includedStates[i] = new RangeKey();
+        }
+        hasIncludedValue = new boolean[includedSlots];
     }
 
     @Override
     void writeValue(int stateSlot, Value value, Inclusion inclusion) {
-        stateSlot(stateSlot).writeValue(value, inclusion);
+        int slots = numberOfStateSlots();
+        if (stateSlot < slots) {
+            stateSlot(stateSlot).writeValue(value, inclusion);
+        } else {
+            int includedSlot = stateSlot - slots;
+            hasIncludedValue[includedSlot] = value != Values.NO_VALUE;
+            if (hasIncludedValue[includedSlot]) {
+                includedStates[includedSlot].writeValue(value, NEUTRAL);
+            }
+        }
     }
 
     @Override
     void assertValidValue(int stateSlot, Value value) {
-        Preconditions.requireBetween(stateSlot, 0, numberOfStateSlots());
+        Preconditions.requireBetween(stateSlot, 0, numberOfStateSlots() + includedStates.length);
     }
 
     @Override
@@ -58,6 +89,19 @@ final class CompositeRangeKey extends RangeKey {
         return values;
     }
 
+    @Override
+    Value[] asValuesWithIncluded() {
+        int slots = numberOfStateSlots();
+        Value[] values = new Value[slots + includedStates.length];
+        for (int i = 0; i < slots; i++) {
+            values[i] = stateSlot(i).asValue();
+        }
+        for (int i = 0; i < includedStates.length; i++) {
+            values[slots + i] = hasIncludedValue[i] ? includedStates[i].asValue() : Values.NO_VALUE;
+        }
+        return values;
+    }
+
     @Override
     void initValueAsLowest(int stateSlot, ValueGroup valueGroup) {
         stateSlot(stateSlot).initValueAsLowest(valueGroup);
@@ -68,6 +112,14 @@ final class CompositeRangeKey extends RangeKey {
         stateSlot(stateSlot).initValueAsHighest(valueGroup);
     }
 
+    /**
+     * Copies the value of a single slot from another key, e.g. to position a seek at a value of the leading property that was
+     * found in the tree, leaving the other slots as they are.
+     */
+    void copySlotFrom(int stateSlot, CompositeRangeKey other) {
+        stateSlot(stateSlot).copyFromInternal(other.stateSlot(stateSlot));
+    }
+
     @Override
     int compareValueToInternal(RangeKey other) {
         int slots = numberOfStateSlots();
@@ -90,6 +142,14 @@ final class CompositeRangeKey extends RangeKey {
         for (int i = 0; i < slots; i++) {
             stateSlot(i).copyFromInternal(key.stateSlot(i));
         }
+        if (key instanceof CompositeRangeKey compositeKey) {
+            for (int i = 0; i < includedStates.length; i++) {
+                hasIncludedValue[i] = compositeKey.hasIncludedValue[i];
+                if (hasIncludedValue[i]) {
+                    includedStates[i].copyFromInternal(compositeKey.includedStates[i]);
+                }
+            }
+        }
     }
 
     @Override
@@ -99,6 +159,12 @@ final class CompositeRangeKey extends RangeKey {
         for (int i = 0; i < slots; i++) {
             size += stateSlot(i).sizeInternal();
         }
+        for (int i = 0; i < includedStates.length; i++) {
+            size += INCLUDED_VALUE_MARKER_SIZE;
+            if (hasIncludedValue[i]) {
+                size += includedStates[i].sizeInternal();
+            }
+        }
         return size;
     }
 
@@ -108,6 +174,14 @@ final class CompositeRangeKey extends RangeKey {
         for (int i = 0; i < slots; i++) {
             stateSlot(i).putInternal(cursor);
         }
+        for (int i = 0; i < includedStates.length; i++) {
+            if (hasIncludedValue[i]) {
+                cursor.putByte(INCLUDED_VALUE);
+                includedStates[i].putInternal(cursor);
+            } else {
+                cursor.putByte(NO_INCLUDED_VALUE);
+            }
+        }
     }
 
     @Override
@@ -120,6 +194,17 @@ final class CompositeRangeKey extends RangeKey {
                 return false;
             }
         }
+        for (int i = 0; i < includedStates.length; i++) {
+            byte marker = cursor.getByte();
+            if (marker != INCLUDED_VALUE && marker != NO_INCLUDED_VALUE) {
+                GenericKey.setCursorException(cursor, "non-valid included value marker, " + marker);
+                return false;
+            }
+            hasIncludedValue[i] = marker == INCLUDED_VALUE;
+            if (hasIncludedValue[i] && !includedStates[i].getInternal(cursor, keySize)) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -129,6 +214,7 @@ final class CompositeRangeKey extends RangeKey {
         for (int i = 0; i < slots; i++) {
             stateSlot(i).initializeToDummyValueInternal();
         }
+        Arrays.fill(hasIncludedValue, false);
     }
 
     @Override
@@ -142,6 +228,9 @@ final class CompositeRangeKey extends RangeKey {
         for (RangeKey state : states) {
             joiner.add(state.toStringInternal());
         }
+        for (int i = 0; i < includedStates.length; i++) {
+            joiner.add(hasIncludedValue[i] ? includedStates[i].toStringInternal() : "[no value]");
+        }
         return joiner.toString();
     }
 
@@ -151,6 +240,9 @@ final class CompositeRangeKey extends RangeKey {
         for (RangeKey state : states) {
             joiner.add(state.toDetailedStringInternal());
         }
+        for (int i = 0; i < includedStates.length; i++) {
+            joiner.add(hasIncludedValue[i] ? includedStates[i].toDetailedStringInternal() : "[no value]");
+        }
         return joiner.toString();
     }
 
@@ -180,6 +272,8 @@ final class CompositeRangeKey extends RangeKey {
             RangeKey rightState = right.stateSlot(i);
             rightState.minimalSplitterInternal(leftState, rightState, into.stateSlot(i));
         }
+        // Splitters only need the compared values
+        Arrays.fill(((CompositeRangeKey) into).hasIncludedValue, false);
     }
 
     @Override
@@ -38,6 +38,8 @@ public class DatabaseIndexContext {
     final DatabaseReadOnlyChecker readOnlyChecker;
     final String databaseName;
     final DependencyResolver dependencyResolver;
+    final boolean bloomFilters;
+    final int samplingEntries;
 
     private DatabaseIndexContext(
             PageCache pageCache,
@@ -48,7 +50,9 @@ public class DatabaseIndexContext {
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
             String databaseName,
-            DependencyResolver dependencyResolver) {
+            DependencyResolver dependencyResolver,
+            boolean bloomFilters,
+            int samplingEntries) {
         this.pageCache = pageCache;
         this.fileSystem = fileSystem;
         this.monitors = monitors;
@@ -58,6 +62,8 @@ public class DatabaseIndexContext {
         this.pageCacheTracer = pageCacheTracer;
         this.databaseName = databaseName;
         this.dependencyResolver = dependencyResolver;
+        this.bloomFilters = bloomFilters;
+        this.samplingEntries = samplingEntries;
     }
 
     /**
@@ -86,7 +92,9 @@ public class DatabaseIndexContext {
                         copy.pageCache, copy.fileSystem, copy.contextFactory, copy.pageCacheTracer, copy.databaseName)
                 .withReadOnlyChecker(copy.readOnlyChecker)
                 .withMonitors(copy.monitors)
-                .withTag(copy.monitorTag);
+                .withTag(copy.monitorTag)
+                .withBloomFilters(copy.bloomFilters)
+                .withSamplingEntries(copy.samplingEntries);
     }
 
     public static class Builder {
@@ -99,6 +107,8 @@ public class DatabaseIndexContext {
         private String monitorTag;
         private DatabaseReadOnlyChecker readOnlyChecker;
         private DependencyResolver dependencyResolver;
+        private boolean bloomFilters;
+        private int samplingEntries;
 
         private Builder(
                 PageCache pageCache,
@@ -160,6 +170,28 @@ public class DatabaseIndexContext {
             return this;
         }
 
+        /**
+         * Default is false
+         *
+         * @param bloomFilters whether or not indexes should maintain an {@link IndexBloomFilter}.
+         * @return {@link Builder this builder}
+         */
+        public Builder withBloomFilters(boolean bloomFilters) {
+            this.bloomFilters = bloomFilters;
+            return this;
+        }
+
+        /**
+         * Default is 0
+         *
+         * @param samplingEntries number of entries to read when sampling an index, or 0 for reading all entries.
+         * @return {@link Builder this builder}
+         */
+        public Builder withSamplingEntries(int samplingEntries) {
+            this.samplingEntries = samplingEntries;
+            return this;
+        }
+
         public DatabaseIndexContext build() {
             return new DatabaseIndexContext(
                     pageCache,
@@ -170,7 +202,9 @@ public class DatabaseIndexContext {
                     contextFactory,
                     pageCacheTracer,
                     databaseName,
-                    dependencyResolver);
+                    dependencyResolver,
+                    bloomFilters,
+                    samplingEntries);
         }
     }
 }
@@ -34,7 +34,7 @@ class FilteringNativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>> extends
 
     @Override
     protected boolean acceptValue(Value[] values) {
-        for (int i = 0; i < values.length; i++) {
+        for (int i = 0; i < filter.length; i++) {
             if (!filter[i].acceptsValue(values[i])) {
                 return false;
             }
@@ -45,6 +45,6 @@ class FilteringNativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>> extends
     // We need to make sure to always deserialize, even if the client doesn't need the value, to be able to filter
     @Override
     Value[] extractValues(KEY key) {
-        return key.asValues();
+        return client.needsValues() ? key.asValuesWithIncluded() : key.asValues();
     }
 }
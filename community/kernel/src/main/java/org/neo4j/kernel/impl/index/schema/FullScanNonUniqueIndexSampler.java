@@ -25,6 +25,7 @@ import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
 
 /**
@@ -35,10 +36,19 @@ import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
 class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends NonUniqueIndexSampler.Adapter {
     private final GBPTree<KEY, NullValue> gbpTree;
     private final IndexLayout<KEY> layout;
+    private final boolean valueHistogram;
 
     FullScanNonUniqueIndexSampler(GBPTree<KEY, NullValue> gbpTree, IndexLayout<KEY> layout) {
+        this(gbpTree, layout, false);
+    }
+
+    /**
+     * @param valueHistogram whether or not to build an {@link IndexValueHistogram} of the first value of the keys.
+     */
+    FullScanNonUniqueIndexSampler(GBPTree<KEY, NullValue> gbpTree, IndexLayout<KEY> layout, boolean valueHistogram) {
         this.gbpTree = gbpTree;
         this.layout = layout;
+        this.valueHistogram = valueHistogram;
     }
 
     @Override
@@ -50,6 +60,7 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
         highest.initialize(Long.MAX_VALUE);
         highest.initValuesAsHighest();
         KEY prev = layout.newKey();
+        IndexValueHistogramBuilder histogram = valueHistogram ? new IndexValueHistogramBuilder() : null;
         try (Seeker<KEY, NullValue> seek = gbpTree.seek(lowest, highest, cursorContext)) {
             long sampledValues = 0;
             long uniqueValues = 0;
@@ -59,6 +70,9 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
                 prev = layout.copyKey(seek.key(), prev);
                 sampledValues++;
                 uniqueValues++;
+                if (histogram != null) {
+                    histogram.include(seek.key().firstValue());
+                }
 
                 // Then do the rest
                 while (seek.next()) {
@@ -68,9 +82,14 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
+                    if (histogram != null) {
+                        histogram.include(seek.key().firstValue());
+                    }
                 }
             }
-            return new IndexSample(sampledValues, uniqueValues, sampledValues);
+            return histogram == null
+                    ? new IndexSample(sampledValues, uniqueValues, sampledValues)
+                    : new IndexSample(sampledValues, uniqueValues, sampledValues, 0, 0, histogram.build());
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
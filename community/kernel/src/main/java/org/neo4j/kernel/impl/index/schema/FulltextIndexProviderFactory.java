@@ -34,6 +34,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.impl.fulltext.FulltextIndexProvider;
+import org.neo4j.kernel.api.impl.fulltext.IndexUpdateSink;
 import org.neo4j.kernel.api.impl.index.storage.DirectoryFactory;
 import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.logging.InternalLog;
@@ -83,6 +84,7 @@ public class FulltextIndexProviderFactory extends AbstractIndexProviderFactory<F
                 directoryFactory,
                 readOnlyDatabaseChecker,
                 scheduler,
+                monitors.newMonitor(IndexUpdateSink.Monitor.class, monitorTag),
                 log);
     }
 
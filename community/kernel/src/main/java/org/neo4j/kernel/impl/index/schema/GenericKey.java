@@ -202,6 +202,11 @@ public abstract class GenericKey<KEY extends GenericKey<KEY>> extends NativeInde
         return new Value[] {asValue()};
     }
 
+    @Override
+    Value firstValue() {
+        return stateSlot(0).asValue();
+    }
+
     @Override
     void initValueAsLowest(int stateSlot, ValueGroup valueGroup) {
         initValueAsLowest(valueGroup);
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import org.neo4j.function.ThrowingConsumer;
+import org.neo4j.hashing.HashFunction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Partitioned Bloom filter over the indexed value tuples of a native index. An exact lookup of values which
+ * the filter says the index doesn't contain can skip seeking in the tree, which otherwise costs a traversal
+ * from the root down to a leaf just to find nothing, e.g. when looking for nodes to MERGE which don't exist yet.
+ * <p>
+ * The bits are divided into {@link #PARTITIONS} equally sized partitions and every value tuple sets one bit in each
+ * partition. Values are only ever added to the filter, removing entries from the index leaves their bits set,
+ * which only makes the filter less selective. A filter which has become too unselective, because of removed entries or
+ * because the index has grown beyond what the filter was sized for, is {@link #resize(long, ThrowingConsumer) resized}
+ * from the entries in the index at a checkpoint.
+ * <p>
+ * Values are hashed from the {@link NativeIndexKey#asValues() values of the tree key} they are added and
+ * looked up with, so that values which the index considers equal, like {@code 1} and {@code 1.0}, hash the same.
+ * <p>
+ * The filter is persisted in a file next to the index, see {@link #write(FileSystemAbstraction, Path)}. Every write
+ * stamps the file with a new id, which the index records in its header at the same checkpoint. A filter file is only
+ * used if its id matches the one in the header, i.e. if it was written at the last checkpoint of the index. Updates
+ * made after that checkpoint are recovered into the filter along with the index.
+ */
+public class IndexBloomFilter {
+    static final int PARTITIONS = 7;
+    static final int BITS_PER_ENTRY = 10;
+    static final String FILE_SUFFIX = ".bloom";
+    /**
+     * Estimated false positive rate above which {@link #needsResize()} asks for the filter to be rebuilt. A filter sized
+     * for the number of value tuples it holds has an estimated false positive rate of about 1%.
+     */
+    static final double MAX_FALSE_POSITIVE_RATE = 0.05;
+
+    private static final int MIN_BITS_PER_PARTITION = 1024;
+    private static final long MAX_BITS_PER_PARTITION = (1L << 30) / PARTITIONS;
+    private static final long MAGIC = 0x426C_6F6F_6D46_6C74L;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final HashFunction HASH = HashFunction.incrementalXXH64();
+
+    /**
+     * Filter used when there is no filter for an index, which may contain any value.
+     */
+    static final IndexBloomFilter NONE = new IndexBloomFilter(0, new Bits(0, 0));
+
+    private final boolean enabled;
+    /**
+     * Held for reading from adding a value tuple to the filter until it is in the tree, see {@link #beginAdd(NativeIndexKey)},
+     * and for writing when a {@link #resize(long, ThrowingConsumer) resize} starts.
+     */
+    private final StampedLock addLock = new StampedLock();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder negativeLookups = new LongAdder();
+    private volatile Bits bits;
+    /**
+     * Bits being built by an ongoing {@link #resize(long, ThrowingConsumer) resize}, which additions go to as well.
+     */
+    private volatile Bits resizing;
+
+    private volatile long id;
+    /**
+     * Number of insertions when this filter was last written or read, {@code -1} if never.
+     */
+    private long writtenInsertions = -1;
+
+    private IndexBloomFilter(long id, Bits bits) {
+        this.id = id;
+        this.bits = bits;
+        this.enabled = bits.bitsPerPartition > 0;
+    }
+
+    /**
+     * @param expectedEntries number of distinct value tuples the filter is expected to hold.
+     * @return a new and empty filter sized for {@code expectedEntries} value tuples.
+     */
+    static IndexBloomFilter create(long expectedEntries) {
+        return new IndexBloomFilter(newId(), new Bits(bitsPerPartitionFor(expectedEntries), 0));
+    }
+
+    private static int bitsPerPartitionFor(long expectedEntries) {
+        long bitsPerPartition = Math.max(expectedEntries, 0) * BITS_PER_ENTRY / PARTITIONS;
+        bitsPerPartition = Math.min(Math.max(bitsPerPartition, MIN_BITS_PER_PARTITION), MAX_BITS_PER_PARTITION);
+        // Round up to whole words, so that partitions can be written and read as longs
+        return (int) ((bitsPerPartition + Long.SIZE - 1) & -Long.SIZE);
+    }
+
+    static Path fileFor(IndexFiles indexFiles) {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling(storeFile.getFileName() + FILE_SUFFIX);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the id this filter was last written with, or {@code 0} for {@link #NONE}.
+     */
+    long id() {
+        return id;
+    }
+
+    void add(NativeIndexKey<?> key) {
+        if (enabled) {
+            add(key.asValues());
+        }
+    }
+
+    void add(Value... values) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(values);
+        bits.set(hash);
+        Bits resizing = this.resizing;
+        if (resizing != null) {
+            resizing.set(hash);
+        }
+    }
+
+    /**
+     * Adds the values of the given key to the filter, for an entry which is about to be written to the tree. The returned
+     * stamp must be passed to {@link #endAdd(long)} once the entry is in the tree, which keeps a concurrent
+     * {@link #resize(long, ThrowingConsumer) resize} from scanning the tree before the entry is there.
+     *
+     * @return stamp to pass to {@link #endAdd(long)}.
+     */
+    long beginAdd(NativeIndexKey<?> key) {
+        if (!enabled) {
+            return 0;
+        }
+        long stamp = addLock.readLock();
+        add(key.asValues());
+        return stamp;
+    }
+
+    void endAdd(long stamp) {
+        if (stamp != 0) {
+            addLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param key tree key initialized with the exact values to look up.
+     * @return {@code false} if the index definitely doesn't contain the values of the given key,
+     * otherwise {@code true}, also if this filter is {@link #NONE}.
+     */
+    boolean mightContain(NativeIndexKey<?> key) {
+        return !enabled || mightContain(key.asValues());
+    }
+
+    boolean mightContain(Value... values) {
+        if (!enabled) {
+            return true;
+        }
+        lookups.increment();
+        if (!bits.test(hash(values))) {
+            negativeLookups.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static long hash(Value... values) {
+        // Value#hashCode is equal for values which are equal, regardless of their exact type
+        long hash = HASH.initialise(0);
+        for (Value value : values) {
+            hash = HASH.update(hash, value.hashCode());
+        }
+        return HASH.finalise(hash);
+    }
+
+    /**
+     * Values are never removed from the filter, so it fills up both with entries added beyond what it was sized for and
+     * with entries which have since been removed from the index. A filter which is already as large as it can get is
+     * only resized once its number of insertions has doubled, since the index may simply hold that many values.
+     *
+     * @return whether the estimated false positive rate of this filter has grown beyond {@link #MAX_FALSE_POSITIVE_RATE}.
+     */
+    boolean needsResize() {
+        if (!enabled) {
+            return false;
+        }
+        Bits bits = this.bits;
+        if (bits.bitsPerPartition >= MAX_BITS_PER_PARTITION
+                && bits.insertions.get() < 2 * Math.max(bits.initialInsertions, 1)) {
+            return false;
+        }
+        return bits.falsePositiveRate() > MAX_FALSE_POSITIVE_RATE;
+    }
+
+    /**
+     * Replaces the bits of this filter with new ones sized for {@code expectedEntries} value tuples, which {@code scan}
+     * adds all value tuples of the index to. The filter keeps answering lookups from its current bits until the scan is
+     * done. Value tuples added meanwhile are added to both, and entries added to the tree before the resize started are in
+     * the tree before {@code scan} is called, so no value tuple of the index is missing from the new bits.
+     *
+     * @param expectedEntries number of distinct value tuples the resized filter is expected to hold.
+     * @param scan adds all value tuples of the index to the filter it is given.
+     * @throws IOException on error scanning the index, which leaves the current bits in place.
+     */
+    synchronized void resize(long expectedEntries, ThrowingConsumer<IndexBloomFilter, IOException> scan)
+            throws IOException {
+        Preconditions.checkState(enabled, "Can not resize a disabled Bloom filter");
+        IndexBloomFilter resized = create(expectedEntries);
+        // Waits for additions whose entries may not be in the tree yet, later additions see the new bits
+        long stamp = addLock.writeLock();
+        resizing = resized.bits;
+        addLock.unlockWrite(stamp);
+        try {
+            scan.accept(resized);
+            resized.bits.initialInsertions = resized.bits.insertions.get();
+            bits = resized.bits;
+            writtenInsertions = -1;
+        } finally {
+            resizing = null;
+        }
+    }
+
+    Statistics statistics() {
+        if (!enabled) {
+            return Statistics.DISABLED;
+        }
+        Bits bits = this.bits;
+        return new Statistics(
+                true,
+                (long) bits.words.length() * Long.BYTES,
+                PARTITIONS,
+                bits.bitsPerPartition,
+                bits.insertions.get(),
+                bits.falsePositiveRate(),
+                lookups.sum(),
+                negativeLookups.sum());
+    }
+
+    /**
+     * Writes this filter to the given file, stamped with a new {@link #id()}. The file is first written to a temporary file
+     * which then replaces the given file, so that a failed write leaves the previous file intact.
+     * Nothing is written if nothing has been added to the filter since it was last written to, or read from, the file.
+     *
+     * @return the new id of this filter, to be recorded in the header of the index.
+     * @throws IOException on error writing the file.
+     */
+    synchronized long write(FileSystemAbstraction fs, Path file) throws IOException {
+        Preconditions.checkState(enabled, "Can not write a disabled Bloom filter");
+        Bits bits = this.bits;
+        // Read before the bits, so that bits set by concurrent additions which aren't counted yet are written next time
+        long currentInsertions = bits.insertions.get();
+        if (currentInsertions == writtenInsertions) {
+            return id;
+        }
+        long newId = newId();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        fs.deleteFile(tempFile);
+        AtomicLongArray words = bits.words;
+        try (StoreChannel channel = fs.write(tempFile)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Long.BYTES * Math.min(words.length(), 1024));
+            buffer.putLong(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(newId)
+                    .putInt(bits.bitsPerPartition)
+                    .putLong(currentInsertions);
+            for (int i = 0; i < words.length(); i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    channel.writeAll(buffer.flip());
+                    buffer.clear();
+                }
+                buffer.putLong(words.get(i));
+            }
+            channel.writeAll(buffer.flip());
+            channel.force(false);
+        }
+        fs.renameFile(tempFile, file, REPLACE_EXISTING);
+        id = newId;
+        writtenInsertions = currentInsertions;
+        return newId;
+    }
+
+    /**
+     * Reads the filter written to the given file, if there is one and it has the expected id.
+     *
+     * @param expectedId the filter id recorded in the header of the index.
+     * @return the filter read from the file, or {@link #NONE} if the file is missing, of another id or otherwise unusable.
+     * @throws IOException on error reading the file.
+     */
+    static IndexBloomFilter read(FileSystemAbstraction fs, Path file, long expectedId) throws IOException {
+        if (expectedId == 0 || !fs.fileExists(file)) {
+            return NONE;
+        }
+        try (StoreChannel channel = fs.read(file)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() < HEADER_SIZE) {
+                return NONE;
+            }
+            channel.readAll(header);
+            header.flip();
+            long magic = header.getLong();
+            int version = header.getInt();
+            long id = header.getLong();
+            int bitsPerPartition = header.getInt();
+            long insertions = header.getLong();
+            if (magic != MAGIC
+                    || version != FORMAT_VERSION
+                    || id != expectedId
+                    || bitsPerPartition <= 0
+                    || bitsPerPartition % Long.SIZE != 0
+                    || bitsPerPartition > MAX_BITS_PER_PARTITION) {
+                return NONE;
+            }
+            Bits bits = new Bits(bitsPerPartition, insertions);
+            AtomicLongArray words = bits.words;
+            if (channel.size() != HEADER_SIZE + (long) words.length() * Long.BYTES) {
+                return NONE;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * Math.min(words.length(), 1024));
+            for (int i = 0; i < words.length(); ) {
+                buffer.clear().limit(Long.BYTES * Math.min(words.length() - i, 1024));
+                channel.readAll(buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    words.set(i++, buffer.getLong());
+                }
+            }
+            IndexBloomFilter filter = new IndexBloomFilter(id, bits);
+            filter.writtenInsertions = insertions;
+            return filter;
+        }
+    }
+
+    static void delete(FileSystemAbstraction fs, IndexFiles indexFiles) {
+        try {
+            fs.deleteFile(fileFor(indexFiles));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * The bits of a filter, divided into {@link #PARTITIONS} partitions of {@code bitsPerPartition} bits each.
+     */
+    private static final class Bits {
+        private final int bitsPerPartition;
+        private final AtomicLongArray words;
+        private final AtomicLong insertions;
+        /**
+         * Number of insertions when these bits were read or built by a resize.
+         */
+        private long initialInsertions;
+
+        Bits(int bitsPerPartition, long insertions) {
+            this.bitsPerPartition = bitsPerPartition;
+            this.words = new AtomicLongArray((int) (((long) bitsPerPartition * PARTITIONS) >>> 6));
+            this.insertions = new AtomicLong(insertions);
+            this.initialInsertions = insertions;
+        }
+
+        void set(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            boolean changed = false;
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                long bit = bitIndex(partition, h1 + partition * h2);
+                int wordIndex = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(wordIndex) & mask) == 0) {
+                    words.accumulateAndGet(wordIndex, mask, (word, m) -> word | m);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        boolean test(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                long bit = bitIndex(partition, h1 + partition * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long bitIndex(int partition, int hash) {
+            return (long) partition * bitsPerPartition + Integer.remainderUnsigned(hash, bitsPerPartition);
+        }
+
+        double falsePositiveRate() {
+            // The chance of a false positive is the chance of all partitions having the probed bit set
+            double falsePositiveRate = 1;
+            int wordsPerPartition = bitsPerPartition >>> 6;
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                long setBits = 0;
+                for (int i = 0; i < wordsPerPartition; i++) {
+                    setBits += Long.bitCount(words.get(partition * wordsPerPartition + i));
+                }
+                falsePositiveRate *= (double) setBits / bitsPerPartition;
+            }
+            return falsePositiveRate;
+        }
+    }
+
+    /**
+     * Statistics about the Bloom filter of an index.
+     *
+     * @param enabled whether the index has a filter, all other statistics are zero if not.
+     * @param memoryBytes size of the filter bits.
+     * @param partitions number of partitions of the filter.
+     * @param bitsPerPartition number of bits in each partition.
+     * @param insertions number of value tuples which have set at least one bit in the filter.
+     * @param estimatedFalsePositiveRate the estimated probability of the filter not ruling out a value tuple that isn't
+     * in the index, given how many bits are set in it.
+     * @param lookups number of lookups in the filter since the index was opened.
+     * @param negativeLookups number of lookups which the filter ruled out, i.e. seeks which could be skipped.
+     */
+    public record Statistics(
+            boolean enabled,
+            long memoryBytes,
+            int partitions,
+            int bitsPerPartition,
+            long insertions,
+            double estimatedFalsePositiveRate,
+            long lookups,
+            long negativeLookups) {
+        static final Statistics DISABLED = new Statistics(false, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.neo4j.kernel.api.index.IndexValueHistogram.MAX_BUCKETS;
+import static org.neo4j.kernel.api.index.IndexValueHistogram.MAX_MOST_COMMON_VALUES;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Builds an {@link IndexValueHistogram} from the values of the index entries seen by a sampler. A uniform reservoir sample
+ * of the numeric values is kept, so memory use doesn't depend on how many entries are sampled.
+ */
+class IndexValueHistogramBuilder {
+    static final int RESERVOIR_SIZE = 10_000;
+
+    private final double[] reservoir = new double[RESERVOIR_SIZE];
+    private final SplittableRandom random = new SplittableRandom();
+    private long entries;
+    private long numericEntries;
+
+    void include(Value value) {
+        entries++;
+        if (value instanceof NumberValue number) {
+            double doubleValue = number.doubleValue();
+            if (Double.isNaN(doubleValue)) {
+                // NaN isn't in any range
+                return;
+            }
+            if (numericEntries < RESERVOIR_SIZE) {
+                reservoir[(int) numericEntries] = doubleValue;
+            } else {
+                long slot = random.nextLong(numericEntries + 1);
+                if (slot < RESERVOIR_SIZE) {
+                    reservoir[(int) slot] = doubleValue;
+                }
+            }
+            numericEntries++;
+        }
+    }
+
+    IndexValueHistogram build() {
+        if (numericEntries == 0) {
+            return IndexValueHistogram.EMPTY;
+        }
+        int sampled = (int) Math.min(numericEntries, RESERVOIR_SIZE);
+        double[] values = Arrays.copyOf(reservoir, sampled);
+        Arrays.sort(values);
+        double numericFraction = (double) numericEntries / entries;
+
+        // Values common enough to make up half of a bucket or more are kept as most common values instead
+        int commonThreshold = Math.max(2, sampled / (2 * MAX_BUCKETS));
+        double[] mostCommonValues = new double[MAX_MOST_COMMON_VALUES];
+        int[] mostCommonCounts = new int[MAX_MOST_COMMON_VALUES];
+        int numberOfMostCommonValues = 0;
+        for (int start = 0, end; start < sampled; start = end) {
+            end = start + 1;
+            while (end < sampled && values[end] == values[start]) {
+                end++;
+            }
+            int count = end - start;
+            if (count >= commonThreshold) {
+                numberOfMostCommonValues = insertByCount(
+                        mostCommonValues, mostCommonCounts, numberOfMostCommonValues, values[start], count);
+            }
+        }
+
+        double[] rest = new double[sampled];
+        int restCount = 0;
+        for (double value : values) {
+            if (!contains(mostCommonValues, numberOfMostCommonValues, value)) {
+                rest[restCount++] = value;
+            }
+        }
+        double[] boundaries = new double[0];
+        double histogramFraction = 0;
+        if (restCount >= 2) {
+            int buckets = Math.min(MAX_BUCKETS, restCount - 1);
+            boundaries = new double[buckets + 1];
+            for (int i = 0; i <= buckets; i++) {
+                boundaries[i] = rest[(int) ((long) i * (restCount - 1) / buckets)];
+            }
+            histogramFraction = numericFraction * restCount / sampled;
+        }
+
+        double[] mostCommonValueFractions = new double[numberOfMostCommonValues];
+        for (int i = 0; i < numberOfMostCommonValues; i++) {
+            mostCommonValueFractions[i] = numericFraction * mostCommonCounts[i] / sampled;
+        }
+        return new IndexValueHistogram(
+                boundaries,
+                histogramFraction,
+                Arrays.copyOf(mostCommonValues, numberOfMostCommonValues),
+                mostCommonValueFractions);
+    }
+
+    /**
+     * Inserts a value into the arrays, which are kept sorted by descending count and hold at most
+     * {@link IndexValueHistogram#MAX_MOST_COMMON_VALUES} values.
+     */
+    private static int insertByCount(double[] values, int[] counts, int size, double value, int count) {
+        int position = size;
+        while (position > 0 && counts[position - 1] < count) {
+            position--;
+        }
+        if (position == values.length) {
+            return size;
+        }
+        int moved = Math.min(size, values.length - 1) - position;
+        System.arraycopy(values, position, values, position + 1, moved);
+        System.arraycopy(counts, position, counts, position + 1, moved);
+        values[position] = value;
+        counts[position] = count;
+        return Math.min(size + 1, values.length);
+    }
+
+    private static boolean contains(double[] values, int size, double value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -19,8 +19,6 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
-import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_READER;
-
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.OpenOption;
@@ -33,10 +31,12 @@ import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.GBPTreeConsistencyCheckVisitor;
 import org.neo4j.index.internal.gbptree.MultiRootGBPTree;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexProvider;
@@ -56,8 +56,14 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
     private final ImmutableSet<OpenOption> openOptions;
     final PageCacheTracer pageCacheTracer;
     private final DependencyResolver dependencyResolver;
+    final boolean bloomFilters;
+    final int samplingEntries;
 
     protected GBPTree<KEY, NullValue> tree;
+    /**
+     * Id of the {@link IndexBloomFilter} recorded in the header of the tree when it was opened, {@code 0} if none.
+     */
+    long headerBloomFilterId;
 
     NativeIndex(
             DatabaseIndexContext databaseIndexContext,
@@ -74,6 +80,8 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
         this.contextFactory = databaseIndexContext.contextFactory;
         this.pageCacheTracer = databaseIndexContext.pageCacheTracer;
         this.dependencyResolver = databaseIndexContext.dependencyResolver;
+        this.bloomFilters = databaseIndexContext.bloomFilters;
+        this.samplingEntries = databaseIndexContext.samplingEntries;
         this.indexFiles = indexFiles;
         this.layout = layout;
         this.descriptor = descriptor;
@@ -84,13 +92,18 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
         ensureDirectoryExist();
         MultiRootGBPTree.Monitor monitor = treeMonitor();
         Path storeFile = indexFiles.getStoreFile();
+        headerBloomFilterId = 0;
+        NativeIndexHeaderReader headerReader = new NativeIndexHeaderReader();
         tree = new GBPTree<>(
                 pageCache,
                 fileSystem,
                 storeFile,
                 layout,
                 monitor,
-                NO_HEADER_READER,
+                headerData -> {
+                    headerReader.read(headerData);
+                    headerBloomFilterId = headerReader.bloomFilterId;
+                },
                 recoveryCleanupWorkCollector,
                 false,
                 openOptions,
@@ -102,8 +115,12 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
         afterTreeInstantiation(tree);
     }
 
+    boolean isReadOnly() {
+        return readOnlyChecker.isReadOnly();
+    }
+
     protected void assertWritable() {
-        if (readOnlyChecker.isReadOnly()) {
+        if (isReadOnly()) {
             throw new UnsupportedOperationException(
                     "Database currently is in read only mode and can not perform writes");
         }
@@ -112,6 +129,30 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
     protected void afterTreeInstantiation(GBPTree<KEY, NullValue> tree) { // no-op per default
     }
 
+    /**
+     * Adds the values of all entries in the tree to the given {@link IndexBloomFilter}.
+     */
+    void addAllValues(IndexBloomFilter bloomFilter, CursorContext cursorContext) throws IOException {
+        KEY lowest = layout.newKey();
+        lowest.initialize(Long.MIN_VALUE);
+        lowest.initValuesAsLowest();
+        KEY highest = layout.newKey();
+        highest.initialize(Long.MAX_VALUE);
+        highest.initValuesAsHighest();
+        KEY prev = layout.newKey();
+        try (Seeker<KEY, NullValue> seek = tree.seek(lowest, highest, cursorContext)) {
+            boolean first = true;
+            while (seek.next()) {
+                // Entries with the same values are next to each other, only add the first one of them
+                if (first || layout.compareValue(prev, seek.key()) != 0) {
+                    bloomFilter.add(seek.key());
+                    layout.copyKey(seek.key(), prev);
+                    first = false;
+                }
+            }
+        }
+    }
+
     private MultiRootGBPTree.Monitor treeMonitor() {
         MultiRootGBPTree.Monitor treeMonitor = monitors.newMonitor(MultiRootGBPTree.Monitor.class, monitorTag);
         IndexProvider.Monitor indexMonitor = monitors.newMonitor(IndexProvider.Monitor.class, monitorTag);
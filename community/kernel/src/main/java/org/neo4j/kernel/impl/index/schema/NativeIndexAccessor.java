@@ -37,11 +37,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
 import java.util.function.LongPredicate;
 import org.eclipse.collections.api.block.function.primitive.LongToLongFunction;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.Subject;
 import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.index.internal.gbptree.TreeInconsistencyException;
 import org.neo4j.internal.helpers.Exceptions;
@@ -69,6 +71,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         implements IndexAccessor {
     private final NativeIndexUpdater<KEY> singleUpdater;
     private final NativeIndexHeaderWriter headerWriter;
+    IndexBloomFilter bloomFilter = IndexBloomFilter.NONE;
 
     NativeIndexAccessor(
             DatabaseIndexContext databaseIndexContext,
@@ -84,10 +87,26 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         headerWriter = new NativeIndexHeaderWriter(BYTE_ONLINE);
     }
 
+    @Override
+    void instantiateTree(RecoveryCleanupWorkCollector recoveryCleanupWorkCollector) {
+        super.instantiateTree(recoveryCleanupWorkCollector);
+        bloomFilter = bloomFilters ? readBloomFilter() : IndexBloomFilter.NONE;
+    }
+
+    private IndexBloomFilter readBloomFilter() {
+        try {
+            return IndexBloomFilter.read(fileSystem, IndexBloomFilter.fileFor(indexFiles), headerBloomFilterId);
+        } catch (IOException e) {
+            // The filter is only an optimization, the index works just as well without it
+            return IndexBloomFilter.NONE;
+        }
+    }
+
     @Override
     public void drop() {
         tree.setDeleteOnClose(true);
         closeTree();
+        IndexBloomFilter.delete(fileSystem, indexFiles);
         indexFiles.clear();
     }
 
@@ -102,9 +121,9 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
                                 indexUpdateIgnoreStrategy(),
                                 new ThrowingConflictDetector<>(
                                         true, descriptor.schema().entityType()))
-                        .initialize(tree.writer(cursorContext));
+                        .initialize(tree.writer(cursorContext), bloomFilter);
             } else {
-                return singleUpdater.initialize(tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext));
+                return singleUpdater.initialize(tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext), bloomFilter);
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -150,7 +169,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
                             };
                             try (var updater = new NativeIndexUpdater<>(
                                                     layout.newKey(), indexUpdateIgnoreStrategy(), merger)
-                                            .initialize(tree.writer(updaterFlags, NULL_CONTEXT));
+                                            .initialize(tree.writer(updaterFlags, NULL_CONTEXT), bloomFilter);
                                     var localProgress = progress.threadLocalReporter()) {
                                 while (reader.hasNext()) {
                                     var entityId = reader.next();
@@ -256,7 +275,24 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
 
     @Override
     public void force(FileFlushEvent flushEvent, CursorContext cursorContext) {
-        tree.checkpoint(headerWriter, flushEvent, cursorContext);
+        if (!bloomFilter.isEnabled()) {
+            tree.checkpoint(headerWriter, flushEvent, cursorContext);
+            return;
+        }
+        long bloomFilterId = bloomFilter.id();
+        if (!isReadOnly()) {
+            try {
+                if (bloomFilter.needsResize()) {
+                    bloomFilter.resize(
+                            tree.estimateNumberOfEntriesInTree(cursorContext),
+                            resized -> addAllValues(resized, cursorContext));
+                }
+                bloomFilterId = bloomFilter.write(fileSystem, IndexBloomFilter.fileFor(indexFiles));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        tree.checkpoint(new NativeIndexHeaderWriter(BYTE_ONLINE, bloomFilterId), flushEvent, cursorContext);
     }
 
     @Override
@@ -264,6 +300,17 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         // not required in this implementation
     }
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        TreeCompactionMonitor monitor = new TreeCompactionMonitor(continueCompaction);
+        try {
+            tree.compact(monitor, cursorContext);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return monitor.releasedTreeNodes();
+    }
+
     @Override
     public void close() {
         closeTree();
@@ -280,6 +327,9 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
 
     @Override
     public ResourceIterator<Path> snapshotFiles() {
+        if (bloomFilter.isEnabled()) {
+            return asResourceIterator(iterator(indexFiles.getStoreFile(), IndexBloomFilter.fileFor(indexFiles)));
+        }
         return asResourceIterator(iterator(indexFiles.getStoreFile()));
     }
 
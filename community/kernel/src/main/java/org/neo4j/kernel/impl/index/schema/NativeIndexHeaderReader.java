@@ -31,6 +31,7 @@ import org.neo4j.index.internal.gbptree.Header;
 class NativeIndexHeaderReader implements Header.Reader {
     byte state;
     String failureMessage;
+    long bloomFilterId;
     private final byte failureByte;
 
     NativeIndexHeaderReader() {
@@ -50,6 +51,8 @@ class NativeIndexHeaderReader implements Header.Reader {
             state = headerData.get();
             if (state == failureByte) {
                 failureMessage = readFailureMessage(headerData);
+            } else if (headerData.remaining() >= Long.BYTES) {
+                bloomFilterId = headerData.getLong();
             }
         } catch (BufferUnderflowException e) {
             state = failureByte;
@@ -28,13 +28,25 @@ import org.neo4j.io.pagecache.PageCursor;
  */
 public class NativeIndexHeaderWriter implements Consumer<PageCursor> {
     private final byte state;
+    private final long bloomFilterId;
 
     public NativeIndexHeaderWriter(byte state) {
+        this(state, 0);
+    }
+
+    /**
+     * @param bloomFilterId id of the {@link IndexBloomFilter} written along with this checkpoint, or {@code 0} if none.
+     */
+    NativeIndexHeaderWriter(byte state, long bloomFilterId) {
         this.state = state;
+        this.bloomFilterId = bloomFilterId;
     }
 
     @Override
     public void accept(PageCursor cursor) {
         cursor.putByte(state);
+        if (bloomFilterId != 0) {
+            cursor.putLong(bloomFilterId);
+        }
     }
 }
@@ -84,6 +84,20 @@ abstract class NativeIndexKey<SELF extends NativeIndexKey<SELF>> extends Tempora
 
     abstract Value[] asValues();
 
+    /**
+     * @return the value of the first state slot, without creating the values of any other slots.
+     */
+    Value firstValue() {
+        return asValues()[0];
+    }
+
+    /**
+     * @return the values of this key, followed by the values of included properties for keys that can hold them.
+     */
+    Value[] asValuesWithIncluded() {
+        return asValues();
+    }
+
     abstract void initValueAsLowest(int stateSlot, ValueGroup valueGroup);
 
     abstract void initValueAsHighest(int stateSlot, ValueGroup valueGroup);
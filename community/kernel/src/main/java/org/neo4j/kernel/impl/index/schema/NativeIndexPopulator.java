@@ -94,7 +94,24 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>> exte
         assertNotDropped();
         assertNotClosed();
 
+        IndexBloomFilter.delete(fileSystem, indexFiles);
         indexFiles.clear();
+        createTree();
+    }
+
+    /**
+     * Creates a new empty tree in place of any existing one, without removing other files of the index like {@link #create()} does.
+     */
+    synchronized void recreateTree() throws IOException {
+        assertNotDropped();
+        assertNotClosed();
+
+        IndexBloomFilter.delete(fileSystem, indexFiles);
+        fileSystem.deleteFile(indexFiles.getStoreFile());
+        createTree();
+    }
+
+    private void createTree() {
         instantiateTree(RecoveryCleanupWorkCollector.immediate());
 
         // true:  tree uniqueness is (value,entityId)
@@ -114,6 +131,7 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>> exte
                 tree.setDeleteOnClose(true);
             }
             closeTree();
+            IndexBloomFilter.delete(fileSystem, indexFiles);
             indexFiles.clear();
         } finally {
             dropped = true;
@@ -151,7 +169,7 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>> exte
                 // Successful and completed population
                 assertPopulatorOpen();
                 try (FileFlushEvent flushEvent = pageCacheTracer.beginFileFlush()) {
-                    flushTreeAndMarkAs(BYTE_ONLINE, flushEvent, cursorContext);
+                    markTreeAsOnline(flushEvent, cursorContext);
                 }
             } else if (failureBytes != null) {
                 // Failed population
@@ -193,6 +211,30 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>> exte
         tree.checkpoint(new NativeIndexHeaderWriter(state), flushEvent, cursorContext);
     }
 
+    private void markTreeAsOnline(FileFlushEvent flushEvent, CursorContext cursorContext) {
+        if (!bloomFilters) {
+            flushTreeAndMarkAs(BYTE_ONLINE, flushEvent, cursorContext);
+            return;
+        }
+        try {
+            long bloomFilterId =
+                    buildBloomFilter(cursorContext).write(fileSystem, IndexBloomFilter.fileFor(indexFiles));
+            tree.checkpoint(new NativeIndexHeaderWriter(BYTE_ONLINE, bloomFilterId), flushEvent, cursorContext);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the {@link IndexBloomFilter} of the populated index from all entries in the tree, which by now
+     * contains all updates that came in during population too.
+     */
+    private IndexBloomFilter buildBloomFilter(CursorContext cursorContext) throws IOException {
+        IndexBloomFilter bloomFilter = IndexBloomFilter.create(tree.estimateNumberOfEntriesInTree(cursorContext));
+        addAllValues(bloomFilter, cursorContext);
+        return bloomFilter;
+    }
+
     IndexSample buildNonUniqueIndexSample(CursorContext cursorContext) {
         return new FullScanNonUniqueIndexSampler<>(tree, layout).sample(cursorContext);
     }
@@ -211,7 +253,12 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>> exte
         try (Writer<KEY, NullValue> writer = tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext)) {
             for (IndexEntryUpdate<?> indexEntryUpdate : indexEntryUpdates) {
                 NativeIndexUpdater.processUpdate(
-                        treeKey, (ValueIndexEntryUpdate<?>) indexEntryUpdate, writer, conflictDetector, ignoreStrategy);
+                        treeKey,
+                        (ValueIndexEntryUpdate<?>) indexEntryUpdate,
+                        writer,
+                        conflictDetector,
+                        ignoreStrategy,
+                        IndexBloomFilter.NONE);
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
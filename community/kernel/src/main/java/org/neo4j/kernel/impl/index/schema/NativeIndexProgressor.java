@@ -48,6 +48,6 @@ abstract class NativeIndexProgressor<KEY extends NativeIndexKey<KEY>> implements
     }
 
     Value[] extractValues(KEY key) {
-        return client.needsValues() ? key.asValues() : null;
+        return client.needsValues() ? key.asValuesWithIncluded() : null;
     }
 }
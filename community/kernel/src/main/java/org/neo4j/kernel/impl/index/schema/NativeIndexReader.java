@@ -42,6 +42,8 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.api.index.IndexSampler;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
@@ -50,11 +52,20 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
     protected final IndexDescriptor descriptor;
     final IndexLayout<KEY> layout;
     final GBPTree<KEY, NullValue> tree;
+    private final IndexBloomFilter bloomFilter;
+    private final int samplingEntries;
 
-    NativeIndexReader(GBPTree<KEY, NullValue> tree, IndexLayout<KEY> layout, IndexDescriptor descriptor) {
+    NativeIndexReader(
+            GBPTree<KEY, NullValue> tree,
+            IndexLayout<KEY> layout,
+            IndexDescriptor descriptor,
+            IndexBloomFilter bloomFilter,
+            int samplingEntries) {
         this.tree = tree;
         this.layout = layout;
         this.descriptor = descriptor;
+        this.bloomFilter = bloomFilter;
+        this.samplingEntries = samplingEntries;
     }
 
     @Override
@@ -68,8 +79,12 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         // For that reason this implementation opts for keeping complexity down by just using the existing
         // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
         // be none in a unique index).
+        // Large indexes are sampled by reading chunks of entries spread over the tree instead of all of them.
 
-        FullScanNonUniqueIndexSampler<KEY> sampler = new FullScanNonUniqueIndexSampler<>(tree, layout);
+        boolean valueHistogram = sampleValueHistogram();
+        NonUniqueIndexSampler sampler = samplingEntries > 0
+                ? new PageSamplingNonUniqueIndexSampler<>(tree, layout, samplingEntries, valueHistogram)
+                : new FullScanNonUniqueIndexSampler<>(tree, layout, valueHistogram);
         return tracer -> {
             try {
                 return sampler.sample(tracer);
@@ -96,6 +111,9 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             treeKeyFrom.initFromValue(i, propertyValues[i], NEUTRAL);
             treeKeyTo.initFromValue(i, propertyValues[i], NEUTRAL);
         }
+        if (!bloomFilter.mightContain(treeKeyFrom)) {
+            return 0;
+        }
         try (Seeker<KEY, NullValue> seeker = tree.seek(treeKeyFrom, treeKeyTo, cursorContext)) {
             long count = 0;
             while (seeker.next()) {
@@ -124,6 +142,10 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         initializeFromToKeys(treeKeyFrom, treeKeyTo);
 
         boolean needFilter = initializeRangeForQuery(treeKeyFrom, treeKeyTo, predicates);
+        if (isExactLookup(predicates) && !bloomFilter.mightContain(treeKeyFrom)) {
+            cursor.initialize(descriptor, IndexProgressor.EMPTY, accessMode, false, false, constraints, predicates);
+            return;
+        }
         startSeekForInitializedRange(
                 cursor,
                 treeKeyFrom,
@@ -140,6 +162,13 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         treeKeyTo.initialize(Long.MAX_VALUE);
     }
 
+    /**
+     * @return whether or not samples of this index should include an {@link IndexValueHistogram}.
+     */
+    boolean sampleValueHistogram() {
+        return false;
+    }
+
     abstract void validateQuery(IndexQueryConstraints constraints, PropertyIndexQuery... predicates);
 
     /**
@@ -189,11 +218,28 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
                 : new NativeHitIndexProgressor<>(seeker, client);
     }
 
+    /**
+     * @return whether the predicates look up exact values for all properties of the index, i.e. whether the
+     * {@link IndexBloomFilter} can tell if the index contains the values of the query.
+     */
+    private boolean isExactLookup(PropertyIndexQuery... predicates) {
+        if (predicates.length != descriptor.schema().getPropertyIds().length) {
+            return false;
+        }
+        for (PropertyIndexQuery predicate : predicates) {
+            if (!(predicate instanceof PropertyIndexQuery.ExactPredicate)
+                    || predicate instanceof IncomparableExactPredicate) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean isEmptyRange(KEY treeKeyFrom, KEY treeKeyTo) {
         return layout.compare(treeKeyFrom, treeKeyTo) > 0;
     }
 
-    private boolean isEmptyResultQuery(PropertyIndexQuery... predicates) {
+    boolean isEmptyResultQuery(PropertyIndexQuery... predicates) {
         for (PropertyIndexQuery predicate : predicates) {
             if (predicate instanceof IncomparableRangePredicate || predicate instanceof IncomparableExactPredicate) {
                 return true;
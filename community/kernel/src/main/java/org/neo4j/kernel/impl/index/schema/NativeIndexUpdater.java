@@ -34,6 +34,7 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
     private final IndexUpdateIgnoreStrategy ignoreStrategy;
     private final ConflictDetectingValueMerger<KEY, Value[]> conflictDetectingValueMerger;
     private Writer<KEY, NullValue> writer;
+    private IndexBloomFilter bloomFilter;
 
     private boolean closed = true;
 
@@ -46,12 +47,13 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
         this.conflictDetectingValueMerger = conflictDetectingValueMerger;
     }
 
-    NativeIndexUpdater<KEY> initialize(Writer<KEY, NullValue> writer) {
+    NativeIndexUpdater<KEY> initialize(Writer<KEY, NullValue> writer, IndexBloomFilter bloomFilter) {
         if (!closed) {
             throw new IllegalStateException("Updater still open");
         }
 
         this.writer = writer;
+        this.bloomFilter = bloomFilter;
         closed = false;
         return this;
     }
@@ -60,7 +62,7 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
     public void process(IndexEntryUpdate<?> update) throws IndexEntryConflictException {
         assertOpen();
         ValueIndexEntryUpdate<?> valueUpdate = asValueUpdate(update);
-        processUpdate(treeKey, valueUpdate, writer, conflictDetectingValueMerger, ignoreStrategy);
+        processUpdate(treeKey, valueUpdate, writer, conflictDetectingValueMerger, ignoreStrategy, bloomFilter);
     }
 
     @Override
@@ -80,7 +82,8 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
             ValueIndexEntryUpdate<?> update,
             Writer<KEY, NullValue> writer,
             ConflictDetectingValueMerger<KEY, Value[]> conflictDetectingValueMerger,
-            IndexUpdateIgnoreStrategy ignoreStrategy)
+            IndexUpdateIgnoreStrategy ignoreStrategy,
+            IndexBloomFilter bloomFilter)
             throws IndexEntryConflictException {
         switch (update.updateMode()) {
             case REMOVED:
@@ -96,7 +99,8 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
                         update.values(),
                         writer,
                         conflictDetectingValueMerger,
-                        ignoreStrategy);
+                        ignoreStrategy,
+                        bloomFilter);
                 break;
             default:
                 throw new IllegalArgumentException();
@@ -124,14 +128,21 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
             Value[] values,
             Writer<KEY, NullValue> writer,
             ConflictDetectingValueMerger<KEY, Value[]> conflictDetectingValueMerger,
-            IndexUpdateIgnoreStrategy ignoreStrategy)
+            IndexUpdateIgnoreStrategy ignoreStrategy,
+            IndexBloomFilter bloomFilter)
             throws IndexEntryConflictException {
         if (ignoreStrategy.ignore(values)) {
             return;
         }
         initializeKeyFromUpdate(treeKey, entityId, values);
-        conflictDetectingValueMerger.controlConflictDetection(treeKey);
-        writer.merge(treeKey, NullValue.INSTANCE, conflictDetectingValueMerger);
+        // Added to the filter before the tree, so that a reader never gets a negative answer for an entry it could find
+        long stamp = bloomFilter.beginAdd(treeKey);
+        try {
+            conflictDetectingValueMerger.controlConflictDetection(treeKey);
+            writer.merge(treeKey, NullValue.INSTANCE, conflictDetectingValueMerger);
+        } finally {
+            bloomFilter.endAdd(stamp);
+        }
         conflictDetectingValueMerger.checkConflict(values);
     }
 
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+
+/**
+ * {@link NonUniqueIndexSampler} which, instead of scanning the whole {@link GBPTree} like {@link FullScanNonUniqueIndexSampler},
+ * reads chunks of adjacent entries from a random subset of the partitions of the tree. The cost of a sample is therefore
+ * proportional to the number of entries to sample rather than to the size of the index.
+ * <p>
+ * Entries are sorted by value in the tree, so within a chunk it's known exactly for each pair of adjacent entries whether or not
+ * the value changes between them. The number of unique values in the whole index is estimated from the rate of such value
+ * transitions in the sampled pairs, together with the relative standard error of that estimate, treating each chunk as a cluster.
+ * Small indexes, where a sample would be a large part of the index anyway, are scanned fully.
+ *
+ * @param <KEY> type of keys in tree.
+ */
+class PageSamplingNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends NonUniqueIndexSampler.Adapter {
+    static final int ENTRIES_PER_CHUNK = 1_000;
+    // Chunks are picked randomly among more partitions than there are chunks
+    private static final int PARTITIONS_PER_CHUNK = 4;
+    private static final int MAX_CHUNKS = 10_000;
+
+    private final GBPTree<KEY, NullValue> gbpTree;
+    private final IndexLayout<KEY> layout;
+    private final int sampleSize;
+    private final boolean valueHistogram;
+
+    /**
+     * @param valueHistogram whether or not to build an {@link IndexValueHistogram} of the first value of the sampled keys.
+     */
+    PageSamplingNonUniqueIndexSampler(
+            GBPTree<KEY, NullValue> gbpTree, IndexLayout<KEY> layout, int sampleSize, boolean valueHistogram) {
+        this.gbpTree = gbpTree;
+        this.layout = layout;
+        this.sampleSize = sampleSize;
+        this.valueHistogram = valueHistogram;
+    }
+
+    @Override
+    public IndexSample sample(CursorContext cursorContext) {
+        try {
+            long indexSize = gbpTree.estimateNumberOfEntriesInTree(cursorContext);
+            if (indexSize <= 2L * sampleSize) {
+                return fullScan(cursorContext);
+            }
+
+            int numberOfChunks = Math.min(MAX_CHUNKS, Math.max(2, sampleSize / ENTRIES_PER_CHUNK));
+            List<KEY> partitionEdges =
+                    gbpTree.partitionedSeek(lowest(), highest(), numberOfChunks * PARTITIONS_PER_CHUNK, cursorContext);
+            if (partitionEdges.size() < 2) {
+                return fullScan(cursorContext);
+            }
+            int[] chunkPartitions = pickPartitions(partitionEdges.size() - 1, numberOfChunks);
+            int entriesPerChunk = Math.max(2, sampleSize / chunkPartitions.length);
+
+            long[] pairs = new long[chunkPartitions.length];
+            long[] transitions = new long[chunkPartitions.length];
+            KEY prev = layout.newKey();
+            IndexValueHistogramBuilder histogram = valueHistogram ? new IndexValueHistogramBuilder() : null;
+            for (int i = 0; i < chunkPartitions.length; i++) {
+                int partition = chunkPartitions[i];
+                try (Seeker<KEY, NullValue> seek =
+                        gbpTree.seek(partitionEdges.get(partition), partitionEdges.get(partition + 1), cursorContext)) {
+                    if (seek.next()) {
+                        layout.copyKey(seek.key(), prev);
+                        include(histogram, seek.key());
+                        for (int entries = 1; entries < entriesPerChunk && seek.next(); entries++) {
+                            include(histogram, seek.key());
+                            pairs[i]++;
+                            if (layout.compareValue(prev, seek.key()) != 0) {
+                                transitions[i]++;
+                                layout.copyKey(seek.key(), prev);
+                            }
+                        }
+                    }
+                }
+            }
+            IndexSample estimate = estimate(indexSize, pairs, transitions);
+            return histogram == null
+                    ? estimate
+                    : new IndexSample(
+                            estimate.indexSize(),
+                            estimate.uniqueValues(),
+                            estimate.sampleSize(),
+                            0,
+                            estimate.uniqueValuesError(),
+                            histogram.build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public IndexSample sample(int numDocs, CursorContext cursorContext) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Estimates the number of unique values in an index of {@code indexSize} entries, as {@code 1 + r * (indexSize - 1)} where
+     * {@code r} is the rate of value transitions in the sampled pairs of adjacent entries. The relative standard error comes
+     * from the variance of {@code r} as a ratio estimator over the sampled chunks.
+     */
+    static IndexSample estimate(long indexSize, long[] pairs, long[] transitions) {
+        long totalPairs = 0;
+        long totalTransitions = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            totalPairs += pairs[i];
+            totalTransitions += transitions[i];
+        }
+        if (totalPairs == 0) {
+            return new IndexSample(indexSize, Math.min(indexSize, 1), indexSize);
+        }
+
+        double rate = (double) totalTransitions / totalPairs;
+        double variance;
+        int chunks = pairs.length;
+        if (chunks > 1) {
+            double meanPairs = (double) totalPairs / chunks;
+            double sumOfSquares = 0;
+            for (int i = 0; i < chunks; i++) {
+                double residual = transitions[i] - rate * pairs[i];
+                sumOfSquares += residual * residual;
+            }
+            variance = sumOfSquares / ((double) chunks * (chunks - 1) * meanPairs * meanPairs);
+        } else {
+            variance = rate * (1 - rate) / totalPairs;
+        }
+        // A sample without any variance still can't tell transitions apart more finely than one in the sampled pairs
+        double standardError = Math.max(Math.sqrt(variance), 1d / totalPairs);
+
+        double uniqueValues = Math.min(indexSize, 1 + rate * (indexSize - 1));
+        double uniqueValuesError = standardError * (indexSize - 1) / uniqueValues;
+        return new IndexSample(indexSize, Math.round(uniqueValues), indexSize, 0, uniqueValuesError);
+    }
+
+    private IndexSample fullScan(CursorContext cursorContext) {
+        return new FullScanNonUniqueIndexSampler<>(gbpTree, layout, valueHistogram).sample(cursorContext);
+    }
+
+    private static <KEY extends NativeIndexKey<KEY>> void include(IndexValueHistogramBuilder histogram, KEY key) {
+        if (histogram != null) {
+            histogram.include(key.firstValue());
+        }
+    }
+
+    private static int[] pickPartitions(int numberOfPartitions, int numberOfChunks) {
+        int[] partitions = new int[numberOfPartitions];
+        Arrays.setAll(partitions, i -> i);
+        if (numberOfPartitions <= numberOfChunks) {
+            return partitions;
+        }
+        // Partial Fisher-Yates shuffle, then visit the picked partitions in key order for locality
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < numberOfChunks; i++) {
+            int pick = i + random.nextInt(numberOfPartitions - i);
+            int tmp = partitions[i];
+            partitions[i] = partitions[pick];
+            partitions[pick] = tmp;
+        }
+        int[] picked = Arrays.copyOf(partitions, numberOfChunks);
+        Arrays.sort(picked);
+        return picked;
+    }
+
+    private KEY lowest() {
+        KEY lowest = layout.newKey();
+        lowest.initialize(Long.MIN_VALUE);
+        lowest.initValuesAsLowest();
+        return lowest;
+    }
+
+    private KEY highest() {
+        KEY highest = layout.newKey();
+        highest.initialize(Long.MAX_VALUE);
+        highest.initValuesAsHighest();
+        return highest;
+    }
+}
@@ -78,7 +78,7 @@ public class PointBlockBasedIndexPopulator extends BlockBasedIndexPopulator<Poin
 
     @Override
     NativeIndexReader<PointKey> newReader() {
-        return new PointIndexReader(tree, layout, descriptor, spatialSettings, configuration);
+        return new PointIndexReader(tree, layout, descriptor, IndexBloomFilter.NONE, 0, spatialSettings, configuration);
     }
 
     @Override
@@ -54,7 +54,8 @@ class PointIndexAccessor extends NativeIndexAccessor<PointKey> {
     @Override
     public ValueIndexReader newValueReader() {
         assertOpen();
-        return new PointIndexReader(tree, layout, descriptor, spaceFillingCurveSettings, configuration);
+        return new PointIndexReader(
+                tree, layout, descriptor, bloomFilter, samplingEntries, spaceFillingCurveSettings, configuration);
     }
 
     @Override
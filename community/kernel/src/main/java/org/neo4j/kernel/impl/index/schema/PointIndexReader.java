@@ -50,9 +50,11 @@ class PointIndexReader extends NativeIndexReader<PointKey> {
             GBPTree<PointKey, NullValue> tree,
             IndexLayout<PointKey> layout,
             IndexDescriptor descriptor,
+            IndexBloomFilter bloomFilter,
+            int samplingEntries,
             IndexSpecificSpaceFillingCurveSettings spaceFillingCurveSettings,
             SpaceFillingCurveConfiguration configuration) {
-        super(tree, layout, descriptor);
+        super(tree, layout, descriptor, bloomFilter, samplingEntries);
 
         this.spaceFillingCurveSettings = spaceFillingCurveSettings;
         this.configuration = configuration;
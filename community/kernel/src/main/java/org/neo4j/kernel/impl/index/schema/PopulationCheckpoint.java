@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+/**
+ * Saved state of a {@link BlockBasedIndexPopulator} whose store scan hasn't completed, written to a file next to the index on every
+ * checkpoint of the population. Population can resume from this state after a restart, instead of scanning the store from the beginning.
+ * <p>
+ * The state is the highest entity id the store scan had processed, together with how far each of the files with scan updates and the
+ * file with external updates had been written. Anything written to those files after the checkpoint is discarded when resuming.
+ *
+ * @param scannedEntityId the highest entity id the store scan had processed.
+ * @param externalUpdates the state of the file with external updates.
+ * @param scanUpdates the state of each of the files with scan updates, in the order of their ids.
+ */
+record PopulationCheckpoint(
+        long scannedEntityId,
+        SimpleEntryStorage.Checkpoint externalUpdates,
+        List<BlockStorage.Checkpoint> scanUpdates) {
+    static final String FILE_SUFFIX = ".progress";
+
+    private static final long MAGIC = 0x506F_7050_726F_6772L;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES + Long.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    private static final int SCAN_UPDATES_SIZE = 3 * Long.BYTES;
+
+    static Path fileFor(IndexFiles indexFiles) {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling(storeFile.getFileName() + FILE_SUFFIX);
+    }
+
+    /**
+     * Writes this checkpoint to the given file, replacing the previous one. The file is replaced atomically, so that a crash
+     * while writing leaves the previous checkpoint in place.
+     */
+    void write(FileSystemAbstraction fs, Path file) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        fs.deleteFile(tempFile);
+        try (StoreChannel channel = fs.write(tempFile)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + SCAN_UPDATES_SIZE * scanUpdates.size());
+            buffer.putLong(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(scannedEntityId)
+                    .putLong(externalUpdates.position())
+                    .putLong(externalUpdates.count())
+                    .putInt(scanUpdates.size());
+            for (BlockStorage.Checkpoint part : scanUpdates) {
+                buffer.putLong(part.position()).putLong(part.numberOfBlocks()).putLong(part.entryCount());
+            }
+            channel.writeAll(buffer.flip());
+            channel.force(false);
+        }
+        fs.renameFile(tempFile, file, REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the checkpoint written to the given file, if there is one.
+     *
+     * @return the checkpoint read from the file, or {@code null} if the file is missing or otherwise unusable.
+     */
+    static PopulationCheckpoint read(FileSystemAbstraction fs, Path file) throws IOException {
+        if (!fs.fileExists(file)) {
+            return null;
+        }
+        try (StoreChannel channel = fs.read(file)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.readAll(header);
+            header.flip();
+            long magic = header.getLong();
+            int version = header.getInt();
+            long scannedEntityId = header.getLong();
+            var externalUpdates = new SimpleEntryStorage.Checkpoint(header.getLong(), header.getLong());
+            int numberOfParts = header.getInt();
+            if (magic != MAGIC
+                    || version != FORMAT_VERSION
+                    || scannedEntityId < 0
+                    || numberOfParts < 0
+                    || channel.size() != HEADER_SIZE + (long) SCAN_UPDATES_SIZE * numberOfParts) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_UPDATES_SIZE * numberOfParts);
+            channel.readAll(buffer);
+            buffer.flip();
+            BlockStorage.Checkpoint[] scanUpdates = new BlockStorage.Checkpoint[numberOfParts];
+            for (int i = 0; i < numberOfParts; i++) {
+                scanUpdates[i] = new BlockStorage.Checkpoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            }
+            return new PopulationCheckpoint(scannedEntityId, externalUpdates, List.of(scanUpdates));
+        }
+    }
+
+    static void delete(FileSystemAbstraction fs, IndexFiles indexFiles) throws IOException {
+        fs.deleteFile(fileFor(indexFiles));
+    }
+}
@@ -59,7 +59,12 @@ class RangeBlockBasedIndexPopulator extends BlockBasedIndexPopulator<RangeKey> {
 
     @Override
     NativeIndexReader<RangeKey> newReader() {
-        return new RangeIndexReader(tree, layout, descriptor);
+        return new RangeIndexReader(tree, layout, descriptor, IndexBloomFilter.NONE, 0);
+    }
+
+    @Override
+    boolean sampleValueHistogram() {
+        return RangeIndexReader.sampleValueHistogram(descriptor);
     }
 
     @Override
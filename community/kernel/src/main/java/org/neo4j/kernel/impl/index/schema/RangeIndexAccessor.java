@@ -54,7 +54,7 @@ public class RangeIndexAccessor extends NativeIndexAccessor<RangeKey> {
     @Override
     public ValueIndexReader newValueReader() {
         assertOpen();
-        return new RangeIndexReader(tree, layout, descriptor);
+        return new RangeIndexReader(tree, layout, descriptor, bloomFilter, samplingEntries);
     }
 
     @Override
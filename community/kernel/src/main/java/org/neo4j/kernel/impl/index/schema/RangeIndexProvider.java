@@ -22,6 +22,8 @@ package org.neo4j.kernel.impl.index.schema;
 import static org.neo4j.internal.schema.IndexCapability.NO_CAPABILITY;
 
 import java.nio.file.OpenOption;
+import java.util.Arrays;
+import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
@@ -43,6 +45,7 @@ import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.IntArray;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueCategory;
 
@@ -131,7 +134,7 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
     @Override
     RangeLayout layout(IndexDescriptor descriptor) {
         int numberOfSlots = descriptor.schema().getPropertyIds().length;
-        return new RangeLayout(numberOfSlots);
+        return new RangeLayout(numberOfSlots, descriptor.getIncludedPropertyIds().length);
     }
 
     @Override
@@ -189,6 +192,35 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
                     + " index schema is not a range index schema, which it is required to be for the '"
                     + getProviderDescriptor().name() + "' index provider to be able to create an index.");
         }
+
+        validateIncludedProperties(prototype);
+    }
+
+    private static void validateIncludedProperties(IndexPrototype prototype) {
+        Value included = prototype.getIndexConfig().get(IndexDescriptor.INCLUDED_PROPERTIES_SETTING);
+        if (included == null) {
+            return;
+        }
+        if (!(included instanceof IntArray includedPropertyIds)) {
+            throw new IllegalArgumentException("The '" + IndexDescriptor.INCLUDED_PROPERTIES_SETTING
+                    + "' index setting must be an array of property key ids, but was " + included + ".");
+        }
+        int[] propertyIds = prototype.schema().getPropertyIds();
+        int[] includedIds = includedPropertyIds.asObject();
+        for (int i = 0; i < includedIds.length; i++) {
+            int propertyId = includedIds[i];
+            if (propertyId < 0 || ArrayUtils.contains(propertyIds, propertyId)) {
+                throw new IllegalArgumentException("Property key id " + propertyId
+                        + " can't be an included property of an index with the property key ids "
+                        + Arrays.toString(propertyIds) + ".");
+            }
+            for (int j = 0; j < i; j++) {
+                if (includedIds[j] == propertyId) {
+                    throw new IllegalArgumentException(
+                            "Property key id " + propertyId + " is included more than once in " + prototype + ".");
+                }
+            }
+        }
     }
 
     @Override
@@ -207,6 +239,11 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
             return true;
         }
 
+        @Override
+        public boolean supportsSkipScan() {
+            return true;
+        }
+
         @Override
         public boolean areValueCategoriesAccepted(ValueCategory... valueCategories) {
             Preconditions.requireNonEmpty(valueCategories);
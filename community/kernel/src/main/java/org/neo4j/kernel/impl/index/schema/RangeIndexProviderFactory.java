@@ -24,6 +24,7 @@ import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByPr
 import java.nio.file.Path;
 import org.neo4j.common.DependencyResolver;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
@@ -102,6 +103,8 @@ public class RangeIndexProviderFactory extends AbstractIndexProviderFactory<Rang
                 .withTag(monitorTag)
                 .withReadOnlyChecker(readOnlyChecker)
                 .withDependencyResolver(dependencyResolver)
+                .withBloomFilters(config.get(GraphDatabaseInternalSettings.index_bloom_filters))
+                .withSamplingEntries(config.get(GraphDatabaseInternalSettings.index_sampling_native_sample_size))
                 .build();
         return new RangeIndexProvider(databaseIndexContext, directoryStructure, recoveryCleanupWorkCollector, config);
     }
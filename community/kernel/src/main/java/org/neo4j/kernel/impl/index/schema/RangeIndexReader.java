@@ -28,23 +28,69 @@ import java.util.Arrays;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
 import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
 
 public class RangeIndexReader extends NativeIndexReader<RangeKey> {
-    RangeIndexReader(GBPTree<RangeKey, NullValue> tree, IndexLayout<RangeKey> layout, IndexDescriptor descriptor) {
-        super(tree, layout, descriptor);
+    RangeIndexReader(
+            GBPTree<RangeKey, NullValue> tree,
+            IndexLayout<RangeKey> layout,
+            IndexDescriptor descriptor,
+            IndexBloomFilter bloomFilter,
+            int samplingEntries) {
+        super(tree, layout, descriptor, bloomFilter, samplingEntries);
+    }
+
+    @Override
+    boolean sampleValueHistogram() {
+        return sampleValueHistogram(descriptor);
+    }
+
+    static boolean sampleValueHistogram(IndexDescriptor descriptor) {
+        // The planner only uses single property indexes for estimating range predicates
+        return descriptor.schema().getPropertyIds().length == 1;
     }
 
     @Override
     void validateQuery(IndexQueryConstraints constraints, PropertyIndexQuery... predicates) {
         validateNoUnsupportedPredicates(predicates);
         QueryValidator.validateOrder(RangeIndexProvider.CAPABILITY, constraints.order(), predicates);
-        QueryValidator.validateCompositeQuery(predicates);
+        QueryValidator.validateCompositeQuery(
+                isSkipScanQuery(predicates) ? Arrays.copyOfRange(predicates, 1, predicates.length) : predicates);
+    }
+
+    @Override
+    void startSeekForInitializedRange(
+            IndexProgressor.EntityValueClient client,
+            RangeKey treeKeyFrom,
+            RangeKey treeKeyTo,
+            CursorContext cursorContext,
+            AccessMode accessMode,
+            boolean needFilter,
+            IndexQueryConstraints constraints,
+            PropertyIndexQuery... query) {
+        if (!isSkipScanQuery(query) || isEmptyResultQuery(query)) {
+            super.startSeekForInitializedRange(
+                    client, treeKeyFrom, treeKeyTo, cursorContext, accessMode, needFilter, constraints, query);
+            return;
+        }
+        IndexProgressor progressor = new SkipScanIndexProgressor(
+                tree,
+                layout,
+                treeKeyFrom,
+                treeKeyTo,
+                constraints.order() == IndexOrder.DESCENDING,
+                client,
+                cursorContext);
+        client.initialize(descriptor, progressor, accessMode, false, false, constraints, query);
     }
 
     @Override
@@ -84,6 +130,26 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey> {
                         "IndexQuery of type " + predicate.type() + " is not supported.");
             }
         }
+        // Seeks over the whole range of a skip-scan query, like partitioned ones, see entries of every value of the
+        // leading
+        // property and need to filter out those not matching the trailing predicates
+        return isSkipScanQuery(predicates);
+    }
+
+    /**
+     * @return whether the query leaves the leading property of a composite index unconstrained, but constrains a property after it.
+     * Such a query is answered by a {@link SkipScanIndexProgressor}, seeking the matching entries of every distinct value of the
+     * leading property.
+     */
+    static boolean isSkipScanQuery(PropertyIndexQuery... predicates) {
+        if (predicates.length < 2 || predicates[0].type() != IndexQueryType.EXISTS) {
+            return false;
+        }
+        for (int i = 1; i < predicates.length; i++) {
+            if (predicates[i].type() != IndexQueryType.EXISTS) {
+                return true;
+            }
+        }
         return false;
     }
 
@@ -22,21 +22,48 @@ package org.neo4j.kernel.impl.index.schema;
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.io.pagecache.PageCursor;
 
+/**
+ * Layout of range indexes. Keys hold the values of the properties of the index schema, followed by values of the included
+ * properties of the index, if it has any. Included values are stored in leaves only and are never compared, see
+ * {@link CompositeRangeKey}.
+ */
 class RangeLayout extends IndexLayout<RangeKey> {
     private final int numberOfSlots;
+    private final int numberOfIncludedSlots;
 
     RangeLayout(int numberOfSlots) {
-        super(false, Layout.namedIdentifier("RL", numberOfSlots), 0, 1);
+        this(numberOfSlots, 0);
+    }
+
+    RangeLayout(int numberOfSlots, int numberOfIncludedSlots) {
+        super(false, identifier(numberOfSlots, numberOfIncludedSlots), 0, 1);
         this.numberOfSlots = numberOfSlots;
+        this.numberOfIncludedSlots = numberOfIncludedSlots;
+    }
+
+    private static long identifier(int numberOfSlots, int numberOfIncludedSlots) {
+        return numberOfIncludedSlots == 0
+                ? Layout.namedIdentifier("RL", numberOfSlots)
+                : Layout.namedIdentifier("RLI", numberOfSlots << Short.SIZE | numberOfIncludedSlots);
+    }
+
+    /**
+     * Neighbouring keys in a range index share their leading values, e.g. strings with common prefixes or values of
+     * low cardinality leading slots of composite keys, so leaves are stored prefix compressed. Range indexes created
+     * with the uncompressed format fail to open with this layout and are re-populated.
+     */
+    @Override
+    public boolean compressKeyPrefixes() {
+        return true;
     }
 
     @Override
     public RangeKey newKey() {
-        return numberOfSlots == 1
+        return numberOfSlots == 1 && numberOfIncludedSlots == 0
                 // An optimized version which has the GenericKeyState built-in w/o indirection
                 ? new RangeKey()
                 // A version which has an indirection to GenericKeyState[]
-                : new CompositeRangeKey(numberOfSlots);
+                : new CompositeRangeKey(numberOfSlots, numberOfIncludedSlots);
     }
 
     @Override
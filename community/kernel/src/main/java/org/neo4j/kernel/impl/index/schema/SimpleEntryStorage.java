@@ -69,6 +69,7 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable {
     private StoreChannel storeChannel;
 
     private final AtomicLong count = new AtomicLong();
+    private boolean keepFileOnClose;
 
     SimpleEntryStorage(
             FileSystemAbstraction fs,
@@ -106,6 +107,41 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable {
         return count.get();
     }
 
+    /**
+     * Writes out the buffered entries and forces the file, so that the entries added so far survive a restart.
+     * Adding can continue after this call.
+     *
+     * @return the state to {@link #resume(Checkpoint) resume} adding from.
+     */
+    Checkpoint checkpoint() throws IOException {
+        if (!allocated) {
+            return new Checkpoint(0, 0);
+        }
+        flush();
+        storeChannel.force(false);
+        return new Checkpoint(storeChannel.position(), count.get());
+    }
+
+    /**
+     * Continues adding after the entries that were in the file at the given {@link #checkpoint()}, instead of starting with an empty file.
+     * Anything written to the file after that checkpoint is discarded. Must be called before anything is added.
+     */
+    void resume(Checkpoint checkpoint) throws IOException {
+        if (checkpoint.count() > 0) {
+            allocateResources();
+            storeChannel.truncate(checkpoint.position());
+            storeChannel.position(checkpoint.position());
+            count.set(checkpoint.count());
+        }
+    }
+
+    /**
+     * Makes {@link #close()} leave the file in place, e.g. to {@link #resume(Checkpoint) resume} from a checkpoint after a restart.
+     */
+    void keepFileOnClose() {
+        keepFileOnClose = true;
+    }
+
     void doneAdding() throws IOException {
         if (!allocated) {
             return;
@@ -119,7 +155,11 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable {
 
     @Override
     public void close() throws IOException {
-        if (allocated) {
+        if (keepFileOnClose) {
+            if (allocated) {
+                closeAllUnchecked(pageCursor, storeChannel, scopedBuffer);
+            }
+        } else if (allocated) {
             runAll(
                     "Failed while trying to close " + getClass().getSimpleName(),
                     () -> closeAllUnchecked(pageCursor, storeChannel, scopedBuffer),
@@ -173,4 +213,12 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable {
             this.allocated = true;
         }
     }
+
+    /**
+     * State of a {@link SimpleEntryStorage} at a {@link #checkpoint()}.
+     *
+     * @param position the length of the file, which ends with the last complete entry.
+     * @param count number of entries in the file.
+     */
+    record Checkpoint(long position, long count) {}
 }
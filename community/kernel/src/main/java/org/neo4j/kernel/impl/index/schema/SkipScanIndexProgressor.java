@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.values.storable.ValueGroup;
+
+/**
+ * {@link IndexProgressor} for composite range index queries which don't constrain the leading property, but do constrain the
+ * ones after it. Instead of scanning and filtering the whole index, the distinct values of the leading property are enumerated
+ * by seeking past all entries of the previous one, and for every such value only the entries matching the trailing predicates
+ * are seeked. This is cheap when the leading property has few distinct values compared to the number of entries.
+ * <p>
+ * Entries are found in index order, in the direction given at construction.
+ */
+class SkipScanIndexProgressor implements IndexProgressor {
+    private static final int LEADING_SLOT = 0;
+
+    private final GBPTree<RangeKey, NullValue> tree;
+    private final EntityValueClient client;
+    private final CursorContext cursorContext;
+    private final boolean descending;
+    private final CompositeRangeKey groupFrom;
+    private final CompositeRangeKey groupTo;
+    private final CompositeRangeKey skipFrom;
+    private final CompositeRangeKey skipTo;
+    private NativeHitIndexProgressor<RangeKey> group;
+    private boolean closed;
+
+    /**
+     * @param queryFrom the low end of the query range, with the leading slot as lowest and the trailing slots initialized from the
+     * predicates.
+     * @param queryTo the high end of the query range, like {@code queryFrom}.
+     */
+    SkipScanIndexProgressor(
+            GBPTree<RangeKey, NullValue> tree,
+            IndexLayout<RangeKey> layout,
+            RangeKey queryFrom,
+            RangeKey queryTo,
+            boolean descending,
+            EntityValueClient client,
+            CursorContext cursorContext) {
+        this.tree = tree;
+        this.client = client;
+        this.cursorContext = cursorContext;
+        this.descending = descending;
+        this.groupFrom = (CompositeRangeKey) layout.copyKey(queryFrom, layout.newKey());
+        this.groupTo = (CompositeRangeKey) layout.copyKey(queryTo, layout.newKey());
+        this.skipFrom = (CompositeRangeKey) layout.newKey();
+        this.skipTo = (CompositeRangeKey) layout.newKey();
+        initializeSkipKey(skipFrom, !descending);
+        initializeSkipKey(skipTo, descending);
+
+        // The trailing predicates are the same for every value of the leading property, so if they make an empty range
+        // for one of them they do so for all
+        groupFrom.initValueAsLowest(LEADING_SLOT, ValueGroup.UNKNOWN);
+        groupTo.initValueAsLowest(LEADING_SLOT, ValueGroup.UNKNOWN);
+        this.closed = layout.compare(groupFrom, groupTo) > 0;
+    }
+
+    @Override
+    public boolean next() {
+        while (!closed) {
+            if (group != null) {
+                if (group.next()) {
+                    return true;
+                }
+                group = null;
+            }
+            if (!seekNextLeadingValue()) {
+                close();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (group != null) {
+            group.close();
+            group = null;
+        }
+    }
+
+    /**
+     * Finds the next distinct value of the leading property and starts seeking the entries of it which match the query.
+     *
+     * @return whether or not there was another value of the leading property.
+     */
+    private boolean seekNextLeadingValue() {
+        try {
+            try (Seeker<RangeKey, NullValue> seeker = tree.seek(skipFrom, skipTo, cursorContext)) {
+                if (!seeker.next()) {
+                    return false;
+                }
+                CompositeRangeKey found = (CompositeRangeKey) seeker.key();
+                groupFrom.copySlotFrom(LEADING_SLOT, found);
+                groupTo.copySlotFrom(LEADING_SLOT, found);
+                // The next search starts right after all entries with this leading value, in the direction of the seek
+                initializeSkipKey(skipFrom, descending);
+                skipFrom.copySlotFrom(LEADING_SLOT, found);
+            }
+            Seeker<RangeKey, NullValue> seeker = descending
+                    ? tree.seek(groupTo, groupFrom, cursorContext)
+                    : tree.seek(groupFrom, groupTo, cursorContext);
+            group = new NativeHitIndexProgressor<>(seeker, client);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void initializeSkipKey(CompositeRangeKey key, boolean lowest) {
+        key.initialize(lowest ? Long.MIN_VALUE : Long.MAX_VALUE);
+        for (int i = 0; i < key.numberOfStateSlots(); i++) {
+            if (lowest) {
+                key.initValueAsLowest(i, ValueGroup.UNKNOWN);
+            } else {
+                key.initValueAsHighest(i, ValueGroup.UNKNOWN);
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
 import java.util.function.IntFunction;
 import java.util.function.LongPredicate;
 import org.eclipse.collections.api.block.function.primitive.LongToLongFunction;
@@ -118,6 +119,17 @@ public class TokenIndexAccessor extends TokenIndex implements IndexAccessor {
         // not required in this implementation
     }
 
+    @Override
+    public long compact(BooleanSupplier continueCompaction, CursorContext cursorContext) {
+        TreeCompactionMonitor monitor = new TreeCompactionMonitor(continueCompaction);
+        try {
+            index.compact(monitor, cursorContext);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return monitor.releasedTreeNodes();
+    }
+
     @Override
     public void close() {
         closeResources();
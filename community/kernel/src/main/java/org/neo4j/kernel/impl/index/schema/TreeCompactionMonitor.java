@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.function.BooleanSupplier;
+import org.neo4j.index.internal.gbptree.CompactionMonitor;
+
+/**
+ * Stops the compaction of an index tree when asked to and keeps track of the number of tree nodes it released.
+ */
+class TreeCompactionMonitor implements CompactionMonitor {
+    private final BooleanSupplier continueCompaction;
+    private long releasedTreeNodes;
+
+    TreeCompactionMonitor(BooleanSupplier continueCompaction) {
+        this.continueCompaction = continueCompaction;
+    }
+
+    @Override
+    public boolean batchCompleted(long visitedLeaves, long releasedTreeNodes) {
+        return continueCompaction.getAsBoolean();
+    }
+
+    @Override
+    public void compactionCompleted(long visitedLeaves, long releasedTreeNodes) {
+        this.releasedTreeNodes = releasedTreeNodes;
+    }
+
+    long releasedTreeNodes() {
+        return releasedTreeNodes;
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.newapi;
 
 import static java.util.Arrays.stream;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
 import static org.neo4j.internal.kernel.api.Read.NO_ID;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForBoundingBoxSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
@@ -61,6 +62,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueTuple;
+import org.neo4j.values.storable.Values;
 
 abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexProgressor, CURSOR>
         implements ValueIndexCursor, IndexResultScore, EntityIndexSeekClient, SortedMergeJoin.Sink {
@@ -81,6 +83,10 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
     private boolean shortcutSecurity;
     private boolean needStoreFilter;
     private PropertySelection propertySelection;
+    private int numberOfIndexedProperties;
+    private int[] includedPropertyIds = EMPTY_INT_ARRAY;
+    private boolean includedValuesFromIndex;
+    private Value[] includedValues;
 
     DefaultEntityValueIndexCursor(CursorPool<CURSOR> pool, MemoryTracker memoryTracker) {
         super(pool);
@@ -117,6 +123,13 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         this.accessMode = accessMode;
         shortcutSecurity = setupSecurity(descriptor);
 
+        this.numberOfIndexedProperties = descriptor.schema().getPropertyIds().length;
+        this.includedPropertyIds = descriptor.getIncludedPropertyIds();
+        // Included values in the index are those of committed entities, visible to the index regardless of security
+        this.includedValuesFromIndex = includedPropertyIds.length > 0
+                && !read.hasTxStateWithChanges()
+                && (allowsAll() || canReadPropertiesOfAllEntities(includedPropertyIds, accessMode));
+
         if (!indexIncludesTransactionState && read.hasTxStateWithChanges() && query.length > 0) {
             // Extract out the equality queries
             List<Value> exactQueryValues = new ArrayList<>(query.length);
@@ -203,7 +216,15 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         } else {
             this.entity = reference;
             this.score = score;
-            this.values = values;
+            if (values != null && values.length > numberOfIndexedProperties) {
+                this.values = Arrays.copyOf(values, numberOfIndexedProperties);
+                this.includedValues = includedValuesFromIndex
+                        ? Arrays.copyOfRange(values, numberOfIndexedProperties, values.length)
+                        : null;
+            } else {
+                this.values = values;
+                this.includedValues = null;
+            }
             return true;
         }
     }
@@ -240,6 +261,7 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         if (!needsValues && added.hasNext()) {
             this.entity = added.next();
             this.values = null;
+            this.includedValues = null;
             if (tracer != null) {
                 traceOnEntity(tracer, entity);
             }
@@ -248,6 +270,7 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
             EntityWithPropertyValues entityWithPropertyValues = addedWithValues.next();
             this.entity = entityWithPropertyValues.getEntityId();
             this.values = entityWithPropertyValues.getValues();
+            this.includedValues = null;
             if (tracer != null) {
                 traceOnEntity(tracer, entity);
             }
@@ -283,6 +306,9 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
 
     @Override
     public final void acceptSortedMergeJoin(long entityId, Value[] values) {
+        if (entityId != this.entity) {
+            this.includedValues = null;
+        }
         this.entity = entityId;
         this.values = values;
     }
@@ -312,6 +338,19 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         return values[offset];
     }
 
+    @Override
+    public final int numberOfIncludedProperties() {
+        return includedPropertyIds.length;
+    }
+
+    @Override
+    public final Value includedPropertyValue(int offset) {
+        if (includedValues == null) {
+            includedValues = readPropertyValues(entity, includedPropertyIds);
+        }
+        return includedValues[offset];
+    }
+
     @Override
     public final void closeInternal() {
         if (!isClosed()) {
@@ -320,6 +359,8 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
             this.score = Float.NaN;
             this.query = null;
             this.values = null;
+            this.includedValues = null;
+            this.includedPropertyIds = EMPTY_INT_ARRAY;
             this.read = null;
             this.accessMode = null;
             this.added = ImmutableEmptyLongIterator.INSTANCE;
@@ -446,6 +487,25 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         return entity;
     }
 
+    static Value[] noValues(int[] propertyIds) {
+        Value[] values = new Value[propertyIds.length];
+        Arrays.fill(values, Values.NO_VALUE);
+        return values;
+    }
+
+    static Value[] propertyValues(DefaultPropertyCursor propertyCursor, int[] propertyIds) {
+        Value[] values = noValues(propertyIds);
+        while (propertyCursor.next()) {
+            int propertyKey = propertyCursor.propertyKey();
+            for (int i = 0; i < propertyIds.length; i++) {
+                if (propertyIds[i] == propertyKey) {
+                    values[i] = propertyCursor.propertyValue();
+                }
+            }
+        }
+        return values;
+    }
+
     final void readEntity(EntityReader entityReader) {
         entityReader.read(read);
     }
@@ -465,6 +525,17 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
      */
     abstract boolean canAccessAllDescribedEntities(IndexDescriptor descriptor, AccessMode accessMode);
 
+    /**
+     * Check that the user is allowed to read the given properties of all entities of this cursor's entity type.
+     */
+    abstract boolean canReadPropertiesOfAllEntities(int[] propertyIds, AccessMode accessMode);
+
+    /**
+     * Reads the values of the given properties of an entity, as seen by the current transaction and security context.
+     * Properties that the entity doesn't have, or that can't be read, get {@link Values#NO_VALUE}.
+     */
+    abstract Value[] readPropertyValues(long reference, int[] propertyIds);
+
     /**
      * Gets entities removed in the current transaction that are relevant for the index.
      */
@@ -38,6 +38,7 @@ import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.storageengine.api.AllNodeScan;
 import org.neo4j.storageengine.api.Degrees;
+import org.neo4j.storageengine.api.NodeBatch;
 import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.storageengine.api.Reference;
 import org.neo4j.storageengine.api.RelationshipSelection;
@@ -354,10 +355,34 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
         return false;
     }
 
+    @Override
+    public boolean nextBatch(NodeBatch batch) {
+        if (isSingle || hasChanges() || !allowsTraverseAllNodes()) {
+            // The batch needs to be merged with tx state or filtered by security, which is done per node
+            return NodeCursor.super.nextBatch(batch);
+        }
+
+        currentAddedInTx = NO_ID;
+        if (!storeCursor.nextBatch(batch)) {
+            return false;
+        }
+        if (tracer != null) {
+            long[] ids = batch.ids();
+            for (int i = 0; i < batch.size(); i++) {
+                tracer.onNode(ids[i]);
+            }
+        }
+        return true;
+    }
+
     boolean allowsTraverse() {
         return accessMode.allowsTraverseAllLabels() || accessMode.allowsTraverseNode(storeCursor.labels());
     }
 
+    boolean allowsTraverseAllNodes() {
+        return accessMode.allowsTraverseAllLabels();
+    }
+
     boolean allowsTraverseAll() {
         return accessMode.allowsTraverseAllRelTypes() && accessMode.allowsTraverseAllLabels();
     }
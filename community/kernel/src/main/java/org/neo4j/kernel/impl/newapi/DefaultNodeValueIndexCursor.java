@@ -33,6 +33,7 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.values.storable.Value;
 
 class DefaultNodeValueIndexCursor extends DefaultEntityValueIndexCursor<DefaultNodeValueIndexCursor>
         implements NodeValueIndexCursor {
@@ -151,6 +152,26 @@ class DefaultNodeValueIndexCursor extends DefaultEntityValueIndexCursor<DefaultN
         }
     }
 
+    @Override
+    boolean canReadPropertiesOfAllEntities(int[] propertyIds, AccessMode accessMode) {
+        for (int propertyId : propertyIds) {
+            if (!accessMode.allowsReadPropertyAllLabels(propertyId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Value[] readPropertyValues(long reference, int[] propertyIds) {
+        readEntity(read -> read.singleNode(reference, securityNodeCursor));
+        if (securityNodeCursor.next()) {
+            securityNodeCursor.properties(propertyCursor, PropertySelection.selection(propertyIds));
+            return propertyValues(propertyCursor, propertyIds);
+        }
+        return noValues(propertyIds);
+    }
+
     @Override
     protected boolean doStoreValuePassesQueryFilter(
             long reference, PropertySelection propertySelection, PropertyIndexQuery[] query) {
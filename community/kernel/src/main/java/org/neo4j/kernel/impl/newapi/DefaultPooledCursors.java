@@ -502,7 +502,17 @@ public class DefaultPooledCursors extends DefaultCursors implements CursorFactor
         fullAccessRelationshipTypeIndexCursor = cursor;
     }
 
+    /**
+     * Releases all pooled cursors.
+     */
     public void release() {
+        releaseTransactionScoped();
+        if (propertyCursor != null) {
+            propertyCursor.release();
+        }
+        if (fullAccessPropertyCursor != null) {
+            fullAccessPropertyCursor.release();
+        }
         if (nodeCursor != null) {
             nodeCursor.release();
         }
@@ -521,11 +531,29 @@ public class DefaultPooledCursors extends DefaultCursors implements CursorFactor
         if (fullAccessRelationshipTraversalCursor != null) {
             fullAccessRelationshipTraversalCursor.release();
         }
+        propertyCursor = null;
+        fullAccessPropertyCursor = null;
+        nodeCursor = null;
+        fullAccessNodeCursor = null;
+        relationshipScanCursor = null;
+        fullAccessRelationshipScanCursor = null;
+        relationshipTraversalCursor = null;
+        fullAccessRelationshipTraversalCursor = null;
+    }
+
+    /**
+     * Releases what the pooled cursors hold on to that can't outlive the transaction that used them, keeping the node, relationship
+     * and property cursors themselves so that they can be handed out again to the next transaction using this instance. Those are
+     * only bound to the storage reader, store cursors and cursor context of this instance, and are re-initialized by every use.
+     * The memory that property cursors have allocated from the memory tracker of the transaction is released though, and
+     * index cursors, which hold on to memory trackers of their own, are released altogether.
+     */
+    public void releaseTransactionScoped() {
         if (propertyCursor != null) {
-            propertyCursor.release();
+            propertyCursor.releaseTrackedMemory();
         }
         if (fullAccessPropertyCursor != null) {
-            fullAccessPropertyCursor.release();
+            fullAccessPropertyCursor.releaseTrackedMemory();
         }
         if (nodeValueIndexCursor != null) {
             nodeValueIndexCursor.release();
@@ -551,16 +579,9 @@ public class DefaultPooledCursors extends DefaultCursors implements CursorFactor
         if (fullAccessRelationshipTypeIndexCursor != null) {
             fullAccessRelationshipTypeIndexCursor.release();
         }
-        nodeCursor = null;
-        fullAccessNodeCursor = null;
-        relationshipScanCursor = null;
-        fullAccessRelationshipScanCursor = null;
-        relationshipTraversalCursor = null;
-        fullAccessRelationshipTraversalCursor = null;
-        propertyCursor = null;
-        fullAccessPropertyCursor = null;
         nodeValueIndexCursor = null;
         fullAccessNodeValueIndexCursor = null;
+        fullAccessRelationshipValueIndexCursor = null;
         nodeLabelIndexCursor = null;
         fullAccessNodeLabelIndexCursor = null;
         relationshipValueIndexCursor = null;
@@ -293,6 +293,12 @@ public class DefaultPropertyCursor extends TraceableCursor<DefaultPropertyCursor
         }
     }
 
+    void releaseTrackedMemory() {
+        if (storeCursor != null) {
+            storeCursor.releaseTrackedMemory();
+        }
+    }
+
     public void release() {
         if (storeCursor != null) {
             storeCursor.close();
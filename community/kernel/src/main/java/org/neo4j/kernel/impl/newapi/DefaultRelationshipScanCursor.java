@@ -27,6 +27,7 @@ import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.storageengine.api.AllRelationshipsScan;
+import org.neo4j.storageengine.api.RelationshipBatch;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
 
 class DefaultRelationshipScanCursor extends DefaultRelationshipCursor implements RelationshipScanCursor {
@@ -117,10 +118,34 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor implements
         return false;
     }
 
+    @Override
+    public boolean nextBatch(RelationshipBatch batch) {
+        if (isSingle || hasChanges() || !allowedAll()) {
+            // The batch needs to be merged with tx state or filtered by security, which is done per relationship
+            return RelationshipScanCursor.super.nextBatch(batch);
+        }
+
+        currentAddedInTx = NO_ID;
+        if (!storeCursor.nextBatch(batch)) {
+            return false;
+        }
+        if (tracer != null) {
+            long[] ids = batch.ids();
+            for (int i = 0; i < batch.size(); i++) {
+                tracer.onRelationship(ids[i]);
+            }
+        }
+        return true;
+    }
+
     boolean allowed() {
         return accessMode.allowsTraverseRelType(storeCursor.type()) && allowedToSeeEndNode(accessMode);
     }
 
+    boolean allowedAll() {
+        return accessMode.allowsTraverseAllRelTypes() && accessMode.allowsTraverseAllLabels();
+    }
+
     private boolean allowedToSeeEndNode(AccessMode mode) {
         if (mode.allowsTraverseAllLabels()) {
             return true;
@@ -34,6 +34,7 @@ import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.storageengine.api.Reference;
+import org.neo4j.values.storable.Value;
 
 class DefaultRelationshipValueIndexCursor extends DefaultEntityValueIndexCursor<DefaultRelationshipValueIndexCursor>
         implements RelationshipValueIndexCursor {
@@ -115,6 +116,26 @@ class DefaultRelationshipValueIndexCursor extends DefaultEntityValueIndexCursor<
         }
     }
 
+    @Override
+    boolean canReadPropertiesOfAllEntities(int[] propertyIds, AccessMode accessMode) {
+        for (int propertyId : propertyIds) {
+            if (!accessMode.allowsReadPropertyAllRelTypes(propertyId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Value[] readPropertyValues(long reference, int[] propertyIds) {
+        readEntity(read -> read.singleRelationship(reference, relationshipScanCursor));
+        if (relationshipScanCursor.next()) {
+            relationshipScanCursor.properties(propertyCursor, PropertySelection.selection(propertyIds));
+            return propertyValues(propertyCursor, propertyIds);
+        }
+        return noValues(propertyIds);
+    }
+
     @Override
     protected boolean doStoreValuePassesQueryFilter(
             long reference, PropertySelection propertySelection, PropertyIndexQuery[] query) {
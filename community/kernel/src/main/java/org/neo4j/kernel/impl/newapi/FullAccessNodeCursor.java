@@ -36,6 +36,11 @@ class FullAccessNodeCursor extends DefaultNodeCursor {
         return true;
     }
 
+    @Override
+    final boolean allowsTraverseAllNodes() {
+        return true;
+    }
+
     @Override
     final boolean allowsTraverseAll() {
         return true;
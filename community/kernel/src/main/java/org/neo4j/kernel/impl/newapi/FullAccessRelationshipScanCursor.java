@@ -31,4 +31,9 @@ public class FullAccessRelationshipScanCursor extends DefaultRelationshipScanCur
     final boolean allowed() {
         return true;
     }
+
+    @Override
+    final boolean allowedAll() {
+        return true;
+    }
 }
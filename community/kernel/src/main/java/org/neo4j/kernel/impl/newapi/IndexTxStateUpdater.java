@@ -102,7 +102,16 @@ public class IndexTxStateUpdater {
                 memoryTracker.allocateHeap(valueTuple.getShallowSize());
                 switch (changeType) {
                     case ADDED_LABEL -> {
-                        indexingService.validateBeforeCommit(index, values, node.nodeReference());
+                        Value[] valuesToValidate = withIncludedValues(
+                                index,
+                                values,
+                                node,
+                                propertyCursor,
+                                NO_SUCH_PROPERTY_KEY,
+                                NO_VALUE,
+                                materializedProperties,
+                                memoryTracker);
+                        indexingService.validateBeforeCommit(index, valuesToValidate, node.nodeReference());
                         read.txState().indexDoUpdateEntry(index.schema(), node.nodeReference(), null, valueTuple);
                     }
                     case REMOVED_LABEL -> read.txState()
@@ -273,12 +282,22 @@ public class IndexTxStateUpdater {
                         schema.getPropertyIds(),
                         materializedProperties,
                         memoryTracker);
-                indexingService.validateBeforeCommit(index, values, entity.reference());
+                Value[] valuesToValidate = withIncludedValues(
+                        index,
+                        values,
+                        entity,
+                        propertyCursor,
+                        propertyKeyId,
+                        value,
+                        materializedProperties,
+                        memoryTracker);
+                indexingService.validateBeforeCommit(index, valuesToValidate, entity.reference());
                 ValueTuple valueTuple = ValueTuple.of(values);
                 memoryTracker.allocateHeap(valueTuple.getShallowSize());
                 read.txState().indexDoUpdateEntry(schema, entity.reference(), null, valueTuple);
             });
         }
+        onIncludedPropertySet(entity, entityType, propertyCursor, tokens, propertyKeyId, existingPropertyKeyIds, value);
     }
 
     private void onPropertyRemove(
@@ -343,7 +362,16 @@ public class IndexTxStateUpdater {
                 int k = ArrayUtils.indexOf(propertyIds, propertyKeyId);
                 valuesBefore[k] = beforeValue;
 
-                indexingService.validateBeforeCommit(index, valuesAfter, entity.reference());
+                Value[] valuesToValidate = withIncludedValues(
+                        index,
+                        valuesAfter,
+                        entity,
+                        propertyCursor,
+                        propertyKeyId,
+                        afterValue,
+                        materializedProperties,
+                        memoryTracker);
+                indexingService.validateBeforeCommit(index, valuesToValidate, entity.reference());
                 ValueTuple valuesTupleBefore = ValueTuple.of(valuesBefore);
                 ValueTuple valuesTupleAfter = ValueTuple.of(valuesAfter);
                 memoryTracker.allocateHeap(
@@ -351,6 +379,76 @@ public class IndexTxStateUpdater {
                 read.txState().indexDoUpdateEntry(schema, entity.reference(), valuesTupleBefore, valuesTupleAfter);
             });
         }
+        onIncludedPropertySet(
+                entity, entityType, propertyCursor, tokens, propertyKeyId, existingPropertyKeyIds, afterValue);
+    }
+
+    /**
+     * An included property of an index has been added or changed. Which entries the index has in tx state is decided by its key
+     * properties only, so there's nothing to update, but the included values count towards the size of the entry.
+     */
+    private void onIncludedPropertySet(
+            EntityCursor entity,
+            EntityType entityType,
+            PropertyCursor propertyCursor,
+            long[] tokens,
+            int propertyKeyId,
+            int[] existingPropertyKeyIds,
+            Value value) {
+        Collection<IndexDescriptor> indexes =
+                storageReader.valueIndexesGetRelatedByIncludedProperty(tokens, propertyKeyId, entityType);
+        if (!indexes.isEmpty()) {
+            MutableIntObjectMap<Value> materializedProperties = IntObjectMaps.mutable.empty();
+            SchemaMatcher.onMatchingSchema(indexes.iterator(), propertyKeyId, existingPropertyKeyIds, index -> {
+                MemoryTracker memoryTracker = read.txState().memoryTracker();
+                Value[] values = getValueTuple(
+                        entity,
+                        propertyCursor,
+                        propertyKeyId,
+                        value,
+                        index.schema().getPropertyIds(),
+                        materializedProperties,
+                        memoryTracker);
+                Value[] valuesToValidate = withIncludedValues(
+                        index,
+                        values,
+                        entity,
+                        propertyCursor,
+                        propertyKeyId,
+                        value,
+                        materializedProperties,
+                        memoryTracker);
+                indexingService.validateBeforeCommit(index, valuesToValidate, entity.reference());
+            });
+        }
+    }
+
+    /**
+     * @return the values of the key properties followed by the values of the included properties of the index, or
+     * {@link org.neo4j.values.storable.Values#NO_VALUE} for included properties the entity doesn't have.
+     */
+    private static Value[] withIncludedValues(
+            IndexDescriptor index,
+            Value[] values,
+            EntityCursor entity,
+            PropertyCursor propertyCursor,
+            int changedPropertyKeyId,
+            Value changedValue,
+            MutableIntObjectMap<Value> materializedValues,
+            MemoryTracker memoryTracker) {
+        int[] includedPropertyIds = index.getIncludedPropertyIds();
+        if (includedPropertyIds.length == 0) {
+            return values;
+        }
+        Value[] includedValues = getValueTuple(
+                entity,
+                propertyCursor,
+                changedPropertyKeyId,
+                changedValue,
+                includedPropertyIds,
+                materializedValues,
+                memoryTracker);
+        return ArrayUtils.addAll(values, includedValues);
     }
 
     private static Value[] getValueTuple(
@@ -1390,6 +1390,22 @@ public class Operations implements Write, SchemaWrite {
     }
 
     public void release() {
+        closeInternalCursors();
+        cursors.assertClosed();
+        cursors.release();
+    }
+
+    /**
+     * Same as {@link #release()}, but keeps the pooled cursors that the next transaction can reuse,
+     * see {@link DefaultPooledCursors#releaseTransactionScoped()}.
+     */
+    public void releaseKeepingReusableCursors() {
+        closeInternalCursors();
+        cursors.assertClosed();
+        cursors.releaseTransactionScoped();
+    }
+
+    private void closeInternalCursors() {
         if (nodeCursor != null) {
             nodeCursor.close();
             nodeCursor = null;
@@ -1410,9 +1426,6 @@ public class Operations implements Write, SchemaWrite {
             restrictedPropertyCursor.close();
             restrictedPropertyCursor = null;
         }
-
-        cursors.assertClosed();
-        cursors.release();
     }
 
     public Token token() {
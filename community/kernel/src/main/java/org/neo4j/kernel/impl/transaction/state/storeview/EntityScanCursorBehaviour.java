@@ -31,4 +31,9 @@ interface EntityScanCursorBehaviour<CURSOR extends StorageEntityScanCursor<?>> {
     CURSOR allocateEntityScanCursor(CursorContext cursorContext, StoreCursors storeCursors);
 
     long[] readTokens(CURSOR cursor);
+
+    /**
+     * @return the highest id that an entity scanned by this behaviour can have right now, or {@code -1} if there are none.
+     */
+    long highestPossibleEntityId(CursorContext cursorContext);
 }
@@ -40,4 +40,9 @@ public class NodeCursorBehaviour implements EntityScanCursorBehaviour<StorageNod
     public long[] readTokens(StorageNodeCursor cursor) {
         return cursor.labels();
     }
+
+    @Override
+    public long highestPossibleEntityId(CursorContext cursorContext) {
+        return storageReader.nodesGetHighestPossibleIdInUse(cursorContext);
+    }
 }
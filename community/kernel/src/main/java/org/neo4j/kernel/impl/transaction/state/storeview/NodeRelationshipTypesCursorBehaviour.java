@@ -45,4 +45,9 @@ public class NodeRelationshipTypesCursorBehaviour implements EntityScanCursorBeh
     public long[] readTokens(StorageNodeCursor cursor) {
         return intsToLongs(cursor.relationshipTypes());
     }
+
+    @Override
+    public long highestPossibleEntityId(CursorContext cursorContext) {
+        return storageReader.nodesGetHighestPossibleIdInUse(cursorContext);
+    }
 }
@@ -51,4 +51,9 @@ public class NodeRelationshipsCursorBehaviour
     public long[] readTokens(StorageRelationshipByNodeScanCursor cursor) {
         return new long[] {cursor.type()};
     }
+
+    @Override
+    public long highestPossibleEntityId(CursorContext cursorContext) {
+        return storageReader.nodesGetHighestPossibleIdInUse(cursorContext);
+    }
 }
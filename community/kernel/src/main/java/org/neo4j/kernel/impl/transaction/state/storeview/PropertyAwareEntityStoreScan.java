@@ -47,6 +47,9 @@ import org.neo4j.storageengine.api.cursor.StoreCursors;
 /**
  * Scan store with the view given by iterator created by {@link #getEntityIdIterator(CursorContext, StoreCursors)}. This might be a full scan of the store
  * or a partial scan backed by the node label index.
+ * <p>
+ * A full scan of the store hands out ranges of entity ids without reading the store, see {@link EntityIdRangeIterator}. The entities in those
+ * ranges are then read concurrently by all the threads generating index updates, so the scan isn't limited by a single reading thread.
  *
  * @param <CURSOR> the type of cursor used to read the records.
  */
@@ -69,6 +72,10 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
     protected final TokenScanConsumer tokenScanConsumer;
     protected final PropertyScanConsumer propertyScanConsumer;
     private volatile StoreScanStage<CURSOR> stage;
+    // Number of ids to iterate over in a full scan of the store, which includes ids that are not in use
+    private volatile long idRangeCount = -1;
+    // Entities up to and including this id have been scanned by an earlier, interrupted, scan
+    private long resumeAfterEntityId = -1;
 
     protected PropertyAwareEntityStoreScan(
             Config config,
@@ -111,7 +118,7 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
             stage = new StoreScanStage<>(
                     dbConfig,
                     Configuration.DEFAULT,
-                    this::getEntityIdIterator,
+                    this::resumedEntityIdIterator,
                     externalUpdatesCheck,
                     continueScanning,
                     storageReader,
@@ -142,9 +149,10 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
     @Override
     public PopulationProgress getProgress() {
         StoreScanStage<CURSOR> observedStage = stage;
-        if (totalCount > 0 || observedStage == null) {
+        long total = Math.max(totalCount, idRangeCount);
+        if (total > 0 || observedStage == null) {
             return PopulationProgress.single(
-                    observedStage != null ? observedStage.numberOfIteratedEntities() : 0, totalCount);
+                    observedStage != null ? observedStage.numberOfIteratedEntities() : 0, total);
         }
 
         // nothing to do 100% completed
@@ -156,8 +164,93 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         this.phaseTracker = phaseTracker;
     }
 
+    @Override
+    public boolean resumeAfter(long entityId) {
+        if (!canDetermineExternalUpdatesCutOffPoint) {
+            // Entities aren't visited in id order, so there's no telling which of them an earlier scan has visited
+            return false;
+        }
+        resumeAfterEntityId = entityId;
+        return true;
+    }
+
     public EntityIdIterator getEntityIdIterator(CursorContext cursorContext, StoreCursors storeCursors) {
-        return new CursorEntityIdIterator<>(cursorBehaviour.allocateEntityScanCursor(cursorContext, storeCursors));
+        return new EntityIdRangeIterator(cursorContext);
+    }
+
+    private EntityIdIterator resumedEntityIdIterator(CursorContext cursorContext, StoreCursors storeCursors) {
+        EntityIdIterator iterator = getEntityIdIterator(cursorContext, storeCursors);
+        if (resumeAfterEntityId < 0 || iterator instanceof PropertyAwareEntityStoreScan<?>.EntityIdRangeIterator) {
+            return iterator;
+        }
+        return new SkippingEntityIdIterator(iterator, resumeAfterEntityId);
+    }
+
+    /**
+     * Iterates over all ids up to the highest possible id of the scanned entities. Ids that aren't in use are skipped by
+     * {@link GenerateIndexUpdatesStep} when it reads the entities.
+     */
+    class EntityIdRangeIterator extends AbstractPrimitiveLongBaseResourceIterator implements EntityIdIterator {
+        private final CursorContext cursorContext;
+        private long nextId;
+        private long highestId;
+
+        EntityIdRangeIterator(CursorContext cursorContext) {
+            super(null);
+            this.cursorContext = cursorContext;
+            this.highestId = cursorBehaviour.highestPossibleEntityId(cursorContext);
+            this.nextId = resumeAfterEntityId + 1;
+            idRangeCount = highestId + 1;
+        }
+
+        @Override
+        public void invalidateCache() {
+            // Nothing to invalidate, ids are not read from the store
+        }
+
+        @Override
+        protected boolean fetchNext() {
+            if (nextId > highestId) {
+                // Like a scan of the store, also include entities created while scanning
+                highestId = cursorBehaviour.highestPossibleEntityId(cursorContext);
+                idRangeCount = highestId + 1;
+                if (nextId > highestId) {
+                    return false;
+                }
+            }
+            return next(nextId++);
+        }
+    }
+
+    /**
+     * Skips the ids of entities visited by an earlier scan, for iterators which can't start from a given id.
+     */
+    private static class SkippingEntityIdIterator extends AbstractPrimitiveLongBaseResourceIterator
+            implements EntityIdIterator {
+        private final EntityIdIterator iterator;
+        private final long skipUpToEntityId;
+
+        SkippingEntityIdIterator(EntityIdIterator iterator, long skipUpToEntityId) {
+            super(iterator::close);
+            this.iterator = iterator;
+            this.skipUpToEntityId = skipUpToEntityId;
+        }
+
+        @Override
+        public void invalidateCache() {
+            iterator.invalidateCache();
+        }
+
+        @Override
+        protected boolean fetchNext() {
+            while (iterator.hasNext()) {
+                long entityId = iterator.next();
+                if (entityId > skipUpToEntityId) {
+                    return next(entityId);
+                }
+            }
+            return false;
+        }
     }
 
     static class CursorEntityIdIterator<CURSOR extends StorageEntityScanCursor<?>>
@@ -47,7 +47,8 @@ public class ReadEntityIdsStep extends PullingProducerStep<ReadEntityIdsStep.Rea
     private final Function<CursorContext, StoreCursors> storeCursorsFactory;
     private final CursorContextFactory contextFactory;
     private final AtomicLong position = new AtomicLong();
-    private volatile long lastEntityId;
+    // No entity has been read before the first batch
+    private volatile long lastEntityId = -1;
 
     public ReadEntityIdsStep(
             StageControl control,
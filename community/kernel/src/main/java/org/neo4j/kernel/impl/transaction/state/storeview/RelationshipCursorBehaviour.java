@@ -41,4 +41,9 @@ public class RelationshipCursorBehaviour implements EntityScanCursorBehaviour<St
     public long[] readTokens(StorageRelationshipScanCursor cursor) {
         return new long[] {cursor.type()};
     }
+
+    @Override
+    public long highestPossibleEntityId(CursorContext cursorContext) {
+        return storageReader.relationshipsGetHighestPossibleIdInUse(cursorContext);
+    }
 }
@@ -26,6 +26,7 @@ import java.util.Collection;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.neo4j.graphdb.Resource;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.api.state.AppendOnlyValuesContainer;
 import org.neo4j.kernel.impl.api.state.ValuesContainer;
 import org.neo4j.kernel.impl.api.state.ValuesMap;
@@ -35,12 +36,26 @@ import org.neo4j.values.storable.Value;
 
 public class OffHeapCollectionsFactory implements CollectionsFactory {
     private final MemoryAllocator allocator;
+    private final FileSystemAbstraction fs;
+    private final long valuesSpillThreshold;
 
     private final Collection<Resource> resources = new ArrayList<>();
     private ValuesContainer valuesContainer;
 
     public OffHeapCollectionsFactory(OffHeapBlockAllocator blockAllocator) {
+        this(blockAllocator, null, 0);
+    }
+
+    /**
+     * @param fs file system to spill property values to.
+     * @param valuesSpillThreshold max size of property values kept in memory before spilling the oldest of them to
+     * a temporary file, or {@code 0} to never spill.
+     */
+    public OffHeapCollectionsFactory(
+            OffHeapBlockAllocator blockAllocator, FileSystemAbstraction fs, long valuesSpillThreshold) {
         this.allocator = new OffHeapMemoryAllocator(blockAllocator);
+        this.fs = fs;
+        this.valuesSpillThreshold = valuesSpillThreshold;
     }
 
     @Override
@@ -58,7 +73,7 @@ public class OffHeapCollectionsFactory implements CollectionsFactory {
     @Override
     public MutableLongObjectMap<Value> newValuesMap(MemoryTracker memoryTracker) {
         if (valuesContainer == null) {
-            valuesContainer = new AppendOnlyValuesContainer(allocator, memoryTracker);
+            valuesContainer = new AppendOnlyValuesContainer(allocator, memoryTracker, fs, valuesSpillThreshold);
         }
         final LinearProbeLongLongHashMap refs = new LinearProbeLongLongHashMap(allocator, memoryTracker);
         resources.add(refs);
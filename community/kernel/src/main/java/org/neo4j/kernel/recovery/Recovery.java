@@ -482,6 +482,7 @@ public final class Recovery {
                 databaseLayout,
                 config,
                 databasePageCache,
+                scheduler,
                 tokenHolders,
                 schemaState,
                 getConstraintSemantics(),
@@ -37,6 +37,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.common.EntityType;
+import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.internal.schema.SchemaDescriptorSupplier;
 import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -554,6 +555,44 @@ class EntityValueUpdatesTest {
                         ENTITY_ID, entity.nonSchemaIndex(), VALUES_123, new Value[] {newValue1, newValue2, newValue3}));
     }
 
+    @Test
+    void shouldGenerateUpdateForChangedIncludedProperty() {
+        // Given
+        SchemaDescriptorSupplier indexWithIncluded = new SchemaDescriptorSupplier() {
+            @Override
+            public SchemaDescriptor schema() {
+                return SchemaDescriptors.forLabel(TOKEN_ID_1, PROPERTY_KEY_ID_1);
+            }
+
+            @Override
+            public int[] getIncludedPropertyIds() {
+                return new int[] {PROPERTY_KEY_ID_2, PROPERTY_KEY_ID_3};
+            }
+        };
+
+        // When
+        Value newValue2 = Values.of(10L);
+        EntityUpdates updates = EntityUpdates.forEntity(ENTITY_ID, false)
+                .withTokens(TOKEN)
+                .withTokensAfter(TOKEN)
+                .changed(PROPERTY_2.propertyKeyId(), PROPERTY_2.value(), newValue2)
+                .build();
+
+        // Then
+        assertThat(updates.valueUpdatesForIndexKeys(
+                        singleton(indexWithIncluded),
+                        propertyLoader(PROPERTY_1, PROPERTY_2),
+                        EntityType.NODE,
+                        NULL_CONTEXT,
+                        StoreCursors.NULL,
+                        INSTANCE))
+                .containsExactly(IndexEntryUpdate.change(
+                        ENTITY_ID,
+                        indexWithIncluded,
+                        new Value[] {PROPERTY_1.value(), PROPERTY_2.value(), Values.NO_VALUE},
+                        new Value[] {PROPERTY_1.value(), newValue2, Values.NO_VALUE}));
+    }
+
     @ParameterizedTest
     @EnumSource(Entity.class)
     void shouldGenerateUpdateWhenRemovingLastPropForNonSchemaIndex(Entity entity) {
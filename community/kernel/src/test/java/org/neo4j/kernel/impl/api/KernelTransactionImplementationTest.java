@@ -35,6 +35,8 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -43,6 +45,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.reuse_cursors_across_transactions;
 import static org.neo4j.configuration.GraphDatabaseSettings.memory_transaction_max_size;
 import static org.neo4j.configuration.GraphDatabaseSettings.read_only_database_default;
 import static org.neo4j.configuration.GraphDatabaseSettings.read_only_databases;
@@ -871,6 +874,38 @@ class KernelTransactionImplementationTest extends KernelTransactionTestBase {
         verify(txPool, times(1)).release(transaction);
     }
 
+    @Test
+    void shouldKeepPooledCursorsForNextTransactionWhenReusingCursors() throws TransactionFailureException {
+        KernelTransactionImplementation transaction =
+                newNotInitializedTransaction(Config.defaults(reuse_cursors_across_transactions, true));
+        initialize(0, AUTH_DISABLED, 1000L, 1L, transaction);
+        CursorContext cursorContext = transaction.cursorContext();
+        transaction.close();
+        clearInvocations(storageReader);
+
+        initialize(0, AUTH_DISABLED, 1000L, 2L, transaction);
+        assertThat(transaction.cursorContext()).isSameAs(cursorContext);
+        verify(storageReader, never()).allocateNodeCursor(any(), any());
+        verify(storageReader, never()).allocateRelationshipScanCursor(any(), any());
+        verify(storageReader, never()).allocatePropertyCursor(any(), any(), any());
+        transaction.close();
+    }
+
+    @Test
+    void shouldReleasePooledCursorsAtEndOfTransactionByDefault() throws TransactionFailureException {
+        KernelTransactionImplementation transaction = newNotInitializedTransaction();
+        initialize(0, AUTH_DISABLED, 1000L, 1L, transaction);
+        CursorContext cursorContext = transaction.cursorContext();
+        transaction.close();
+        clearInvocations(storageReader);
+
+        initialize(0, AUTH_DISABLED, 1000L, 2L, transaction);
+        assertThat(transaction.cursorContext()).isNotSameAs(cursorContext);
+        verify(storageReader, atLeastOnce()).allocateNodeCursor(any(), any());
+        verify(storageReader, atLeastOnce()).allocateRelationshipScanCursor(any(), any());
+        transaction.close();
+    }
+
     @Test
     void shouldDisposeIfFailedCleanup() {
         KernelTransactionImplementation transaction = newTransaction(AUTH_DISABLED);
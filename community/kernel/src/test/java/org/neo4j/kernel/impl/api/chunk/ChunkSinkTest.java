@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.chunk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.multi_version_transaction_chunk_size;
+import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.kernel.impl.api.TransactionClockContext;
+import org.neo4j.kernel.impl.api.TransactionCommitter;
+import org.neo4j.kernel.impl.api.state.TxState;
+import org.neo4j.kernel.impl.transaction.tracing.TransactionEvent;
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator;
+import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.txstate.TransactionStateBehaviour;
+
+class ChunkSinkTest {
+    private final CachingOffHeapBlockAllocator blockAllocator = new CachingOffHeapBlockAllocator();
+    private final OffHeapCollectionsFactory collectionsFactory = new OffHeapCollectionsFactory(blockAllocator);
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private final MutableInt chunks = new MutableInt();
+    private final TransactionCommitter committer = (commitEvent, commitTime, tracker, commit) -> {
+        chunks.increment();
+        return 1;
+    };
+
+    @AfterEach
+    void tearDown() {
+        collectionsFactory.release();
+        blockAllocator.release();
+    }
+
+    @Test
+    void shouldWriteChunkWhenOffHeapStateExceedsChunkSize() {
+        long chunkSize = kibiBytes(64);
+        TxState txState = txState(chunkSize);
+
+        for (long nodeId = 0; nodeId < 100_000; nodeId++) {
+            txState.nodeDoCreate(nodeId);
+        }
+
+        assertThat(chunks.intValue()).isPositive();
+        MemoryTracker stateMemoryTracker = txState.memoryTracker();
+        assertThat(stateMemoryTracker.estimatedHeapMemory() + stateMemoryTracker.usedNativeMemory())
+                .isLessThanOrEqualTo(chunkSize);
+    }
+
+    @Test
+    void shouldNotWriteChunkWhileStateFitsInChunkSize() {
+        TxState txState = txState(mebiBytes(64));
+
+        for (long nodeId = 0; nodeId < 1_000; nodeId++) {
+            txState.nodeDoCreate(nodeId);
+        }
+
+        assertThat(chunks.intValue()).isZero();
+    }
+
+    private TxState txState(long chunkSize) {
+        ChunkSink sink = new ChunkSink(
+                committer,
+                new TransactionClockContext(),
+                Config.defaults(multi_version_transaction_chunk_size, chunkSize));
+        return new TxState(
+                collectionsFactory,
+                memoryTracker,
+                TransactionStateBehaviour.DEFAULT_BEHAVIOUR,
+                sink,
+                TransactionEvent.NULL);
+    }
+}
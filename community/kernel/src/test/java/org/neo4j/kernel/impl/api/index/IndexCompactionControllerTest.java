@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.readOnly;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.InternalIndexState.ONLINE;
+import static org.neo4j.internal.kernel.api.InternalIndexState.POPULATING;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+import static org.neo4j.logging.AssertableLogProvider.Level.INFO;
+import static org.neo4j.logging.LogAssertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
+import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.test.OnDemandJobScheduler;
+
+class IndexCompactionControllerTest {
+    private final OnDemandJobScheduler scheduler = new OnDemandJobScheduler(false);
+    private final IndexMapReference indexMapRef = new IndexMapReference();
+    private final AssertableLogProvider logProvider = new AssertableLogProvider();
+
+    @Test
+    void shouldNotScheduleCompactionWhenIntervalIsZero() {
+        // given
+        IndexCompactionController controller = controller(Duration.ZERO, writable());
+
+        // when
+        controller.start();
+
+        // then
+        assertThat(scheduler.getJob()).isNull();
+    }
+
+    @Test
+    void shouldCompactOnlineIndexesOnly() {
+        // given
+        IndexProxy online = indexProxy(1, ONLINE, 3);
+        IndexProxy populating = indexProxy(2, POPULATING, 0);
+        IndexCompactionController controller = controller(Duration.ofMinutes(1), writable());
+        controller.start();
+
+        // when
+        scheduler.runJob();
+
+        // then
+        verify(online).compact(any(BooleanSupplier.class), any(CursorContext.class));
+        verify(populating, never()).compact(any(BooleanSupplier.class), any(CursorContext.class));
+        assertThat(logProvider)
+                .forClass(IndexCompactionController.class)
+                .forLevel(INFO)
+                .containsMessages("3 pages were released for reuse");
+    }
+
+    @Test
+    void shouldNotCompactReadOnlyDatabase() {
+        // given
+        IndexProxy online = indexProxy(1, ONLINE, 0);
+        IndexCompactionController controller = controller(Duration.ofMinutes(1), readOnly());
+        controller.start();
+
+        // when
+        scheduler.runJob();
+
+        // then
+        verify(online, never()).compact(any(BooleanSupplier.class), any(CursorContext.class));
+    }
+
+    @Test
+    void shouldStopOngoingCompactionWhenStopped() {
+        // given
+        IndexProxy online = indexProxy(1, ONLINE, 0);
+        IndexCompactionController controller = controller(Duration.ofMinutes(1), writable());
+        AtomicBoolean continuedAfterStop = new AtomicBoolean(true);
+        when(online.compact(any(BooleanSupplier.class), any(CursorContext.class)))
+                .thenAnswer(invocation -> {
+                    controller.stop();
+                    continuedAfterStop.set(
+                            invocation.getArgument(0, BooleanSupplier.class).getAsBoolean());
+                    return 0L;
+                });
+        controller.start();
+
+        // when
+        scheduler.runJob();
+
+        // then
+        assertThat(continuedAfterStop).isFalse();
+    }
+
+    private IndexCompactionController controller(Duration interval, DatabaseReadOnlyChecker readOnlyChecker) {
+        return new IndexCompactionController(
+                indexMapRef, scheduler, NULL_CONTEXT_FACTORY, readOnlyChecker, interval, "db", logProvider);
+    }
+
+    private IndexProxy indexProxy(long id, InternalIndexState state, long releasedPages) {
+        IndexProxy proxy = mock(IndexProxy.class);
+        when(proxy.getDescriptor())
+                .thenReturn(forSchema(SchemaDescriptors.forLabel((int) id, 1))
+                        .withName("index_" + id)
+                        .materialise(id));
+        when(proxy.getState()).thenReturn(state);
+        when(proxy.compact(any(BooleanSupplier.class), any(CursorContext.class)))
+                .thenReturn(releasedPages);
+        indexMapRef.modify(indexMap -> {
+            indexMap.putIndexProxy(proxy);
+            return indexMap;
+        });
+        return proxy;
+    }
+}
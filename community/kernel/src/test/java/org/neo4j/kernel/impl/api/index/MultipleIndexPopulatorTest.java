@@ -40,13 +40,18 @@ import static org.mockito.Mockito.when;
 import static org.neo4j.common.Subject.AUTH_DISABLED;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+import static org.neo4j.kernel.api.index.IndexPopulator.NO_SCAN_PROGRESS;
 import static org.neo4j.kernel.api.index.IndexQueryHelper.add;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 import static org.neo4j.values.storable.Values.intValue;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,6 +59,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.neo4j.common.EntityType;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
@@ -603,6 +609,80 @@ class MultipleIndexPopulatorTest {
         return new RuntimeException("sample error");
     }
 
+    @Test
+    void shouldAwaitCheckpointsRequestedTogetherWithinOneTimeout() throws Exception {
+        // given
+        Config config = Config.defaults(Map.of(
+                GraphDatabaseInternalSettings.index_population_resumable,
+                true,
+                GraphDatabaseInternalSettings.index_population_checkpoint_timeout,
+                Duration.ofSeconds(1)));
+        CountDownLatch scansStarted = new CountDownLatch(2);
+        CountDownLatch scansReleased = new CountDownLatch(1);
+        // The scans never apply external updates, so they never carry out the requested checkpoints
+        doAnswer(invocation -> {
+                    scansStarted.countDown();
+                    scansReleased.await();
+                    return null;
+                })
+                .when(actualStoreScan)
+                .run(any());
+        IndexPopulator indexPopulator1 = createIndexPopulator();
+        IndexPopulator indexPopulator2 = createIndexPopulator();
+        MultipleIndexPopulator populator1 = newMultipleIndexPopulator(config);
+        MultipleIndexPopulator populator2 = newMultipleIndexPopulator(config);
+        addPopulator(
+                populator1, indexPopulator1, 1, mock(FlippableIndexProxy.class), mock(FailedIndexProxyFactory.class));
+        addPopulator(
+                populator2, indexPopulator2, 2, mock(FlippableIndexProxy.class), mock(FailedIndexProxyFactory.class));
+        populator1.create(NULL_CONTEXT);
+        populator2.create(NULL_CONTEXT);
+        StoreScan scan1 = populator1.createStoreScan(CONTEXT_FACTORY);
+        StoreScan scan2 = populator2.createStoreScan(CONTEXT_FACTORY);
+        Thread scanThread1 = new Thread(() -> scan1.run(StoreScan.NO_EXTERNAL_UPDATES));
+        Thread scanThread2 = new Thread(() -> scan2.run(StoreScan.NO_EXTERNAL_UPDATES));
+        scanThread1.start();
+        scanThread2.start();
+        try {
+            assertTrue(scansStarted.await(1, TimeUnit.MINUTES));
+
+            // when
+            long startNanos = System.nanoTime();
+            MultipleIndexPopulator.Checkpoint checkpoint1 = populator1.requestCheckpoint();
+            MultipleIndexPopulator.Checkpoint checkpoint2 = populator2.requestCheckpoint();
+            boolean checkpointed1 = checkpoint1.await(NULL_CONTEXT);
+            boolean checkpointed2 = checkpoint2.await(NULL_CONTEXT);
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            // then
+            assertFalse(checkpointed1);
+            assertFalse(checkpointed2);
+            // Both timed out at the same time, rather than one after the other
+            assertThat(waitedMillis).isGreaterThanOrEqualTo(1_000).isLessThan(2_000);
+            verify(indexPopulator1).checkpoint(NO_SCAN_PROGRESS, NULL_CONTEXT);
+            verify(indexPopulator2).checkpoint(NO_SCAN_PROGRESS, NULL_CONTEXT);
+        } finally {
+            scansReleased.countDown();
+            scanThread1.join();
+            scanThread2.join();
+        }
+    }
+
+    private MultipleIndexPopulator newMultipleIndexPopulator(Config config) {
+        return new MultipleIndexPopulator(
+                indexStoreView,
+                NullLogProvider.getInstance(),
+                EntityType.NODE,
+                schemaState,
+                jobScheduler,
+                tokens,
+                CONTEXT_FACTORY,
+                INSTANCE,
+                "",
+                AUTH_DISABLED,
+                config);
+    }
+
     private static IndexPopulator createIndexPopulator(IndexUpdater indexUpdater) {
         IndexPopulator indexPopulator = createIndexPopulator();
         when(indexPopulator.newPopulatingUpdater(any())).thenReturn(indexUpdater);
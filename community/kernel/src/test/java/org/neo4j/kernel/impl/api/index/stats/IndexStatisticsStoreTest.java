@@ -50,6 +50,7 @@ import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
@@ -149,9 +150,9 @@ class IndexStatisticsStoreTest {
 
             store.checkpoint(FileFlushEvent.NULL, cursorContext);
             PageCursorTracer cursorTracer = cursorContext.getCursorTracer();
-            assertThat(cursorTracer.pins()).isEqualTo(31);
-            assertThat(cursorTracer.unpins()).isEqualTo(31);
-            assertThat(cursorTracer.hits()).isEqualTo(22);
+            assertThat(cursorTracer.pins()).isEqualTo(32);
+            assertThat(cursorTracer.unpins()).isEqualTo(32);
+            assertThat(cursorTracer.hits()).isEqualTo(23);
             assertThat(cursorTracer.faults()).isEqualTo(9);
         }
     }
@@ -205,6 +206,41 @@ class IndexStatisticsStoreTest {
         assertEquals(sample2, store.indexSample(indexId2));
     }
 
+    @Test
+    void shouldKeepUniqueValuesErrorOfEstimatedSample() throws IOException {
+        // given
+        long indexId = 3;
+        IndexSample sample = new IndexSample(2_000_000, 1_500, 2_000_000, 0, 0.05);
+        store.replaceStats(indexId, sample);
+        store.incrementIndexUpdates(indexId, 7);
+
+        // when
+        restartStore();
+
+        // then
+        assertEquals(new IndexSample(2_000_000, 1_500, 2_000_000, 7, 0.05), store.indexSample(indexId));
+    }
+
+    @Test
+    void shouldKeepValueHistogramOfSample() throws IOException {
+        // given
+        long indexId = 6;
+        double[] boundaries = new double[IndexValueHistogram.MAX_BUCKETS + 1];
+        for (int i = 0; i < boundaries.length; i++) {
+            boundaries[i] = i * 10.5;
+        }
+        IndexValueHistogram histogram = new IndexValueHistogram(
+                boundaries, 0.4, new double[] {-1, 0, 42, 1e10}, new double[] {0.3, 0.1, 0.1, 0.05});
+        store.replaceStats(indexId, new IndexSample(1_000, 100, 1_000, 0, 0.01, histogram));
+        store.incrementIndexUpdates(indexId, 3);
+
+        // when
+        restartStore();
+
+        // then
+        assertEquals(new IndexSample(1_000, 100, 1_000, 3, 0.01, histogram), store.indexSample(indexId));
+    }
+
     private void restartStore() throws IOException {
         store.checkpoint(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
         lifeSupport.shutdown();
@@ -29,6 +29,7 @@ import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_SHORT_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_STRING_ARRAY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples.pair;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +38,8 @@ import static org.neo4j.values.storable.Values.longValue;
 import static org.neo4j.values.storable.Values.pointValue;
 import static org.neo4j.values.storable.Values.stringValue;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -62,6 +65,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.neo4j.graphdb.spatial.Point;
+import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
 import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator;
 import org.neo4j.kernel.impl.util.collection.OffHeapMemoryAllocator;
 import org.neo4j.memory.EmptyMemoryTracker;
@@ -319,6 +323,45 @@ class AppendOnlyValuesContainerTest {
         assertThrows(IllegalStateException.class, container2::close);
     }
 
+    @Test
+    void spillOldestChunksWhenExceedingThreshold() throws IOException {
+        try (EphemeralFileSystemAbstraction fs = new EphemeralFileSystemAbstraction()) {
+            final AppendOnlyValuesContainer container2 =
+                    new AppendOnlyValuesContainer(64, new TestMemoryAllocator(), memoryTracker, fs, 256);
+            final List<ObjectLongPair<Value>> valueRefPairs = new ArrayList<>();
+            final List<ObjectLongPair<Value>> removed = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final Value value = rnd.randomValues().nextValue();
+                final ObjectLongPair<Value> pair = pair(value, container2.add(value));
+                if (rnd.nextInt(4) == 0) {
+                    assertEquals(value, container2.remove(pair.getTwo()));
+                    removed.add(pair);
+                } else {
+                    valueRefPairs.add(pair);
+                }
+            }
+            assertThat(container2.spilledChunks()).isPositive();
+            assertThat(fs.listFiles(Path.of(System.getProperty("java.io.tmpdir"))))
+                    .hasSize(1);
+
+            for (final ObjectLongPair<Value> valueRefPair : removed) {
+                assertThrows(IllegalArgumentException.class, () -> container2.get(valueRefPair.getTwo()));
+            }
+            for (final ObjectLongPair<Value> valueRefPair : valueRefPairs) {
+                assertEquals(valueRefPair.getOne(), container2.get(valueRefPair.getTwo()));
+            }
+            for (final ObjectLongPair<Value> valueRefPair : valueRefPairs) {
+                assertEquals(valueRefPair.getOne(), container2.remove(valueRefPair.getTwo()));
+                assertThrows(IllegalArgumentException.class, () -> container2.get(valueRefPair.getTwo()));
+            }
+
+            container2.close();
+            assertEquals(0, memoryTracker.estimatedHeapMemory(), "Got heap memory leak");
+            assertThat(fs.listFiles(Path.of(System.getProperty("java.io.tmpdir"))))
+                    .isEmpty();
+        }
+    }
+
     @Test
     void randomizedTest() {
         final int count = 10000 + rnd.nextInt(1000);
@@ -141,6 +141,37 @@ class BlockStorageTest {
         }
     }
 
+    @Test
+    void shouldResumeFromCheckpointDiscardingEntriesAddedAfterIt() throws IOException {
+        // given
+        int blockSize = 1_000;
+        List<List<BlockEntry<MutableLong, MutableLong>>> expectedBlocks = new ArrayList<>();
+        BlockStorage.Checkpoint checkpoint;
+        try (BlockStorage<MutableLong, MutableLong> storage =
+                new BlockStorage<>(layout, heapBufferFactory(blockSize), fileSystem, file, NO_MONITOR, INSTANCE)) {
+            expectedBlocks.add(addEntries(storage, 10));
+            checkpoint = storage.checkpoint();
+            // Written to the file, but after the checkpoint
+            addEntries(storage, 10);
+            storage.checkpoint();
+            storage.keepFileOnClose();
+        }
+        assertEquals(1, checkpoint.numberOfBlocks());
+        assertEquals(10, checkpoint.entryCount());
+
+        // when
+        try (BlockStorage<MutableLong, MutableLong> storage = new BlockStorage<>(
+                layout, heapBufferFactory(blockSize), fileSystem, file, NO_MONITOR, INSTANCE, checkpoint)) {
+            expectedBlocks.add(addEntries(storage, 5));
+            storage.doneAdding();
+
+            // then
+            assertEquals(checkpoint.position() + blockSize, fileSystem.getFileSize(file));
+            assertContents(layout, storage, expectedBlocks);
+        }
+        assertFalse(fileSystem.fileExists(file));
+    }
+
     @Test
     void shouldSortAndAddMultipleEntriesInMultipleBlocks() throws IOException {
         // given
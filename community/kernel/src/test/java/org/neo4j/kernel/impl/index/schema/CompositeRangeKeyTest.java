@@ -24,6 +24,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
@@ -51,6 +54,42 @@ class CompositeRangeKeyTest {
         }
     }
 
+    @Test
+    void shouldKeepIncludedValuesThroughWriteAndRead() {
+        RangeLayout layout = new RangeLayout(1, 2);
+        CompositeRangeKey key = (CompositeRangeKey) layout.newKey();
+        key.initialize(42);
+        key.initFromValue(0, Values.intValue(7), NativeIndexKey.Inclusion.NEUTRAL);
+        key.initFromValue(1, Values.stringValue("included"), NativeIndexKey.Inclusion.NEUTRAL);
+        key.initFromValue(2, Values.NO_VALUE, NativeIndexKey.Inclusion.NEUTRAL);
+
+        PageCursor cursor = ByteArrayPageCursor.wrap(PageCache.PAGE_SIZE);
+        layout.writeKey(cursor, key);
+        cursor.setOffset(0);
+        RangeKey read = layout.newKey();
+        layout.readKey(cursor, read, layout.keySize(key));
+
+        assertThat(read.getEntityId()).isEqualTo(42);
+        assertThat(read.asValues()).containsExactly(Values.intValue(7));
+        assertThat(read.asValuesWithIncluded())
+                .containsExactly(Values.intValue(7), Values.stringValue("included"), Values.NO_VALUE);
+    }
+
+    @Test
+    void shouldNotCompareIncludedValues() {
+        RangeLayout layout = new RangeLayout(1, 1);
+        RangeKey first = layout.newKey();
+        first.initialize(1);
+        first.initFromValue(0, Values.intValue(7), NativeIndexKey.Inclusion.NEUTRAL);
+        first.initFromValue(1, Values.stringValue("a"), NativeIndexKey.Inclusion.NEUTRAL);
+        RangeKey second = layout.newKey();
+        second.initialize(1);
+        second.initFromValue(0, Values.intValue(7), NativeIndexKey.Inclusion.NEUTRAL);
+        second.initFromValue(1, Values.stringValue("b"), NativeIndexKey.Inclusion.NEUTRAL);
+
+        assertThat(layout.compare(first, second)).isZero();
+    }
+
     private static int includingEntityId(int keySize) {
         return Long.BYTES + keySize;
     }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.kernel.impl.index.schema.IndexBloomFilter.BITS_PER_ENTRY;
+import static org.neo4j.kernel.impl.index.schema.IndexBloomFilter.PARTITIONS;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+@EphemeralTestDirectoryExtension
+class IndexBloomFilterTest {
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Test
+    void shouldContainAllAddedValues() {
+        IndexBloomFilter filter = IndexBloomFilter.create(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Values.intValue(i), Values.stringValue("value" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(Values.intValue(i), Values.stringValue("value" + i)))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    void shouldRuleOutMostValuesNotAdded() {
+        IndexBloomFilter filter = IndexBloomFilter.create(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Values.longValue(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain(Values.longValue(i))) {
+                falsePositives++;
+            }
+        }
+        // 10 bits per entry and 7 partitions gives a false positive rate of about 1%
+        assertThat(falsePositives).isLessThan(300);
+        IndexBloomFilter.Statistics statistics = filter.statistics();
+        assertThat(statistics.estimatedFalsePositiveRate()).isBetween(0.001, 0.03);
+        assertThat(statistics.lookups()).isEqualTo(10_000);
+        assertThat(statistics.negativeLookups()).isEqualTo(10_000 - falsePositives);
+    }
+
+    @Test
+    void shouldHashEqualNumbersOfDifferentTypesTheSame() {
+        IndexBloomFilter filter = IndexBloomFilter.create(100);
+        filter.add(Values.intValue(42));
+        filter.add(Values.doubleValue(0.5));
+
+        assertThat(filter.mightContain(Values.longValue(42))).isTrue();
+        assertThat(filter.mightContain(Values.doubleValue(42))).isTrue();
+        assertThat(filter.mightContain(Values.floatValue(0.5f))).isTrue();
+    }
+
+    @Test
+    void shouldAlwaysMightContainWhenDisabled() {
+        IndexBloomFilter.NONE.add(Values.intValue(1));
+
+        assertThat(IndexBloomFilter.NONE.mightContain(Values.intValue(2))).isTrue();
+        assertThat(IndexBloomFilter.NONE.statistics()).isEqualTo(IndexBloomFilter.Statistics.DISABLED);
+    }
+
+    @Test
+    void shouldResizeFilterWhichHoldsMoreValuesThanItWasSizedFor() throws IOException {
+        IndexBloomFilter filter = IndexBloomFilter.create(100);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Values.intValue(i));
+        }
+        assertThat(filter.needsResize()).isTrue();
+
+        filter.resize(10_000, resized -> {
+            for (int i = 0; i < 10_000; i++) {
+                resized.add(Values.intValue(i));
+            }
+            // Added while the resize is scanning the index
+            filter.add(Values.intValue(-1));
+        });
+
+        assertThat(filter.needsResize()).isFalse();
+        IndexBloomFilter.Statistics statistics = filter.statistics();
+        assertThat(statistics.estimatedFalsePositiveRate()).isLessThan(IndexBloomFilter.MAX_FALSE_POSITIVE_RATE);
+        assertThat(statistics.bitsPerPartition()).isGreaterThanOrEqualTo(10_000 * BITS_PER_ENTRY / PARTITIONS);
+        for (int i = -1; i < 10_000; i++) {
+            assertThat(filter.mightContain(Values.intValue(i))).isTrue();
+        }
+    }
+
+    @Test
+    void shouldKeepCurrentBitsIfResizeFails() {
+        IndexBloomFilter filter = IndexBloomFilter.create(100);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Values.intValue(i));
+        }
+        int bitsPerPartition = filter.statistics().bitsPerPartition();
+
+        assertThatThrownBy(() -> filter.resize(10_000, resized -> {
+                    throw new IOException("failed scan");
+                }))
+                .isInstanceOf(IOException.class);
+
+        assertThat(filter.statistics().bitsPerPartition()).isEqualTo(bitsPerPartition);
+        assertThat(filter.needsResize()).isTrue();
+        filter.add(Values.intValue(-1));
+        assertThat(filter.mightContain(Values.intValue(-1))).isTrue();
+    }
+
+    @Test
+    void shouldReadWrittenFilter() throws IOException {
+        Path file = directory.file("filter");
+        IndexBloomFilter filter = IndexBloomFilter.create(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(Values.intValue(i));
+        }
+        long id = filter.write(fs, file);
+
+        IndexBloomFilter read = IndexBloomFilter.read(fs, file, id);
+        assertThat(read.id()).isEqualTo(id);
+        assertThat(read.statistics().insertions()).isEqualTo(filter.statistics().insertions());
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(read.mightContain(Values.intValue(i))).isTrue();
+        }
+        assertThat(read.statistics().bitsPerPartition())
+                .isEqualTo(filter.statistics().bitsPerPartition());
+    }
+
+    @Test
+    void shouldOnlyRewriteChangedFilter() throws IOException {
+        Path file = directory.file("filter");
+        IndexBloomFilter filter = IndexBloomFilter.create(1_000);
+        filter.add(Values.intValue(1));
+        long firstId = filter.write(fs, file);
+
+        assertThat(filter.write(fs, file)).isEqualTo(firstId);
+
+        filter.add(Values.intValue(2));
+        long secondId = filter.write(fs, file);
+        assertThat(secondId).isNotEqualTo(firstId);
+        // The file of the previous checkpoint is replaced, so it can't be mistaken for the current one
+        assertThat(IndexBloomFilter.read(fs, file, firstId)).isSameAs(IndexBloomFilter.NONE);
+        assertThat(IndexBloomFilter.read(fs, file, secondId).mightContain(Values.intValue(2)))
+                .isTrue();
+    }
+
+    @Test
+    void shouldNotReadMissingOrBrokenFilter() throws IOException {
+        Path file = directory.file("filter");
+        assertThat(IndexBloomFilter.read(fs, file, 1)).isSameAs(IndexBloomFilter.NONE);
+
+        IndexBloomFilter filter = IndexBloomFilter.create(1_000);
+        long id = filter.write(fs, file);
+        assertThat(IndexBloomFilter.read(fs, file, 0)).isSameAs(IndexBloomFilter.NONE);
+
+        try (OutputStream out = fs.openAsOutputStream(file, true)) {
+            out.write(1);
+        }
+        assertThat(IndexBloomFilter.read(fs, file, id)).isSameAs(IndexBloomFilter.NONE);
+    }
+}
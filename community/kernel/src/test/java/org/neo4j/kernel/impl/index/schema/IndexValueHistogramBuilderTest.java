@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+import static org.neo4j.kernel.api.index.IndexValueHistogram.MAX_BUCKETS;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+import org.neo4j.values.storable.Values;
+
+class IndexValueHistogramBuilderTest {
+    @Test
+    void shouldBuildEquiDepthBucketsOfNumericValues() {
+        IndexValueHistogramBuilder builder = new IndexValueHistogramBuilder();
+        for (int i = 0; i <= 1_600; i++) {
+            builder.include(Values.intValue(i));
+        }
+
+        IndexValueHistogram histogram = builder.build();
+
+        assertThat(histogram.numberOfBuckets()).isEqualTo(MAX_BUCKETS);
+        assertThat(histogram.boundaries()[0]).isEqualTo(0);
+        assertThat(histogram.boundaries()[1]).isEqualTo(100);
+        assertThat(histogram.boundaries()[MAX_BUCKETS]).isEqualTo(1_600);
+        assertThat(histogram.histogramFraction()).isEqualTo(1);
+        assertThat(histogram.mostCommonValues()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepMostCommonValuesOutOfBuckets() {
+        IndexValueHistogramBuilder builder = new IndexValueHistogramBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            builder.include(Values.intValue(i));
+            builder.include(Values.intValue(-1));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            builder.include(Values.stringValue("not a number"));
+        }
+
+        IndexValueHistogram histogram = builder.build();
+
+        assertThat(histogram.mostCommonValues()).containsExactly(-1);
+        assertThat(histogram.mostCommonValueFractions()[0]).isEqualTo(0.25, offset(0.0001));
+        assertThat(histogram.histogramFraction()).isEqualTo(0.25, offset(0.0001));
+        assertThat(histogram.boundaries()[0]).isEqualTo(0);
+        assertThat(histogram.boundaries()[MAX_BUCKETS]).isEqualTo(999);
+    }
+
+    @Test
+    void shouldBuildEmptyHistogramWithoutNumericValues() {
+        IndexValueHistogramBuilder builder = new IndexValueHistogramBuilder();
+        builder.include(Values.stringValue("a"));
+        builder.include(Values.doubleValue(Double.NaN));
+
+        assertThat(builder.build()).isEqualTo(IndexValueHistogram.EMPTY);
+    }
+}
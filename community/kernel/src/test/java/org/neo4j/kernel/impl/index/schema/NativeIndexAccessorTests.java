@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.index.schema;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,10 +38,12 @@ import static org.neo4j.storageengine.api.IndexEntryUpdate.change;
 import static org.neo4j.storageengine.api.IndexEntryUpdate.remove;
 import static org.neo4j.values.storable.Values.of;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -169,6 +172,37 @@ abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    @Test
+    void shouldReleasePagesWhenCompactingAfterRemovals() throws Exception {
+        // given
+        Iterator<ValueIndexEntryUpdate<IndexDescriptor>> generator = valueCreatorUtil.randomUpdateGenerator(random);
+        List<ValueIndexEntryUpdate<IndexDescriptor>> additions = new ArrayList<>();
+        List<ValueIndexEntryUpdate<IndexDescriptor>> removals = new ArrayList<>();
+        List<ValueIndexEntryUpdate<IndexDescriptor>> expectedData = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ValueIndexEntryUpdate<IndexDescriptor> addition = generator.next();
+            additions.add(addition);
+            if (random.nextInt(100) < 80) {
+                removals.add(remove(addition.getEntityId(), indexDescriptor, addition.values()));
+            } else {
+                expectedData.add(addition);
+            }
+        }
+        //noinspection unchecked
+        processAll(additions.toArray(new ValueIndexEntryUpdate[0]));
+        //noinspection unchecked
+        processAll(removals.toArray(new ValueIndexEntryUpdate[0]));
+
+        // when
+        long releasedPages = accessor.compact(() -> true, NULL_CONTEXT);
+
+        // then
+        assertThat(releasedPages).isGreaterThan(0);
+        forceAndCloseAccessor();
+        //noinspection unchecked
+        valueUtil.verifyUpdates(expectedData.toArray(new ValueIndexEntryUpdate[0]), this::getTree);
+    }
+
     // === READER ===
 
     @Test
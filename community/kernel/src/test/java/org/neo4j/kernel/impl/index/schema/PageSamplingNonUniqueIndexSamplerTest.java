@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
+
+import java.io.IOException;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.values.storable.Values;
+
+class PageSamplingNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, NullValue, RangeLayout> {
+    private static final IndexDescriptor index =
+            forSchema(forLabel(42, 666)).withName("index").materialise(0);
+
+    @Test
+    void shouldEstimateUniqueValuesOfLargeIndex() throws IOException {
+        int entries = 500_000;
+        int uniqueValues = buildTree(entries, 50_000);
+
+        IndexSample sample;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            sample = new PageSamplingNonUniqueIndexSampler<>(gbpTree, layout, 20_000, false).sample(NULL_CONTEXT);
+        }
+
+        assertThat(sample.indexSize()).isBetween((long) (entries * 0.9), (long) (entries * 1.1));
+        assertThat(sample.sampleSize()).isEqualTo(sample.indexSize());
+        assertThat(sample.uniqueValuesError()).isGreaterThan(0).isLessThan(0.1);
+        assertThat(sample.uniqueValues()).isBetween((long) (uniqueValues * 0.8), (long) (uniqueValues * 1.2));
+    }
+
+    @Test
+    void shouldReadFewerPagesThanFullScan() throws IOException {
+        buildTree(500_000, 1_000);
+
+        var contextFactory = new CursorContextFactory(new DefaultPageCacheTracer(), EMPTY);
+        long fullScanPins;
+        long samplingPins;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            try (CursorContext cursorContext = contextFactory.create("fullScan")) {
+                new FullScanNonUniqueIndexSampler<>(gbpTree, layout).sample(cursorContext);
+                fullScanPins = cursorContext.getCursorTracer().pins();
+            }
+            try (CursorContext cursorContext = contextFactory.create("pageSampling")) {
+                new PageSamplingNonUniqueIndexSampler<>(gbpTree, layout, 10_000, false).sample(cursorContext);
+                samplingPins = cursorContext.getCursorTracer().pins();
+            }
+        }
+
+        assertThat(samplingPins).isLessThan(fullScanPins / 3);
+    }
+
+    @Test
+    void shouldScanSmallIndexFully() throws IOException {
+        int uniqueValues = buildTree(1_000, 100);
+
+        IndexSample sample;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            sample = new PageSamplingNonUniqueIndexSampler<>(gbpTree, layout, 1_000, false).sample(NULL_CONTEXT);
+        }
+
+        assertThat(sample).isEqualTo(new IndexSample(1_000, uniqueValues, 1_000));
+    }
+
+    @Test
+    void shouldEstimateFromValueTransitionsInChunks() {
+        // Every sampled pair of adjacent entries has different values
+        IndexSample allUnique =
+                PageSamplingNonUniqueIndexSampler.estimate(1_000_000, new long[] {999, 999}, new long[] {999, 999});
+        assertThat(allUnique.uniqueValues()).isEqualTo(1_000_000);
+        assertThat(allUnique.uniqueValuesError()).isGreaterThan(0).isLessThan(0.001);
+
+        // A tenth of the pairs have different values, but unevenly spread over the chunks
+        IndexSample uneven =
+                PageSamplingNonUniqueIndexSampler.estimate(1_000_001, new long[] {100, 100}, new long[] {5, 15});
+        assertThat(uneven.uniqueValues()).isEqualTo(100_001);
+        assertThat(uneven.uniqueValuesError()).isEqualTo(0.5, offset(0.0001));
+
+        // Nothing was sampled
+        assertThat(PageSamplingNonUniqueIndexSampler.estimate(0, new long[0], new long[0]))
+                .isEqualTo(new IndexSample(0, 0, 0));
+    }
+
+    private int buildTree(int entries, int maxValue) throws IOException {
+        BitSet values = new BitSet(maxValue);
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            try (Writer<RangeKey, NullValue> writer = gbpTree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+                RangeKey key = layout.newKey();
+                for (int entityId = 0; entityId < entries; entityId++) {
+                    int value = random.nextInt(maxValue);
+                    values.set(value);
+                    key.initialize(entityId);
+                    key.initFromValue(0, Values.intValue(value), NEUTRAL);
+                    writer.put(key, NullValue.INSTANCE);
+                }
+            }
+            gbpTree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+        }
+        return values.cardinality();
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor() {
+        return index;
+    }
+
+    @Override
+    RangeLayout layout() {
+        return new RangeLayout(1);
+    }
+}
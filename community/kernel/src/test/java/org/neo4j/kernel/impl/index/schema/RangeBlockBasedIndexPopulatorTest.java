@@ -19,13 +19,33 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.io.memory.ByteBufferFactory.heapBufferFactory;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.api.index.IndexPopulator.NO_SCAN_PROGRESS;
+import static org.neo4j.kernel.impl.api.index.PhaseTracker.nullInstance;
+import static org.neo4j.kernel.impl.index.schema.BlockBasedIndexPopulator.NO_MONITOR;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.values.storable.Values.intValue;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.junit.jupiter.api.Test;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.memory.ByteBufferFactory;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 class RangeBlockBasedIndexPopulatorTest extends GenericBlockBasedIndexPopulatorTest<RangeKey> {
     @Override
@@ -37,9 +57,153 @@ class RangeBlockBasedIndexPopulatorTest extends GenericBlockBasedIndexPopulatorT
     BlockBasedIndexPopulator<RangeKey> instantiatePopulator(
             BlockBasedIndexPopulator.Monitor monitor, ByteBufferFactory bufferFactory, MemoryTracker memoryTracker)
             throws IOException {
-        RangeLayout layout = layout();
         Config config = Config.defaults(GraphDatabaseInternalSettings.index_populator_merge_factor, 2);
-        RangeBlockBasedIndexPopulator populator = new RangeBlockBasedIndexPopulator(
+        RangeBlockBasedIndexPopulator populator = newPopulator(monitor, bufferFactory, memoryTracker, config);
+        populator.create();
+        return populator;
+    }
+
+    @Test
+    void shouldResumePopulationFromLastCheckpoint() throws Exception {
+        // given
+        Config config = resumableConfig();
+        RangeBlockBasedIndexPopulator populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        assertThat(populator.createOrResume()).isEqualTo(NO_SCAN_PROGRESS);
+        populator.add(updates(0, 20), NULL_CONTEXT);
+        externalUpdate(populator, IndexEntryUpdate.remove(3, INDEX_DESCRIPTOR, supportedValue(3)));
+        populator.checkpoint(19, NULL_CONTEXT);
+        // Lost on restart since it's not checkpointed, but the scan will visit these entities again
+        populator.add(updates(20, 25), NULL_CONTEXT);
+        populator.close(false, NULL_CONTEXT);
+
+        // when
+        populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        try {
+            assertThat(populator.createOrResume()).isEqualTo(19);
+            populator.add(updates(20, 30), NULL_CONTEXT);
+            populator.scanCompleted(nullInstance, populationWorkScheduler, NULL_CONTEXT);
+
+            // then
+            MutableLongList expected = LongLists.mutable.empty();
+            for (long entityId = 0; entityId < 30; entityId++) {
+                if (entityId != 3) {
+                    expected.add(entityId);
+                }
+            }
+            assertThat(indexedEntityIds(populator)).isEqualTo(expected);
+        } finally {
+            populator.close(true, NULL_CONTEXT);
+        }
+    }
+
+    @Test
+    void shouldNotResumeFailedPopulation() throws Exception {
+        // given
+        Config config = resumableConfig();
+        RangeBlockBasedIndexPopulator populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        populator.createOrResume();
+        populator.add(updates(0, 20), NULL_CONTEXT);
+        populator.checkpoint(19, NULL_CONTEXT);
+        populator.markAsFailed("failure");
+        populator.close(false, NULL_CONTEXT);
+
+        // when
+        populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        try {
+            // then
+            assertThat(populator.createOrResume()).isEqualTo(NO_SCAN_PROGRESS);
+        } finally {
+            populator.close(false, NULL_CONTEXT);
+        }
+    }
+
+    @Test
+    void shouldNotResumeFromInvalidatedCheckpoint() throws Exception {
+        // given
+        Config config = resumableConfig();
+        RangeBlockBasedIndexPopulator populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        populator.createOrResume();
+        populator.add(updates(0, 20), NULL_CONTEXT);
+        populator.checkpoint(19, NULL_CONTEXT);
+        populator.checkpoint(NO_SCAN_PROGRESS, NULL_CONTEXT);
+        populator.close(false, NULL_CONTEXT);
+
+        // when
+        populator = newPopulator(NO_MONITOR, heapBufferFactory(100), INSTANCE, config);
+        try {
+            // then
+            assertThat(populator.createOrResume()).isEqualTo(NO_SCAN_PROGRESS);
+        } finally {
+            populator.close(false, NULL_CONTEXT);
+        }
+    }
+
+    @Test
+    void shouldBuildValueHistogramOfAllEntriesWhenMergingScanUpdates() throws Exception {
+        // given
+        BlockBasedIndexPopulator<RangeKey> populator = instantiatePopulator(NO_MONITOR);
+        try {
+            List<IndexEntryUpdate<IndexDescriptor>> updates = new ArrayList<>();
+            for (int entityId = 0; entityId < 1_000; entityId++) {
+                updates.add(IndexEntryUpdate.add(entityId, INDEX_DESCRIPTOR, intValue(entityId)));
+            }
+            populator.add(updates, NULL_CONTEXT);
+
+            // when
+            populator.scanCompleted(nullInstance, populationWorkScheduler, NULL_CONTEXT);
+
+            // then
+            IndexValueHistogram histogram = populator.sample(NULL_CONTEXT).valueHistogram();
+            assertThat(histogram.numberOfBuckets()).isEqualTo(IndexValueHistogram.MAX_BUCKETS);
+            assertThat(histogram.boundaries()[0]).isEqualTo(0d);
+            assertThat(histogram.boundaries()[IndexValueHistogram.MAX_BUCKETS]).isEqualTo(999d);
+            assertThat(histogram.histogramFraction()).isEqualTo(1d);
+        } finally {
+            populator.close(true, NULL_CONTEXT);
+        }
+    }
+
+    private static Config resumableConfig() {
+        return Config.defaults(Map.of(
+                GraphDatabaseInternalSettings.index_populator_merge_factor,
+                2,
+                GraphDatabaseInternalSettings.index_population_resumable,
+                true));
+    }
+
+    private List<IndexEntryUpdate<IndexDescriptor>> updates(int fromEntityId, int toEntityId) {
+        List<IndexEntryUpdate<IndexDescriptor>> updates = new ArrayList<>();
+        for (int entityId = fromEntityId; entityId < toEntityId; entityId++) {
+            updates.add(IndexEntryUpdate.add(entityId, INDEX_DESCRIPTOR, supportedValue(entityId)));
+        }
+        return updates;
+    }
+
+    private static void externalUpdate(RangeBlockBasedIndexPopulator populator, IndexEntryUpdate<?> update)
+            throws Exception {
+        try (IndexUpdater updater = populator.newPopulatingUpdater(NULL_CONTEXT)) {
+            updater.process(update);
+        }
+    }
+
+    private MutableLongList indexedEntityIds(RangeBlockBasedIndexPopulator populator) throws IOException {
+        MutableLongList entityIds = LongLists.mutable.empty();
+        try (Seeker<RangeKey, NullValue> seek = seek(populator.tree, layout())) {
+            while (seek.next()) {
+                entityIds.add(seek.key().getEntityId());
+            }
+        }
+        return entityIds.sortThis();
+    }
+
+    private RangeBlockBasedIndexPopulator newPopulator(
+            BlockBasedIndexPopulator.Monitor monitor,
+            ByteBufferFactory bufferFactory,
+            MemoryTracker memoryTracker,
+            Config config)
+            throws IOException {
+        RangeLayout layout = layout();
+        return new RangeBlockBasedIndexPopulator(
                 databaseIndexContext,
                 indexFiles,
                 layout,
@@ -51,8 +215,6 @@ class RangeBlockBasedIndexPopulatorTest extends GenericBlockBasedIndexPopulatorT
                 tokenNameLookup,
                 monitor,
                 Sets.immutable.empty());
-        populator.create();
-        return populator;
     }
 
     @Override
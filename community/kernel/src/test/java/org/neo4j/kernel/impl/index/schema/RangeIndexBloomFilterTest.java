@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.io.memory.ByteBufferFactory.heapBufferFactory;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.api.schema.SchemaTestUtil.SIMPLE_NAME_LOOKUP;
+import static org.neo4j.kernel.impl.api.index.PhaseTracker.nullInstance;
+import static org.neo4j.kernel.impl.index.schema.BlockBasedIndexPopulator.NO_MONITOR;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.context.EmptyVersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+@EphemeralPageCacheExtension
+class RangeIndexBloomFilterTest {
+    private static final int PROPERTY_KEY = 1;
+    private static final IndexDescriptor INDEX_DESCRIPTOR = IndexPrototype.forSchema(
+                    SchemaDescriptors.forLabel(1, PROPERTY_KEY))
+            .withIndexType(IndexType.RANGE)
+            .withIndexProvider(RangeIndexProvider.DESCRIPTOR)
+            .withName("index")
+            .materialise(1);
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory testDir;
+
+    @Inject
+    private PageCache pageCache;
+
+    private final RangeLayout layout = new RangeLayout(1);
+    private final CursorContextFactory contextFactory =
+            new CursorContextFactory(PageCacheTracer.NULL, EmptyVersionContextSupplier.EMPTY);
+    private IndexFiles indexFiles;
+    private JobScheduler jobScheduler;
+
+    @BeforeEach
+    void setup() {
+        IndexDirectoryStructure directoryStructure =
+                directoriesByProvider(testDir.homePath()).forProvider(new IndexProviderDescriptor("test", "v1"));
+        indexFiles = new IndexFiles.Directory(fs, directoryStructure, INDEX_DESCRIPTOR.getId());
+        jobScheduler = JobSchedulerFactory.createInitialisedScheduler();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobScheduler.shutdown();
+    }
+
+    @Test
+    void shouldSkipSeeksForValuesNotInIndex() throws Exception {
+        populate(true, 1_000);
+
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            try (ValueIndexReader reader = accessor.newValueReader()) {
+                for (int i = 0; i < 1_000; i++) {
+                    assertThat(query(reader, Values.intValue(i * 2))).containsExactly((long) i);
+                    assertThat(query(reader, Values.intValue(i * 2 + 1))).isEmpty();
+                }
+                // Numbers which are equal to indexed values are found, regardless of their type
+                assertThat(query(reader, Values.doubleValue(10))).containsExactly(5L);
+                assertThat(reader.countIndexedEntities(
+                                7, CursorContext.NULL_CONTEXT, new int[] {PROPERTY_KEY}, Values.intValue(14)))
+                        .isEqualTo(1);
+            }
+
+            IndexBloomFilter.Statistics statistics = accessor.bloomFilter.statistics();
+            assertThat(statistics.enabled()).isTrue();
+            // Values whose bits were all set already by other values don't count as insertions
+            assertThat(statistics.insertions()).isBetween(990L, 1_000L);
+            assertThat(statistics.memoryBytes()).isGreaterThan(0);
+            assertThat(statistics.estimatedFalsePositiveRate()).isBetween(0d, 0.05);
+            // Almost all lookups of odd values should have been ruled out by the filter
+            assertThat(statistics.negativeLookups()).isGreaterThan(900);
+        }
+    }
+
+    @Test
+    void shouldKeepUpdatesMadeAfterPopulationOverRestart() throws Exception {
+        populate(true, 100);
+
+        long insertions;
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            try (IndexUpdater updater =
+                    accessor.newUpdater(IndexUpdateMode.ONLINE, CursorContext.NULL_CONTEXT, false)) {
+                updater.process(add(1_000, Values.stringValue("added")));
+            }
+            try (ValueIndexReader reader = accessor.newValueReader()) {
+                assertThat(query(reader, Values.stringValue("added"))).containsExactly(1_000L);
+            }
+            accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+            insertions = accessor.bloomFilter.statistics().insertions();
+        }
+
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            assertThat(accessor.bloomFilter.statistics().insertions()).isEqualTo(insertions);
+            try (ValueIndexReader reader = accessor.newValueReader()) {
+                assertThat(query(reader, Values.stringValue("added"))).containsExactly(1_000L);
+                assertThat(query(reader, Values.intValue(198))).containsExactly(99L);
+            }
+        }
+    }
+
+    @Test
+    void shouldResizeFilterOnCheckpointWhenIndexHasOutgrownIt() throws Exception {
+        populate(true, 100);
+
+        int bitsPerPartition;
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            bitsPerPartition = accessor.bloomFilter.statistics().bitsPerPartition();
+            try (IndexUpdater updater =
+                    accessor.newUpdater(IndexUpdateMode.ONLINE, CursorContext.NULL_CONTEXT, false)) {
+                for (int i = 100; i < 10_000; i++) {
+                    updater.process(add(i, Values.intValue(i * 2)));
+                }
+            }
+            assertThat(accessor.bloomFilter.needsResize()).isTrue();
+
+            accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+
+            IndexBloomFilter.Statistics statistics = accessor.bloomFilter.statistics();
+            assertThat(statistics.bitsPerPartition()).isGreaterThan(bitsPerPartition);
+            assertThat(statistics.estimatedFalsePositiveRate()).isLessThan(IndexBloomFilter.MAX_FALSE_POSITIVE_RATE);
+        }
+
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            assertThat(accessor.bloomFilter.statistics().bitsPerPartition()).isGreaterThan(bitsPerPartition);
+            try (ValueIndexReader reader = accessor.newValueReader()) {
+                for (int i = 0; i < 10_000; i++) {
+                    assertThat(query(reader, Values.intValue(i * 2))).containsExactly((long) i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldNotUseFilterWhenDisabled() throws Exception {
+        populate(false, 100);
+
+        assertThat(fs.fileExists(IndexBloomFilter.fileFor(indexFiles))).isFalse();
+        try (RangeIndexAccessor accessor = accessor(true)) {
+            assertThat(accessor.bloomFilter.statistics().enabled()).isFalse();
+            try (ValueIndexReader reader = accessor.newValueReader()) {
+                assertThat(query(reader, Values.intValue(10))).containsExactly(5L);
+                assertThat(query(reader, Values.intValue(11))).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void shouldDeleteFilterOnDrop() throws Exception {
+        populate(true, 100);
+        assertThat(fs.fileExists(IndexBloomFilter.fileFor(indexFiles))).isTrue();
+
+        RangeIndexAccessor accessor = accessor(true);
+        assertThat(snapshotFiles(accessor)).contains(IndexBloomFilter.fileFor(indexFiles));
+        accessor.drop();
+
+        assertThat(fs.fileExists(IndexBloomFilter.fileFor(indexFiles))).isFalse();
+    }
+
+    private static List<Path> snapshotFiles(RangeIndexAccessor accessor) {
+        List<Path> files = new ArrayList<>();
+        try (var snapshot = accessor.snapshotFiles()) {
+            snapshot.forEachRemaining(files::add);
+        }
+        return files;
+    }
+
+    private void populate(boolean bloomFilters, int count) throws Exception {
+        RangeBlockBasedIndexPopulator populator = new RangeBlockBasedIndexPopulator(
+                context(bloomFilters),
+                indexFiles,
+                layout,
+                INDEX_DESCRIPTOR,
+                false,
+                heapBufferFactory(10_000),
+                Config.defaults(),
+                INSTANCE,
+                SIMPLE_NAME_LOOKUP,
+                NO_MONITOR,
+                Sets.immutable.empty());
+        populator.create();
+        List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            updates.add(add(i, Values.intValue(i * 2)));
+        }
+        populator.add(updates, CursorContext.NULL_CONTEXT);
+        IndexPopulator.PopulationWorkScheduler workScheduler = new IndexPopulator.PopulationWorkScheduler() {
+            @Override
+            public <T> JobHandle<T> schedule(
+                    IndexPopulator.JobDescriptionSupplier descriptionSupplier, Callable<T> job) {
+                return jobScheduler.schedule(
+                        Group.INDEX_POPULATION_WORK, new JobMonitoringParams(null, null, null), job);
+            }
+        };
+        populator.scanCompleted(nullInstance, workScheduler, CursorContext.NULL_CONTEXT);
+        populator.close(true, CursorContext.NULL_CONTEXT);
+    }
+
+    private RangeIndexAccessor accessor(boolean bloomFilters) {
+        return new RangeIndexAccessor(
+                context(bloomFilters),
+                indexFiles,
+                layout,
+                RecoveryCleanupWorkCollector.immediate(),
+                INDEX_DESCRIPTOR,
+                SIMPLE_NAME_LOOKUP,
+                Sets.immutable.empty());
+    }
+
+    private DatabaseIndexContext context(boolean bloomFilters) {
+        return DatabaseIndexContext.builder(pageCache, fs, contextFactory, PageCacheTracer.NULL, DEFAULT_DATABASE_NAME)
+                .withReadOnlyChecker(writable())
+                .withBloomFilters(bloomFilters)
+                .build();
+    }
+
+    private static IndexEntryUpdate<?> add(long entityId, Value value) {
+        return IndexEntryUpdate.add(entityId, INDEX_DESCRIPTOR, value);
+    }
+
+    private static List<Long> query(ValueIndexReader reader, Value value) throws Exception {
+        List<Long> entityIds = new ArrayList<>();
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query(
+                client,
+                NULL_CONTEXT,
+                AccessMode.Static.READ,
+                unconstrained(),
+                PropertyIndexQuery.exact(PROPERTY_KEY, value));
+        while (client.next()) {
+            entityIds.add(client.reference);
+        }
+        return entityIds;
+    }
+}
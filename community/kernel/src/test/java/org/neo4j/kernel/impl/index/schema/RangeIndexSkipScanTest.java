@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.constrained;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.api.schema.SchemaTestUtil.SIMPLE_NAME_LOOKUP;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.IndexQueryConstraints;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexCapability;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.context.EmptyVersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+@EphemeralPageCacheExtension
+class RangeIndexSkipScanTest {
+    private static final int TENANT = 1;
+    private static final int TIMESTAMP = 2;
+    private static final int TENANTS = 7;
+    private static final int ENTITIES = 5_000;
+    private static final IndexDescriptor INDEX_DESCRIPTOR = IndexPrototype.forSchema(
+                    SchemaDescriptors.forLabel(1, TENANT, TIMESTAMP))
+            .withIndexType(IndexType.RANGE)
+            .withIndexProvider(RangeIndexProvider.DESCRIPTOR)
+            .withName("index")
+            .materialise(1);
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory testDir;
+
+    @Inject
+    private PageCache pageCache;
+
+    private RangeIndexAccessor accessor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        IndexDirectoryStructure directoryStructure =
+                directoriesByProvider(testDir.homePath()).forProvider(new IndexProviderDescriptor("test", "v1"));
+        IndexFiles indexFiles = new IndexFiles.Directory(fs, directoryStructure, INDEX_DESCRIPTOR.getId());
+        DatabaseIndexContext context = DatabaseIndexContext.builder(
+                        pageCache,
+                        fs,
+                        new CursorContextFactory(PageCacheTracer.NULL, EmptyVersionContextSupplier.EMPTY),
+                        PageCacheTracer.NULL,
+                        DEFAULT_DATABASE_NAME)
+                .withReadOnlyChecker(writable())
+                .build();
+        accessor = new RangeIndexAccessor(
+                context,
+                indexFiles,
+                new RangeLayout(2),
+                RecoveryCleanupWorkCollector.immediate(),
+                INDEX_DESCRIPTOR,
+                SIMPLE_NAME_LOOKUP,
+                Sets.immutable.empty());
+        try (IndexUpdater updater = accessor.newUpdater(IndexUpdateMode.ONLINE, CursorContext.NULL_CONTEXT, false)) {
+            for (long entityId = 0; entityId < ENTITIES; entityId++) {
+                updater.process(IndexEntryUpdate.add(
+                        entityId,
+                        INDEX_DESCRIPTOR,
+                        Values.stringValue("tenant" + tenant(entityId)),
+                        Values.longValue(entityId)));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessor.close();
+    }
+
+    @Test
+    void shouldFindEntitiesByTrailingRangeForEveryLeadingValue() throws Exception {
+        List<Long> expected = LongStream.rangeClosed(1_000, 2_000).boxed().toList();
+
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            assertThat(query(reader, unconstrained(), exists(), range(1_000, 2_000)))
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void shouldFindEntitiesByTrailingExactValue() throws Exception {
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            assertThat(query(
+                            reader,
+                            unconstrained(),
+                            exists(),
+                            PropertyIndexQuery.exact(TIMESTAMP, Values.longValue(4_321))))
+                    .containsExactly(4_321L);
+            assertThat(query(
+                            reader,
+                            unconstrained(),
+                            exists(),
+                            PropertyIndexQuery.exact(TIMESTAMP, Values.longValue(ENTITIES))))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldFindEntitiesInIndexOrder() throws Exception {
+        Comparator<Long> indexOrder = Comparator.<Long, String>comparing(entityId -> "tenant" + tenant(entityId))
+                .thenComparing(Comparator.naturalOrder());
+        List<Long> ascending =
+                LongStream.range(100, 300).boxed().sorted(indexOrder).toList();
+        List<Long> descending =
+                LongStream.range(100, 300).boxed().sorted(indexOrder.reversed()).toList();
+
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            assertThat(query(reader, constrained(IndexOrder.ASCENDING, true), exists(), range(100, 299)))
+                    .containsExactlyElementsOf(ascending);
+            assertThat(query(reader, constrained(IndexOrder.DESCENDING, true), exists(), range(100, 299)))
+                    .containsExactlyElementsOf(descending);
+        }
+    }
+
+    @Test
+    void shouldFindNothingForEmptyTrailingRange() throws Exception {
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            assertThat(query(reader, unconstrained(), exists(), range(200, 100)))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldFilterPartitionedSeeksOfSkipScanQueries() throws Exception {
+        List<Long> found = new ArrayList<>();
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            var seek = reader.valueSeek(4, NULL_CONTEXT, exists(), range(10, 19));
+            for (int i = 0; i < seek.getNumberOfPartitions(); i++) {
+                SimpleEntityValueClient client = new SimpleEntityValueClient();
+                try (IndexProgressor progressor = seek.reservePartition(client, CursorContext.NULL_CONTEXT)) {
+                    while (progressor.next()) {
+                        found.add(client.reference);
+                    }
+                }
+            }
+        }
+        assertThat(found)
+                .containsExactlyInAnyOrderElementsOf(
+                        LongStream.range(10, 20).boxed().toList());
+    }
+
+    @Test
+    void shouldOnlySkipScanOverSingleLeadingProperty() {
+        assertThat(RangeIndexReader.isSkipScanQuery(exists(), range(1, 2))).isTrue();
+        assertThat(RangeIndexReader.isSkipScanQuery(exists(), PropertyIndexQuery.exists(TIMESTAMP)))
+                .isFalse();
+        assertThat(RangeIndexReader.isSkipScanQuery(range(1, 2))).isFalse();
+        assertThat(((IndexCapability) RangeIndexProvider.CAPABILITY).supportsSkipScan())
+                .isTrue();
+
+        try (ValueIndexReader reader = accessor.newValueReader()) {
+            // A range on the leading property doesn't leave it unconstrained
+            assertThatThrownBy(() -> query(
+                            reader,
+                            unconstrained(),
+                            PropertyIndexQuery.range(TENANT, Values.stringValue("a"), true, null, false),
+                            range(1, 2)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static long tenant(long entityId) {
+        return entityId % TENANTS;
+    }
+
+    private static PropertyIndexQuery exists() {
+        return PropertyIndexQuery.exists(TENANT);
+    }
+
+    private static PropertyIndexQuery range(long from, long to) {
+        return PropertyIndexQuery.range(TIMESTAMP, from, true, to, true);
+    }
+
+    private static List<Long> query(
+            ValueIndexReader reader, IndexQueryConstraints constraints, PropertyIndexQuery... predicates)
+            throws Exception {
+        List<Long> entityIds = new ArrayList<>();
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query(client, NULL_CONTEXT, AccessMode.Static.READ, constraints, predicates);
+        while (client.next()) {
+            entityIds.add(client.reference);
+        }
+        return entityIds;
+    }
+}
@@ -20,9 +20,12 @@
 package org.neo4j.kernel.impl.index.schema;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class RangeLayoutTest {
@@ -40,4 +43,14 @@ class RangeLayoutTest {
                             previous, i));
         }
     }
+
+    @Test
+    void shouldHaveUniqueIdentifierForDifferentNumberOfIncludedSlots() {
+        Set<Long> identifiers = new HashSet<>();
+        for (int slots = 1; slots < 10; slots++) {
+            for (int included = 0; included < 10; included++) {
+                assertTrue(identifiers.add(new RangeLayout(slots, included).identifier()));
+            }
+        }
+    }
 }
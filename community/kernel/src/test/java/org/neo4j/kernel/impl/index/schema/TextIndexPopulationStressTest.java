@@ -32,6 +32,7 @@ import static org.neo4j.values.storable.ValueType.STRING_BMP;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.kernel.api.impl.schema.TextIndexProvider;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 
 class TextIndexPopulationStressTest extends IndexPopulationStressTest {
     TextIndexPopulationStressTest() {
@@ -53,7 +54,8 @@ class TextIndexPopulationStressTest extends IndexPopulationStressTest {
                             test.directory(),
                             new Monitors(),
                             defaults(),
-                            writable());
+                            writable(),
+                            new CallingThreadJobScheduler());
                 });
     }
 
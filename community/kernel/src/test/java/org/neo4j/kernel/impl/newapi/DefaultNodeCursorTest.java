@@ -19,8 +19,11 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -38,6 +41,7 @@ import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 import org.neo4j.kernel.impl.api.state.TxState;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.NodeBatch;
 import org.neo4j.storageengine.api.StorageLocks;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 import org.neo4j.storageengine.api.StorageReader;
@@ -76,6 +80,30 @@ class DefaultNodeCursorTest {
         }
     }
 
+    @Test
+    void nextBatchIncludesNodesAddedInTransaction() {
+        final var NODEID = 1L;
+        final var LABEL = 3;
+        var read = buildReadState(txState -> {
+            txState.nodeDoCreate(NODEID);
+            txState.nodeDoAddLabel(LABEL, NODEID);
+        });
+
+        var storageCursor = mock(StorageNodeCursor.class);
+        var storageRelCursor = mock(StorageRelationshipTraversalCursor.class);
+        try (var defaultCursor = new DefaultNodeCursor((c) -> {}, storageCursor, storageCursor, storageRelCursor)) {
+            defaultCursor.scan(read);
+            var batch = new NodeBatch(10);
+            assertTrue(defaultCursor.nextBatch(batch));
+            assertEquals(1, batch.size());
+            assertEquals(NODEID, batch.ids()[0]);
+            assertArrayEquals(new long[] {LABEL}, batch.labels()[0]);
+            assertFalse(defaultCursor.nextBatch(batch));
+            // Nodes from the store have to be checked against the transaction state one by one
+            verify(storageCursor, never()).nextBatch(any());
+        }
+    }
+
     private static Read buildReadState(Consumer<TxState> setup) {
         var ktx = mock(KernelTransactionImplementation.class);
         when(ktx.securityContext()).thenReturn(SecurityContext.AUTH_DISABLED);
@@ -215,8 +215,9 @@ class DynamicIndexStoreViewTest {
                 INSTANCE);
         storeScan.run(StoreScan.NO_EXTERNAL_UPDATES);
 
-        assertThat(consumer.batches.size()).isEqualTo(1);
-        assertThat(consumer.batches.get(0).size()).isEqualTo(nodeIds.length + 2);
+        // Batches are ranges of node ids, also counting ids that are not in use, so the nodes may be spread over more
+        // than one batch
+        assertThat(consumer.batches.stream().mapToInt(List::size).sum()).isEqualTo(nodeIds.length + 2);
     }
 
     @Test
@@ -33,6 +33,7 @@ import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.impl.factory.primitive.LongObjectMaps;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 import org.junit.jupiter.api.Test;
@@ -89,6 +90,41 @@ class FullScanStoreViewNodeIdsTest {
         }
     }
 
+    @Test
+    void shouldScanAllNodesInIdRangeSkippingUnusedIds() throws Exception {
+        // given
+        var storageReader = new StubStorageCursors();
+        var storageEngine = mock(StorageEngine.class);
+        when(storageEngine.newReader()).thenReturn(storageReader);
+        when(storageEngine.createStorageCursors(any())).thenReturn(StoreCursors.NULL);
+        MutableLongSet expected = LongSets.mutable.empty();
+        int highestId = 5_000;
+        for (int n = 0; n <= highestId; n++) {
+            boolean inUse = n == highestId || random.nextInt(4) != 0;
+            storageReader.withNode(n).labels(1).inUse(inUse);
+            if (inUse) {
+                expected.add(n);
+            }
+        }
+
+        // when
+        try (var jobScheduler = new ThreadPoolJobScheduler()) {
+            var fullScanStoreView =
+                    new FullScanStoreView(NO_LOCK_SERVICE, storageEngine, Config.defaults(), jobScheduler);
+            var consumer = new TestTokenScanConsumer();
+            var scan = fullScanStoreView.visitNodes(
+                    new int[] {1}, key -> true, null, consumer, true, true, NULL_CONTEXT_FACTORY, INSTANCE);
+            scan.run(NO_EXTERNAL_UPDATES);
+
+            // then
+            MutableLongSet actual = LongSets.mutable.empty();
+            consumer.batches.forEach(batch -> batch.forEach(record -> actual.add(record.getEntityId())));
+            assertThat(actual).isEqualTo(expected);
+            assertThat(scan.getProgress().getCompleted()).isEqualTo(highestId + 1);
+            assertThat(scan.getProgress().getTotal()).isEqualTo(highestId + 1);
+        }
+    }
+
     private void createData(StubStorageCursors storageReader, int[] relationshipTypes) {
         List<StubStorageCursors.NodeData> nodes = new ArrayList<>();
         for (int n = 0; n < 10; n++) {
@@ -170,6 +170,12 @@ public class StubStorageCursors implements StorageReader {
         throw new UnsupportedOperationException("Not implemented yet");
     }
 
+    @Override
+    public Collection<IndexDescriptor> valueIndexesGetRelatedByIncludedProperty(
+            long[] labels, int propertyKeyId, EntityType entityType) {
+        throw new UnsupportedOperationException("Not implemented yet");
+    }
+
     @Override
     public Collection<IndexBackedConstraintDescriptor> uniquenessConstraintsGetRelated(
             long[] tokens, int propertyKeyId, EntityType entityType) {
@@ -276,6 +282,19 @@ public class StubStorageCursors implements StorageReader {
         return relationshipData.size();
     }
 
+    @Override
+    public long nodesGetHighestPossibleIdInUse(CursorContext cursorContext) {
+        return nodeData.keySet().stream().mapToLong(Long::longValue).max().orElse(NO_ID);
+    }
+
+    @Override
+    public long relationshipsGetHighestPossibleIdInUse(CursorContext cursorContext) {
+        return relationshipData.keySet().stream()
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(NO_ID);
+    }
+
     @Override
     public int labelCount() {
         throw new UnsupportedOperationException("Not implemented yet");
@@ -21,6 +21,7 @@ package org.neo4j.kernel.api.impl.schema;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.impl.index.AbstractLuceneIndex;
@@ -38,6 +39,7 @@ import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 class TextIndex extends AbstractLuceneIndex<ValueIndexReader> {
 
     private final IndexSamplingConfig samplingConfig;
+    private final Executor partitionSearchers;
 
     private final TaskCoordinator taskCoordinator = new TaskCoordinator();
 
@@ -46,9 +48,11 @@ class TextIndex extends AbstractLuceneIndex<ValueIndexReader> {
             IndexDescriptor descriptor,
             IndexSamplingConfig samplingConfig,
             IndexPartitionFactory partitionFactory,
-            Config config) {
+            Config config,
+            Executor partitionSearchers) {
         super(indexStorage, partitionFactory, descriptor, config);
         this.samplingConfig = samplingConfig;
+        this.partitionSearchers = partitionSearchers;
     }
 
     @Override
@@ -75,6 +79,6 @@ class TextIndex extends AbstractLuceneIndex<ValueIndexReader> {
                 .map(partitionSearcher -> (ValueIndexReader)
                         new TextIndexReader(partitionSearcher, descriptor, samplingConfig, taskCoordinator))
                 .toList();
-        return new PartitionedValueIndexReader(descriptor, readers);
+        return new PartitionedValueIndexReader(descriptor, readers, partitionSearchers);
     }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.api.impl.schema;
 
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -48,6 +49,8 @@ public class TextIndexBuilder extends AbstractLuceneIndexBuilder<TextIndexBuilde
     private final Config config;
     private IndexSamplingConfig samplingConfig;
     private Supplier<IndexWriterConfig> writerConfigFactory;
+    // Partitions are searched on the calling thread unless the provider hands in a scheduler backed executor
+    private Executor partitionSearchers = Runnable::run;
 
     private TextIndexBuilder(IndexDescriptor descriptor, DatabaseReadOnlyChecker readOnlyChecker, Config config) {
         super(readOnlyChecker);
@@ -90,6 +93,17 @@ public class TextIndexBuilder extends AbstractLuceneIndexBuilder<TextIndexBuilde
         return this;
     }
 
+    /**
+     * Specify {@link Executor} to search the partitions of a multi-partition index in parallel.
+     *
+     * @param partitionSearchers executor of the partition searches
+     * @return index builder
+     */
+    public TextIndexBuilder withPartitionSearchers(Executor partitionSearchers) {
+        this.partitionSearchers = partitionSearchers;
+        return this;
+    }
+
     /**
      * Build text index with specified configuration
      *
@@ -98,7 +112,12 @@ public class TextIndexBuilder extends AbstractLuceneIndexBuilder<TextIndexBuilde
     public DatabaseIndex<ValueIndexReader> build() {
         PartitionedIndexStorage storage = storageBuilder.build();
         var index = new TextIndex(
-                storage, descriptor, samplingConfig, new WritableIndexPartitionFactory(writerConfigFactory), config);
+                storage,
+                descriptor,
+                samplingConfig,
+                new WritableIndexPartitionFactory(writerConfigFactory),
+                config,
+                partitionSearchers);
         return new WritableDatabaseIndex<>(index, readOnlyChecker);
     }
 }
@@ -43,6 +43,8 @@ import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
 
 public class TextIndexProvider extends AbstractTextIndexProvider {
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor("text", "1.0");
@@ -51,6 +53,7 @@ public class TextIndexProvider extends AbstractTextIndexProvider {
     private final FileSystemAbstraction fileSystem;
     private final Config config;
     private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final JobScheduler scheduler;
 
     public TextIndexProvider(
             FileSystemAbstraction fileSystem,
@@ -58,11 +61,13 @@ public class TextIndexProvider extends AbstractTextIndexProvider {
             IndexDirectoryStructure.Factory directoryStructureFactory,
             Monitors monitors,
             Config config,
-            DatabaseReadOnlyChecker readOnlyChecker) {
+            DatabaseReadOnlyChecker readOnlyChecker,
+            JobScheduler scheduler) {
         super(IndexType.TEXT, DESCRIPTOR, fileSystem, directoryFactory, directoryStructureFactory, monitors, config);
         this.fileSystem = fileSystem;
         this.config = config;
         this.readOnlyChecker = readOnlyChecker;
+        this.scheduler = scheduler;
     }
 
     @Override
@@ -107,6 +112,7 @@ public class TextIndexProvider extends AbstractTextIndexProvider {
         var index = TextIndexBuilder.create(descriptor, readOnlyChecker, config)
                 .withSamplingConfig(samplingConfig)
                 .withIndexStorage(getIndexStorage(descriptor.getId()))
+                .withPartitionSearchers(scheduler.executor(Group.INDEX_PARTITION_SEARCH))
                 .build();
         index.open();
         return new TextIndexAccessor(index, descriptor, tokenNameLookup, UPDATE_IGNORE_STRATEGY);
@@ -20,7 +20,13 @@
 package org.neo4j.kernel.api.impl.schema.reader;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
@@ -45,10 +51,17 @@ import org.neo4j.values.storable.Value;
 public class PartitionedValueIndexReader implements ValueIndexReader {
     private final IndexDescriptor descriptor;
     private final List<ValueIndexReader> indexReaders;
+    private final Executor partitionSearchers;
 
-    public PartitionedValueIndexReader(IndexDescriptor descriptor, List<ValueIndexReader> readers) {
+    /**
+     * @param partitionSearchers searches all partitions but the first in the background, see
+     * {@link org.neo4j.scheduler.Group#INDEX_PARTITION_SEARCH}.
+     */
+    public PartitionedValueIndexReader(
+            IndexDescriptor descriptor, List<ValueIndexReader> readers, Executor partitionSearchers) {
         this.descriptor = descriptor;
         this.indexReaders = readers;
+        this.partitionSearchers = partitionSearchers;
     }
 
     @Override
@@ -59,39 +72,95 @@ public class PartitionedValueIndexReader implements ValueIndexReader {
             IndexQueryConstraints constraints,
             PropertyIndexQuery... query)
             throws IndexNotApplicableKernelException {
+        int[] propertyIds = descriptor.schema().getPropertyIds();
+        BridgingIndexProgressor bridgingIndexProgressor = new BridgingIndexProgressor(client, propertyIds);
+        BridgingIndexProgressor[] partitionProgressors = new BridgingIndexProgressor[indexReaders.size()];
+        List<Future<?>> searches = new ArrayList<>(indexReaders.size() - 1);
+        Throwable failure = null;
         try {
-            BridgingIndexProgressor bridgingIndexProgressor =
-                    new BridgingIndexProgressor(client, descriptor.schema().getPropertyIds());
-            indexReaders.parallelStream().forEach(reader -> {
-                try {
-                    reader.query(bridgingIndexProgressor, context, accessMode, constraints, query);
-                } catch (IndexNotApplicableKernelException e) {
-                    throw new InnerException(e);
-                }
-            });
-            boolean needStoreFilter = bridgingIndexProgressor.needStoreFilter();
-            client.initialize(
-                    descriptor, bridgingIndexProgressor, accessMode, false, needStoreFilter, constraints, query);
-        } catch (InnerException e) {
-            throw e.getCause();
+            // The first partition is searched by this thread, while the others are searched in the background
+            for (int partition = 1; partition < indexReaders.size(); partition++) {
+                int searchedPartition = partition;
+                FutureTask<Void> search = new FutureTask<>(() -> {
+                    queryPartition(
+                            searchedPartition,
+                            partitionProgressors,
+                            bridgingIndexProgressor,
+                            context,
+                            accessMode,
+                            constraints,
+                            query);
+                    return null;
+                });
+                partitionSearchers.execute(search);
+                searches.add(search);
+            }
+            queryPartition(0, partitionProgressors, bridgingIndexProgressor, context, accessMode, constraints, query);
+        } catch (IndexNotApplicableKernelException | RuntimeException e) {
+            failure = e;
         }
+        for (Future<?> search : searches) {
+            try {
+                search.get();
+            } catch (ExecutionException e) {
+                failure = Exceptions.chain(failure, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = Exceptions.chain(failure, e);
+            }
+        }
+        if (failure != null) {
+            IOUtils.closeAllSilently(partitionProgressors);
+            throwQueryFailure(failure);
+        }
+
+        // The results of the partitions are returned in partition order, regardless of which search completed first
+        for (BridgingIndexProgressor partitionProgressor : partitionProgressors) {
+            bridgingIndexProgressor.initialize(
+                    descriptor,
+                    partitionProgressor,
+                    accessMode,
+                    false,
+                    partitionProgressor.needStoreFilter(),
+                    constraints,
+                    query);
+        }
+        boolean needStoreFilter = bridgingIndexProgressor.needStoreFilter();
+        client.initialize(descriptor, bridgingIndexProgressor, accessMode, false, needStoreFilter, constraints, query);
     }
 
-    @Override
-    public PartitionedValueSeek valueSeek(
-            int desiredNumberOfPartitions, QueryContext context, PropertyIndexQuery... query) {
-        throw new UnsupportedOperationException();
+    private void queryPartition(
+            int partition,
+            BridgingIndexProgressor[] partitionProgressors,
+            BridgingIndexProgressor bridgingIndexProgressor,
+            QueryContext context,
+            AccessMode accessMode,
+            IndexQueryConstraints constraints,
+            PropertyIndexQuery... query)
+            throws IndexNotApplicableKernelException {
+        BridgingIndexProgressor partitionProgressor = new BridgingIndexProgressor(
+                bridgingIndexProgressor, descriptor.schema().getPropertyIds());
+        partitionProgressors[partition] = partitionProgressor;
+        indexReaders.get(partition).query(partitionProgressor, context, accessMode, constraints, query);
     }
 
-    private static final class InnerException extends RuntimeException {
-        private InnerException(IndexNotApplicableKernelException e) {
-            super(e);
+    private static void throwQueryFailure(Throwable failure) throws IndexNotApplicableKernelException {
+        if (failure instanceof IndexNotApplicableKernelException e) {
+            throw e;
         }
-
-        @Override
-        public synchronized IndexNotApplicableKernelException getCause() {
-            return (IndexNotApplicableKernelException) super.getCause();
+        if (failure instanceof RuntimeException e) {
+            throw e;
         }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        throw new RuntimeException(failure);
+    }
+
+    @Override
+    public PartitionedValueSeek valueSeek(
+            int desiredNumberOfPartitions, QueryContext context, PropertyIndexQuery... query) {
+        throw new UnsupportedOperationException();
     }
 
     @Override
@@ -28,18 +28,40 @@ import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 
 class TrigramDocumentStructure {
     static final String ENTITY_ID_KEY = "id";
+    /**
+     * Trigrams of values, without positions, written by earlier versions. Documents of such indexes keep this field until
+     * they're updated.
+     */
     static final String TRIGRAM_VALUE_KEY = "0";
+    /**
+     * Trigrams of values, with the position of each trigram in the value.
+     */
+    static final String POSITIONAL_TRIGRAM_VALUE_KEY = "1";
 
     static Term newTermForChangeOrRemove(long nodeId) {
         return new Term(ENTITY_ID_KEY, "" + nodeId);
     }
 
+    /**
+     * @return whether or not any document of the index was written with trigrams without positions.
+     */
+    static boolean hasTrigramsWithoutPositions(IndexReader reader) {
+        for (LeafReaderContext leaf : reader.leaves()) {
+            if (leaf.reader().getFieldInfos().fieldInfo(TRIGRAM_VALUE_KEY) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     static Document createLuceneDocument(long id, Value value) {
         var document = new Document();
         var idField = new StringField(ENTITY_ID_KEY, Long.toString(id), NO);
@@ -48,7 +70,7 @@ class TrigramDocumentStructure {
         document.add(idValueField);
         if (value.valueGroup() == ValueGroup.TEXT) {
             var tokenStream = new TrigramTokenStream(value.asObject().toString());
-            var valueField = new TrigramField(TRIGRAM_VALUE_KEY, tokenStream);
+            var valueField = new TrigramField(POSITIONAL_TRIGRAM_VALUE_KEY, tokenStream);
             document.add(valueField);
         }
 
@@ -60,7 +82,7 @@ class TrigramDocumentStructure {
 
         static {
             TYPE.setOmitNorms(true);
-            TYPE.setIndexOptions(IndexOptions.DOCS);
+            TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS);
             TYPE.setTokenized(true);
             TYPE.setStored(false);
             TYPE.freeze();
@@ -21,6 +21,7 @@ package org.neo4j.kernel.api.impl.schema.trigram;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.impl.index.AbstractLuceneIndex;
@@ -34,6 +35,7 @@ import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 
 class TrigramIndex extends AbstractLuceneIndex<ValueIndexReader> {
     private final IndexSamplingConfig samplingConfig;
+    private final Executor partitionSearchers;
     private final TaskCoordinator taskCoordinator = new TaskCoordinator();
 
     TrigramIndex(
@@ -41,9 +43,11 @@ class TrigramIndex extends AbstractLuceneIndex<ValueIndexReader> {
             IndexDescriptor descriptor,
             IndexSamplingConfig samplingConfig,
             IndexPartitionFactory partitionFactory,
-            Config config) {
+            Config config,
+            Executor partitionSearchers) {
         super(indexStorage, partitionFactory, descriptor, config);
         this.samplingConfig = samplingConfig;
+        this.partitionSearchers = partitionSearchers;
     }
 
     @Override
@@ -70,6 +74,6 @@ class TrigramIndex extends AbstractLuceneIndex<ValueIndexReader> {
                 .map(partitionSearcher -> (ValueIndexReader)
                         new TrigramIndexReader(partitionSearcher, descriptor, samplingConfig, taskCoordinator))
                 .toList();
-        return new PartitionedValueIndexReader(descriptor, readers);
+        return new PartitionedValueIndexReader(descriptor, readers, partitionSearchers);
     }
 }
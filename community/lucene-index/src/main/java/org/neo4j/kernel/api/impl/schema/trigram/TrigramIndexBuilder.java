@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.api.impl.schema.trigram;
 
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -40,6 +41,8 @@ class TrigramIndexBuilder extends AbstractLuceneIndexBuilder<TrigramIndexBuilder
     private final Config config;
     private IndexSamplingConfig samplingConfig;
     private Supplier<IndexWriterConfig> writerConfigFactory;
+    // Partitions are searched on the calling thread unless the provider hands in a scheduler backed executor
+    private Executor partitionSearchers = Runnable::run;
 
     private TrigramIndexBuilder(IndexDescriptor descriptor, DatabaseReadOnlyChecker readOnlyChecker, Config config) {
         super(readOnlyChecker);
@@ -82,6 +85,17 @@ class TrigramIndexBuilder extends AbstractLuceneIndexBuilder<TrigramIndexBuilder
         return this;
     }
 
+    /**
+     * Specify {@link Executor} to search the partitions of a multi-partition index in parallel.
+     *
+     * @param partitionSearchers executor of the partition searches
+     * @return index builder
+     */
+    TrigramIndexBuilder withPartitionSearchers(Executor partitionSearchers) {
+        this.partitionSearchers = partitionSearchers;
+        return this;
+    }
+
     /**
      * Build lucene schema index with specified configuration
      *
@@ -90,7 +104,12 @@ class TrigramIndexBuilder extends AbstractLuceneIndexBuilder<TrigramIndexBuilder
     DatabaseIndex<ValueIndexReader> build() {
         PartitionedIndexStorage storage = storageBuilder.build();
         var index = new TrigramIndex(
-                storage, descriptor, samplingConfig, new WritableIndexPartitionFactory(writerConfigFactory), config);
+                storage,
+                descriptor,
+                samplingConfig,
+                new WritableIndexPartitionFactory(writerConfigFactory),
+                config,
+                partitionSearchers);
         return new WritableDatabaseIndex<>(index, readOnlyChecker);
     }
 }
@@ -45,6 +45,8 @@ import org.neo4j.kernel.impl.api.LuceneIndexValueValidator;
 import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
 
 public class TrigramIndexProvider extends AbstractTextIndexProvider {
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor("text", "2.0");
@@ -53,6 +55,7 @@ public class TrigramIndexProvider extends AbstractTextIndexProvider {
     private final FileSystemAbstraction fileSystem;
     private final Config config;
     private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final JobScheduler scheduler;
 
     public TrigramIndexProvider(
             FileSystemAbstraction fileSystem,
@@ -60,11 +63,13 @@ public class TrigramIndexProvider extends AbstractTextIndexProvider {
             IndexDirectoryStructure.Factory directoryStructureFactory,
             Monitors monitors,
             Config config,
-            DatabaseReadOnlyChecker readOnlyChecker) {
+            DatabaseReadOnlyChecker readOnlyChecker,
+            JobScheduler scheduler) {
         super(IndexType.TEXT, DESCRIPTOR, fileSystem, directoryFactory, directoryStructureFactory, monitors, config);
         this.fileSystem = fileSystem;
         this.config = config;
         this.readOnlyChecker = readOnlyChecker;
+        this.scheduler = scheduler;
     }
 
     @Override
@@ -105,6 +110,7 @@ public class TrigramIndexProvider extends AbstractTextIndexProvider {
         var luceneIndex = TrigramIndexBuilder.create(descriptor, readOnlyChecker, config)
                 .withSamplingConfig(samplingConfig)
                 .withIndexStorage(getIndexStorage(descriptor.getId()))
+                .withPartitionSearchers(scheduler.executor(Group.INDEX_PARTITION_SEARCH))
                 .build();
         luceneIndex.open();
         var validator = valueValidator(descriptor, tokenNameLookup);
@@ -44,6 +44,8 @@ import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
 
 public class TrigramIndexReader extends AbstractTextIndexReader {
+    private Boolean trigramsWithoutPositions;
+
     TrigramIndexReader(
             SearcherReference searcherReference,
             IndexDescriptor descriptor,
@@ -64,16 +66,16 @@ public class TrigramIndexReader extends AbstractTextIndexReader {
                 return TrigramQueryFactory.allValues();
             case EXACT:
                 var value = ((ExactPredicate) predicate).value().asObject().toString();
-                return TrigramQueryFactory.exact(value);
+                return TrigramQueryFactory.exact(value, trigramsWithoutPositions());
             case STRING_PREFIX:
                 PropertyIndexQuery.StringPrefixPredicate spp = (PropertyIndexQuery.StringPrefixPredicate) predicate;
-                return TrigramQueryFactory.stringPrefix(spp.prefix().stringValue());
+                return TrigramQueryFactory.stringPrefix(spp.prefix().stringValue(), trigramsWithoutPositions());
             case STRING_CONTAINS:
                 PropertyIndexQuery.StringContainsPredicate scp = (PropertyIndexQuery.StringContainsPredicate) predicate;
-                return TrigramQueryFactory.stringContains(scp.contains().stringValue());
+                return TrigramQueryFactory.stringContains(scp.contains().stringValue(), trigramsWithoutPositions());
             case STRING_SUFFIX:
                 PropertyIndexQuery.StringSuffixPredicate ssp = (PropertyIndexQuery.StringSuffixPredicate) predicate;
-                return TrigramQueryFactory.stringSuffix(ssp.suffix().stringValue());
+                return TrigramQueryFactory.stringSuffix(ssp.suffix().stringValue(), trigramsWithoutPositions());
             default:
                 throw new IllegalArgumentException(
                         format("Index query not supported for %s index. Query: %s", IndexType.TEXT, predicate));
@@ -87,7 +89,7 @@ public class TrigramIndexReader extends AbstractTextIndexReader {
 
     @Override
     protected boolean needStoreFilter(PropertyIndexQuery predicate) {
-        return TrigramQueryFactory.needStoreFilter(predicate);
+        return TrigramQueryFactory.needStoreFilter(predicate, trigramsWithoutPositions());
     }
 
     /**
@@ -110,7 +112,7 @@ public class TrigramIndexReader extends AbstractTextIndexReader {
                 propertyKeyIds.length == 1,
                 "Text index does not support composite indexing. Tried to query index with multiple property keys.");
         var value = propertyValues[0].asObject().toString();
-        Query valueQuery = TrigramQueryFactory.exact(value);
+        Query valueQuery = TrigramQueryFactory.exact(value, trigramsWithoutPositions());
         entityIdAndValueQuery.add(valueQuery, BooleanClause.Occur.MUST);
 
         try {
@@ -123,6 +125,18 @@ public class TrigramIndexReader extends AbstractTextIndexReader {
         }
     }
 
+    /**
+     * Whether any segment of the index was written before trigram positions were indexed, in which case the trigrams
+     * without positions have to be searched too.
+     */
+    private boolean trigramsWithoutPositions() {
+        if (trigramsWithoutPositions == null) {
+            trigramsWithoutPositions = TrigramDocumentStructure.hasTrigramsWithoutPositions(
+                    getIndexSearcher().getIndexReader());
+        }
+        return trigramsWithoutPositions;
+    }
+
     BoundedIterable<Long> newAllEntriesValueReader(long fromIdInclusive, long toIdExclusive) throws IOException {
         DocValuesCollector collector = new DocValuesCollector();
         getIndexSearcher().search(TrigramQueryFactory.allValues(), collector);
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.api.impl.schema.trigram;
 
+import static org.neo4j.kernel.api.impl.schema.trigram.TrigramDocumentStructure.POSITIONAL_TRIGRAM_VALUE_KEY;
 import static org.neo4j.kernel.api.impl.schema.trigram.TrigramDocumentStructure.TRIGRAM_VALUE_KEY;
 
 import org.apache.lucene.analysis.CharacterUtils;
@@ -29,11 +30,11 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PhraseQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
-import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
 import org.neo4j.kernel.api.impl.schema.trigram.TrigramTokenStream.CodePointBuffer;
 
 class TrigramQueryFactory {
@@ -43,44 +44,85 @@ class TrigramQueryFactory {
     }
 
     // Need to filter out false positives
-    static Query exact(String value) {
-        return trigramSearch(value);
+    static Query exact(String value, boolean trigramsWithoutPositions) {
+        return trigramSearch(value, trigramsWithoutPositions);
     }
 
     // Need to filter out false positives
-    static Query stringPrefix(String prefix) {
-        return trigramSearch(prefix);
+    static Query stringPrefix(String prefix, boolean trigramsWithoutPositions) {
+        return trigramSearch(prefix, trigramsWithoutPositions);
     }
 
-    // Need to filter out false positives
-    static Query stringContains(String contains) {
-        return trigramSearch(contains);
+    // Exact, unless trigrams without positions are searched too, see needStoreFilter
+    static Query stringContains(String contains, boolean trigramsWithoutPositions) {
+        return trigramSearch(contains, trigramsWithoutPositions);
     }
 
     // Need to filter out false positives
-    static Query stringSuffix(String suffix) {
-        return trigramSearch(suffix);
+    static Query stringSuffix(String suffix, boolean trigramsWithoutPositions) {
+        return trigramSearch(suffix, trigramsWithoutPositions);
     }
 
     static MatchAllDocsQuery allValues() {
         return new MatchAllDocsQuery();
     }
 
-    static boolean needStoreFilter(PropertyIndexQuery predicate) {
-        return !predicate.type().equals(IndexQueryType.ALL_ENTRIES);
+    /**
+     * A search string of at least three characters matches a value exactly where all of its trigrams are found at
+     * consecutive positions of the value. A shorter search string matches a value exactly where it's a part of any of its
+     * trigrams, or of the whole value if that is shorter than a trigram. So CONTAINS queries are exact, except when the
+     * search string has too many trigrams to search for all of them, or if the index has trigrams without positions.
+     */
+    static boolean needStoreFilter(PropertyIndexQuery predicate, boolean trigramsWithoutPositions) {
+        return switch (predicate.type()) {
+            case ALL_ENTRIES -> false;
+            case STRING_CONTAINS -> {
+                var contains = ((PropertyIndexQuery.StringContainsPredicate) predicate)
+                        .contains()
+                        .stringValue();
+                yield trigramsWithoutPositions || contains.isEmpty() || !searchesAllTrigrams(contains, false);
+            }
+            default -> true;
+        };
     }
 
-    private static Query trigramSearch(String searchString) {
+    private static Query trigramSearch(String searchString, boolean trigramsWithoutPositions) {
         if (searchString.isEmpty()) {
             return allValues();
         }
 
+        Query query = positionalTrigramSearch(searchString, trigramsWithoutPositions);
+        if (!trigramsWithoutPositions) {
+            return query;
+        }
+        return new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.SHOULD)
+                .add(trigramSearch(TRIGRAM_VALUE_KEY, searchString, maxTrigrams(true)), BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private static Query positionalTrigramSearch(String searchString, boolean trigramsWithoutPositions) {
+        if (!searchesAllTrigrams(searchString, trigramsWithoutPositions)) {
+            return trigramSearch(POSITIONAL_TRIGRAM_VALUE_KEY, searchString, maxTrigrams(trigramsWithoutPositions));
+        }
+
+        var codePointBuffer = TrigramTokenStream.getCodePoints(searchString);
+        if (codePointBuffer.codePointCount() < 3) {
+            return wildcardSearch(POSITIONAL_TRIGRAM_VALUE_KEY, searchString);
+        }
+
+        PhraseQuery.Builder builder = new PhraseQuery.Builder();
+        for (int i = 0; i < codePointBuffer.codePointCount() - 2; i++) {
+            builder.add(new Term(POSITIONAL_TRIGRAM_VALUE_KEY, getNgram(codePointBuffer, i, 3)), i);
+        }
+        return new ConstantScoreQuery(builder.build());
+    }
+
+    private static Query trigramSearch(String field, String searchString, int maxTrigrams) {
         var codePointBuffer = TrigramTokenStream.getCodePoints(searchString);
 
         if (codePointBuffer.codePointCount() < 3) {
-            String searchTerm = QueryParser.escape(searchString);
-            Term term = new Term(TRIGRAM_VALUE_KEY, "*" + searchTerm + "*");
-            return new WildcardQuery(term);
+            return wildcardSearch(field, searchString);
         }
 
         BooleanQuery.Builder builder = new BooleanQuery.Builder();
@@ -88,15 +130,33 @@ class TrigramQueryFactory {
         // Don't generate more clauses than what is allowed by IndexSearcher.
         // Default value for IndexSearcher.getMaxClauseCount() is 1024 which is assumed to be enough to not generate too
         // many false positives. And those false positives will be filtered out later as usual.
-        for (int i = 0; i < codePointBuffer.codePointCount() - 2 && i < IndexSearcher.getMaxClauseCount(); i++) {
+        for (int i = 0; i < codePointBuffer.codePointCount() - 2 && i < maxTrigrams; i++) {
             String term = getNgram(codePointBuffer, i, 3);
 
-            var termQuery = new ConstantScoreQuery(new TermQuery(new Term(TRIGRAM_VALUE_KEY, term)));
+            var termQuery = new ConstantScoreQuery(new TermQuery(new Term(field, term)));
             builder.add(termQuery, BooleanClause.Occur.MUST);
         }
         return builder.build();
     }
 
+    private static Query wildcardSearch(String field, String searchString) {
+        String searchTerm = QueryParser.escape(searchString);
+        Term term = new Term(field, "*" + searchTerm + "*");
+        return new WildcardQuery(term);
+    }
+
+    private static boolean searchesAllTrigrams(String searchString, boolean trigramsWithoutPositions) {
+        return searchString.codePointCount(0, searchString.length()) - 2 <= maxTrigrams(trigramsWithoutPositions);
+    }
+
+    /**
+     * When trigrams without positions are searched too, the clauses allowed by IndexSearcher are split between the fields.
+     */
+    private static int maxTrigrams(boolean trigramsWithoutPositions) {
+        int maxClauseCount = IndexSearcher.getMaxClauseCount();
+        return trigramsWithoutPositions ? maxClauseCount / 2 : maxClauseCount;
+    }
+
     private static String getNgram(CodePointBuffer codePointBuffer, int ngramIndex, int n) {
         char[] termCharBuffer = new char[2 * n];
         int length = CharacterUtils.toChars(codePointBuffer.codePoints(), ngramIndex, n, termCharBuffer, 0);
@@ -59,6 +59,7 @@ import org.neo4j.monitoring.Monitors;
 import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 
 @TestDirectoryExtension
@@ -181,7 +182,13 @@ class LuceneIndexProviderTest {
         var directoryFactory = new DirectoryFactory.InMemoryDirectoryFactory();
         var directoryStructureFactory = directoriesByProvider(testDir.homePath());
         return new TextIndexProvider(
-                fileSystem, directoryFactory, directoryStructureFactory, new Monitors(), config, writable());
+                fileSystem,
+                directoryFactory,
+                directoryStructureFactory,
+                new Monitors(),
+                config,
+                writable(),
+                new CallingThreadJobScheduler());
     }
 
     private void createEmptySchemaIndex(DirectoryFactory directoryFactory) throws IOException {
@@ -200,6 +207,12 @@ class LuceneIndexProviderTest {
     private static TextIndexProvider getLuceneIndexProvider(
             Config config, DirectoryFactory directoryFactory, FileSystemAbstraction fs, Path graphDbDir) {
         return new TextIndexProvider(
-                fs, directoryFactory, directoriesByProvider(graphDbDir), new Monitors(), config, readOnly());
+                fs,
+                directoryFactory,
+                directoriesByProvider(graphDbDir),
+                new Monitors(),
+                config,
+                readOnly(),
+                new CallingThreadJobScheduler());
     }
 }
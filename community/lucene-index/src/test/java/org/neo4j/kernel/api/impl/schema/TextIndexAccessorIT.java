@@ -87,6 +87,7 @@ import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
@@ -134,7 +135,8 @@ public class TextIndexAccessorIT {
                 directoriesByProvider(path),
                 new Monitors(),
                 config,
-                readOnlyChecker);
+                readOnlyChecker,
+                new CallingThreadJobScheduler());
         life.add(listener);
         life.add(indexProvider);
         life.start();
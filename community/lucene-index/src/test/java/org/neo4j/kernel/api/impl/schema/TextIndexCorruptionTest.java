@@ -53,6 +53,7 @@ import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 
 @EphemeralTestDirectoryExtension
@@ -129,7 +130,13 @@ class TextIndexCorruptionTest {
         Monitors monitors = new Monitors();
         monitors.addMonitorListener(monitor);
         return new TextIndexProvider(
-                fs, directoryFactory, directoriesByProvider(indexRootFolder), monitors, Config.defaults(), readOnly()) {
+                fs,
+                directoryFactory,
+                directoriesByProvider(indexRootFolder),
+                monitors,
+                Config.defaults(),
+                readOnly(),
+                new CallingThreadJobScheduler()) {
             @Override
             protected IndexStorageFactory buildIndexStorageFactory(
                     FileSystemAbstraction fileSystem, DirectoryFactory directoryFactory) {
@@ -64,6 +64,7 @@ import org.neo4j.monitoring.Monitors;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -95,7 +96,8 @@ class TextIndexPopulatorTest {
                 directoriesByProvider(testDir.directory("folder")),
                 new Monitors(),
                 Config.defaults(),
-                writable());
+                writable(),
+                new CallingThreadJobScheduler());
         IndexSamplingConfig samplingConfig = new IndexSamplingConfig(Config.defaults());
         index = IndexPrototype.forSchema(forLabel(42, propertyKeyId), provider.getProviderDescriptor())
                 .withName("index")
@@ -53,6 +53,7 @@ import org.neo4j.monitoring.Monitors;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.scheduler.CallingThreadJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -231,6 +232,12 @@ class TextIndexPopulatingUpdaterIT {
         var directoryFactory = new DirectoryFactory.InMemoryDirectoryFactory();
         var directoryStructureFactory = directoriesByProvider(testDir.homePath());
         return new TextIndexProvider(
-                fileSystem, directoryFactory, directoryStructureFactory, new Monitors(), Config.defaults(), writable());
+                fileSystem,
+                directoryFactory,
+                directoryStructureFactory,
+                new Monitors(),
+                Config.defaults(),
+                writable(),
+                new CallingThreadJobScheduler());
     }
 }
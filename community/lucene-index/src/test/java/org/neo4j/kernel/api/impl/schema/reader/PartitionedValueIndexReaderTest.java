@@ -20,10 +20,12 @@
 package org.neo4j.kernel.api.impl.schema.reader;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,10 +35,13 @@ import static org.neo4j.values.storable.Values.stringValue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.eclipse.collections.api.list.primitive.BooleanList;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.impl.factory.primitive.BooleanLists;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -58,6 +63,8 @@ import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.impl.index.schema.GatheringNodeValueClient;
 import org.neo4j.kernel.impl.index.schema.NodeIdsIndexReaderQueryAnswer;
 import org.neo4j.kernel.impl.index.schema.NodeValueIterator;
+import org.neo4j.scheduler.Group;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.values.storable.Values;
 
 class PartitionedValueIndexReaderTest {
@@ -70,6 +77,12 @@ class PartitionedValueIndexReaderTest {
     private final TextIndexReader indexReader1 = mock(TextIndexReader.class);
     private final TextIndexReader indexReader2 = mock(TextIndexReader.class);
     private final TextIndexReader indexReader3 = mock(TextIndexReader.class);
+    private final ThreadPoolJobScheduler scheduler = new ThreadPoolJobScheduler();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scheduler.shutdown();
+    }
 
     @Test
     void partitionedReaderCloseAllReaders() {
@@ -101,6 +114,58 @@ class PartitionedValueIndexReaderTest {
         verifyResult(results);
     }
 
+    @Test
+    void searchPartitionsConcurrentlyAndReturnResultsInPartitionOrder() throws Exception {
+        PartitionedValueIndexReader indexReader = createPartitionedReaderFromReaders();
+
+        PropertyIndexQuery.StringContainsPredicate query = PropertyIndexQuery.stringContains(1, stringValue("es"));
+        CountDownLatch lastPartitionSearched = new CountDownLatch(1);
+        NodeIdsIndexReaderQueryAnswer firstPartition = new NodeIdsIndexReaderQueryAnswer(schemaIndexDescriptor, 1);
+        doAnswer(invocation -> {
+                    // Only completes if the last partition is searched at the same time
+                    assertTrue(lastPartitionSearched.await(1, TimeUnit.MINUTES));
+                    return firstPartition.answer(invocation);
+                })
+                .when(indexReader1)
+                .query(any(), any(), any(), any(), any());
+        doAnswer(new NodeIdsIndexReaderQueryAnswer(schemaIndexDescriptor, 2, 3))
+                .when(indexReader2)
+                .query(any(), any(), any(), any(), any());
+        NodeIdsIndexReaderQueryAnswer lastPartition = new NodeIdsIndexReaderQueryAnswer(schemaIndexDescriptor, 4);
+        doAnswer(invocation -> {
+                    Object result = lastPartition.answer(invocation);
+                    lastPartitionSearched.countDown();
+                    return result;
+                })
+                .when(indexReader3)
+                .query(any(), any(), any(), any(), any());
+
+        try (NodeValueIterator iterator = new NodeValueIterator()) {
+            indexReader.query(iterator, QueryContext.NULL_CONTEXT, AccessMode.Static.READ, unconstrained(), query);
+            assertThat(PrimitiveLongCollections.asArray(iterator)).isEqualTo(new long[] {1, 2, 3, 4});
+        }
+    }
+
+    @Test
+    void propagateFailureOfPartitionSearch() throws Exception {
+        PartitionedValueIndexReader indexReader = createPartitionedReaderFromReaders();
+
+        PropertyIndexQuery.ExactPredicate query = PropertyIndexQuery.exact(1, "Test");
+        doAnswer(new NodeIdsIndexReaderQueryAnswer(schemaIndexDescriptor, 1))
+                .when(indexReader1)
+                .query(any(), any(), any(), any(), any());
+        IndexNotApplicableKernelException failure = new IndexNotApplicableKernelException("Not applicable");
+        doThrow(failure).when(indexReader2).query(any(), any(), any(), any(), any());
+        doAnswer(new NodeIdsIndexReaderQueryAnswer(schemaIndexDescriptor, 3))
+                .when(indexReader3)
+                .query(any(), any(), any(), any(), any());
+
+        NodeValueIterator iterator = new NodeValueIterator();
+        assertThatThrownBy(() -> indexReader.query(
+                        iterator, QueryContext.NULL_CONTEXT, AccessMode.Static.READ, unconstrained(), query))
+                .isSameAs(failure);
+    }
+
     @Test
     void rangeSeekByNumberOverPartitions() throws Exception {
         PartitionedValueIndexReader indexReader = createPartitionedReaderFromReaders();
@@ -264,7 +329,8 @@ class PartitionedValueIndexReaderTest {
     }
 
     private PartitionedValueIndexReader createPartitionedReaderFromReaders() {
-        return new PartitionedValueIndexReader(schemaIndexDescriptor, getPartitionReaders());
+        return new PartitionedValueIndexReader(
+                schemaIndexDescriptor, getPartitionReaders(), scheduler.executor(Group.INDEX_PARTITION_SEARCH));
     }
 
     private List<ValueIndexReader> getPartitionReaders() {
@@ -272,7 +338,8 @@ class PartitionedValueIndexReaderTest {
     }
 
     private PartitionedValueIndexReader createPartitionedReader() {
-        return new PartitionedValueIndexReader(schemaIndexDescriptor, getPartitionReaders());
+        return new PartitionedValueIndexReader(
+                schemaIndexDescriptor, getPartitionReaders(), scheduler.executor(Group.INDEX_PARTITION_SEARCH));
     }
 
     private static class SimpleSampler implements IndexSampler {
@@ -20,16 +20,30 @@
 package org.neo4j.kernel.api.impl.schema.trigram;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.neo4j.values.storable.Values.stringValue;
 
+import java.io.IOException;
 import java.util.HashSet;
-import java.util.function.Function;
+import java.util.function.BiFunction;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.kernel.impl.api.LuceneIndexValueValidator;
 import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
@@ -43,32 +57,113 @@ class TrigramQueryFactoryTest {
     @ParameterizedTest
     @EnumSource
     void shouldHandleLargeSearchStrings(TrigramQuery trigramQuery) {
-        // Given
+        for (boolean trigramsWithoutPositions : new boolean[] {false, true}) {
+            // Given
+            var size = LuceneIndexValueValidator.MAX_TERM_LENGTH;
+
+            // When
+            var query = trigramQuery.query(random.nextAlphaNumericString(size, size), trigramsWithoutPositions);
+
+            // Then
+            var terms = new HashSet<Term>();
+            query.visit(QueryVisitor.termCollector(terms));
+            assertThat(terms.size()).isGreaterThanOrEqualTo(1).isLessThanOrEqualTo(IndexSearcher.getMaxClauseCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldOnlyFindValuesWithAdjacentTrigrams(TrigramQuery trigramQuery) throws IOException {
+        try (var directory = new ByteBuffersDirectory()) {
+            // Given
+            try (var writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                writer.addDocument(TrigramDocumentStructure.createLuceneDocument(1, stringValue("abcd")));
+                writer.addDocument(TrigramDocumentStructure.createLuceneDocument(2, stringValue("abc-bcd")));
+            }
+
+            try (var reader = DirectoryReader.open(directory)) {
+                // When
+                assertThat(TrigramDocumentStructure.hasTrigramsWithoutPositions(reader))
+                        .isFalse();
+                var hits = new IndexSearcher(reader).count(trigramQuery.query("abcd", false));
+
+                // Then
+                assertThat(hits).isEqualTo(1);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void shouldFindValuesIndexedWithoutPositions(TrigramQuery trigramQuery) throws IOException {
+        try (var directory = new ByteBuffersDirectory()) {
+            // Given
+            try (var writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                writer.addDocument(documentWithoutPositions(1, "abcd"));
+                writer.addDocument(TrigramDocumentStructure.createLuceneDocument(2, stringValue("abcd")));
+                writer.addDocument(TrigramDocumentStructure.createLuceneDocument(3, stringValue("xyz")));
+            }
+
+            try (var reader = DirectoryReader.open(directory)) {
+                // When
+                assertThat(TrigramDocumentStructure.hasTrigramsWithoutPositions(reader))
+                        .isTrue();
+                var hits = new IndexSearcher(reader).count(trigramQuery.query("abcd", true));
+
+                // Then
+                assertThat(hits).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyNeedStoreFilterForContainsWhenTrigramsWithoutPositionsOrTooManyTrigrams() {
+        var contains = PropertyIndexQuery.stringContains(1, stringValue("abcd"));
+        assertThat(TrigramQueryFactory.needStoreFilter(contains, false)).isFalse();
+        assertThat(TrigramQueryFactory.needStoreFilter(PropertyIndexQuery.stringContains(1, stringValue("ab")), false))
+                .isFalse();
+        assertThat(TrigramQueryFactory.needStoreFilter(contains, true)).isTrue();
+
         var size = LuceneIndexValueValidator.MAX_TERM_LENGTH;
+        var large = PropertyIndexQuery.stringContains(1, stringValue(random.nextAlphaNumericString(size, size)));
+        assertThat(TrigramQueryFactory.needStoreFilter(large, false)).isTrue();
 
-        // When
-        var query = trigramQuery.query(random.nextAlphaNumericString(size, size));
+        assertThat(TrigramQueryFactory.needStoreFilter(PropertyIndexQuery.allEntries(), true))
+                .isFalse();
+        assertThat(TrigramQueryFactory.needStoreFilter(PropertyIndexQuery.stringPrefix(1, stringValue("abcd")), false))
+                .isTrue();
+        assertThat(TrigramQueryFactory.needStoreFilter(PropertyIndexQuery.stringSuffix(1, stringValue("abcd")), false))
+                .isTrue();
+        assertThat(TrigramQueryFactory.needStoreFilter(PropertyIndexQuery.exact(1, stringValue("abcd")), false))
+                .isTrue();
+    }
 
-        // Then
-        var terms = new HashSet<Term>();
-        query.visit(QueryVisitor.termCollector(terms));
-        assertThat(terms.size()).isGreaterThanOrEqualTo(1).isLessThanOrEqualTo(IndexSearcher.getMaxClauseCount());
+    private static Document documentWithoutPositions(long id, String value) {
+        var type = new FieldType();
+        type.setOmitNorms(true);
+        type.setIndexOptions(IndexOptions.DOCS);
+        type.setTokenized(true);
+        var document = new Document();
+        document.add(new StringField(TrigramDocumentStructure.ENTITY_ID_KEY, Long.toString(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(TrigramDocumentStructure.ENTITY_ID_KEY, id));
+        document.add(new Field(TrigramDocumentStructure.TRIGRAM_VALUE_KEY, new TrigramTokenStream(value), type));
+        return document;
     }
 
     private enum TrigramQuery {
-        EXACT(s -> TrigramQueryFactory.exact(s)),
-        PREFIX(s -> TrigramQueryFactory.stringPrefix(s)),
-        SUFFIX(s -> TrigramQueryFactory.stringSuffix(s)),
-        CONTAINS(s -> TrigramQueryFactory.stringContains(s));
+        EXACT(TrigramQueryFactory::exact),
+        PREFIX(TrigramQueryFactory::stringPrefix),
+        SUFFIX(TrigramQueryFactory::stringSuffix),
+        CONTAINS(TrigramQueryFactory::stringContains);
 
-        final Function<String, Query> queryFunction;
+        final BiFunction<String, Boolean, Query> queryFunction;
 
-        TrigramQuery(Function<String, Query> queryFunction) {
+        TrigramQuery(BiFunction<String, Boolean, Query> queryFunction) {
             this.queryFunction = queryFunction;
         }
 
-        Query query(String searchString) {
-            return queryFunction.apply(searchString);
+        Query query(String searchString, boolean trigramsWithoutPositions) {
+            return queryFunction.apply(searchString, trigramsWithoutPositions);
         }
     }
 }
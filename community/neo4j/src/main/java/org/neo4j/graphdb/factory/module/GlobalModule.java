@@ -20,6 +20,7 @@
 package org.neo4j.graphdb.factory.module;
 
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.data_collector_max_recent_query_count;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_state_off_heap_values_spill_threshold;
 import static org.neo4j.configuration.GraphDatabaseSettings.TransactionStateMemoryAllocation;
 import static org.neo4j.configuration.GraphDatabaseSettings.filewatcher_enabled;
 import static org.neo4j.configuration.GraphDatabaseSettings.memory_tracking;
@@ -222,7 +223,7 @@ public class GlobalModule {
         globalDependencies.satisfyDependency(tracers);
         globalDependencies.satisfyDependency(tracers.getPageCacheTracer());
 
-        collectionsFactorySupplier = createCollectionsFactorySupplier(globalConfig, globalLife, logService);
+        collectionsFactorySupplier = createCollectionsFactorySupplier(globalConfig, globalLife, logService, fileSystem);
 
         pageCache = tryResolveOrCreate(
                 PageCache.class,
@@ -395,7 +396,7 @@ public class GlobalModule {
     }
 
     private static CollectionsFactorySupplier createCollectionsFactorySupplier(
-            Config config, LifeSupport life, LogService logService) {
+            Config config, LifeSupport life, LogService logService, FileSystemAbstraction fileSystem) {
         final TransactionStateMemoryAllocation allocation = config.get(tx_state_memory_allocation);
         if (allocation == TransactionStateMemoryAllocation.OFF_HEAP) {
             if (!UnsafeUtil.unsafeByteBufferAccessAvailable()) {
@@ -406,12 +407,13 @@ public class GlobalModule {
                 return CollectionsFactorySupplier.ON_HEAP;
             }
 
-            return createOffHeapCollectionsFactory(config, life);
+            return createOffHeapCollectionsFactory(config, life, fileSystem);
         }
         return CollectionsFactorySupplier.ON_HEAP;
     }
 
-    private static CollectionsFactorySupplier createOffHeapCollectionsFactory(Config config, LifeSupport life) {
+    private static CollectionsFactorySupplier createOffHeapCollectionsFactory(
+            Config config, LifeSupport life, FileSystemAbstraction fileSystem) {
         final CachingOffHeapBlockAllocator allocator = new CachingOffHeapBlockAllocator(
                 config.get(tx_state_off_heap_max_cacheable_block_size), config.get(tx_state_off_heap_block_cache_size));
         final OffHeapBlockAllocator sharedBlockAllocator;
@@ -422,7 +424,8 @@ public class GlobalModule {
             sharedBlockAllocator = allocator;
         }
         life.add(onShutdown(sharedBlockAllocator::release));
-        return () -> new OffHeapCollectionsFactory(sharedBlockAllocator);
+        final long valuesSpillThreshold = config.get(tx_state_off_heap_values_spill_threshold);
+        return () -> new OffHeapCollectionsFactory(sharedBlockAllocator, fileSystem, valuesSpillThreshold);
     }
 
     private CapabilitiesService loadCapabilities() {
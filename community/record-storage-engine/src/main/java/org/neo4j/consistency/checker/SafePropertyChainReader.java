@@ -40,6 +40,7 @@ import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
@@ -107,7 +108,7 @@ class SafePropertyChainReader implements AutoCloseable {
         lightClear(seenRecords);
         long propertyRecordId = entity.getNextProp();
         long previousRecordId = NULL_REFERENCE.longValue();
-        boolean chainIsOk = true;
+        boolean chainIsOk = readInlinedProperties(intoValues, entity, storeCursors);
         while (!NULL_REFERENCE.is(propertyRecordId) && !context.isCancelled()) {
             if (!seenRecords.add(propertyRecordId)) {
                 primitiveReporter.apply(entity).propertyChainContainsCircularReference(propertyReader.record());
@@ -243,6 +244,26 @@ class SafePropertyChainReader implements AutoCloseable {
         return chainIsOk;
     }
 
+    /**
+     * Inlined properties only have simple values, so there's not much that can be inconsistent about them, other than that they
+     * can't be decoded. Property keys that are both inlined and in the chain are reported when reading the chain.
+     */
+    private static boolean readInlinedProperties(
+            MutableIntObjectMap<Value> intoValues, PrimitiveRecord entity, StoreCursors storeCursors) {
+        try {
+            for (PropertyBlock block : InlinedProperties.all(entity.getInlinedPropertyBlocks())) {
+                Value value = block.getType().value(block, null, storeCursors);
+                if (value == Values.NO_VALUE) {
+                    return false;
+                }
+                intoValues.put(block.getKeyIndexId(), value);
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public void close() {
         closeAllUnchecked(propertyReader, stringReader, arrayReader);
@@ -27,10 +27,13 @@ import static org.neo4j.internal.batchimport.staging.ExecutionSupervisors.superv
 import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
 import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
 import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
 
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.impl.factory.primitive.LongLongMaps;
 import org.neo4j.internal.batchimport.Configuration;
 import org.neo4j.internal.batchimport.cache.LongArray;
 import org.neo4j.internal.batchimport.cache.NumberArrayFactories;
@@ -42,6 +45,7 @@ import org.neo4j.internal.batchimport.staging.ReadRecordsStep;
 import org.neo4j.internal.batchimport.staging.Stage;
 import org.neo4j.internal.batchimport.staging.StageControl;
 import org.neo4j.internal.batchimport.staging.Step;
+import org.neo4j.internal.recordstorage.RecordStorageReader;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
@@ -50,6 +54,7 @@ import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
 import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.impl.util.monitoring.LogProgressReporter;
@@ -57,11 +62,15 @@ import org.neo4j.logging.InternalLog;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.logging.NullLog;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.RelationshipDirection;
+import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
 
 /**
  * Scans the store and rebuilds the {@link GBPTreeRelationshipGroupDegreesStore} contents if the file is missing.
  */
-public class DegreesRebuildFromStore implements GBPTreeRelationshipGroupDegreesStore.DegreesRebuilder {
+public class DegreesRebuildFromStore
+        implements GBPTreeRelationshipGroupDegreesStore.DegreesRebuilder, GBPTreeNodeDegreesStore.DegreesRebuilder {
     private final PageCache pageCache;
     private final NeoStores neoStores;
     private final DatabaseLayout databaseLayout;
@@ -120,6 +129,52 @@ public class DegreesRebuildFromStore implements GBPTreeRelationshipGroupDegreesS
         log.warn("Relationship degrees store rebuild completed.");
     }
 
+    /**
+     * Rebuilds the node degrees by walking the relationship chains of all nodes, in node id order. The degrees of a node are
+     * gathered before they're written, so that they're written in key order, and written as absolute values.
+     */
+    @Override
+    public void rebuild(NodeDegreesStore.Updater updater, CursorContext cursorContext, MemoryTracker memoryTracker) {
+        if (neoStores.getRelationshipStore().isEmpty()) {
+            return;
+        }
+
+        log.warn("Missing node degrees store, rebuilding it.");
+        LogProgressReporter progress = new LogProgressReporter(log);
+        progress.start(neoStores.getNodeStore().getHighId());
+        MutableLongLongMap degrees = LongLongMaps.mutable.empty();
+        try (RecordStorageReader reader = new RecordStorageReader(neoStores);
+                CachedStoreCursors storeCursors = new CachedStoreCursors(neoStores, cursorContext);
+                StorageNodeCursor nodeCursor = reader.allocateNodeCursor(cursorContext, storeCursors);
+                StorageRelationshipTraversalCursor relationshipCursor =
+                        reader.allocateRelationshipTraversalCursor(cursorContext, storeCursors)) {
+            nodeCursor.scan();
+            while (nodeCursor.next()) {
+                long nodeId = nodeCursor.entityReference();
+                nodeCursor.relationships(relationshipCursor, ALL_RELATIONSHIPS);
+                while (relationshipCursor.next()) {
+                    RelationshipDirection direction = RelationshipDirection.directionOfStrict(
+                            nodeId, relationshipCursor.sourceNodeReference(), relationshipCursor.targetNodeReference());
+                    degrees.addToValue((long) relationshipCursor.type() << 2 | direction.id(), 1);
+                }
+                if (!degrees.isEmpty()) {
+                    long[] keys = degrees.keySet().toSortedArray();
+                    for (long key : keys) {
+                        updater.increment(
+                                nodeId,
+                                (int) (key >>> 2),
+                                RelationshipDirection.ofId((int) (key & 0x3)),
+                                degrees.get(key));
+                    }
+                    degrees.clear();
+                }
+                progress.progress(1);
+            }
+        }
+        progress.completed();
+        log.warn("Node degrees store rebuild completed.");
+    }
+
     private static class GroupDegreesCache implements AutoCloseable {
         private static final int SHIFT_DIRECTION_BITS = 32;
         private static final int NUM_GROUP_DATA_FIELDS = 3;
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.recordstorage.DerivedStore;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * {@link NodeDegreesStore} backed by the {@link GBPTree}. It's a {@link DerivedStore} kept while
+ * {@link GraphDatabaseInternalSettings#sparse_node_degrees} is enabled, and rebuilt from the node and relationship stores when
+ * it's missing.
+ * @see GBPTreeGenericCountsStore
+ */
+public class GBPTreeNodeDegreesStore extends GBPTreeGenericCountsStore<NodeDegreesStore.Updater>
+        implements NodeDegreesStore, DerivedStore {
+    public static final String FILE_NAME = "neostore.nodedegrees.db";
+
+    private static final String NAME = "Node degrees store";
+    static final byte TYPE_NODE_DEGREE = (byte) 4;
+
+    public GBPTreeNodeDegreesStore(
+            PageCache pageCache,
+            Path file,
+            FileSystemAbstraction fileSystem,
+            RecoveryCleanupWorkCollector recoveryCollector,
+            DegreesRebuilder rebuilder,
+            boolean readOnly,
+            Monitor monitor,
+            String databaseName,
+            int maxCacheSize,
+            InternalLogProvider userLogProvider,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer,
+            ImmutableSet<OpenOption> openOptions)
+            throws IOException {
+        super(
+                pageCache,
+                file,
+                fileSystem,
+                recoveryCollector,
+                new RebuilderWrapper(rebuilder),
+                readOnly,
+                NAME,
+                monitor,
+                databaseName,
+                maxCacheSize,
+                userLogProvider,
+                contextFactory,
+                pageCacheTracer,
+                openOptions);
+    }
+
+    public static Path file(RecordDatabaseLayout databaseLayout) {
+        return databaseLayout.file(FILE_NAME);
+    }
+
+    public static void deleteIfExists(FileSystemAbstraction fs, RecordDatabaseLayout databaseLayout)
+            throws IOException {
+        Path file = file(databaseLayout);
+        if (fs.fileExists(file)) {
+            fs.deleteFile(file);
+        }
+    }
+
+    @Override
+    public Updater apply(long txId, boolean isLast, CursorContext cursorContext) {
+        CountUpdater updater = updater(txId, isLast, cursorContext);
+        return updater != null ? new NodeDegreeUpdater(updater) : NO_OP_UPDATER;
+    }
+
+    @Override
+    public long degree(long nodeId, int type, RelationshipDirection direction, CursorContext cursorContext) {
+        return read(degreeKey(nodeId, type, direction), cursorContext);
+    }
+
+    @Override
+    public void accept(NodeDegreeVisitor visitor, CursorContext cursorContext) {
+        visitAllCounts((key, count) -> visitor.degree(key.first, typeOf(key), directionOf(key), count), cursorContext);
+    }
+
+    private static class NodeDegreeUpdater implements Updater {
+        private final CountUpdater actual;
+
+        NodeDegreeUpdater(CountUpdater actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void increment(long nodeId, int type, RelationshipDirection direction, long delta) {
+            actual.increment(degreeKey(nodeId, type, direction), delta);
+        }
+
+        @Override
+        public void close() {
+            actual.close();
+        }
+    }
+
+    /**
+     * Key data layout for this type:
+     * <pre>
+     * first:  node id
+     * second: [tttt,tttt][tttt,tttt][tttt,tttt][tttt,ttdd]
+     *         t: relationship type id
+     *         d: {@link RelationshipDirection#id()}
+     * </pre>
+     */
+    static CountsKey degreeKey(long nodeId, int type, RelationshipDirection direction) {
+        return new CountsKey(TYPE_NODE_DEGREE, nodeId, type << 2 | direction.id());
+    }
+
+    private static int typeOf(CountsKey key) {
+        return key.second >>> 2;
+    }
+
+    private static RelationshipDirection directionOf(CountsKey key) {
+        return RelationshipDirection.ofId(key.second & 0x3);
+    }
+
+    public static final Updater NO_OP_UPDATER = new Updater() {
+        @Override
+        public void close() {}
+
+        @Override
+        public void increment(long nodeId, int type, RelationshipDirection direction, long delta) {}
+    };
+
+    public interface DegreesRebuilder {
+        void rebuild(Updater updater, CursorContext cursorContext, MemoryTracker memoryTracker);
+
+        long lastCommittedTxId();
+    }
+
+    private static class RebuilderWrapper implements Rebuilder {
+        private final DegreesRebuilder rebuilder;
+
+        RebuilderWrapper(DegreesRebuilder rebuilder) {
+            this.rebuilder = rebuilder;
+        }
+
+        @Override
+        public void rebuild(CountUpdater updater, CursorContext cursorContext, MemoryTracker memoryTracker) {
+            rebuilder.rebuild(new NodeDegreeUpdater(updater), cursorContext, memoryTracker);
+        }
+
+        @Override
+        public long lastCommittedTxId() {
+            return rebuilder.lastCommittedTxId();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import org.neo4j.counts.CountsStorage;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Degrees of nodes, per relationship type and direction. Unlike {@link RelationshipGroupDegreesStore}, which only has the degrees of
+ * the relationship chains of dense nodes, this has the degrees of all nodes, so that the degree of a sparse node for a type and
+ * direction can be looked up instead of counted by walking its whole relationship chain.
+ */
+public interface NodeDegreesStore extends CountsStorage<NodeDegreesStore.Updater> {
+    /**
+     * @param nodeId the node to look for.
+     * @param type the relationship type to look for.
+     * @param direction the direction to look for.
+     * @param cursorContext page cache access context.
+     * @return the degree for the given node, type and direction, or {@code 0} if it wasn't found.
+     */
+    long degree(long nodeId, int type, RelationshipDirection direction, CursorContext cursorContext);
+
+    /**
+     * Accepts a visitor observing all entries in this store.
+     * @param visitor to receive the entries.
+     * @param cursorContext page cache access context.
+     */
+    void accept(NodeDegreeVisitor visitor, CursorContext cursorContext);
+
+    interface Updater extends AutoCloseable {
+        @Override
+        void close();
+
+        /**
+         * Changes the degree of the given node, type and direction.
+         *
+         * @param nodeId    the node to make the change for.
+         * @param type      the relationship type to make the change for.
+         * @param direction the direction to make the change for.
+         * @param delta     delta value to apply, can be either positive or negative.
+         */
+        void increment(long nodeId, int type, RelationshipDirection direction, long delta);
+    }
+
+    interface NodeDegreeVisitor {
+        /**
+         * Receives data about a degree.
+         * @param nodeId node of the degree.
+         * @param type relationship type of the degree.
+         * @param direction direction of the degree.
+         * @param degree the absolute degree for the node, type and direction.
+         */
+        void degree(long nodeId, int type, RelationshipDirection direction, long degree);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Key of an entry in the {@link DenseNodeAdjacencyStore}, one for each relationship of a dense node. Entries are sorted by node,
+ * type, direction and relationship id, in that order.
+ */
+// this is a necessary evil for GBP tree
+@SuppressWarnings({"NonFinalFieldReferenceInEquals", "NonFinalFieldReferencedInHashCode"})
+class DenseNodeAdjacencyKey {
+    static final int SIZE = Long.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    long nodeId;
+    int type;
+    byte direction;
+    long relationshipId;
+
+    DenseNodeAdjacencyKey initialize(long nodeId, int type, RelationshipDirection direction, long relationshipId) {
+        return initialize(nodeId, type, (byte) direction.id(), relationshipId);
+    }
+
+    DenseNodeAdjacencyKey initialize(long nodeId, int type, byte direction, long relationshipId) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.direction = direction;
+        this.relationshipId = relationshipId;
+        return this;
+    }
+
+    RelationshipDirection direction() {
+        return RelationshipDirection.ofId(direction);
+    }
+
+    int compareTo(DenseNodeAdjacencyKey other) {
+        int comparison = Long.compare(nodeId, other.nodeId);
+        if (comparison == 0) {
+            comparison = Integer.compare(type, other.type);
+            if (comparison == 0) {
+                comparison = Byte.compare(direction, other.direction);
+                if (comparison == 0) {
+                    comparison = Long.compare(relationshipId, other.relationshipId);
+                }
+            }
+        }
+        return comparison;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(nodeId);
+        result = 31 * result + type;
+        result = 31 * result + direction;
+        return 31 * result + Long.hashCode(relationshipId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DenseNodeAdjacencyKey that = (DenseNodeAdjacencyKey) o;
+        return nodeId == that.nodeId
+                && type == that.type
+                && direction == that.direction
+                && relationshipId == that.relationshipId;
+    }
+
+    @Override
+    public String toString() {
+        return "[node:" + nodeId + ",type:" + type + ",direction:" + direction() + ",relationship:" + relationshipId
+                + "]";
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * Layout of the {@link DenseNodeAdjacencyStore}, where the value of an entry is the id of the node on the other side of the relationship.
+ */
+class DenseNodeAdjacencyLayout extends Layout.Adapter<DenseNodeAdjacencyKey, MutableLong> {
+    DenseNodeAdjacencyLayout() {
+        super(true, Layout.namedIdentifier("DnAd", 1), 0, 1);
+    }
+
+    @Override
+    public DenseNodeAdjacencyKey newKey() {
+        return new DenseNodeAdjacencyKey();
+    }
+
+    @Override
+    public DenseNodeAdjacencyKey copyKey(DenseNodeAdjacencyKey key, DenseNodeAdjacencyKey into) {
+        return into.initialize(key.nodeId, key.type, key.direction, key.relationshipId);
+    }
+
+    @Override
+    public MutableLong newValue() {
+        return new MutableLong();
+    }
+
+    @Override
+    public int keySize(DenseNodeAdjacencyKey key) {
+        return DenseNodeAdjacencyKey.SIZE;
+    }
+
+    @Override
+    public int valueSize(MutableLong value) {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeKey(PageCursor cursor, DenseNodeAdjacencyKey key) {
+        cursor.putLong(key.nodeId);
+        cursor.putInt(key.type);
+        cursor.putByte(key.direction);
+        cursor.putLong(key.relationshipId);
+    }
+
+    @Override
+    public void writeValue(PageCursor cursor, MutableLong value) {
+        cursor.putLong(value.longValue());
+    }
+
+    @Override
+    public void readKey(PageCursor cursor, DenseNodeAdjacencyKey into, int keySize) {
+        into.initialize(cursor.getLong(), cursor.getInt(), cursor.getByte(), cursor.getLong());
+    }
+
+    @Override
+    public void readValue(PageCursor cursor, MutableLong into, int valueSize) {
+        into.setValue(cursor.getLong());
+    }
+
+    @Override
+    public int compare(DenseNodeAdjacencyKey o1, DenseNodeAdjacencyKey o2) {
+        return o1.compareTo(o2);
+    }
+
+    @Override
+    public void initializeAsLowest(DenseNodeAdjacencyKey key) {
+        key.initialize(Long.MIN_VALUE, Integer.MIN_VALUE, Byte.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    @Override
+    public void initializeAsHighest(DenseNodeAdjacencyKey key) {
+        key.initialize(Long.MAX_VALUE, Integer.MAX_VALUE, Byte.MAX_VALUE, Long.MAX_VALUE);
+    }
+}
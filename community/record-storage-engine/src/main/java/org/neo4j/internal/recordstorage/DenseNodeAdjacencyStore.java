@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.LENIENT_CHECK;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.function.LongPredicate;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongSets;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCacheOpenOptions;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Packed adjacency lists of dense nodes, kept in a {@link GBPTree} next to the record stores. There's one entry for each relationship
+ * of a dense node, sorted by node, type, direction and relationship id, so that the relationships of a dense node of a type and
+ * direction are read from one or a few consecutive tree pages, instead of from one relationship store page per relationship when
+ * following the relationship chain of a relationship group.
+ * <p>
+ * The entries are derived from the node and relationship stores, and updated when transactions are applied, see
+ * {@link DenseNodeAdjacencyTransactionApplier}. It's a {@link DerivedStore} kept while
+ * {@link GraphDatabaseInternalSettings#dense_node_adjacency_lists} is enabled.
+ */
+public class DenseNodeAdjacencyStore implements DerivedStore {
+    static final String FILE_NAME = "neostore.densenodeadjacency.db";
+
+    private static final byte HEADER_BUILT = 1;
+
+    private final GBPTree<DenseNodeAdjacencyKey, MutableLong> tree;
+    private final NeoStores neoStores;
+    private final InternalLog log;
+    private volatile boolean needsBuild = true;
+
+    DenseNodeAdjacencyStore(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout databaseLayout,
+            NeoStores neoStores,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            ImmutableSet<OpenOption> openOptions,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer,
+            InternalLogProvider logProvider) {
+        this.neoStores = neoStores;
+        this.log = logProvider.getLog(getClass());
+        this.tree = new GBPTree<>(
+                pageCache,
+                fs,
+                file(databaseLayout),
+                new DenseNodeAdjacencyLayout(),
+                GBPTree.NO_MONITOR,
+                headerBytes -> needsBuild = headerBytes.remaining() == 0 || headerBytes.get() != HEADER_BUILT,
+                recoveryCleanupWorkCollector,
+                false,
+                openOptions.newWithout(PageCacheOpenOptions.MULTI_VERSIONED),
+                databaseLayout.getDatabaseName(),
+                "Dense node adjacency store",
+                contextFactory,
+                pageCacheTracer);
+    }
+
+    static Path file(RecordDatabaseLayout databaseLayout) {
+        return databaseLayout.file(FILE_NAME);
+    }
+
+    public static void deleteIfExists(FileSystemAbstraction fs, RecordDatabaseLayout databaseLayout)
+            throws IOException {
+        Path file = file(databaseLayout);
+        if (fs.fileExists(file)) {
+            fs.deleteFile(file);
+        }
+    }
+
+    @Override
+    public void start(CursorContext cursorContext, StoreCursors storeCursors, MemoryTracker memoryTracker)
+            throws IOException {
+        if (needsBuild) {
+            log.info("Building dense node adjacency lists from the store.");
+            build(cursorContext);
+            needsBuild = false;
+            log.info("Dense node adjacency lists built.");
+        }
+    }
+
+    private void build(CursorContext cursorContext) throws IOException {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        MutableLongSet denseNodes = LongSets.mutable.empty();
+        try (PageCursor cursor = nodeStore.openPageCursorForReading(0, cursorContext)) {
+            NodeRecord node = nodeStore.newRecord();
+            long highId = nodeStore.getHighId();
+            for (long id = 0; id < highId; id++) {
+                nodeStore.getRecordByCursor(id, node, LENIENT_CHECK, cursor);
+                if (node.inUse() && node.isDense()) {
+                    denseNodes.add(id);
+                }
+            }
+        }
+        if (denseNodes.isEmpty()) {
+            return;
+        }
+
+        RelationshipStore relationshipStore = neoStores.getRelationshipStore();
+        DenseNodeAdjacencyKey key = new DenseNodeAdjacencyKey();
+        MutableLong value = new MutableLong();
+        try (PageCursor cursor = relationshipStore.openPageCursorForReading(0, cursorContext);
+                Writer<DenseNodeAdjacencyKey, MutableLong> writer =
+                        tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext)) {
+            RelationshipRecord relationship = relationshipStore.newRecord();
+            long highId = relationshipStore.getHighId();
+            for (long id = 0; id < highId; id++) {
+                relationshipStore.getRecordByCursor(id, relationship, LENIENT_CHECK, cursor);
+                if (relationship.inUse()) {
+                    put(writer, relationship, denseNodes::contains, key, value);
+                }
+            }
+        }
+    }
+
+    Writer<DenseNodeAdjacencyKey, MutableLong> writer(CursorContext cursorContext) throws IOException {
+        return tree.writer(cursorContext);
+    }
+
+    Seeker<DenseNodeAdjacencyKey, MutableLong> allocateSeeker(CursorContext cursorContext) throws IOException {
+        return tree.allocateSeeker(cursorContext);
+    }
+
+    /**
+     * Seeks the relationships of a node, of the types between {@code fromType} and {@code toType}, both inclusive.
+     */
+    Seeker<DenseNodeAdjacencyKey, MutableLong> seek(
+            Seeker<DenseNodeAdjacencyKey, MutableLong> seeker,
+            long nodeId,
+            int fromType,
+            int toType,
+            DenseNodeAdjacencyKey from,
+            DenseNodeAdjacencyKey to)
+            throws IOException {
+        return tree.seek(
+                seeker,
+                from.initialize(nodeId, fromType, Byte.MIN_VALUE, Long.MIN_VALUE),
+                to.initialize(nodeId, toType, Byte.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Puts an entry for each node of the relationship that the given predicate accepts. A loop has a single entry, on its node.
+     */
+    static void put(
+            Writer<DenseNodeAdjacencyKey, MutableLong> writer,
+            RelationshipRecord relationship,
+            LongPredicate nodeFilter,
+            DenseNodeAdjacencyKey key,
+            MutableLong value) {
+        long firstNode = relationship.getFirstNode();
+        long secondNode = relationship.getSecondNode();
+        int type = relationship.getType();
+        long id = relationship.getId();
+        if (firstNode == secondNode) {
+            if (nodeFilter.test(firstNode)) {
+                value.setValue(firstNode);
+                writer.put(key.initialize(firstNode, type, LOOP, id), value);
+            }
+            return;
+        }
+        if (nodeFilter.test(firstNode)) {
+            value.setValue(secondNode);
+            writer.put(key.initialize(firstNode, type, OUTGOING, id), value);
+        }
+        if (nodeFilter.test(secondNode)) {
+            value.setValue(firstNode);
+            writer.put(key.initialize(secondNode, type, INCOMING, id), value);
+        }
+    }
+
+    /**
+     * Removes the entries of the relationship, if there are any.
+     */
+    static void remove(
+            Writer<DenseNodeAdjacencyKey, MutableLong> writer,
+            RelationshipRecord relationship,
+            DenseNodeAdjacencyKey key) {
+        long firstNode = relationship.getFirstNode();
+        long secondNode = relationship.getSecondNode();
+        int type = relationship.getType();
+        long id = relationship.getId();
+        if (firstNode == secondNode) {
+            writer.remove(key.initialize(firstNode, type, LOOP, id));
+        } else {
+            writer.remove(key.initialize(firstNode, type, OUTGOING, id));
+            writer.remove(key.initialize(secondNode, type, INCOMING, id));
+        }
+    }
+
+    @Override
+    public void checkpoint(FileFlushEvent flushEvent, CursorContext cursorContext) {
+        byte header = needsBuild ? 0 : HEADER_BUILT;
+        tree.checkpoint(cursor -> cursor.putByte(header), flushEvent, cursorContext);
+    }
+
+    @Override
+    public void close() throws IOException {
+        tree.close();
+    }
+}
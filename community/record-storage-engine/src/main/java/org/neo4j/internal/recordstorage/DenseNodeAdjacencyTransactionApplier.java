@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.LENIENT_CHECK;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongSets;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+
+/**
+ * Keeps the {@link DenseNodeAdjacencyStore} up to date with the relationships created and deleted by a transaction. A relationship gets
+ * entries for those of its nodes that are dense after the transaction, and all relationships of a node that becomes dense get entries,
+ * since they're all rewritten when the node is converted. The changes are written when the transaction has been visited, when it's
+ * known which nodes it made dense.
+ */
+class DenseNodeAdjacencyTransactionApplier extends TransactionApplier.Adapter {
+    private final DenseNodeAdjacencyStore adjacencyStore;
+    private final NodeStore nodeStore;
+    private final CommandBatchToApply transaction;
+    private final List<RelationshipCommand> relationshipCommands = new ArrayList<>();
+    private final MutableLongSet denseNodes = LongSets.mutable.empty();
+    private final MutableLongSet sparseNodes = LongSets.mutable.empty();
+    private final MutableLongSet convertedNodes = LongSets.mutable.empty();
+    private NodeRecord node;
+
+    DenseNodeAdjacencyTransactionApplier(
+            DenseNodeAdjacencyStore adjacencyStore, NodeStore nodeStore, CommandBatchToApply transaction) {
+        this.adjacencyStore = adjacencyStore;
+        this.nodeStore = nodeStore;
+        this.transaction = transaction;
+    }
+
+    @Override
+    public boolean visitNodeCommand(NodeCommand command) {
+        NodeRecord after = command.getAfter();
+        if (after.inUse() && after.isDense()) {
+            denseNodes.add(after.getId());
+            if (!command.getBefore().inUse() || !command.getBefore().isDense()) {
+                convertedNodes.add(after.getId());
+            }
+        } else {
+            sparseNodes.add(after.getId());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean visitRelationshipCommand(RelationshipCommand command) {
+        // Node commands come after relationship commands, so this is applied when closing
+        relationshipCommands.add(command);
+        return false;
+    }
+
+    @Override
+    public void close() throws Exception {
+        Writer<DenseNodeAdjacencyKey, MutableLong> writer = null;
+        try {
+            DenseNodeAdjacencyKey key = new DenseNodeAdjacencyKey();
+            MutableLong value = new MutableLong();
+            for (RelationshipCommand command : relationshipCommands) {
+                RelationshipRecord before = command.getBefore();
+                RelationshipRecord after = command.getAfter();
+                if (before.inUse() == after.inUse() && (!after.inUse() || convertedNodes.isEmpty())) {
+                    // Neither created nor deleted, nor moved to the groups of a node that became dense
+                    continue;
+                }
+                if (writer == null) {
+                    writer = adjacencyStore.writer(transaction.cursorContext());
+                }
+                if (!after.inUse()) {
+                    DenseNodeAdjacencyStore.remove(writer, before, key);
+                } else if (!before.inUse()) {
+                    DenseNodeAdjacencyStore.put(writer, after, this::isDense, key, value);
+                } else {
+                    DenseNodeAdjacencyStore.put(writer, after, convertedNodes::contains, key, value);
+                }
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    private boolean isDense(long nodeId) {
+        if (denseNodes.contains(nodeId)) {
+            return true;
+        }
+        if (sparseNodes.contains(nodeId)) {
+            return false;
+        }
+        if (node == null) {
+            node = nodeStore.newRecord();
+        }
+        nodeStore.getRecordByCursor(
+                nodeId, node, LENIENT_CHECK, transaction.storeCursors().readCursor(NODE_CURSOR));
+        return node.inUse() && node.isDense();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * An optional store kept next to the record stores, whose entries are derived from them to make some reads cheaper. It's
+ * updated when transactions are applied and is only kept while a setting asks for it. When the setting doesn't, the storage
+ * engine deletes whatever is left of it on startup instead of opening it, because it would miss the changes made while it
+ * wasn't kept. When it's kept again it's missing, so it's built from the record stores on {@link #start}.
+ * <p>
+ * The storage engine starts, checkpoints and closes the derived stores it keeps together with the counts stores.
+ */
+public interface DerivedStore extends Closeable {
+    /**
+     * Builds the entries from the record stores if the store was created when it was opened, or hasn't been completely built
+     * before. Called after recovery, and transactions applied during recovery only leave entries that the build agrees with.
+     */
+    void start(CursorContext cursorContext, StoreCursors storeCursors, MemoryTracker memoryTracker) throws IOException;
+
+    void checkpoint(FileFlushEvent flushEvent, CursorContext cursorContext) throws IOException;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.storageengine.api.LongReference.longReference;
+
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.storageengine.api.LongReference;
+import org.neo4j.storageengine.api.Reference;
+
+/**
+ * Properties reference of an entity that has {@link org.neo4j.kernel.impl.store.record.InlinedProperties inlined properties}.
+ * The {@link #id} is that of the first record in the property chain, like for any {@link LongReference}, and the inlined
+ * blocks are carried along so that {@link RecordPropertyCursor} can read them without going back to the entity record.
+ */
+final class InlinedPropertiesReference extends LongReference {
+    final long[] inlinedBlocks;
+
+    private InlinedPropertiesReference(long[] inlinedBlocks, long nextProp) {
+        super(nextProp);
+        this.inlinedBlocks = inlinedBlocks;
+    }
+
+    static Reference propertiesReference(PrimitiveRecord record) {
+        return record.hasInlinedProperties()
+                ? new InlinedPropertiesReference(record.getInlinedPropertyBlocks(), record.getNextProp())
+                : longReference(record.getNextProp());
+    }
+}
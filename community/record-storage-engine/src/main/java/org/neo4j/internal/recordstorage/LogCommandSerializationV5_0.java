@@ -44,6 +44,7 @@ import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.MetaDataRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
@@ -596,12 +597,16 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
                 bitFlag(record.requiresSecondaryUnit(), Record.REQUIRE_SECONDARY_UNIT),
                 bitFlag(record.hasSecondaryUnitId(), Record.HAS_SECONDARY_UNIT),
                 bitFlag(record.isUseFixedReferences(), Record.USES_FIXED_REFERENCE_FORMAT),
-                bitFlag(record.isSecondaryUnitCreated(), Record.SECONDARY_UNIT_CREATED_IN_TX));
+                bitFlag(record.isSecondaryUnitCreated(), Record.SECONDARY_UNIT_CREATED_IN_TX),
+                bitFlag(record.inUse() && record.hasInlinedProperties(), Record.HAS_INLINED_PROPERTIES));
         channel.put(flags);
         if (record.inUse()) {
             channel.put(record.isDense() ? (byte) 1 : (byte) 0);
             channel.putLong(record.getNextRel()).putLong(record.getNextProp());
             channel.putLong(record.getLabelField());
+            if (record.hasInlinedProperties()) {
+                writeInlinedPropertyBlocks(channel, record);
+            }
         }
         if (record.hasSecondaryUnitId()) {
             channel.putLong(record.getSecondaryUnitId());
@@ -627,6 +632,7 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
         boolean hasSecondaryUnit = bitFlag(flags, Record.HAS_SECONDARY_UNIT);
         boolean usesFixedReferenceFormat = bitFlag(flags, Record.USES_FIXED_REFERENCE_FORMAT);
         boolean secondaryUnitCreated = bitFlag(flags, Record.SECONDARY_UNIT_CREATED_IN_TX);
+        boolean hasInlinedProperties = bitFlag(flags, Record.HAS_INLINED_PROPERTIES);
 
         var record = new NodeRecord(id);
         if (inUse) {
@@ -635,6 +641,9 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
             long nextProp = channel.getLong();
             long labelField = channel.getLong();
             record.initialize(true, nextProp, dense, nextRel, labelField);
+            if (hasInlinedProperties) {
+                readInlinedPropertyBlocks(channel, record);
+            }
         }
         if (hasSecondaryUnit) {
             record.setSecondaryUnitIdOnLoad(channel.getLong());
@@ -667,7 +676,8 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
                 bitFlag(record.requiresSecondaryUnit(), Record.REQUIRE_SECONDARY_UNIT),
                 bitFlag(record.hasSecondaryUnitId(), Record.HAS_SECONDARY_UNIT),
                 bitFlag(record.isUseFixedReferences(), Record.USES_FIXED_REFERENCE_FORMAT),
-                bitFlag(record.isSecondaryUnitCreated(), Record.SECONDARY_UNIT_CREATED_IN_TX));
+                bitFlag(record.isSecondaryUnitCreated(), Record.SECONDARY_UNIT_CREATED_IN_TX),
+                bitFlag(record.inUse() && record.hasInlinedProperties(), Record.HAS_INLINED_PROPERTIES));
         channel.put(flags);
         if (record.inUse()) {
             channel.putLong(record.getFirstNode())
@@ -682,6 +692,9 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
                     bitFlag(record.isFirstInFirstChain(), Record.RELATIONSHIP_FIRST_IN_FIRST_CHAIN),
                     bitFlag(record.isFirstInSecondChain(), Record.RELATIONSHIP_FIRST_IN_SECOND_CHAIN));
             channel.put(extraByte);
+            if (record.hasInlinedProperties()) {
+                writeInlinedPropertyBlocks(channel, record);
+            }
         } else {
             channel.putInt(record.getType());
         }
@@ -706,6 +719,7 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
         boolean hasSecondaryUnit = bitFlag(flags, Record.HAS_SECONDARY_UNIT);
         boolean usesFixedReferenceFormat = bitFlag(flags, Record.USES_FIXED_REFERENCE_FORMAT);
         boolean secondaryUnitCreated = bitFlag(flags, Record.SECONDARY_UNIT_CREATED_IN_TX);
+        boolean hasInlinedProperties = bitFlag(flags, Record.HAS_INLINED_PROPERTIES);
 
         var record = new RelationshipRecord(id);
         if (inUse) {
@@ -719,6 +733,9 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
             byte extraByte = channel.get();
             record.setFirstInFirstChain(bitFlag(extraByte, Record.RELATIONSHIP_FIRST_IN_FIRST_CHAIN));
             record.setFirstInSecondChain(bitFlag(extraByte, Record.RELATIONSHIP_FIRST_IN_SECOND_CHAIN));
+            if (hasInlinedProperties) {
+                readInlinedPropertyBlocks(channel, record);
+            }
         } else {
             record.setLinks(-1, -1, channel.getInt());
             record.setInUse(false);
@@ -735,6 +752,22 @@ class LogCommandSerializationV5_0 extends LogCommandSerializationV4_4 {
         return record;
     }
 
+    private static void writeInlinedPropertyBlocks(WritableChannel channel, PrimitiveRecord record) throws IOException {
+        long[] blocks = record.getInlinedPropertyBlocks();
+        channel.put((byte) blocks.length);
+        for (long block : blocks) {
+            channel.putLong(block);
+        }
+    }
+
+    private static void readInlinedPropertyBlocks(ReadableChannel channel, PrimitiveRecord record) throws IOException {
+        long[] blocks = new long[channel.get()];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = channel.getLong();
+        }
+        record.setInlinedPropertyBlocks(blocks);
+    }
+
     @Override
     public void writeRelationshipGroupCommand(WritableChannel channel, Command.RelationshipGroupCommand command)
             throws IOException {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+
+import org.neo4j.internal.counts.NodeDegreesStore;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.internal.recordstorage.Command.SchemaRuleCommand;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+
+/**
+ * Keeps the {@link NodeDegreesStore} up to date with the relationships created and deleted by a transaction. The degrees are derived
+ * from the relationship commands, for both sparse and dense nodes, so that they stay right when a node is converted to dense.
+ */
+class NodeDegreesTransactionApplier extends TransactionApplier.Adapter {
+    private final NodeDegreesStore nodeDegreesStore;
+    private final CommandBatchToApply commandsBatch;
+    private NodeDegreesStore.Updater degreesUpdater;
+    private boolean degreesUpdaterClosed;
+
+    NodeDegreesTransactionApplier(NodeDegreesStore nodeDegreesStore, CommandBatchToApply commandsBatch) {
+        this.nodeDegreesStore = nodeDegreesStore;
+        this.commandsBatch = commandsBatch;
+    }
+
+    @Override
+    public void close() {
+        closeDegreesUpdaterIfOpen();
+    }
+
+    private void closeDegreesUpdaterIfOpen() {
+        // Like for the other counts stores all transactions are registered, also those that don't change any degrees
+        if (!degreesUpdaterClosed) {
+            degreesUpdater().close();
+            degreesUpdaterClosed = true;
+        }
+    }
+
+    private NodeDegreesStore.Updater degreesUpdater() {
+        if (degreesUpdater == null) {
+            degreesUpdater = nodeDegreesStore.apply(
+                    commandsBatch.transactionId(),
+                    commandsBatch.commandBatch().isLast(),
+                    commandsBatch.cursorContext());
+        }
+        return degreesUpdater;
+    }
+
+    @Override
+    public boolean visitRelationshipCommand(RelationshipCommand command) {
+        RelationshipRecord before = command.getBefore();
+        RelationshipRecord after = command.getAfter();
+        if (!before.inUse() && after.inUse()) {
+            increment(after, 1);
+        } else if (before.inUse() && !after.inUse()) {
+            increment(before, -1);
+        }
+        return false;
+    }
+
+    private void increment(RelationshipRecord relationship, long delta) {
+        long firstNode = relationship.getFirstNode();
+        long secondNode = relationship.getSecondNode();
+        int type = relationship.getType();
+        if (firstNode == secondNode) {
+            degreesUpdater().increment(firstNode, type, LOOP, delta);
+        } else {
+            degreesUpdater().increment(firstNode, type, OUTGOING, delta);
+            degreesUpdater().increment(secondNode, type, INCOMING, delta);
+        }
+    }
+
+    @Override
+    public boolean visitSchemaRuleCommand(SchemaRuleCommand command) {
+        // A schema transaction doesn't change any degrees, so close the updater right away, see
+        // CountsStoreTransactionApplier
+        closeDegreesUpdaterIfOpen();
+        return false;
+    }
+}
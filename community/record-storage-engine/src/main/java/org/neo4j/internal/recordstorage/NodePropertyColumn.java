@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.neo4j.exceptions.UnderlyingStorageException;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCacheOpenOptions;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * The values of one property key of the nodes with one label, in a paged file with a fixed size entry per node id. The first page
+ * holds a header, the entry of a node is on page {@code 1 + nodeId / entriesPerPage}. An entry is a type byte followed by eight bytes
+ * holding the value for numbers and booleans. Other values are only marked as present, and are read from the property store.
+ */
+class NodePropertyColumn implements Closeable {
+    static final byte NONE = 0;
+    static final byte INT8 = 1;
+    static final byte INT16 = 2;
+    static final byte INT32 = 3;
+    static final byte INT64 = 4;
+    static final byte FLOAT32 = 5;
+    static final byte FLOAT64 = 6;
+    static final byte BOOLEAN = 7;
+    static final byte OTHER = 8;
+
+    static final int TYPE_SIZE = Byte.BYTES;
+
+    private static final int ENTRY_SIZE = TYPE_SIZE + Long.BYTES;
+    private static final byte HEADER_BUILT = 1;
+
+    private final int label;
+    private final int propertyKey;
+    private final PagedFile pagedFile;
+    private final int entriesPerPage;
+    private volatile boolean needsBuild;
+
+    NodePropertyColumn(
+            PageCache pageCache,
+            Path file,
+            int label,
+            int propertyKey,
+            String databaseName,
+            ImmutableSet<OpenOption> openOptions,
+            CursorContext cursorContext)
+            throws IOException {
+        this.label = label;
+        this.propertyKey = propertyKey;
+        this.pagedFile = pageCache.map(
+                file,
+                pageCache.pageSize(),
+                databaseName,
+                openOptions.newWithout(PageCacheOpenOptions.MULTI_VERSIONED).newWith(CREATE));
+        this.entriesPerPage = pagedFile.payloadSize() / ENTRY_SIZE;
+        try {
+            this.needsBuild = readHeader(cursorContext) != HEADER_BUILT;
+        } catch (IOException | RuntimeException e) {
+            pagedFile.close();
+            throw e;
+        }
+    }
+
+    int label() {
+        return label;
+    }
+
+    int propertyKey() {
+        return propertyKey;
+    }
+
+    boolean needsBuild() {
+        return needsBuild;
+    }
+
+    void built() {
+        needsBuild = false;
+    }
+
+    private byte readHeader(CursorContext cursorContext) throws IOException {
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, cursorContext)) {
+            if (!cursor.next()) {
+                return 0;
+            }
+            byte header;
+            do {
+                header = cursor.getByte(0);
+            } while (cursor.shouldRetry());
+            return header;
+        }
+    }
+
+    PageCursor openWriteCursor(CursorContext cursorContext) throws IOException {
+        return pagedFile.io(0, PF_SHARED_WRITE_LOCK, cursorContext);
+    }
+
+    PageCursor openReadCursor(int pfFlags, CursorContext cursorContext) throws IOException {
+        return pagedFile.io(0, PF_SHARED_READ_LOCK | pfFlags, cursorContext);
+    }
+
+    private long pageId(long nodeId) {
+        return 1 + nodeId / entriesPerPage;
+    }
+
+    int offset(long nodeId) {
+        return toIntExact(nodeId % entriesPerPage * ENTRY_SIZE);
+    }
+
+    /**
+     * Writes the entry of a node, {@link Values#NO_VALUE} meaning that the node doesn't have the label or the property.
+     */
+    void write(PageCursor cursor, long nodeId, Value value) throws IOException {
+        if (!seek(cursor, nodeId)) {
+            throw new UnderlyingStorageException("Unable to grow " + pagedFile.path() + " to hold node " + nodeId);
+        }
+        int offset = offset(nodeId);
+        byte type = type(value);
+        cursor.putByte(offset, type);
+        cursor.putLong(offset + TYPE_SIZE, payload(type, value));
+    }
+
+    /**
+     * Positions the cursor at the page holding the entry of a node, which is at {@link #offset(long)}, with the value after
+     * {@link #TYPE_SIZE} bytes.
+     *
+     * @return {@code false} if the entry is beyond the end of the file, i.e. it has never been written.
+     */
+    boolean seek(PageCursor cursor, long nodeId) throws IOException {
+        long pageId = pageId(nodeId);
+        return cursor.getCurrentPageId() == pageId || cursor.next(pageId);
+    }
+
+    static Value value(byte type, long payload) {
+        return switch (type) {
+            case INT8 -> Values.byteValue((byte) payload);
+            case INT16 -> Values.shortValue((short) payload);
+            case INT32 -> Values.intValue((int) payload);
+            case INT64 -> Values.longValue(payload);
+            case FLOAT32 -> Values.floatValue(Float.intBitsToFloat((int) payload));
+            case FLOAT64 -> Values.doubleValue(Double.longBitsToDouble(payload));
+            case BOOLEAN -> Values.booleanValue(payload != 0);
+            default -> throw new IllegalArgumentException("No value kept in the column for type " + type);
+        };
+    }
+
+    private static byte type(Value value) {
+        return switch (value.valueRepresentation()) {
+            case NO_VALUE -> NONE;
+            case INT8 -> INT8;
+            case INT16 -> INT16;
+            case INT32 -> INT32;
+            case INT64 -> INT64;
+            case FLOAT32 -> FLOAT32;
+            case FLOAT64 -> FLOAT64;
+            case BOOLEAN -> BOOLEAN;
+            default -> OTHER;
+        };
+    }
+
+    private static long payload(byte type, Value value) {
+        return switch (type) {
+            case INT8, INT16, INT32, INT64 -> ((NumberValue) value).longValue();
+            case FLOAT32 -> Float.floatToRawIntBits((float) ((NumberValue) value).doubleValue());
+            case FLOAT64 -> Double.doubleToRawLongBits(((NumberValue) value).doubleValue());
+            case BOOLEAN -> ((BooleanValue) value).booleanValue() ? 1 : 0;
+            default -> 0;
+        };
+    }
+
+    void checkpoint(FileFlushEvent flushEvent, CursorContext cursorContext) throws IOException {
+        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, cursorContext)) {
+            if (cursor.next()) {
+                cursor.putByte(0, needsBuild ? 0 : HEADER_BUILT);
+            }
+        }
+        pagedFile.flushAndForce(flushEvent);
+    }
+
+    @Override
+    public void close() {
+        pagedFile.close();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.internal.recordstorage.NodePropertyColumn.NONE;
+import static org.neo4j.internal.recordstorage.NodePropertyColumn.OTHER;
+import static org.neo4j.internal.recordstorage.NodePropertyColumn.TYPE_SIZE;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+
+import java.io.IOException;
+import org.neo4j.exceptions.UnderlyingStorageException;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Reads the values of a property of the nodes with a label from a {@link NodePropertyColumn}, in node id order, so that a scan over
+ * the property reads one contiguous column instead of the node record and property chain of each node. Numbers and booleans are
+ * read from the column itself, other values are read from the property store.
+ * <p>
+ * Like the other storage cursors it reads the committed state of the store, without any transaction state.
+ */
+public class NodePropertyColumnCursor implements AutoCloseable {
+    private final NodePropertyColumn column;
+    private final NodeStore nodeStore;
+    private final RecordNodeCursor nodeCursor;
+    private final StoragePropertyCursor propertyCursor;
+    private final CursorContext cursorContext;
+    private PageCursor pageCursor;
+    private long nextNodeId;
+    private long highNodeId;
+    private long nodeId = NO_ID;
+    private byte type;
+    private long payload;
+
+    NodePropertyColumnCursor(
+            NodePropertyColumn column,
+            NodeStore nodeStore,
+            RecordNodeCursor nodeCursor,
+            StoragePropertyCursor propertyCursor,
+            CursorContext cursorContext) {
+        this.column = column;
+        this.nodeStore = nodeStore;
+        this.nodeCursor = nodeCursor;
+        this.propertyCursor = propertyCursor;
+        this.cursorContext = cursorContext;
+    }
+
+    /**
+     * Initializes this cursor to go through the nodes that have the label and the property of the column.
+     */
+    public void scan() {
+        position(0, nodeStore.getHighId());
+    }
+
+    /**
+     * Initializes this cursor to read the given node, if it has the label and the property of the column.
+     */
+    public void single(long reference) {
+        if (reference < 0) {
+            position(0, 0);
+        } else {
+            position(reference, reference + 1);
+        }
+    }
+
+    private void position(long fromNodeId, long toNodeId) {
+        nextNodeId = fromNodeId;
+        highNodeId = toNodeId;
+        nodeId = NO_ID;
+    }
+
+    public boolean next() {
+        try {
+            if (pageCursor == null) {
+                pageCursor = column.openReadCursor(PF_READ_AHEAD, cursorContext);
+            }
+            while (nextNodeId < highNodeId) {
+                long id = nextNodeId++;
+                if (!column.seek(pageCursor, id)) {
+                    // Past the end of the column, no node beyond here has been given an entry
+                    break;
+                }
+                int offset = column.offset(id);
+                do {
+                    type = pageCursor.getByte(offset);
+                    payload = pageCursor.getLong(offset + TYPE_SIZE);
+                } while (pageCursor.shouldRetry());
+                if (type != NONE) {
+                    nodeId = id;
+                    return true;
+                }
+            }
+            nextNodeId = highNodeId;
+            nodeId = NO_ID;
+            return false;
+        } catch (IOException e) {
+            throw new UnderlyingStorageException(e);
+        }
+    }
+
+    public long nodeReference() {
+        return nodeId;
+    }
+
+    public Value propertyValue() {
+        if (type == OTHER) {
+            return NodePropertyColumnStore.value(nodeCursor, propertyCursor, nodeId, column);
+        }
+        return NodePropertyColumn.value(type, payload);
+    }
+
+    @Override
+    public void close() {
+        IOUtils.closeAllUnchecked(pageCursor, nodeCursor, propertyCursor);
+        pageCursor = null;
+        nodeId = NO_ID;
+    }
+}
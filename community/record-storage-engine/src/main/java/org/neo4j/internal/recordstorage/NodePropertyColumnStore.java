@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.storageengine.api.PropertySelection.selection;
+
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.impl.factory.primitive.LongObjectMaps;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.token.api.NamedToken;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * The {@link NodePropertyColumn columns} of the label and property key pairs listed in
+ * {@link GraphDatabaseInternalSettings#columnar_node_properties}, one file each next to the node store.
+ * <p>
+ * The entries are derived from the node and property stores, and updated when transactions are applied, see
+ * {@link NodePropertyColumnTransactionApplier}. It's a {@link DerivedStore} whose columns are each kept while their pair is
+ * listed, so columns of pairs that are no longer listed are deleted when the store is opened. Pairs are resolved to token ids
+ * when the store is opened, so a pair whose tokens are created later gets its column on a later startup.
+ */
+class NodePropertyColumnStore implements DerivedStore {
+    static final String FILE_NAME_PREFIX = "neostore.nodepropertycolumn.";
+
+    private static final String FILE_NAME_SUFFIX = ".db";
+
+    private final NeoStores neoStores;
+    private final MutableLongObjectMap<NodePropertyColumn> columns;
+    private final InternalLog log;
+
+    private NodePropertyColumnStore(
+            NeoStores neoStores, MutableLongObjectMap<NodePropertyColumn> columns, InternalLogProvider logProvider) {
+        this.neoStores = neoStores;
+        this.columns = columns;
+        this.log = logProvider.getLog(getClass());
+    }
+
+    /**
+     * Opens the columns of the given pairs, each given as {@code Label:propertyKey}, and deletes columns of other pairs.
+     */
+    static NodePropertyColumnStore open(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout databaseLayout,
+            NeoStores neoStores,
+            List<String> pairs,
+            ImmutableSet<OpenOption> openOptions,
+            CursorContext cursorContext,
+            StoreCursors storeCursors,
+            InternalLogProvider logProvider)
+            throws IOException {
+        InternalLog log = logProvider.getLog(NodePropertyColumnStore.class);
+        Map<String, Integer> labels = tokenIds(neoStores.getLabelTokenStore().getTokens(storeCursors));
+        Map<String, Integer> propertyKeys =
+                tokenIds(neoStores.getPropertyKeyTokenStore().getTokens(storeCursors));
+        MutableLongObjectMap<NodePropertyColumn> columns = LongObjectMaps.mutable.empty();
+        try {
+            for (String pair : pairs) {
+                int separator = pair.lastIndexOf(':');
+                if (separator <= 0 || separator == pair.length() - 1) {
+                    throw new IllegalArgumentException(
+                            "Expected a columnar node property as 'Label:propertyKey', but was '" + pair + "'");
+                }
+                Integer label = labels.get(pair.substring(0, separator));
+                Integer propertyKey = propertyKeys.get(pair.substring(separator + 1));
+                if (label == null || propertyKey == null) {
+                    log.info("Not keeping a node property column for %s yet, since its tokens don't exist.", pair);
+                    continue;
+                }
+                long key = columnKey(label, propertyKey);
+                if (!columns.containsKey(key)) {
+                    columns.put(
+                            key,
+                            new NodePropertyColumn(
+                                    pageCache,
+                                    file(databaseLayout, label, propertyKey),
+                                    label,
+                                    propertyKey,
+                                    databaseLayout.getDatabaseName(),
+                                    openOptions,
+                                    cursorContext));
+                }
+            }
+            for (Path file : files(fs, databaseLayout)) {
+                if (columns.noneSatisfy(
+                        column -> file.equals(file(databaseLayout, column.label(), column.propertyKey())))) {
+                    fs.deleteFile(file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeAllSilently(columns.values());
+            throw e;
+        }
+        return new NodePropertyColumnStore(neoStores, columns, logProvider);
+    }
+
+    private static Map<String, Integer> tokenIds(List<NamedToken> tokens) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (NamedToken token : tokens) {
+            ids.put(token.name(), token.id());
+        }
+        return ids;
+    }
+
+    static Path file(RecordDatabaseLayout databaseLayout, int label, int propertyKey) {
+        return databaseLayout.file(FILE_NAME_PREFIX + label + "." + propertyKey + FILE_NAME_SUFFIX);
+    }
+
+    static void deleteAll(FileSystemAbstraction fs, RecordDatabaseLayout databaseLayout) throws IOException {
+        for (Path file : files(fs, databaseLayout)) {
+            fs.deleteFile(file);
+        }
+    }
+
+    private static Path[] files(FileSystemAbstraction fs, RecordDatabaseLayout databaseLayout) throws IOException {
+        if (!fs.fileExists(databaseLayout.databaseDirectory())) {
+            return new Path[0];
+        }
+        return fs.listFiles(databaseLayout.databaseDirectory(), file -> {
+            String name = file.getFileName().toString();
+            return name.startsWith(FILE_NAME_PREFIX) && name.endsWith(FILE_NAME_SUFFIX);
+        });
+    }
+
+    private static long columnKey(int label, int propertyKey) {
+        return ((long) label << Integer.SIZE) | (propertyKey & 0xFFFFFFFFL);
+    }
+
+    NodePropertyColumn column(int label, int propertyKey) {
+        return columns.get(columnKey(label, propertyKey));
+    }
+
+    boolean isEmpty() {
+        return columns.isEmpty();
+    }
+
+    /**
+     * Builds the columns that were created when they were opened, or haven't been completely built before, one pass over the
+     * node store each.
+     */
+    @Override
+    public void start(CursorContext cursorContext, StoreCursors storeCursors, MemoryTracker memoryTracker)
+            throws IOException {
+        List<NodePropertyColumn> columnsToBuild = new ArrayList<>();
+        columns.forEachValue(column -> {
+            if (column.needsBuild()) {
+                columnsToBuild.add(column);
+            }
+        });
+        if (columnsToBuild.isEmpty()) {
+            return;
+        }
+
+        log.info("Building %d node property columns from the store.", columnsToBuild.size());
+        NodeStore nodeStore = neoStores.getNodeStore();
+        long highId = nodeStore.getHighId();
+        RecordStorageReader reader = new RecordStorageReader(neoStores);
+        try (RecordNodeCursor nodeCursor = reader.allocateNodeCursor(cursorContext, storeCursors);
+                StoragePropertyCursor propertyCursor =
+                        reader.allocatePropertyCursor(cursorContext, storeCursors, memoryTracker)) {
+            for (NodePropertyColumn column : columnsToBuild) {
+                try (PageCursor writeCursor = column.openWriteCursor(cursorContext)) {
+                    for (long nodeId = 0; nodeId < highId; nodeId++) {
+                        column.write(writeCursor, nodeId, value(nodeCursor, propertyCursor, nodeId, column));
+                    }
+                }
+                column.built();
+            }
+        }
+        log.info("Node property columns built.");
+    }
+
+    /**
+     * Rewrites the entries of the given nodes, as they are in the store.
+     */
+    void update(LongSet nodeIds, CursorContext cursorContext, StoreCursors storeCursors, MemoryTracker memoryTracker)
+            throws IOException {
+        long[] sortedNodeIds = nodeIds.toSortedArray();
+        RecordStorageReader reader = new RecordStorageReader(neoStores);
+        try (RecordNodeCursor nodeCursor = reader.allocateNodeCursor(cursorContext, storeCursors);
+                StoragePropertyCursor propertyCursor =
+                        reader.allocatePropertyCursor(cursorContext, storeCursors, memoryTracker)) {
+            for (NodePropertyColumn column : columns.values()) {
+                try (PageCursor writeCursor = column.openWriteCursor(cursorContext)) {
+                    for (long nodeId : sortedNodeIds) {
+                        column.write(writeCursor, nodeId, value(nodeCursor, propertyCursor, nodeId, column));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the value of the property of the column if the node is in use and has the label of the column, otherwise
+     * {@link Values#NO_VALUE}.
+     */
+    static Value value(
+            RecordNodeCursor nodeCursor, StoragePropertyCursor propertyCursor, long nodeId, NodePropertyColumn column) {
+        nodeCursor.single(nodeId);
+        if (!nodeCursor.next() || !nodeCursor.hasLabel(column.label())) {
+            return Values.NO_VALUE;
+        }
+        nodeCursor.properties(propertyCursor, selection(column.propertyKey()));
+        return propertyCursor.next() ? propertyCursor.propertyValue() : Values.NO_VALUE;
+    }
+
+    @Override
+    public void checkpoint(FileFlushEvent flushEvent, CursorContext cursorContext) throws IOException {
+        for (NodePropertyColumn column : columns.values()) {
+            column.checkpoint(flushEvent, cursorContext);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.closeAll(columns.values());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongSets;
+import org.neo4j.internal.recordstorage.Command.NodeCommand;
+import org.neo4j.internal.recordstorage.Command.PropertyCommand;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+
+/**
+ * Keeps the {@link NodePropertyColumnStore} up to date with the nodes changed by a transaction. Rather than deriving the changes of
+ * the columns from the commands, which may move a property between property records or change the labels of a node without touching
+ * its properties, the entries of all nodes that the transaction changed are rewritten from the store when the transaction has been
+ * visited, when the store reflects it.
+ */
+class NodePropertyColumnTransactionApplier extends TransactionApplier.Adapter {
+    private final NodePropertyColumnStore columnStore;
+    private final CommandBatchToApply transaction;
+    private final MemoryTracker memoryTracker;
+    private final MutableLongSet changedNodes = LongSets.mutable.empty();
+
+    NodePropertyColumnTransactionApplier(
+            NodePropertyColumnStore columnStore, CommandBatchToApply transaction, MemoryTracker memoryTracker) {
+        this.columnStore = columnStore;
+        this.transaction = transaction;
+        this.memoryTracker = memoryTracker;
+    }
+
+    @Override
+    public boolean visitNodeCommand(NodeCommand command) {
+        changedNodes.add(command.getAfter().getId());
+        return false;
+    }
+
+    @Override
+    public boolean visitPropertyCommand(PropertyCommand command) {
+        addOwningNode(command.getBefore());
+        addOwningNode(command.getAfter());
+        return false;
+    }
+
+    private void addOwningNode(PropertyRecord record) {
+        if (record.isNodeSet()) {
+            changedNodes.add(record.getNodeId());
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (!changedNodes.isEmpty()) {
+            columnStore.update(changedNodes, transaction.cursorContext(), transaction.storeCursors(), memoryTracker);
+        }
+    }
+}
@@ -25,7 +25,9 @@ import static org.neo4j.io.IOUtils.closeAllUnchecked;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import org.neo4j.common.EntityType;
 import org.neo4j.internal.recordstorage.Command.NodeCommand;
 import org.neo4j.internal.recordstorage.Command.PropertyCommand;
@@ -130,12 +132,22 @@ public class OnlineIndexUpdates implements IndexUpdates {
     }
 
     private void eagerlyGatherValueIndexUpdates(EntityUpdates entityUpdates, EntityType entityType) {
-        Iterable<IndexDescriptor> relatedIndexes = schemaCache.getValueIndexesRelatedTo(
+        Set<IndexDescriptor> relatedIndexes = schemaCache.getValueIndexesRelatedTo(
                 entityUpdates.entityTokensChanged(),
                 entityUpdates.entityTokensUnchanged(),
                 entityUpdates.propertiesChanged(),
                 entityUpdates.isPropertyListComplete(),
                 entityType);
+        // Changes of included properties also update the entries of the indexes including them
+        Set<IndexDescriptor> indexesWithIncludedProperties = schemaCache.getValueIndexesWithIncludedPropertiesRelatedTo(
+                entityUpdates.entityTokensChanged(),
+                entityUpdates.entityTokensUnchanged(),
+                entityUpdates.propertiesChanged(),
+                entityType);
+        if (!indexesWithIncludedProperties.isEmpty()) {
+            relatedIndexes = new HashSet<>(relatedIndexes);
+            relatedIndexes.addAll(indexesWithIncludedProperties);
+        }
         // we need to materialize the IndexEntryUpdates here, because when we
         // consume (later in separate thread) the store might have changed.
         entityUpdates
@@ -179,7 +191,12 @@ public class OnlineIndexUpdates implements IndexUpdates {
                 .withTokensAfter(nodeLabelsAfter);
 
         // Then look for property changes
-        converter.convertPropertyRecord(propertyCommandsForNode, nodePropertyUpdates);
+        if (nodeChanges != null) {
+            converter.convertPropertyRecord(
+                    nodeChanges.getBefore(), nodeChanges.getAfter(), propertyCommandsForNode, nodePropertyUpdates);
+        } else {
+            converter.convertPropertyRecord(propertyCommandsForNode, nodePropertyUpdates);
+        }
         return nodePropertyUpdates.build();
     }
 
@@ -215,7 +232,15 @@ public class OnlineIndexUpdates implements IndexUpdates {
             relationshipPropertyUpdates.withTokensAfter(reltypeAfter);
         }
 
-        converter.convertPropertyRecord(propertyCommands, relationshipPropertyUpdates);
+        if (relationshipCommand != null) {
+            converter.convertPropertyRecord(
+                    relationshipCommand.getBefore(),
+                    relationshipCommand.getAfter(),
+                    propertyCommands,
+                    relationshipPropertyUpdates);
+        } else {
+            converter.convertPropertyRecord(propertyCommands, relationshipPropertyUpdates);
+        }
         return relationshipPropertyUpdates.build();
     }
 
@@ -24,10 +24,13 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.DynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.values.storable.Value;
 
@@ -37,6 +40,7 @@ public class PropertyCreator {
     private final PropertyStore propertyStore;
     private final PropertyTraverser traverser;
     private final CursorContext cursorContext;
+    private final boolean inlineProperties;
 
     public PropertyCreator(PropertyStore propertyStore, PropertyTraverser traverser, CursorContext cursorContext) {
         this(propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser, cursorContext);
@@ -48,11 +52,25 @@ public class PropertyCreator {
             PropertyStore propertyStore,
             PropertyTraverser traverser,
             CursorContext cursorContext) {
+        this(stringRecordAllocator, arrayRecordAllocator, propertyStore, traverser, cursorContext, false);
+    }
+
+    /**
+     * @param inlineProperties whether node and relationship records have room for {@link InlinedProperties inlined properties}.
+     */
+    PropertyCreator(
+            DynamicRecordAllocator stringRecordAllocator,
+            DynamicRecordAllocator arrayRecordAllocator,
+            PropertyStore propertyStore,
+            PropertyTraverser traverser,
+            CursorContext cursorContext,
+            boolean inlineProperties) {
         this.stringRecordAllocator = stringRecordAllocator;
         this.arrayRecordAllocator = arrayRecordAllocator;
         this.propertyStore = propertyStore;
         this.traverser = traverser;
         this.cursorContext = cursorContext;
+        this.inlineProperties = inlineProperties;
     }
 
     public <P extends PrimitiveRecord> void primitiveSetProperty(
@@ -65,6 +83,24 @@ public class PropertyCreator {
         P primitive = primitiveRecordChange.forReadingLinkage();
         assert traverser.assertPropertyChain(primitive, propertyRecords);
 
+        // A property key is either inlined or in the chain. An inlined property stays inlined if the new value fits,
+        // otherwise it's moved to the chain.
+        boolean canInline =
+                inlineProperties && (primitive instanceof NodeRecord || primitive instanceof RelationshipRecord);
+        if (canInline) {
+            long[] inlinedBlocks = primitive.getInlinedPropertyBlocks();
+            long[] otherInlinedBlocks = InlinedProperties.without(inlinedBlocks, propertyKey);
+            if (otherInlinedBlocks != inlinedBlocks) {
+                P changedPrimitive = primitiveRecordChange.forChangingData();
+                if (InlinedProperties.fits(otherInlinedBlocks, block)) {
+                    changedPrimitive.setInlinedPropertyBlocks(InlinedProperties.with(otherInlinedBlocks, block));
+                    return;
+                }
+                changedPrimitive.setInlinedPropertyBlocks(otherInlinedBlocks);
+                canInline = false;
+            }
+        }
+
         // Traverse the existing property chain. Tracking two things along the way:
         // - (a) Free space for this block (candidateHost)
         // - (b) Existence of a block with the property key
@@ -129,7 +165,16 @@ public class PropertyCreator {
         }
 
         // At this point we haven't added the property block, although we may have found room for it
-        // along the way. If we didn't then just create a new record, it's fine
+        // along the way. A new property goes into the record itself if there's room for it there
+        if (canInline
+                && existingHostProxy == null
+                && InlinedProperties.fits(primitive.getInlinedPropertyBlocks(), block)) {
+            P changedPrimitive = primitiveRecordChange.forChangingData();
+            changedPrimitive.setInlinedPropertyBlocks(
+                    InlinedProperties.with(changedPrimitive.getInlinedPropertyBlocks(), block));
+            return;
+        }
+        // Otherwise just create a new record, it's fine
         PropertyRecord freeHost;
         if (freeHostProxy == null) {
             // We couldn't find free space along the way, so create a new host record
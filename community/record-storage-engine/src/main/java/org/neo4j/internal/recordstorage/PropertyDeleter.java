@@ -21,8 +21,8 @@ package org.neo4j.internal.recordstorage;
 
 import static java.lang.StrictMath.toIntExact;
 import static java.lang.String.format;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 import static org.neo4j.internal.recordstorage.InconsistentDataReadException.CYCLE_DETECTION_THRESHOLD;
-import static org.neo4j.storageengine.api.LongReference.longReference;
 import static org.neo4j.storageengine.api.PropertySelection.ALL_PROPERTIES;
 
 import java.util.stream.Collectors;
@@ -40,6 +40,7 @@ import org.neo4j.kernel.impl.store.InvalidRecordException;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
@@ -118,6 +119,7 @@ public class PropertyDeleter {
             logInconsistentPropertyChain(primitive, memoryTracker, "cycle", e);
         }
         primitive.setNextProp(Record.NO_NEXT_PROPERTY.intValue());
+        primitive.setInlinedPropertyBlocks(EMPTY_LONG_ARRAY);
     }
 
     private void markValueRecordsAsCreated(PropertyRecord beforeRecord) {
@@ -150,13 +152,16 @@ public class PropertyDeleter {
                 message.append(LongStream.of(labelIds)
                         .mapToObj(labelId -> tokenNameLookup.labelGetName(toIntExact(labelId)))
                         .collect(Collectors.toList()));
-                propertyCursor.initNodeProperties(longReference(node.getNextProp()), ALL_PROPERTIES, node.getId());
+                propertyCursor.initNodeProperties(
+                        InlinedPropertiesReference.propertiesReference(node), ALL_PROPERTIES, node.getId());
             } else if (primitive instanceof RelationshipRecord relationship) {
                 message.append(format(
                         " with relationship type: %s",
                         tokenNameLookup.relationshipTypeGetName(relationship.getType())));
                 propertyCursor.initRelationshipProperties(
-                        longReference(relationship.getNextProp()), ALL_PROPERTIES, relationship.getId());
+                        InlinedPropertiesReference.propertiesReference(relationship),
+                        ALL_PROPERTIES,
+                        relationship.getId());
             }
 
             // Use the cursor to read property values, because it's more flexible in reading data
@@ -192,8 +197,8 @@ public class PropertyDeleter {
     }
 
     /**
-     * Removes property with given {@code propertyKey} from property chain owner by the primitive found in
-     * {@code primitiveProxy}.
+     * Removes property with given {@code propertyKey} from the inlined properties of, or else the property chain owned by,
+     * the primitive found in {@code primitiveProxy}.
      *
      * @param primitiveProxy access to the primitive record pointing to the start of the property chain.
      * @param propertyKey the property key token id to look for and remove.
@@ -205,6 +210,12 @@ public class PropertyDeleter {
             int propertyKey,
             RecordAccess<PropertyRecord, PrimitiveRecord> propertyRecords) {
         PrimitiveRecord primitive = primitiveProxy.forReadingData();
+        long[] inlinedBlocks = primitive.getInlinedPropertyBlocks();
+        long[] otherInlinedBlocks = InlinedProperties.without(inlinedBlocks, propertyKey);
+        if (otherInlinedBlocks != inlinedBlocks) {
+            primitiveProxy.forChangingData().setInlinedPropertyBlocks(otherInlinedBlocks);
+            return;
+        }
         long propertyId = traverser.findPropertyRecordContaining(primitive, propertyKey, propertyRecords, true);
         removeProperty(primitiveProxy, propertyKey, propertyRecords, primitive, propertyId);
     }
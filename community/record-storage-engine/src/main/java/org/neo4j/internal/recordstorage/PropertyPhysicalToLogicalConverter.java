@@ -22,6 +22,8 @@ package org.neo4j.internal.recordstorage;
 import java.util.Arrays;
 import java.util.Comparator;
 import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.storageengine.api.EntityUpdates;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
@@ -47,7 +49,20 @@ public class PropertyPhysicalToLogicalConverter {
      * Converts physical changes to PropertyRecords for a entity into logical updates
      */
     public void convertPropertyRecord(EntityCommandGrouper<?>.Cursor changes, EntityUpdates.Builder properties) {
-        mapBlocks(changes);
+        convertPropertyRecord(null, null, changes, properties);
+    }
+
+    /**
+     * Converts physical changes to PropertyRecords, and to the inlined properties of the entity record, for a entity into logical updates
+     * @param entityBefore the entity record before the change, or {@code null} if the entity record wasn't changed.
+     * @param entityAfter the entity record after the change, or {@code null} if the entity record wasn't changed.
+     */
+    public void convertPropertyRecord(
+            PrimitiveRecord entityBefore,
+            PrimitiveRecord entityAfter,
+            EntityCommandGrouper<?>.Cursor changes,
+            EntityUpdates.Builder properties) {
+        mapBlocks(entityBefore, entityAfter, changes);
 
         int bc = 0;
         int ac = 0;
@@ -100,9 +115,22 @@ public class PropertyPhysicalToLogicalConverter {
         }
     }
 
-    private void mapBlocks(EntityCommandGrouper<?>.Cursor changes) {
+    private void mapBlocks(
+            PrimitiveRecord entityBefore, PrimitiveRecord entityAfter, EntityCommandGrouper<?>.Cursor changes) {
         beforeBlocksCursor = 0;
         afterBlocksCursor = 0;
+        if (entityBefore != null
+                && entityAfter != null
+                && !Arrays.equals(entityBefore.getInlinedPropertyBlocks(), entityAfter.getInlinedPropertyBlocks())) {
+            // A property key is either inlined or in the chain, so inlined blocks can be mixed with the blocks of the
+            // chain
+            for (PropertyBlock block : InlinedProperties.all(entityBefore.getInlinedPropertyBlocks())) {
+                addBeforeBlock(block);
+            }
+            for (PropertyBlock block : InlinedProperties.all(entityAfter.getInlinedPropertyBlocks())) {
+                addAfterBlock(block);
+            }
+        }
         while (true) {
             Command.PropertyCommand change = changes.nextProperty();
             if (change == null) {
@@ -110,22 +138,30 @@ public class PropertyPhysicalToLogicalConverter {
             }
 
             for (PropertyBlock block : change.getBefore()) {
-                if (beforeBlocksCursor == beforeBlocks.length) {
-                    beforeBlocks = Arrays.copyOf(beforeBlocks, beforeBlocksCursor * 2);
-                }
-                beforeBlocks[beforeBlocksCursor++] = block;
+                addBeforeBlock(block);
             }
             for (PropertyBlock block : change.getAfter()) {
-                if (afterBlocksCursor == afterBlocks.length) {
-                    afterBlocks = Arrays.copyOf(afterBlocks, afterBlocksCursor * 2);
-                }
-                afterBlocks[afterBlocksCursor++] = block;
+                addAfterBlock(block);
             }
         }
         Arrays.sort(beforeBlocks, 0, beforeBlocksCursor, BLOCK_COMPARATOR);
         Arrays.sort(afterBlocks, 0, afterBlocksCursor, BLOCK_COMPARATOR);
     }
 
+    private void addBeforeBlock(PropertyBlock block) {
+        if (beforeBlocksCursor == beforeBlocks.length) {
+            beforeBlocks = Arrays.copyOf(beforeBlocks, beforeBlocksCursor * 2);
+        }
+        beforeBlocks[beforeBlocksCursor++] = block;
+    }
+
+    private void addAfterBlock(PropertyBlock block) {
+        if (afterBlocksCursor == afterBlocks.length) {
+            afterBlocks = Arrays.copyOf(afterBlocks, afterBlocksCursor * 2);
+        }
+        afterBlocks[afterBlocksCursor++] = block;
+    }
+
     private Value valueOf(PropertyBlock block) {
         if (block == null) {
             return null;
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static java.lang.Math.min;
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PageRecordsVisitor;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.scheduler.CancelListener;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Faults in the pages holding the first property records of the nodes ahead of a batch of a node scan, from a background
+ * thread. Without it each node whose property chain is read by the scan can stall on a page fault of its own, which can't
+ * start before the previous node has been handled.
+ * <p>
+ * The pre-fetcher reads the node records of the batch up to {@code distance} nodes ahead of where the scanning cursor is,
+ * and touches the pages of their first property records, once each. The scanning cursor reports its progress with
+ * {@link #scannedUpTo(long)}, which is an ordered store that the pre-fetcher observes, the same way the page cache
+ * pre-fetcher of sequential scans observes its cursor. Property pages are faulted in on the pre-fetcher thread, so the
+ * faults overlap with the scan instead of being serialized with the chain reads of the scanning thread.
+ */
+class PropertyPrefetcher implements Runnable, CancelListener {
+    private static final String TRACER_PRE_FETCHER_TAG = "Property pre-fetcher";
+    private static final long STALLED_SCAN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MAX_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final NodeStore nodeStore;
+    private final PropertyStore propertyStore;
+    private final int distance;
+    private final long highMark;
+    private final CursorContext cursorContext;
+    private final AtomicLong scannedUpTo;
+    private final PageVisitor pageVisitor;
+    private volatile boolean cancelled;
+    private JobHandle<?> handle;
+
+    /**
+     * @param nodeStore store to read the node records of the batch from.
+     * @param propertyStore store to fault in the property pages of.
+     * @param distance number of nodes ahead of the scanning cursor to fault in the property pages of.
+     * @param firstNodeId the first node of the batch.
+     * @param highMark the last node of the batch.
+     * @param cursorContext context of the scan, which the pre-fetcher creates a related context of.
+     */
+    PropertyPrefetcher(
+            NodeStore nodeStore,
+            PropertyStore propertyStore,
+            int distance,
+            long firstNodeId,
+            long highMark,
+            CursorContext cursorContext) {
+        this.nodeStore = nodeStore;
+        this.propertyStore = propertyStore;
+        this.distance = distance;
+        this.highMark = highMark;
+        this.cursorContext = cursorContext;
+        this.scannedUpTo = new AtomicLong(firstNodeId);
+        this.pageVisitor = new PageVisitor(propertyStore.getRecordsPerPage(), nodeStore.getRecordsPerPage());
+    }
+
+    /**
+     * Schedules the pre-fetcher in the {@link Group#PAGE_CACHE_PRE_FETCHER} group. Like the page cache pre-fetchers it's
+     * a best-effort job, which isn't run if that group is saturated.
+     */
+    void start(JobScheduler scheduler) {
+        handle = scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, systemJob("Pre-fetching of node properties"), this);
+    }
+
+    /**
+     * Called by the scanning cursor when it moves to {@code nodeId}. Only an ordered store, so that it's cheap enough to
+     * call for every node.
+     */
+    void scannedUpTo(long nodeId) {
+        scannedUpTo.lazySet(nodeId);
+    }
+
+    /**
+     * Stops the pre-fetcher, for when the scanning cursor is done with the batch.
+     */
+    void stop() {
+        scannedUpTo.lazySet(NO_ID);
+        cancelled = true;
+        if (handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+    }
+
+    @Override
+    public void cancelled() {
+        cancelled = true;
+    }
+
+    @Override
+    public void run() {
+        NodeRecord node = new NodeRecord(NO_ID);
+        try (var context = cursorContext.createRelatedContext(TRACER_PRE_FETCHER_TAG);
+                PageCursor nodeCursor = nodeStore.openPageCursorForReading(0, context);
+                PageCursor propertyCursor = propertyStore.openPageCursorForReading(0, context)) {
+            long prefetched = scannedUpTo.get() - 1;
+            long lastTouchedPage = NO_ID;
+            while (prefetched < highMark) {
+                long scanned = awaitScanProgress(prefetched);
+                if (scanned == NO_ID) {
+                    return;
+                }
+                long id = Math.max(prefetched + 1, scanned);
+                long lastId = min(highMark, scanned + distance - 1);
+                while (id <= lastId && !cancelled) {
+                    prefetched = nodeStore.readRecordsInPage(
+                            id, lastId, node, RecordLoad.LENIENT_CHECK, nodeCursor, pageVisitor);
+                    lastTouchedPage = pageVisitor.touchPages(propertyCursor, lastTouchedPage);
+                    id = prefetched + 1;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for the scanning cursor to get close enough to the prefetched nodes for the window of the next {@code distance}
+     * nodes to reach past them.
+     *
+     * @return where the scanning cursor is, or {@code NO_ID} if it's
+     * done with the batch, or has stalled for so long that pre-fetching for it is pointless.
+     */
+    private long awaitScanProgress(long prefetched) {
+        long scanned = scannedUpTo.get();
+        if (scanned == NO_ID || cancelled) {
+            return NO_ID;
+        }
+        if (scanned + distance - 1 > prefetched) {
+            return scanned;
+        }
+        long pauseNanos = 1_000;
+        long deadline = System.nanoTime() + STALLED_SCAN_TIMEOUT_NANOS;
+        do {
+            LockSupport.parkNanos(this, pauseNanos);
+            pauseNanos = min(pauseNanos * 2, MAX_PAUSE_NANOS);
+            scanned = scannedUpTo.get();
+            if (scanned == NO_ID || cancelled || System.nanoTime() > deadline) {
+                return NO_ID;
+            }
+        } while (scanned + distance - 1 <= prefetched);
+        return scanned;
+    }
+
+    /**
+     * Collects the property pages of the node records of a node page, which are then touched in page order.
+     */
+    private static class PageVisitor implements PageRecordsVisitor<NodeRecord> {
+        private final long propertyRecordsPerPage;
+        private final long[] propertyPages;
+        private int numberOfPages;
+
+        PageVisitor(int propertyRecordsPerPage, int nodeRecordsPerPage) {
+            this.propertyRecordsPerPage = propertyRecordsPerPage;
+            this.propertyPages = new long[nodeRecordsPerPage];
+        }
+
+        @Override
+        public void beginPage() {
+            numberOfPages = 0;
+        }
+
+        @Override
+        public void visit(NodeRecord record) {
+            long nextProp = record.getNextProp();
+            // records are read leniently and without retries mattering, so ignore anything which isn't a record id
+            if (nextProp >= 0) {
+                propertyPages[numberOfPages++] = nextProp / propertyRecordsPerPage;
+            }
+        }
+
+        /**
+         * @return the last page which was touched.
+         */
+        long touchPages(PageCursor propertyCursor, long lastTouchedPage) throws IOException {
+            Arrays.sort(propertyPages, 0, numberOfPages);
+            for (int i = 0; i < numberOfPages; i++) {
+                long pageId = propertyPages[i];
+                if (pageId != lastTouchedPage) {
+                    if (!propertyCursor.next(pageId)) {
+                        break;
+                    }
+                    lastTouchedPage = pageId;
+                }
+            }
+            return lastTouchedPage;
+        }
+    }
+}
@@ -21,24 +21,29 @@ package org.neo4j.internal.recordstorage;
 
 import static java.lang.Math.min;
 import static org.neo4j.internal.recordstorage.RelationshipReferenceEncoding.encodeDense;
-import static org.neo4j.storageengine.api.LongReference.longReference;
 import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
 
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.neo4j.internal.counts.NodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.internal.helpers.Numbers;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PageRecordsVisitor;
+import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.store.record.RecordLoadOverride;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.AllNodeScan;
 import org.neo4j.storageengine.api.Degrees;
+import org.neo4j.storageengine.api.NodeBatch;
 import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.storageengine.api.Reference;
 import org.neo4j.storageengine.api.RelationshipDirection;
@@ -51,10 +56,14 @@ import org.neo4j.storageengine.api.cursor.StoreCursors;
 public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private final NodeStore read;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final NodeDegreesStore nodeDegreesStore;
     private final CursorContext cursorContext;
     private final StoreCursors storeCursors;
     private final RelationshipStore relationshipStore;
     private final RelationshipGroupStore groupStore;
+    private final PropertyStore propertyStore;
+    private final int propertyPrefetchDistance;
+    private final JobScheduler jobScheduler;
     private PageCursor pageCursor;
     private long next;
     private long highMark;
@@ -65,6 +74,8 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private RecordRelationshipTraversalCursor relationshipCursor;
     private RecordRelationshipScanCursor relationshipScanCursor;
     private RecordLoadOverride loadMode;
+    private NodesInPage nodesInPage;
+    private PropertyPrefetcher propertyPrefetcher;
 
     RecordNodeCursor(
             NodeStore read,
@@ -73,13 +84,37 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext,
             StoreCursors storeCursors) {
+        this(read, relationshipStore, groupStore, null, groupDegreesStore, null, 0, null, cursorContext, storeCursors);
+    }
+
+    /**
+     * @param nodeDegreesStore degrees of all nodes to look up the degrees of sparse nodes in, or {@code null} if they're not kept.
+     * @param propertyPrefetchDistance number of nodes ahead of a batched scan to prefetch the property pages of,
+     * see {@link PropertyPrefetcher}, or 0 to not prefetch.
+     * @param jobScheduler scheduler to run the {@link PropertyPrefetcher} in, if property pages are prefetched.
+     */
+    RecordNodeCursor(
+            NodeStore read,
+            RelationshipStore relationshipStore,
+            RelationshipGroupStore groupStore,
+            PropertyStore propertyStore,
+            RelationshipGroupDegreesStore groupDegreesStore,
+            NodeDegreesStore nodeDegreesStore,
+            int propertyPrefetchDistance,
+            JobScheduler jobScheduler,
+            CursorContext cursorContext,
+            StoreCursors storeCursors) {
         super(NO_ID);
         this.read = read;
         this.groupDegreesStore = groupDegreesStore;
+        this.nodeDegreesStore = nodeDegreesStore;
         this.cursorContext = cursorContext;
         this.storeCursors = storeCursors;
         this.relationshipStore = relationshipStore;
         this.groupStore = groupStore;
+        this.propertyStore = propertyStore;
+        this.propertyPrefetchDistance = propertyPrefetchDistance;
+        this.jobScheduler = jobScheduler;
         this.loadMode = RecordLoadOverride.none();
     }
 
@@ -122,8 +157,15 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
         this.batched = true;
         this.open = true;
         this.nextStoreReference = NO_ID;
+        stopPropertyPrefetching();
 
-        return ((RecordNodeScan) scan).scanBatch(sizeHint, this);
+        boolean scanning = ((RecordNodeScan) scan).scanBatch(sizeHint, this);
+        if (scanning && propertyPrefetchDistance > 0 && next != NO_ID) {
+            propertyPrefetcher = new PropertyPrefetcher(
+                    read, propertyStore, propertyPrefetchDistance, next, highMark, cursorContext);
+            propertyPrefetcher.start(jobScheduler);
+        }
+        return scanning;
     }
 
     boolean scanRange(long start, long stop) {
@@ -166,7 +208,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
 
     @Override
     public boolean hasProperties() {
-        return nextProp != NO_ID;
+        return nextProp != NO_ID || hasInlinedProperties();
     }
 
     @Override
@@ -250,7 +292,9 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             return;
         }
 
-        if (!isDense()) {
+        if (!isDense() && nodeDegreesStore != null && selection.isTypeLimited()) {
+            sparseNodeDegrees(selection, mutator);
+        } else if (!isDense()) {
             ensureRelationshipTraversalCursorInitialized();
             relationshipCursor.init(this, ALL_RELATIONSHIPS);
             while (relationshipCursor.next()) {
@@ -303,6 +347,46 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
         }
     }
 
+    /**
+     * Looks up the degrees of this sparse node for the selected types in the node degrees store, instead of walking its
+     * relationship chain.
+     */
+    private void sparseNodeDegrees(RelationshipSelection selection, Degrees.Mutator mutator) {
+        long nodeId = entityReference();
+        int numCriteria = selection.numberOfCriteria();
+        for (int i = 0; i < numCriteria; i++) {
+            int type = selection.criterion(i).type();
+            if (isSelectedEarlier(selection, i, type)) {
+                continue;
+            }
+            int outgoing = 0;
+            int incoming = 0;
+            int loop = degree(nodeId, type, RelationshipDirection.LOOP);
+            if (selection.test(RelationshipDirection.OUTGOING)) {
+                outgoing = degree(nodeId, type, RelationshipDirection.OUTGOING);
+            }
+            if (selection.test(RelationshipDirection.INCOMING)) {
+                incoming = degree(nodeId, type, RelationshipDirection.INCOMING);
+            }
+            if ((outgoing | incoming | loop) != 0 && !mutator.add(type, outgoing, incoming, loop)) {
+                return;
+            }
+        }
+    }
+
+    private int degree(long nodeId, int type, RelationshipDirection direction) {
+        return Numbers.safeCastLongToInt(nodeDegreesStore.degree(nodeId, type, direction, cursorContext));
+    }
+
+    private static boolean isSelectedEarlier(RelationshipSelection selection, int index, int type) {
+        for (int i = 0; i < index; i++) {
+            if (selection.criterion(i).type() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean supportsFastDegreeLookup() {
         return isDense();
@@ -318,12 +402,12 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
 
     @Override
     public Reference propertiesReference() {
-        return longReference(getNextProp());
+        return InlinedPropertiesReference.propertiesReference(this);
     }
 
     @Override
     public void properties(StoragePropertyCursor propertyCursor, PropertySelection selection) {
-        propertyCursor.initNodeProperties(longReference(getNextProp()), selection);
+        propertyCursor.initNodeProperties(InlinedPropertiesReference.propertiesReference(this), selection);
     }
 
     @Override
@@ -333,6 +417,9 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             return false;
         }
 
+        if (propertyPrefetcher != null) {
+            propertyPrefetcher.scannedUpTo(next);
+        }
         do {
             if (nextStoreReference == next) {
                 nodeAdvance(this, pageCursor);
@@ -363,6 +450,48 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
         return true;
     }
 
+    @Override
+    public boolean nextBatch(NodeBatch batch) {
+        if (isSingle()) {
+            return StorageNodeCursor.super.nextBatch(batch);
+        }
+
+        batch.clear();
+        if (nodesInPage == null || nodesInPage.ids.length < batch.capacity()) {
+            nodesInPage = new NodesInPage(batch.capacity());
+        }
+        RecordLoad mode = loadMode.orElse(RecordLoad.CHECK).lenient();
+        while (!batch.isFull() && next != NO_ID) {
+            if (propertyPrefetcher != null) {
+                propertyPrefetcher.scannedUpTo(next);
+            }
+            long lastId = min(highMark, next + batch.capacity() - batch.size() - 1);
+            nodesInPage.beginPage();
+            long lastRead = read.readRecordsInPage(next, lastId, this, mode, pageCursor, nodesInPage);
+            // Labels are resolved after the page has been read, since some may have to be loaded from the dynamic label
+            // store
+            for (int i = 0; i < nodesInPage.size; i++) {
+                batch.add(nodesInPage.ids[i], NodeLabelsField.get(nodesInPage.labelFields[i], read, storeCursors));
+            }
+
+            next = lastRead + 1;
+            if (next > highMark) {
+                if (!batched) {
+                    // Check if there is a new high mark, like for a "scan cursor" in next()
+                    highMark = nodeHighMark();
+                }
+                if (next > highMark) {
+                    next = NO_ID;
+                }
+            }
+        }
+        // Not placed at any node, the next call to next() will read from the next id
+        nextStoreReference = NO_ID;
+        setId(NO_ID);
+        clear();
+        return batch.size() > 0;
+    }
+
     @Override
     public void reset() {
         if (open) {
@@ -372,6 +501,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     }
 
     private void resetState() {
+        stopPropertyPrefetching();
         next = NO_ID;
         setId(NO_ID);
         clear();
@@ -420,6 +550,14 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             relationshipScanCursor.close();
             relationshipScanCursor = null;
         }
+        stopPropertyPrefetching();
+    }
+
+    private void stopPropertyPrefetching() {
+        if (propertyPrefetcher != null) {
+            propertyPrefetcher.stop();
+            propertyPrefetcher = null;
+        }
     }
 
     private PageCursor nodePage(long reference) {
@@ -438,4 +576,30 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private void nodeAdvance(NodeRecord record, PageCursor pageCursor) {
         read.nextRecordByCursor(record, loadMode.orElse(RecordLoad.CHECK).lenient(), pageCursor);
     }
+
+    /**
+     * Ids and label fields of the nodes in use in the part of a page read by {@link #nextBatch(NodeBatch)}.
+     */
+    private static class NodesInPage implements PageRecordsVisitor<NodeRecord> {
+        private final long[] ids;
+        private final long[] labelFields;
+        private int size;
+
+        NodesInPage(int capacity) {
+            this.ids = new long[capacity];
+            this.labelFields = new long[capacity];
+        }
+
+        @Override
+        public void beginPage() {
+            size = 0;
+        }
+
+        @Override
+        public void visit(NodeRecord record) {
+            ids[size] = record.getId();
+            labelFields[size] = record.getLabelField();
+            size++;
+        }
+    }
 }
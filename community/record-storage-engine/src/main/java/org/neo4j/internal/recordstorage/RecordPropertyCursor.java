@@ -107,18 +107,24 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
 
     /**
      * In this implementation property ids are unique among nodes AND relationships so they all init the same way
-     * @param reference properties reference, actual property record id.
+     * @param reference properties reference, actual property record id, possibly along with inlined properties of the owner.
      * @param selection which properties to read.
      */
     private void init(
             Reference reference, PropertySelection selection, long ownerReference, EntityType ownerEntityType) {
-        if (getId() != NO_ID) {
+        if (getId() != NO_ID || getNumberOfBlocks() > 0) {
             clear();
         }
+        if (reference instanceof InlinedPropertiesReference inlined) {
+            // The inlined properties are read as if they were in a property record in front of the chain
+            for (long inlinedBlock : inlined.inlinedBlocks) {
+                addLoadedBlock(inlinedBlock);
+            }
+        }
 
-        // Set to high value to force a read
+        // Set to high value to force a read, unless there are inlined blocks to start with
         long referenceId = ((LongReference) reference).id;
-        this.block = Integer.MAX_VALUE;
+        this.block = getNumberOfBlocks() > 0 ? INITIAL_POSITION : Integer.MAX_VALUE;
         this.ownerReference = ownerReference;
         this.ownerEntityType = ownerEntityType;
         if (referenceId != NO_ID) {
@@ -374,6 +380,11 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
             page.close();
             page = null;
         }
+        releaseTrackedMemory();
+    }
+
+    @Override
+    public void releaseTrackedMemory() {
         if (scopedBuffer != null) {
             scopedBuffer.close();
             scopedBuffer = null;
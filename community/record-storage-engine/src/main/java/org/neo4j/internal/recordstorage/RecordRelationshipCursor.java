@@ -21,7 +21,6 @@ package org.neo4j.internal.recordstorage;
 
 import static org.neo4j.kernel.impl.store.record.RecordLoad.ALWAYS;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
-import static org.neo4j.storageengine.api.LongReference.longReference;
 
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -59,7 +58,7 @@ abstract class RecordRelationshipCursor extends RelationshipRecord
 
     @Override
     public boolean hasProperties() {
-        return nextProp != NO_ID;
+        return nextProp != NO_ID || hasInlinedProperties();
     }
 
     @Override
@@ -74,12 +73,12 @@ abstract class RecordRelationshipCursor extends RelationshipRecord
 
     @Override
     public Reference propertiesReference() {
-        return longReference(getNextProp());
+        return InlinedPropertiesReference.propertiesReference(this);
     }
 
     @Override
     public void properties(StoragePropertyCursor propertyCursor, PropertySelection selection) {
-        propertyCursor.initRelationshipProperties(longReference(getNextProp()), selection);
+        propertyCursor.initRelationshipProperties(InlinedPropertiesReference.propertiesReference(this), selection);
     }
 
     // used to visit transaction state
@@ -24,9 +24,12 @@ import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
 
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.PageRecordsVisitor;
 import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.storageengine.api.AllRelationshipsScan;
+import org.neo4j.storageengine.api.RelationshipBatch;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
 
 public class RecordRelationshipScanCursor extends RecordRelationshipCursor implements StorageRelationshipScanCursor {
@@ -36,6 +39,7 @@ public class RecordRelationshipScanCursor extends RecordRelationshipCursor imple
     private PageCursor pageCursor;
     private boolean open;
     private boolean batched;
+    private RelationshipsInPage relationshipsInPage;
 
     RecordRelationshipScanCursor(RelationshipStore relationshipStore, CursorContext cursorContext) {
         super(relationshipStore, cursorContext);
@@ -141,6 +145,48 @@ public class RecordRelationshipScanCursor extends RecordRelationshipCursor imple
         return true;
     }
 
+    @Override
+    public boolean nextBatch(RelationshipBatch batch) {
+        if (isSingle()) {
+            return StorageRelationshipScanCursor.super.nextBatch(batch);
+        }
+
+        batch.clear();
+        if (relationshipsInPage == null || relationshipsInPage.ids.length < batch.capacity()) {
+            relationshipsInPage = new RelationshipsInPage(batch.capacity());
+        }
+        RecordLoad mode = loadMode.orElse(CHECK).lenient();
+        while (!batch.isFull() && next != NO_ID) {
+            long lastId = min(highMark, next + batch.capacity() - batch.size() - 1);
+            relationshipsInPage.beginPage();
+            long lastRead =
+                    relationshipStore.readRecordsInPage(next, lastId, this, mode, pageCursor, relationshipsInPage);
+            for (int i = 0; i < relationshipsInPage.size; i++) {
+                batch.add(
+                        relationshipsInPage.ids[i],
+                        relationshipsInPage.types[i],
+                        relationshipsInPage.sourceNodes[i],
+                        relationshipsInPage.targetNodes[i]);
+            }
+
+            next = lastRead + 1;
+            if (next > highMark) {
+                if (!batched) {
+                    // Check if there is a new high mark, like for a "scan cursor" in next()
+                    highMark = relationshipHighMark();
+                }
+                if (next > highMark) {
+                    next = NO_ID;
+                }
+            }
+        }
+        // Not placed at any relationship, the next call to next() will read from the next id
+        nextStoreReference = NO_ID;
+        setId(NO_ID);
+        clear();
+        return batch.size() > 0;
+    }
+
     @Override
     public void reset() {
         if (open) {
@@ -181,4 +227,36 @@ public class RecordRelationshipScanCursor extends RecordRelationshipCursor imple
         // When scanning, we inspect RelationshipRecord.inUse(), so using RecordLoad.CHECK is fine
         relationshipStore.nextRecordByCursor(record, loadMode.orElse(CHECK).lenient(), pageCursor);
     }
+
+    /**
+     * Ids and fields of the relationships in use in the part of a page read by {@link #nextBatch(RelationshipBatch)}.
+     */
+    private static class RelationshipsInPage implements PageRecordsVisitor<RelationshipRecord> {
+        private final long[] ids;
+        private final int[] types;
+        private final long[] sourceNodes;
+        private final long[] targetNodes;
+        private int size;
+
+        RelationshipsInPage(int capacity) {
+            this.ids = new long[capacity];
+            this.types = new int[capacity];
+            this.sourceNodes = new long[capacity];
+            this.targetNodes = new long[capacity];
+        }
+
+        @Override
+        public void beginPage() {
+            size = 0;
+        }
+
+        @Override
+        public void visit(RelationshipRecord record) {
+            ids[size] = record.getId();
+            types[size] = record.getType();
+            sourceNodes[size] = record.getFirstNode();
+            targetNodes[size] = record.getSecondNode();
+            size++;
+        }
+    }
 }
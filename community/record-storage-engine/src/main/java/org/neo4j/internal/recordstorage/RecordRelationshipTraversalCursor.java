@@ -24,13 +24,23 @@ import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
 import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
 import static org.neo4j.storageengine.api.RelationshipDirection.directionOfStrict;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.RecordLoadOverride;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.storageengine.api.ReadTracer;
+import org.neo4j.storageengine.api.Reference;
+import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
 
 class RecordRelationshipTraversalCursor extends RecordRelationshipCursor implements StorageRelationshipTraversalCursor {
@@ -40,6 +50,7 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         INCOMING,
         OUTGOING,
         LOOP,
+        ADJACENCY,
         NONE
     }
 
@@ -51,14 +62,40 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
     private GroupState groupState = GroupState.NONE;
     private boolean open;
 
+    // For traversing dense nodes using the adjacency lists instead of the relationship groups
+    private final DenseNodeAdjacencyStore adjacencyStore;
+    private final CursorContext cursorContext;
+    private final DenseNodeAdjacencyKey adjacencyFrom = new DenseNodeAdjacencyKey();
+    private final DenseNodeAdjacencyKey adjacencyTo = new DenseNodeAdjacencyKey();
+    private Seeker<DenseNodeAdjacencyKey, MutableLong> adjacencySeeker;
+    private boolean adjacencySeeking;
+    private int nextCriterion;
+    private RelationshipRecord adjacencyRecord;
+    private boolean adjacencyRecordLoaded;
+
     RecordRelationshipTraversalCursor(
             RelationshipStore relationshipStore,
             RelationshipGroupStore groupStore,
             RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext) {
+        this(relationshipStore, groupStore, groupDegreesStore, null, cursorContext);
+    }
+
+    /**
+     * @param adjacencyStore adjacency lists of dense nodes to traverse them by, or {@code null} to traverse them by their
+     * relationship groups.
+     */
+    RecordRelationshipTraversalCursor(
+            RelationshipStore relationshipStore,
+            RelationshipGroupStore groupStore,
+            RelationshipGroupDegreesStore groupDegreesStore,
+            DenseNodeAdjacencyStore adjacencyStore,
+            CursorContext cursorContext) {
         super(relationshipStore, cursorContext);
         this.group = new RecordRelationshipGroupCursor(
                 relationshipStore, groupStore, groupDegreesStore, loadMode, cursorContext);
+        this.adjacencyStore = adjacencyStore;
+        this.cursorContext = cursorContext;
     }
 
     void init(RecordNodeCursor nodeCursor, RelationshipSelection selection) {
@@ -85,7 +122,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         }
 
         this.selection = selection;
-        if (isDense) {
+        if (isDense && adjacencyStore != null && loadMode == RecordLoadOverride.none()) {
+            adjacency(nodeReference);
+        } else if (isDense) {
             // The reference points to a relationship group record
             groups(nodeReference, reference);
         } else {
@@ -119,6 +158,119 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         this.group.direct(nodeReference, groupReference);
     }
 
+    /*
+     * Dense node with adjacency lists. Traversal returns the selected types and directions, read from the adjacency lists.
+     */
+    private void adjacency(long nodeReference) {
+        setId(NO_ID);
+        this.next = NO_ID;
+        this.groupState = GroupState.ADJACENCY;
+        this.originNodeReference = nodeReference;
+        this.nextCriterion = 0;
+        this.adjacencySeeking = false;
+        try {
+            if (adjacencySeeker == null) {
+                adjacencySeeker = adjacencyStore.allocateSeeker(cursorContext);
+            }
+            if (!selection.isTypeLimited()) {
+                seekAdjacency(0, Integer.MAX_VALUE);
+                nextCriterion = selection.numberOfCriteria();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void seekAdjacency(int fromType, int toType) throws IOException {
+        adjacencyStore.seek(adjacencySeeker, originNodeReference, fromType, toType, adjacencyFrom, adjacencyTo);
+        adjacencySeeking = true;
+        if (tracer != null) {
+            tracer.dbHit();
+        }
+    }
+
+    private boolean nextFromAdjacency() {
+        try {
+            while (true) {
+                while (adjacencySeeking && adjacencySeeker.next()) {
+                    DenseNodeAdjacencyKey key = adjacencySeeker.key();
+                    RelationshipDirection direction = key.direction();
+                    if (selection.test(key.type, direction)) {
+                        long neighbour = adjacencySeeker.value().longValue();
+                        long source = direction == INCOMING ? neighbour : originNodeReference;
+                        long target = direction == INCOMING ? originNodeReference : neighbour;
+                        setId(key.relationshipId);
+                        initialize(true, NO_ID, source, target, key.type, NO_ID, NO_ID, NO_ID, NO_ID, false, false);
+                        adjacencyRecordLoaded = false;
+                        return true;
+                    }
+                }
+                adjacencySeeking = false;
+                if (!nextAdjacencyType()) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Seeks the type of the next criterion of the selection. Criteria with the same type share one seek, since all directions
+     * of the type are read and tested against the selection.
+     */
+    private boolean nextAdjacencyType() throws IOException {
+        while (nextCriterion < selection.numberOfCriteria()) {
+            int index = nextCriterion++;
+            int type = selection.criterion(index).type();
+            boolean sought = false;
+            for (int i = 0; i < index && !sought; i++) {
+                sought = selection.criterion(i).type() == type;
+            }
+            if (!sought) {
+                seekAdjacency(type, type);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only the type and nodes of a relationship are in the adjacency lists, so its record is loaded when its properties are accessed.
+     */
+    private void ensureAdjacencyRecordLoaded() {
+        if (groupState == GroupState.ADJACENCY && !adjacencyRecordLoaded) {
+            if (adjacencyRecord == null) {
+                adjacencyRecord = relationshipStore.newRecord();
+            }
+            if (pageCursor == null) {
+                pageCursor = relationshipPage(getId());
+            }
+            relationshipFull(adjacencyRecord, getId(), pageCursor);
+            setNextProp(adjacencyRecord.getNextProp());
+            setInlinedPropertyBlocks(adjacencyRecord.getInlinedPropertyBlocks());
+            adjacencyRecordLoaded = true;
+        }
+    }
+
+    @Override
+    public boolean hasProperties() {
+        ensureAdjacencyRecordLoaded();
+        return super.hasProperties();
+    }
+
+    @Override
+    public Reference propertiesReference() {
+        ensureAdjacencyRecordLoaded();
+        return super.propertiesReference();
+    }
+
+    @Override
+    public void properties(StoragePropertyCursor propertyCursor, PropertySelection selection) {
+        ensureAdjacencyRecordLoaded();
+        super.properties(propertyCursor, selection);
+    }
+
     @Override
     public long neighbourNodeReference() {
         final long source = sourceNodeReference(), target = targetNodeReference();
@@ -138,6 +290,17 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
 
     @Override
     public boolean next() {
+        if (groupState == GroupState.ADJACENCY) {
+            if (!nextFromAdjacency()) {
+                resetState();
+                return false;
+            }
+            if (tracer != null) {
+                tracer.onRelationship(entityReference());
+            }
+            return true;
+        }
+
         boolean traversingDenseNode;
         do {
             traversingDenseNode = traversingDenseNode();
@@ -305,6 +468,14 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         }
 
         group.close();
+        if (adjacencySeeker != null) {
+            try {
+                adjacencySeeker.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            adjacencySeeker = null;
+        }
     }
 
     @Override
@@ -31,6 +31,7 @@ import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.StandardDynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.format.RecordStorageCapability;
 import org.neo4j.lock.LockTracer;
 import org.neo4j.lock.ResourceLocker;
 import org.neo4j.logging.InternalLogProvider;
@@ -105,7 +106,8 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
                         propertyStore.getArrayStore().getRecordDataSize()),
                 propertyStore,
                 propertyTraverser,
-                cursorContext);
+                cursorContext,
+                neoStores.getRecordFormats().hasCapability(RecordStorageCapability.INLINED_PROPERTIES));
     }
 
     private long nextId(StoreType storeType) {
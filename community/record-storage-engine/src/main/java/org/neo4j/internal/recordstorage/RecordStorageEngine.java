@@ -52,7 +52,9 @@ import org.neo4j.internal.counts.CountsBuilder;
 import org.neo4j.internal.counts.DegreesRebuildFromStore;
 import org.neo4j.internal.counts.GBPTreeCountsStore;
 import org.neo4j.internal.counts.GBPTreeGenericCountsStore;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
 import org.neo4j.internal.counts.GBPTreeRelationshipGroupDegreesStore;
+import org.neo4j.internal.counts.NodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.internal.diagnostics.DiagnosticsLogger;
 import org.neo4j.internal.diagnostics.DiagnosticsManager;
@@ -69,6 +71,9 @@ import org.neo4j.internal.schema.IndexConfigCompleter;
 import org.neo4j.internal.schema.SchemaCache;
 import org.neo4j.internal.schema.SchemaState;
 import org.neo4j.internal.schema.StorageEngineIndexingBehaviour;
+import org.neo4j.function.ThrowingAction;
+import org.neo4j.function.ThrowingSupplier;
+import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
@@ -100,6 +105,7 @@ import org.neo4j.logging.InternalLog;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandBatchToApply;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandStream;
@@ -129,6 +135,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private static final String STORAGE_ENGINE_START_TAG = "storageEngineStart";
     private static final String SCHEMA_CACHE_START_TAG = "schemaCacheStart";
     private static final String TOKENS_INIT_TAG = "tokensInitialisation";
+    private static final String COLUMN_STORE_OPEN_TAG = "nodePropertyColumnsOpen";
 
     private final NeoStores neoStores;
     private final RecordDatabaseLayout databaseLayout;
@@ -144,6 +151,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private final LockService lockService;
     private final boolean consistencyCheckApply;
     private final boolean parallelIndexUpdatesApply;
+    private final int propertyPrefetchDistance;
+    private final JobScheduler jobScheduler;
     private IndexUpdatesWorkSync indexUpdatesSync;
     private final IdGeneratorFactory idGeneratorFactory;
     private final CursorContextFactory contextFactory;
@@ -151,6 +160,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private final LockVerificationFactory lockVerificationFactory;
     private final GBPTreeCountsStore countsStore;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final DenseNodeAdjacencyStore adjacencyStore;
+    private final GBPTreeNodeDegreesStore nodeDegreesStore;
+    private final NodePropertyColumnStore columnStore;
+    private final List<DerivedStore> derivedStores = new ArrayList<>();
     private final int denseNodeThreshold;
     private final IdGeneratorUpdatesWorkSync idGeneratorWorkSyncs = new IdGeneratorUpdatesWorkSync();
     private final Map<TransactionApplicationMode, TransactionApplierFactoryChain> applierChains =
@@ -166,6 +179,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             RecordDatabaseLayout databaseLayout,
             Config config,
             PageCache pageCache,
+            JobScheduler jobScheduler,
             FileSystemAbstraction fs,
             InternalLogProvider internalLogProvider,
             InternalLogProvider userLogProvider,
@@ -184,6 +198,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             PageCacheTracer pageCacheTracer) {
         this.databaseLayout = databaseLayout;
         this.config = config;
+        this.jobScheduler = jobScheduler;
         this.internalLogProvider = internalLogProvider;
         this.tokenHolders = tokenHolders;
         this.schemaState = schemaState;
@@ -240,10 +255,36 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
                     contextFactory,
                     pageCacheTracer);
 
+            adjacencyStore = openAdjacencyStore(
+                    pageCache,
+                    fs,
+                    databaseLayout,
+                    internalLogProvider,
+                    recoveryCleanupWorkCollector,
+                    config,
+                    contextFactory,
+                    pageCacheTracer);
+
+            nodeDegreesStore = openNodeDegreesStore(
+                    pageCache,
+                    fs,
+                    databaseLayout,
+                    internalLogProvider,
+                    userLogProvider,
+                    recoveryCleanupWorkCollector,
+                    config,
+                    contextFactory,
+                    pageCacheTracer);
+
+            columnStore = openColumnStore(pageCache, fs, databaseLayout, internalLogProvider, config, contextFactory);
+
             consistencyCheckApply = config.get(GraphDatabaseInternalSettings.consistency_check_on_apply);
             storeEntityCounters = new RecordDatabaseEntityCounters(idGeneratorFactory, countsStore);
             parallelIndexUpdatesApply = config.get(GraphDatabaseInternalSettings.parallel_index_updates_apply);
+            propertyPrefetchDistance =
+                    config.get(GraphDatabaseInternalSettings.parallel_scan_property_prefetch_distance);
         } catch (Throwable failure) {
+            IOUtils.closeAllSilently(derivedStores);
             neoStores.close();
             throw failure;
         }
@@ -274,6 +315,15 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         if (mode.needsAuxiliaryStores()) {
             // Counts store application
             appliers.add(new CountsStoreTransactionApplierFactory(countsStore, groupDegreesStore));
+            if (adjacencyStore != null) {
+                appliers.add(new DenseNodeAdjacencyTransactionApplierFactory(adjacencyStore, neoStores.getNodeStore()));
+            }
+            if (nodeDegreesStore != null) {
+                appliers.add(new NodeDegreesTransactionApplierFactory(nodeDegreesStore));
+            }
+            if (columnStore != null) {
+                appliers.add(new NodePropertyColumnTransactionApplierFactory(columnStore, otherMemoryTracker));
+            }
 
             // Schema index application
             appliers.add(new IndexTransactionApplierFactory(indexUpdateListener));
@@ -366,9 +416,135 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         }
     }
 
+    /**
+     * @return the adjacency lists of dense nodes if they're kept, otherwise {@code null}, having deleted any left behind from when
+     * they were kept.
+     */
+    private DenseNodeAdjacencyStore openAdjacencyStore(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout layout,
+            InternalLogProvider internalLogProvider,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            Config config,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer) {
+        return openDerivedStore(
+                config.get(GraphDatabaseInternalSettings.dense_node_adjacency_lists),
+                () -> DenseNodeAdjacencyStore.deleteIfExists(fs, layout),
+                () -> new DenseNodeAdjacencyStore(
+                        pageCache,
+                        fs,
+                        layout,
+                        neoStores,
+                        recoveryCleanupWorkCollector,
+                        getOpenOptions(),
+                        contextFactory,
+                        pageCacheTracer,
+                        internalLogProvider));
+    }
+
+    /**
+     * @return the degrees of all nodes if they're kept, otherwise {@code null}, having deleted any left behind from when they were kept.
+     */
+    private GBPTreeNodeDegreesStore openNodeDegreesStore(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout layout,
+            InternalLogProvider internalLogProvider,
+            InternalLogProvider userLogProvider,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            Config config,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer) {
+        return openDerivedStore(
+                config.get(GraphDatabaseInternalSettings.sparse_node_degrees),
+                () -> GBPTreeNodeDegreesStore.deleteIfExists(fs, layout),
+                () -> new GBPTreeNodeDegreesStore(
+                        pageCache,
+                        GBPTreeNodeDegreesStore.file(layout),
+                        fs,
+                        recoveryCleanupWorkCollector,
+                        new DegreesRebuildFromStore(
+                                pageCache,
+                                neoStores,
+                                databaseLayout,
+                                contextFactory,
+                                internalLogProvider,
+                                Configuration.DEFAULT),
+                        false,
+                        GBPTreeGenericCountsStore.NO_MONITOR,
+                        layout.getDatabaseName(),
+                        config.get(counts_store_max_cached_entries),
+                        userLogProvider,
+                        contextFactory,
+                        pageCacheTracer,
+                        getOpenOptions()));
+    }
+
+    /**
+     * @return the columns of the listed node properties if any are kept, otherwise {@code null}, having deleted any left behind from
+     * when they were kept.
+     */
+    private NodePropertyColumnStore openColumnStore(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout layout,
+            InternalLogProvider internalLogProvider,
+            Config config,
+            CursorContextFactory contextFactory) {
+        List<String> pairs = config.get(GraphDatabaseInternalSettings.columnar_node_properties);
+        return openDerivedStore(!pairs.isEmpty(), () -> NodePropertyColumnStore.deleteAll(fs, layout), () -> {
+            try (var cursorContext = contextFactory.create(COLUMN_STORE_OPEN_TAG);
+                    var storeCursors = new CachedStoreCursors(neoStores, cursorContext)) {
+                return NodePropertyColumnStore.open(
+                        pageCache,
+                        fs,
+                        layout,
+                        neoStores,
+                        pairs,
+                        getOpenOptions(),
+                        cursorContext,
+                        storeCursors,
+                        internalLogProvider);
+            }
+        });
+    }
+
+    /**
+     * Opens a {@link DerivedStore} if it's kept, otherwise deletes whatever is left of it from when it was kept.
+     *
+     * @return the opened store, which is then started, checkpointed and closed with the other derived stores, or {@code null} if
+     * it isn't kept.
+     */
+    private <T extends DerivedStore> T openDerivedStore(
+            boolean kept, ThrowingAction<IOException> delete, ThrowingSupplier<T, IOException> open) {
+        try {
+            if (!kept) {
+                delete.apply();
+                return null;
+            }
+            T store = open.get();
+            derivedStores.add(store);
+            return store;
+        } catch (IOException e) {
+            throw new UnderlyingStorageException(e);
+        }
+    }
+
     @Override
     public RecordStorageReader newReader() {
-        return new RecordStorageReader(tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache);
+        return new RecordStorageReader(
+                tokenHolders,
+                neoStores,
+                countsStore,
+                groupDegreesStore,
+                adjacencyStore,
+                nodeDegreesStore,
+                columnStore,
+                schemaCache,
+                propertyPrefetchDistance,
+                jobScheduler);
     }
 
     @Override
@@ -584,6 +760,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             neoStores.start(cursorContext);
             countsStore.start(cursorContext, storeCursors, otherMemoryTracker);
             groupDegreesStore.start(cursorContext, storeCursors, otherMemoryTracker);
+            for (DerivedStore derivedStore : derivedStores) {
+                derivedStore.start(cursorContext, storeCursors, otherMemoryTracker);
+            }
         }
     }
 
@@ -602,7 +781,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     public void shutdown() {
         if (!closed) {
             try {
-                executeAll(countsStore::close, groupDegreesStore::close, neoStores::close);
+                executeAll(
+                        countsStore::close,
+                        groupDegreesStore::close,
+                        () -> IOUtils.closeAll(derivedStores),
+                        neoStores::close);
             } catch (Throwable e) {
                 throw new RuntimeException(e);
             } finally {
@@ -619,6 +802,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         try (var fileFlushEvent = flushEvent.beginFileFlush()) {
             groupDegreesStore.checkpoint(fileFlushEvent, cursorContext);
         }
+        for (DerivedStore derivedStore : derivedStores) {
+            try (var fileFlushEvent = flushEvent.beginFileFlush()) {
+                derivedStore.checkpoint(fileFlushEvent, cursorContext);
+            }
+        }
         neoStores.checkpoint(flushEvent, cursorContext);
     }
 
@@ -689,6 +877,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         return groupDegreesStore;
     }
 
+    @VisibleForTesting
+    public NodeDegreesStore nodeDegreesStore() {
+        return nodeDegreesStore;
+    }
+
     @Override
     public MetadataProvider metadataProvider() {
         return neoStores.getMetaDataStore();
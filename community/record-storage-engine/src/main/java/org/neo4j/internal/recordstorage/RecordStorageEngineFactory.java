@@ -231,6 +231,7 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
             DatabaseLayout databaseLayout,
             Config config,
             PageCache pageCache,
+            JobScheduler jobScheduler,
             TokenHolders tokenHolders,
             SchemaState schemaState,
             ConstraintRuleAccessor constraintSemantics,
@@ -249,6 +250,7 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
                 formatSpecificDatabaseLayout(databaseLayout),
                 config,
                 pageCache,
+                jobScheduler,
                 fs,
                 internalLogProvider,
                 userLogProvider,
@@ -29,6 +29,7 @@ import java.util.function.Function;
 import org.neo4j.common.EntityType;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.counts.CountsAccessor;
+import org.neo4j.internal.counts.NodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.internal.schema.ConstraintDescriptor;
 import org.neo4j.internal.schema.IndexDescriptor;
@@ -44,6 +45,7 @@ import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.AllNodeScan;
 import org.neo4j.storageengine.api.AllRelationshipsScan;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
@@ -64,7 +66,12 @@ public class RecordStorageReader implements StorageReader {
     private final PropertyStore propertyStore;
     private final CountsAccessor counts;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final DenseNodeAdjacencyStore adjacencyStore;
+    private final NodeDegreesStore nodeDegreesStore;
+    private final NodePropertyColumnStore columnStore;
     private final SchemaCache schemaCache;
+    private final int propertyPrefetchDistance;
+    private final JobScheduler jobScheduler;
 
     private boolean closed;
 
@@ -73,7 +80,12 @@ public class RecordStorageReader implements StorageReader {
             NeoStores neoStores,
             CountsAccessor counts,
             RelationshipGroupDegreesStore groupDegreesStore,
-            SchemaCache schemaCache) {
+            DenseNodeAdjacencyStore adjacencyStore,
+            NodeDegreesStore nodeDegreesStore,
+            NodePropertyColumnStore columnStore,
+            SchemaCache schemaCache,
+            int propertyPrefetchDistance,
+            JobScheduler jobScheduler) {
         this.tokenHolders = tokenHolders;
         this.nodeStore = neoStores.getNodeStore();
         this.relationshipStore = neoStores.getRelationshipStore();
@@ -81,7 +93,12 @@ public class RecordStorageReader implements StorageReader {
         this.propertyStore = neoStores.getPropertyStore();
         this.counts = counts;
         this.groupDegreesStore = groupDegreesStore;
+        this.adjacencyStore = adjacencyStore;
+        this.nodeDegreesStore = nodeDegreesStore;
+        this.columnStore = columnStore;
         this.schemaCache = schemaCache;
+        this.propertyPrefetchDistance = propertyPrefetchDistance;
+        this.jobScheduler = jobScheduler;
     }
 
     /**
@@ -89,11 +106,11 @@ public class RecordStorageReader implements StorageReader {
      * separating index stuff out from store stuff.
      */
     public RecordStorageReader(NeoStores stores) {
-        this(null, stores, null, null, null);
+        this(null, stores, null, null, null, null, null, null, 0, null);
     }
 
     public RecordStorageReader(NeoStores stores, SchemaCache schemaCache) {
-        this(null, stores, null, null, schemaCache);
+        this(null, stores, null, null, null, null, null, schemaCache, 0, null);
     }
 
     @Override
@@ -148,6 +165,13 @@ public class RecordStorageReader implements StorageReader {
         return schemaCache.getValueIndexesRelatedTo(labels, EMPTY_LONG_ARRAY, propertyKeyIds, true, entityType);
     }
 
+    @Override
+    public Collection<IndexDescriptor> valueIndexesGetRelatedByIncludedProperty(
+            long[] tokens, int propertyKeyId, EntityType entityType) {
+        return schemaCache.getValueIndexesWithIncludedPropertiesRelatedTo(
+                EMPTY_LONG_ARRAY, tokens, new int[] {propertyKeyId}, entityType);
+    }
+
     @Override
     public Collection<IndexBackedConstraintDescriptor> uniquenessConstraintsGetRelated(
             long[] tokens, int propertyKeyId, EntityType entityType) {
@@ -257,6 +281,16 @@ public class RecordStorageReader implements StorageReader {
         return relationshipStore.getNumberOfIdsInUse();
     }
 
+    @Override
+    public long nodesGetHighestPossibleIdInUse(CursorContext cursorContext) {
+        return nodeStore.getHighestPossibleIdInUse(cursorContext);
+    }
+
+    @Override
+    public long relationshipsGetHighestPossibleIdInUse(CursorContext cursorContext) {
+        return relationshipStore.getHighestPossibleIdInUse(cursorContext);
+    }
+
     @Override
     public int labelCount() {
         return tokenHolders.labelTokens().size();
@@ -306,14 +340,23 @@ public class RecordStorageReader implements StorageReader {
     @Override
     public RecordNodeCursor allocateNodeCursor(CursorContext cursorContext, StoreCursors storeCursors) {
         return new RecordNodeCursor(
-                nodeStore, relationshipStore, relationshipGroupStore, groupDegreesStore, cursorContext, storeCursors);
+                nodeStore,
+                relationshipStore,
+                relationshipGroupStore,
+                propertyStore,
+                groupDegreesStore,
+                nodeDegreesStore,
+                propertyPrefetchDistance,
+                jobScheduler,
+                cursorContext,
+                storeCursors);
     }
 
     @Override
     public RecordRelationshipTraversalCursor allocateRelationshipTraversalCursor(
             CursorContext cursorContext, StoreCursors storeCursors) {
         return new RecordRelationshipTraversalCursor(
-                relationshipStore, relationshipGroupStore, groupDegreesStore, cursorContext);
+                relationshipStore, relationshipGroupStore, groupDegreesStore, adjacencyStore, cursorContext);
     }
 
     @Override
@@ -332,6 +375,38 @@ public class RecordStorageReader implements StorageReader {
         return tokenHolders;
     }
 
+    /**
+     * @return whether the values of the given property of the nodes with the given label are kept in a column, see
+     * {@link #allocateNodePropertyColumnCursor(int, int, CursorContext, StoreCursors, MemoryTracker)}.
+     */
+    public boolean hasNodePropertyColumn(int label, int propertyKey) {
+        return columnStore != null && columnStore.column(label, propertyKey) != null;
+    }
+
+    /**
+     * Allocates a cursor over the column of the values of the given property of the nodes with the given label.
+     *
+     * @throws IllegalArgumentException if there's no such column, see {@link #hasNodePropertyColumn(int, int)}.
+     */
+    public NodePropertyColumnCursor allocateNodePropertyColumnCursor(
+            int label,
+            int propertyKey,
+            CursorContext cursorContext,
+            StoreCursors storeCursors,
+            MemoryTracker memoryTracker) {
+        NodePropertyColumn column = columnStore != null ? columnStore.column(label, propertyKey) : null;
+        if (column == null) {
+            throw new IllegalArgumentException(
+                    "No column is kept for property key " + propertyKey + " of nodes with label " + label);
+        }
+        return new NodePropertyColumnCursor(
+                column,
+                nodeStore,
+                allocateNodeCursor(cursorContext, storeCursors),
+                allocatePropertyCursor(cursorContext, storeCursors, memoryTracker),
+                cursorContext);
+    }
+
     @Override
     public StoragePropertyCursor allocatePropertyCursor(
             CursorContext cursorContext, StoreCursors storeCursors, MemoryTracker memoryTracker) {
@@ -827,6 +827,51 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
         }
     }
 
+    /**
+     * Reads the records from {@code firstId} to {@code lastId}, but not past the end of the page that {@code firstId} is on,
+     * and gives the ones in use to {@code visitor}. All records are read under a single pin and a single optimistic read of the page,
+     * instead of one per record as when reading them one by one with {@link #nextRecordByCursor(AbstractBaseRecord, RecordLoad, PageCursor)}.
+     *
+     * @param firstId id of the first record to read.
+     * @param lastId id of the last record to read, if it's on the same page as {@code firstId}.
+     * @param record record instance to read each of the records into.
+     * @param mode the mode to read the records with.
+     * @param cursor page cursor to read the page with.
+     * @param visitor visitor of the records in use.
+     * @return the id of the last record which was read.
+     */
+    public long readRecordsInPage(
+            long firstId,
+            long lastId,
+            RECORD record,
+            RecordLoad mode,
+            PageCursor cursor,
+            PageRecordsVisitor<RECORD> visitor) {
+        long pageId = pageIdForRecord(firstId);
+        long lastIdInPage = Math.min(lastId, (pageId + 1) * recordsPerPage - 1);
+        try {
+            if (!cursor.next(pageId)) {
+                return lastIdInPage;
+            }
+            do {
+                visitor.beginPage();
+                for (long id = firstId; id <= lastIdInPage; id++) {
+                    record.setId(id);
+                    record.setInUse(false);
+                    cursor.setOffset(offsetForId(id));
+                    recordFormat.read(record, cursor, mode, recordSize, recordsPerPage);
+                    if (record.inUse()) {
+                        visitor.visit(record);
+                    }
+                }
+            } while (cursor.shouldRetry());
+            checkForDecodingErrors(cursor, firstId, mode);
+            return lastIdInPage;
+        } catch (IOException e) {
+            throw new UnderlyingStorageException(e);
+        }
+    }
+
     private void readRecordFromPage(long id, RECORD record, RecordLoad mode, PageCursor cursor) throws IOException {
         cursor.mark();
         do {
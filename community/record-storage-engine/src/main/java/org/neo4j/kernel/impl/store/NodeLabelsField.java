@@ -57,22 +57,27 @@ public class NodeLabelsField {
      */
     public static long[] getNoEnsureHeavy(NodeRecord node, NodeStore nodeStore, StoreCursors storeCursors) {
         long labelField = node.getLabelField();
+        if (!fieldPointsToDynamicRecordOfLabels(labelField) || node.isLight()) {
+            // labelField may point to dynamic labels which are not loaded, load them without updating node itself
+            return get(labelField, nodeStore, storeCursors);
+        }
+        return DynamicNodeLabels.getDynamicLabelsArray(
+                node.getUsedDynamicLabelRecords(), nodeStore.getDynamicLabelStore(), storeCursors);
+    }
+
+    /**
+     * Get node labels from a label field alone, loading the dynamic label records it points to, if any.
+     */
+    public static long[] get(long labelField, NodeStore nodeStore, StoreCursors storeCursors) {
         if (!fieldPointsToDynamicRecordOfLabels(labelField)) {
             return InlineNodeLabels.parseInlined(labelField);
         }
         var dynamicLabelStore = nodeStore.getDynamicLabelStore();
-        Iterable<DynamicRecord> dynamicLabelRecords;
-        if (node.isLight()) {
-            // labelField points to dynamic labels but records are not loaded, load them without updating node itself
-            var firstDynamicLabelRecord = firstDynamicLabelRecordId(labelField);
-            dynamicLabelRecords = dynamicLabelStore.getRecords(
-                    firstDynamicLabelRecord,
-                    RecordLoad.NORMAL,
-                    false,
-                    storeCursors.readCursor(DYNAMIC_LABEL_STORE_CURSOR));
-        } else {
-            dynamicLabelRecords = node.getUsedDynamicLabelRecords();
-        }
+        Iterable<DynamicRecord> dynamicLabelRecords = dynamicLabelStore.getRecords(
+                firstDynamicLabelRecordId(labelField),
+                RecordLoad.NORMAL,
+                false,
+                storeCursors.readCursor(DYNAMIC_LABEL_STORE_CURSOR));
         return DynamicNodeLabels.getDynamicLabelsArray(dynamicLabelRecords, dynamicLabelStore, storeCursors);
     }
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+
+/**
+ * Visitor of the records read from a page by {@link CommonAbstractStore#readRecordsInPage}.
+ * Records are visited while the page is being read optimistically, so a visitor should only copy what it needs from them.
+ */
+public interface PageRecordsVisitor<RECORD extends AbstractBaseRecord> {
+    /**
+     * Called before the records of the page are read. It's called again if the page changed while it was being read,
+     * in which case everything visited since the previous call must be discarded.
+     */
+    void beginPage();
+
+    /**
+     * Called on each in-use record of the page.
+     * @param record the record, which is reused for the next record of the page.
+     */
+    void visit(RECORD record);
+}
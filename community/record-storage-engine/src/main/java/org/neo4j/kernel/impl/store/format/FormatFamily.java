@@ -28,6 +28,9 @@ public record FormatFamily(String name, int rank) {
     public static final FormatFamily STANDARD = new FormatFamily("standard", 0);
     public static final FormatFamily ALIGNED = new FormatFamily("aligned", 1);
     public static final FormatFamily HIGH_LIMIT = new FormatFamily("high_limit", 2);
+    // Ranked above the other families, since migrating away from it would lose the properties inlined in the records.
+    // Migrating into it isn't supported either, which RecordStoreVersionCheck checks for explicitly.
+    public static final FormatFamily ALIGNED_INLINED_PROPERTIES = new FormatFamily("aligned_inlined_properties", 3);
     public static final FormatFamily MULTIVERSION = new FormatFamily("multiversion", -999);
 
     /**
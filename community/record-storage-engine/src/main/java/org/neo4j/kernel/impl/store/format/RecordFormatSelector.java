@@ -43,6 +43,7 @@ import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.kernel.impl.store.LegacyMetadataHandler;
 import org.neo4j.kernel.impl.store.MetaDataStore;
 import org.neo4j.kernel.impl.store.format.aligned.PageAligned;
+import org.neo4j.kernel.impl.store.format.aligned.PageAlignedInlinedPropertiesV5_0;
 import org.neo4j.kernel.impl.store.format.aligned.PageAlignedV4_3;
 import org.neo4j.kernel.impl.store.format.aligned.PageAlignedV5_0;
 import org.neo4j.kernel.impl.store.format.standard.Standard;
@@ -70,7 +71,8 @@ public class RecordFormatSelector {
             StandardV4_3.RECORD_FORMATS,
             StandardV5_0.RECORD_FORMATS,
             PageAlignedV4_3.RECORD_FORMATS,
-            PageAlignedV5_0.RECORD_FORMATS);
+            PageAlignedV5_0.RECORD_FORMATS,
+            PageAlignedInlinedPropertiesV5_0.RECORD_FORMATS);
 
     private RecordFormatSelector() {
         throw new AssertionError("Not for instantiation!");
@@ -233,9 +235,9 @@ public class RecordFormatSelector {
      * Formats under development can be included in the search depending on the corresponding setting in the supplied config.
      */
     public static RecordFormats findLatestFormatInFamily(String formatFamily, Config config) {
-        RecordFormats formats = loadRecordFormat(formatFamily, false);
-
         boolean includeDevFormats = config.get(GraphDatabaseInternalSettings.include_versions_under_development);
+        RecordFormats formats = loadRecordFormat(formatFamily, includeDevFormats);
+
         if (includeDevFormats && formats != null) {
             Optional<RecordFormats> newestFormatInFamily = findLatestFormatInFamily(formats, true);
             formats = newestFormatInFamily.orElse(formats);
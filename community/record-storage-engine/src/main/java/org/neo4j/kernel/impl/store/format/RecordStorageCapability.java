@@ -47,7 +47,12 @@ public enum RecordStorageCapability implements Capability {
     /**
      * Store supports mvcc
      */
-    MULTI_VERSIONED(CapabilityType.FORMAT, CapabilityType.STORE);
+    MULTI_VERSIONED(CapabilityType.FORMAT, CapabilityType.STORE),
+
+    /**
+     * Node and relationship records have room for a few small properties, see {@link org.neo4j.kernel.impl.store.record.InlinedProperties}
+     */
+    INLINED_PROPERTIES(CapabilityType.FORMAT, CapabilityType.STORE);
 
     private final CapabilityType[] types;
     private final boolean additive;
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.format.aligned;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+
+/**
+ * The area at the end of node and relationship records in {@link PageAlignedInlinedPropertiesV5_0}, where the
+ * {@link InlinedProperties inlined properties} of the record are kept.
+ * <pre>
+ * number_of_blocks(byte)+blocks(long*MAX_BLOCKS)
+ * </pre>
+ */
+final class InlinedPropertiesArea {
+    static final int SIZE = Byte.BYTES + InlinedProperties.MAX_BLOCKS * Long.BYTES;
+
+    private InlinedPropertiesArea() {}
+
+    static void read(PrimitiveRecord record, PageCursor cursor) {
+        int numberOfBlocks = cursor.getByte() & 0xFF;
+        if (numberOfBlocks > InlinedProperties.MAX_BLOCKS) {
+            cursor.setCursorException("Record " + record.getId() + " claims to have " + numberOfBlocks
+                    + " inlined property blocks, but only " + InlinedProperties.MAX_BLOCKS + " fit");
+            return;
+        }
+        long[] blocks = numberOfBlocks == 0 ? EMPTY_LONG_ARRAY : new long[numberOfBlocks];
+        for (int i = 0; i < numberOfBlocks; i++) {
+            blocks[i] = cursor.getLong();
+        }
+        cursor.setOffset(cursor.getOffset() + (InlinedProperties.MAX_BLOCKS - numberOfBlocks) * Long.BYTES);
+        record.setInlinedPropertyBlocks(blocks);
+    }
+
+    static void write(PrimitiveRecord record, PageCursor cursor) {
+        long[] blocks = record.getInlinedPropertyBlocks();
+        cursor.putByte((byte) blocks.length);
+        for (long block : blocks) {
+            cursor.putLong(block);
+        }
+        for (int i = blocks.length; i < InlinedProperties.MAX_BLOCKS; i++) {
+            cursor.putLong(0);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.format.aligned;
+
+import static org.neo4j.kernel.impl.store.format.StoreVersion.ALIGNED_INLINED_PROPERTIES_V5_0;
+
+import org.neo4j.kernel.impl.store.format.BaseRecordFormats;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
+import org.neo4j.kernel.impl.store.format.RecordFormat;
+import org.neo4j.kernel.impl.store.format.RecordFormatFamilyCapability;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.store.format.RecordStorageCapability;
+import org.neo4j.kernel.impl.store.format.standard.DynamicRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.LabelTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.PropertyKeyTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.PropertyRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.RelationshipGroupRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.RelationshipTypeTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.SchemaRecordFormat;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipTypeTokenRecord;
+import org.neo4j.kernel.impl.store.record.SchemaRecord;
+
+/**
+ * Record format, like {@link PageAlignedV5_0}, but with node and relationship records that are large enough to keep
+ * a few small properties in the record itself, see {@link InlinedProperties}. Reading those properties then doesn't
+ * need any access to the property store.
+ *
+ * The format is under development, i.e. only selectable when formats under development are included.
+ */
+public class PageAlignedInlinedPropertiesV5_0 extends BaseRecordFormats {
+    public static final RecordFormats RECORD_FORMATS = new PageAlignedInlinedPropertiesV5_0();
+    public static final String NAME = FormatFamily.ALIGNED_INLINED_PROPERTIES.name();
+
+    private PageAlignedInlinedPropertiesV5_0() {
+        super(
+                ALIGNED_INLINED_PROPERTIES_V5_0,
+                new RecordFormatFamilyCapability(FormatFamily.ALIGNED_INLINED_PROPERTIES),
+                RecordStorageCapability.INLINED_PROPERTIES);
+    }
+
+    @Override
+    public RecordFormat<NodeRecord> node() {
+        return new InlinedPropertiesNodeRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipGroupRecord> relationshipGroup() {
+        return new RelationshipGroupRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<RelationshipRecord> relationship() {
+        return new InlinedPropertiesRelationshipRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<PropertyRecord> property() {
+        return new PropertyRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<LabelTokenRecord> labelToken() {
+        return new LabelTokenRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<PropertyKeyTokenRecord> propertyKeyToken() {
+        return new PropertyKeyTokenRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<RelationshipTypeTokenRecord> relationshipTypeToken() {
+        return new RelationshipTypeTokenRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<DynamicRecord> dynamic() {
+        return new DynamicRecordFormat(true);
+    }
+
+    @Override
+    public RecordFormat<SchemaRecord> schema() {
+        return new SchemaRecordFormat(true);
+    }
+
+    @Override
+    public FormatFamily getFormatFamily() {
+        return FormatFamily.ALIGNED_INLINED_PROPERTIES;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean formatUnderDevelopment() {
+        return true;
+    }
+
+    @Override
+    public RecordFormats[] compatibleVersionsForRollingUpgrade() {
+        return new RecordFormats[0];
+    }
+}
@@ -35,7 +35,11 @@ public class NodeRecordFormat extends BaseOneByteHeaderRecordFormat<NodeRecord>
     }
 
     public NodeRecordFormat(boolean pageAligned) {
-        super(fixedRecordSize(RECORD_SIZE), 0, IN_USE_BIT, StandardFormatSettings.NODE_MAXIMUM_ID_BITS, pageAligned);
+        this(RECORD_SIZE, pageAligned);
+    }
+
+    protected NodeRecordFormat(int recordSize, boolean pageAligned) {
+        super(fixedRecordSize(recordSize), 0, IN_USE_BIT, StandardFormatSettings.NODE_MAXIMUM_ID_BITS, pageAligned);
     }
 
     @Override
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.record;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.neo4j.kernel.impl.store.PropertyType;
+
+/**
+ * Properties kept in the node or relationship record itself, instead of in the property chain, in record formats that
+ * have the {@link org.neo4j.kernel.impl.store.format.RecordStorageCapability#INLINED_PROPERTIES} capability.
+ * <p>
+ * The inlined properties are kept as a sequence of property value blocks, laid out the same way as in a {@link PropertyRecord}.
+ * Only properties that don't need dynamic records are inlined, and a property key is either inlined or in the property chain,
+ * never in both.
+ */
+public final class InlinedProperties {
+    /**
+     * Number of property value blocks that fit in a record of a format with inlined properties.
+     */
+    public static final int MAX_BLOCKS = 3;
+
+    private InlinedProperties() {}
+
+    /**
+     * @return whether the given block can be inlined along with the already inlined blocks.
+     */
+    public static boolean fits(long[] inlinedBlocks, PropertyBlock block) {
+        PropertyType type = block.getType();
+        return type != PropertyType.STRING
+                && type != PropertyType.ARRAY
+                && block.getValueRecords().isEmpty()
+                && inlinedBlocks.length + block.getValueBlocks().length <= MAX_BLOCKS;
+    }
+
+    /**
+     * @return the inlined property with the given key, or {@code null} if there's no such inlined property.
+     */
+    public static PropertyBlock get(long[] inlinedBlocks, int propertyKey) {
+        int index = indexOf(inlinedBlocks, propertyKey);
+        if (index == -1) {
+            return null;
+        }
+        PropertyBlock block = new PropertyBlock();
+        block.setValueBlocks(Arrays.copyOfRange(inlinedBlocks, index, index + numberOfBlocks(inlinedBlocks, index)));
+        return block;
+    }
+
+    /**
+     * @return all inlined properties.
+     */
+    public static List<PropertyBlock> all(long[] inlinedBlocks) {
+        List<PropertyBlock> blocks = new ArrayList<>();
+        for (int index = 0; index < inlinedBlocks.length; ) {
+            int length = numberOfBlocks(inlinedBlocks, index);
+            PropertyBlock block = new PropertyBlock();
+            block.setValueBlocks(Arrays.copyOfRange(inlinedBlocks, index, index + length));
+            blocks.add(block);
+            index += length;
+        }
+        return blocks;
+    }
+
+    /**
+     * @return a copy of the inlined blocks, with the given block added. The block must {@link #fits(long[], PropertyBlock) fit}.
+     */
+    public static long[] with(long[] inlinedBlocks, PropertyBlock block) {
+        long[] valueBlocks = block.getValueBlocks();
+        long[] result = Arrays.copyOf(inlinedBlocks, inlinedBlocks.length + valueBlocks.length);
+        System.arraycopy(valueBlocks, 0, result, inlinedBlocks.length, valueBlocks.length);
+        return result;
+    }
+
+    /**
+     * @return a copy of the inlined blocks without the property with the given key, or the given blocks if there's no such property.
+     */
+    public static long[] without(long[] inlinedBlocks, int propertyKey) {
+        int index = indexOf(inlinedBlocks, propertyKey);
+        if (index == -1) {
+            return inlinedBlocks;
+        }
+        int length = numberOfBlocks(inlinedBlocks, index);
+        if (length == inlinedBlocks.length) {
+            return EMPTY_LONG_ARRAY;
+        }
+        long[] result = new long[inlinedBlocks.length - length];
+        System.arraycopy(inlinedBlocks, 0, result, 0, index);
+        System.arraycopy(inlinedBlocks, index + length, result, index, result.length - index);
+        return result;
+    }
+
+    private static int indexOf(long[] inlinedBlocks, int propertyKey) {
+        for (int index = 0; index < inlinedBlocks.length; index += numberOfBlocks(inlinedBlocks, index)) {
+            if (PropertyBlock.keyIndexId(inlinedBlocks[index]) == propertyKey) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int numberOfBlocks(long[] inlinedBlocks, int index) {
+        return PropertyType.getPropertyTypeOrThrow(inlinedBlocks[index])
+                .calculateNumberOfBlocksUsed(inlinedBlocks[index]);
+    }
+}
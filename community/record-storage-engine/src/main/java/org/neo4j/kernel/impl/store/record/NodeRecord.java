@@ -135,7 +135,7 @@ public class NodeRecord extends PrimitiveRecord {
                 + inUse() + ",created="
                 + isCreated() + ","
                 + denseInfo + ",prop="
-                + getNextProp() + ",labels="
+                + getNextProp() + inlinedPropertiesToString() + ",labels="
                 + parseLabelsField(this) + ","
                 + lightHeavyInfo + secondaryUnitToString()
                 + ","
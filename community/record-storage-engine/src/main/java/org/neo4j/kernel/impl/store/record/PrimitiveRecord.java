@@ -19,10 +19,16 @@
  */
 package org.neo4j.kernel.impl.store.record;
 
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
+
+import java.util.Arrays;
 import java.util.Objects;
 
 public abstract class PrimitiveRecord extends AbstractBaseRecord {
     protected long nextProp;
+    // Value blocks of the properties kept in the record itself, in record formats which have room for them.
+    // The array is never modified in place, only replaced, so it can be shared between copies of a record.
+    private long[] inlinedPropertyBlocks = EMPTY_LONG_ARRAY;
 
     PrimitiveRecord(long id) {
         super(id);
@@ -31,17 +37,20 @@ public abstract class PrimitiveRecord extends AbstractBaseRecord {
     public PrimitiveRecord(PrimitiveRecord other) {
         super(other);
         this.nextProp = other.nextProp;
+        this.inlinedPropertyBlocks = other.inlinedPropertyBlocks;
     }
 
     @Override
     public void clear() {
         super.clear();
         nextProp = Record.NO_NEXT_PROPERTY.intValue();
+        inlinedPropertyBlocks = EMPTY_LONG_ARRAY;
     }
 
     protected PrimitiveRecord initialize(boolean inUse, long nextProp) {
         super.initialize(inUse);
         this.nextProp = nextProp;
+        this.inlinedPropertyBlocks = EMPTY_LONG_ARRAY;
         return this;
     }
 
@@ -53,11 +62,30 @@ public abstract class PrimitiveRecord extends AbstractBaseRecord {
         this.nextProp = nextProp;
     }
 
+    /**
+     * @return the value blocks of the properties kept in this record, see {@link InlinedProperties}. The returned array must not be modified.
+     */
+    public long[] getInlinedPropertyBlocks() {
+        return inlinedPropertyBlocks;
+    }
+
+    public void setInlinedPropertyBlocks(long[] inlinedPropertyBlocks) {
+        this.inlinedPropertyBlocks = inlinedPropertyBlocks;
+    }
+
+    public boolean hasInlinedProperties() {
+        return inlinedPropertyBlocks.length > 0;
+    }
+
+    protected String inlinedPropertiesToString() {
+        return hasInlinedProperties() ? ",inlinedProps=" + Arrays.toString(inlinedPropertyBlocks) : "";
+    }
+
     public abstract void setIdTo(PropertyRecord property);
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), nextProp);
+        return Objects.hash(super.hashCode(), nextProp, Arrays.hashCode(inlinedPropertyBlocks));
     }
 
     @Override
@@ -66,6 +94,6 @@ public abstract class PrimitiveRecord extends AbstractBaseRecord {
             return false;
         }
         PrimitiveRecord other = (PrimitiveRecord) obj;
-        return nextProp == other.nextProp;
+        return nextProp == other.nextProp && Arrays.equals(inlinedPropertyBlocks, other.inlinedPropertyBlocks);
     }
 }
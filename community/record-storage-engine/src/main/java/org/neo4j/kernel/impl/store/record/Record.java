@@ -58,6 +58,7 @@ public enum Record {
     public static final int DYNAMIC_RECORD_START_RECORD = ADDITIONAL_FLAG_1;
     public static final int PROPERTY_OWNED_BY_NODE = ADDITIONAL_FLAG_2;
     public static final int PROPERTY_OWNED_BY_RELATIONSHIP = ADDITIONAL_FLAG_3;
+    public static final int HAS_INLINED_PROPERTIES = ADDITIONAL_FLAG_2;
 
     // not to use within the same byte with IN_USE and CREATED_IN_TX
     public static final byte RELATIONSHIP_FIRST_IN_FIRST_CHAIN = 0b0000_0001;
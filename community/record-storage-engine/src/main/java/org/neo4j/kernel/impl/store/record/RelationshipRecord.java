@@ -235,7 +235,7 @@ public class RelationshipRecord extends PrimitiveRecord {
                 + firstNextRel + (firstInSecondChain ? ",tCount=" : ",tPrev=")
                 + secondPrevRel + ",tNext="
                 + secondNextRel + ",prop="
-                + getNextProp() + secondaryUnitToString()
+                + getNextProp() + inlinedPropertiesToString() + secondaryUnitToString()
                 + (firstInFirstChain ? ", sFirst" : ",!sFirst")
                 + (firstInSecondChain ? ", tFirst" : ",!tFirst")
                 + "]";
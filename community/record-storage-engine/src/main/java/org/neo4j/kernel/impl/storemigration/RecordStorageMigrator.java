@@ -68,6 +68,7 @@ import org.neo4j.internal.batchimport.staging.CoarseBoundedProgressExecutionMoni
 import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
 import org.neo4j.internal.counts.CountsBuilder;
 import org.neo4j.internal.counts.GBPTreeCountsStore;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
 import org.neo4j.internal.counts.GBPTreeRelationshipGroupDegreesStore;
 import org.neo4j.internal.counts.Updater;
 import org.neo4j.internal.helpers.collection.Iterables;
@@ -794,6 +795,11 @@ public class RecordStorageMigrator extends AbstractStoreMigrationParticipant {
                 degreesStore.checkpoint(flushEvent, context);
             }
         }
+
+        // The node degrees are optional, and rather than being fast-forwarded they're deleted, to be rebuilt from the
+        // migrated
+        // store on next db start if they're kept.
+        GBPTreeNodeDegreesStore.deleteIfExists(fileSystem, recordLayout);
     }
 
     @Override
@@ -804,7 +810,7 @@ public class RecordStorageMigrator extends AbstractStoreMigrationParticipant {
         return "Kernel StoreMigrator";
     }
 
-    private static class NodeRecordChunk extends StoreScanChunk<RecordNodeCursor> {
+    static class NodeRecordChunk extends StoreScanChunk<RecordNodeCursor> {
         NodeRecordChunk(
                 RecordStorageReader storageReader,
                 boolean requiresPropertyMigration,
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storemigration;
+
+import static org.eclipse.collections.impl.factory.Sets.immutable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.batchimport.Configuration.defaultConfiguration;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineFactory.createMigrationTargetSchemaRuleAccess;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.impl.storemigration.FileOperation.COPY;
+import static org.neo4j.kernel.impl.storemigration.FileOperation.MOVE;
+import static org.neo4j.kernel.impl.storemigration.RecordStorageMigrator.createTokenHolders;
+import static org.neo4j.kernel.impl.storemigration.RecordStorageMigrator.need50Migration;
+import static org.neo4j.kernel.impl.storemigration.SchemaStoreMigration.getSchemaStoreMigration;
+import static org.neo4j.kernel.impl.storemigration.StoreMigratorFileOperation.fileOperation;
+import static org.neo4j.kernel.impl.transaction.log.LogTailMetadata.EMPTY_LOG_TAIL;
+import static org.neo4j.storageengine.api.PropertySelection.ALL_PROPERTIES;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.neo4j.common.EntityType;
+import org.neo4j.configuration.Config;
+import org.neo4j.exceptions.KernelException;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.batchimport.AdditionalInitialIds;
+import org.neo4j.internal.batchimport.BatchImporter;
+import org.neo4j.internal.batchimport.BatchImporterFactory;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.IndexImporterFactory;
+import org.neo4j.internal.batchimport.InputIterable;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.Monitor;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntityVisitor;
+import org.neo4j.internal.batchimport.input.ReadableGroups;
+import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.id.IdGeneratorFactory;
+import org.neo4j.internal.id.ScanOnOpenOverwritingIdGeneratorFactory;
+import org.neo4j.internal.id.ScanOnOpenReadOnlyIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.DenseNodeAdjacencyStore;
+import org.neo4j.internal.recordstorage.RecordNodeCursor;
+import org.neo4j.internal.recordstorage.RecordStorageReader;
+import org.neo4j.internal.recordstorage.SchemaRuleAccess;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseFile;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.RecordFormatSelector;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.storemigration.SchemaStoreMigration.SchemaStoreMigrator;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.logging.internal.LogService;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.LogFilesInitializer;
+import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.migration.SchemaRuleMigrationAccess;
+import org.neo4j.token.TokenHolders;
+
+/**
+ * Rewrites the node, relationship and property stores of a cleanly shut down {@link RecordDatabaseLayout} so that
+ * records which are read together are also stored together. Over time, as a database is updated, the relationship
+ * chain and property chain of a node get spread over many pages, because records are allocated from whatever ids
+ * happen to be free at the time. Rewriting the stores with the batch importer lays out:
+ * <ul>
+ *     <li>the property chain of each node and relationship contiguously, directly after one another,</li>
+ *     <li>the relationships in traversal order, i.e. the outgoing relationships of a node, in the order of its
+ *     relationship chain, get consecutive relationship ids.</li>
+ * </ul>
+ * Node ids are kept as-is since they are referenced from indexes and from outside of the database. Relationship
+ * and property ids are assigned anew. Because of that the counts store, the degrees stores, the dense node adjacency
+ * store and the indexes on relationships are deleted, to be rebuilt when the database is started the next time.
+ * Schema rules are kept in property chains of the property store, so the schema store is rewritten as well, with
+ * the rules written to the new property store.
+ * <p>
+ * The database must not be running while it is defragmented.
+ */
+public class RecordStoreDefragmenter {
+    private static final String NODE_CHUNK_DEFRAGMENTATION_TAG = "nodeChunkDefragmentation";
+    private static final String RELATIONSHIP_CHUNK_DEFRAGMENTATION_TAG = "relationshipChunkDefragmentation";
+    private static final String SCHEMA_DEFRAGMENTATION_TAG = "schemaDefragmentation";
+
+    private static final RecordDatabaseFile[] TOKEN_STORE_FILES = {
+        RecordDatabaseFile.LABEL_TOKEN_STORE, RecordDatabaseFile.LABEL_TOKEN_NAMES_STORE,
+        RecordDatabaseFile.PROPERTY_KEY_TOKEN_STORE, RecordDatabaseFile.PROPERTY_KEY_TOKEN_NAMES_STORE,
+        RecordDatabaseFile.RELATIONSHIP_TYPE_TOKEN_STORE, RecordDatabaseFile.RELATIONSHIP_TYPE_TOKEN_NAMES_STORE,
+        RecordDatabaseFile.NODE_LABEL_STORE
+    };
+    private static final RecordDatabaseFile[] DEFRAGMENTED_STORE_FILES = {
+        RecordDatabaseFile.NODE_STORE,
+        RecordDatabaseFile.RELATIONSHIP_STORE,
+        RecordDatabaseFile.RELATIONSHIP_GROUP_STORE,
+        RecordDatabaseFile.PROPERTY_STORE,
+        RecordDatabaseFile.PROPERTY_STRING_STORE,
+        RecordDatabaseFile.PROPERTY_ARRAY_STORE,
+        RecordDatabaseFile.SCHEMA_STORE
+    };
+
+    private final FileSystemAbstraction fileSystem;
+    private final PageCache pageCache;
+    private final PageCacheTracer pageCacheTracer;
+    private final Config config;
+    private final LogService logService;
+    private final JobScheduler jobScheduler;
+    private final CursorContextFactory contextFactory;
+    private final BatchImporterFactory batchImporterFactory;
+    private final MemoryTracker memoryTracker;
+
+    public RecordStoreDefragmenter(
+            FileSystemAbstraction fileSystem,
+            PageCache pageCache,
+            PageCacheTracer pageCacheTracer,
+            Config config,
+            LogService logService,
+            JobScheduler jobScheduler,
+            CursorContextFactory contextFactory,
+            BatchImporterFactory batchImporterFactory,
+            MemoryTracker memoryTracker) {
+        this.fileSystem = fileSystem;
+        this.pageCache = pageCache;
+        this.pageCacheTracer = pageCacheTracer;
+        this.config = config;
+        this.logService = logService;
+        this.jobScheduler = jobScheduler;
+        this.contextFactory = contextFactory;
+        this.batchImporterFactory = batchImporterFactory;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * Defragments the stores of {@code databaseLayout}.
+     *
+     * @param databaseLayout the database to defragment.
+     * @param defragmentationLayout an empty directory to write the rewritten stores to before they replace the
+     * stores in {@code databaseLayout}. It's deleted when the defragmentation is completed.
+     * @param executionMonitor receives progress of the rewrite.
+     * @throws IOException on I/O error.
+     * @throws KernelException if the schema rules can't be written to the defragmented stores.
+     */
+    public void defragment(
+            RecordDatabaseLayout databaseLayout,
+            RecordDatabaseLayout defragmentationLayout,
+            ExecutionMonitor executionMonitor)
+            throws IOException, KernelException {
+        RecordFormats format = RecordFormatSelector.selectForStore(
+                databaseLayout, fileSystem, pageCache, NullLogProvider.getInstance(), contextFactory);
+        if (format == null) {
+            throw new IllegalArgumentException("No record store found in " + databaseLayout.databaseDirectory());
+        }
+        if (need50Migration(format)) {
+            throw new IllegalArgumentException("The store in " + databaseLayout.databaseDirectory()
+                    + " has to be migrated before it can be defragmented");
+        }
+
+        List<IndexDescriptor> relationshipIndexes;
+        try (CursorContext cursorContext = contextFactory.create(SCHEMA_DEFRAGMENTATION_TAG)) {
+            // Reads all schema rules of the source store, to write them with the property store that is rewritten
+            SchemaStoreMigrator schemaStoreMigration = getSchemaStoreMigration(
+                    format,
+                    databaseLayout,
+                    cursorContext,
+                    true,
+                    false,
+                    config,
+                    pageCache,
+                    pageCacheTracer,
+                    fileSystem,
+                    contextFactory);
+            schemaStoreMigration.assertCanMigrate();
+            relationshipIndexes = importStores(databaseLayout, defragmentationLayout, executionMonitor, format);
+            migrateSchemaStore(schemaStoreMigration, defragmentationLayout, format, cursorContext);
+        }
+
+        fileOperation(
+                MOVE,
+                fileSystem,
+                defragmentationLayout,
+                databaseLayout,
+                List.of(DEFRAGMENTED_STORE_FILES),
+                false,
+                true,
+                ExistingTargetStrategy.OVERWRITE);
+        deleteDerivedStores(databaseLayout, relationshipIndexes);
+        fileSystem.deleteRecursively(defragmentationLayout.databaseDirectory());
+    }
+
+    /**
+     * Writes the nodes and relationships of {@code databaseLayout} to the stores of {@code defragmentationLayout}.
+     *
+     * @return the indexes on relationships, which refer to the relationship ids of the source store.
+     */
+    private List<IndexDescriptor> importStores(
+            RecordDatabaseLayout databaseLayout,
+            RecordDatabaseLayout defragmentationLayout,
+            ExecutionMonitor executionMonitor,
+            RecordFormats format)
+            throws IOException {
+        prepareDefragmentation(databaseLayout, defragmentationLayout, format);
+        List<IndexDescriptor> relationshipIndexes;
+        try (NeoStores sourceStores = openSourceStores(databaseLayout, format);
+                var storeCursors = new CachedStoreCursors(sourceStores, NULL_CONTEXT)) {
+            relationshipIndexes = relationshipIndexes(sourceStores, storeCursors);
+
+            Configuration importConfig = new Configuration.Overridden(defaultConfiguration(), config);
+            BatchImporter importer = batchImporterFactory.instantiate(
+                    defragmentationLayout,
+                    fileSystem,
+                    pageCacheTracer,
+                    importConfig,
+                    logService,
+                    executionMonitor,
+                    AdditionalInitialIds.EMPTY,
+                    EMPTY_LOG_TAIL,
+                    config,
+                    Monitor.NO_MONITOR,
+                    jobScheduler,
+                    Collector.STRICT,
+                    LogFilesInitializer.NULL,
+                    IndexImporterFactory.EMPTY,
+                    memoryTracker,
+                    contextFactory);
+            InputIterable nodes = () -> nodesInIdOrder(sourceStores, storeCursors);
+            InputIterable relationships = () -> relationshipsInTraversalOrder(sourceStores, storeCursors);
+            importer.doImport(Input.input(
+                    nodes,
+                    relationships,
+                    IdType.ACTUAL,
+                    Input.knownEstimates(
+                            sourceStores.getNodeStore().getNumberOfIdsInUse(),
+                            sourceStores.getRelationshipStore().getNumberOfIdsInUse(),
+                            sourceStores.getPropertyStore().getNumberOfIdsInUse(),
+                            sourceStores.getPropertyStore().getNumberOfIdsInUse(),
+                            0,
+                            0,
+                            0),
+                    ReadableGroups.EMPTY));
+        }
+        return relationshipIndexes;
+    }
+
+    /**
+     * Writes the schema rules to the schema store and property store of {@code defragmentationLayout}, the same way as a
+     * migration to another format family does.
+     */
+    private void migrateSchemaStore(
+            SchemaStoreMigrator schemaStoreMigration,
+            RecordDatabaseLayout defragmentationLayout,
+            RecordFormats format,
+            CursorContext cursorContext)
+            throws IOException, KernelException {
+        StoreFactory storeFactory = createStoreFactory(
+                defragmentationLayout,
+                format,
+                new ScanOnOpenOverwritingIdGeneratorFactory(
+                        fileSystem, pageCacheTracer, defragmentationLayout.getDatabaseName()));
+        try (NeoStores stores = storeFactory.openNeoStores(
+                        StoreType.SCHEMA,
+                        StoreType.PROPERTY_KEY_TOKEN,
+                        StoreType.PROPERTY,
+                        StoreType.PROPERTY_KEY_TOKEN_NAME,
+                        StoreType.LABEL_TOKEN,
+                        StoreType.LABEL_TOKEN_NAME,
+                        StoreType.RELATIONSHIP_TYPE_TOKEN,
+                        StoreType.RELATIONSHIP_TYPE_TOKEN_NAME);
+                var storeCursors = new CachedStoreCursors(stores, cursorContext)) {
+            stores.start(cursorContext);
+            TokenHolders tokenHolders = createTokenHolders(stores, storeCursors);
+            try (SchemaRuleMigrationAccess schemaAccess =
+                    createMigrationTargetSchemaRuleAccess(stores, contextFactory, memoryTracker)) {
+                schemaStoreMigration.migrate(schemaAccess, tokenHolders);
+            }
+            try (var databaseFlushEvent = pageCacheTracer.beginDatabaseFlush()) {
+                stores.flush(databaseFlushEvent, cursorContext);
+            }
+        }
+    }
+
+    private void prepareDefragmentation(
+            RecordDatabaseLayout databaseLayout, RecordDatabaseLayout defragmentationLayout, RecordFormats format)
+            throws IOException {
+        IdGeneratorFactory idGeneratorFactory = new DefaultIdGeneratorFactory(
+                fileSystem, immediate(), pageCacheTracer, defragmentationLayout.getDatabaseName());
+        createStoreFactory(defragmentationLayout, format, idGeneratorFactory)
+                .openAllNeoStores()
+                .close();
+
+        // The token stores and dynamic node labels are used as-is by the importer, since node label fields as well as
+        // property keys and relationship types are given as token ids. Their id files are rewritten to match.
+        fileOperation(
+                COPY,
+                fileSystem,
+                databaseLayout,
+                defragmentationLayout,
+                List.of(TOKEN_STORE_FILES),
+                true,
+                true,
+                ExistingTargetStrategy.OVERWRITE);
+        createStoreFactory(
+                        defragmentationLayout,
+                        format,
+                        new ScanOnOpenOverwritingIdGeneratorFactory(
+                                fileSystem, pageCacheTracer, defragmentationLayout.getDatabaseName()))
+                .openAllNeoStores()
+                .close();
+    }
+
+    private NeoStores openSourceStores(RecordDatabaseLayout databaseLayout, RecordFormats format) {
+        StoreType[] storesToOpen = StoreType.values();
+        return new StoreFactory(
+                        databaseLayout,
+                        config,
+                        new ScanOnOpenReadOnlyIdGeneratorFactory(),
+                        pageCache,
+                        pageCacheTracer,
+                        fileSystem,
+                        format,
+                        NullLogProvider.getInstance(),
+                        contextFactory,
+                        true,
+                        EMPTY_LOG_TAIL,
+                        immutable.empty())
+                .openNeoStores(storesToOpen);
+    }
+
+    private StoreFactory createStoreFactory(
+            RecordDatabaseLayout databaseLayout, RecordFormats format, IdGeneratorFactory idGeneratorFactory) {
+        return new StoreFactory(
+                databaseLayout,
+                config,
+                idGeneratorFactory,
+                pageCache,
+                pageCacheTracer,
+                fileSystem,
+                format,
+                NullLogProvider.getInstance(),
+                contextFactory,
+                false,
+                EMPTY_LOG_TAIL,
+                immutable.empty());
+    }
+
+    private InputIterator nodesInIdOrder(NeoStores sourceStores, StoreCursors storeCursors) {
+        return new StoreScanAsInputIterator<>(sourceStores.getNodeStore()) {
+            @Override
+            public InputChunk newChunk() {
+                return new RecordStorageMigrator.NodeRecordChunk(
+                        new RecordStorageReader(sourceStores),
+                        true,
+                        contextFactory.create(NODE_CHUNK_DEFRAGMENTATION_TAG),
+                        storeCursors,
+                        memoryTracker);
+            }
+        };
+    }
+
+    private InputIterator relationshipsInTraversalOrder(NeoStores sourceStores, StoreCursors storeCursors) {
+        return new StoreScanAsInputIterator<>(sourceStores.getNodeStore()) {
+            @Override
+            public InputChunk newChunk() {
+                return new RelationshipTraversalChunk(
+                        new RecordStorageReader(sourceStores),
+                        contextFactory.create(RELATIONSHIP_CHUNK_DEFRAGMENTATION_TAG),
+                        storeCursors,
+                        memoryTracker);
+            }
+        };
+    }
+
+    private List<IndexDescriptor> relationshipIndexes(NeoStores sourceStores, CachedStoreCursors storeCursors) {
+        TokenHolders tokenHolders = createTokenHolders(sourceStores, storeCursors);
+        SchemaRuleAccess schemaRuleAccess =
+                SchemaRuleAccess.getSchemaRuleAccess(sourceStores.getSchemaStore(), tokenHolders);
+        List<IndexDescriptor> relationshipIndexes = new ArrayList<>();
+        Iterator<IndexDescriptor> indexes = schemaRuleAccess.indexesGetAll(storeCursors);
+        while (indexes.hasNext()) {
+            IndexDescriptor index = indexes.next();
+            if (index.schema().entityType() == EntityType.RELATIONSHIP) {
+                relationshipIndexes.add(index);
+            }
+        }
+        return relationshipIndexes;
+    }
+
+    /**
+     * Deletes the stores that refer to relationship or relationship group ids, which have all changed. They're rebuilt
+     * from the defragmented stores on the next startup.
+     */
+    private void deleteDerivedStores(RecordDatabaseLayout databaseLayout, List<IndexDescriptor> relationshipIndexes)
+            throws IOException {
+        fileSystem.deleteFile(databaseLayout.countStore());
+        fileSystem.deleteFile(databaseLayout.relationshipGroupDegreesStore());
+        DenseNodeAdjacencyStore.deleteIfExists(fileSystem, databaseLayout);
+        IndexDirectoryStructure.Factory indexDirectories =
+                IndexDirectoryStructure.directoriesByProvider(databaseLayout.databaseDirectory());
+        for (IndexDescriptor index : relationshipIndexes) {
+            fileSystem.deleteRecursively(
+                    indexDirectories.forProvider(index.getIndexProvider()).directoryForIndex(index.getId()));
+        }
+    }
+
+    /**
+     * Reads the relationships of a range of nodes by following the relationship chain of each node. A relationship is
+     * visited from its start node, which means that the outgoing relationships of a node are imported one after another.
+     */
+    private static class RelationshipTraversalChunk extends StoreScanChunk<RecordNodeCursor> {
+        private final StorageRelationshipTraversalCursor relationshipCursor;
+        private long nodeId;
+        private long endNodeId;
+        private boolean traversing;
+
+        RelationshipTraversalChunk(
+                RecordStorageReader storageReader,
+                CursorContext cursorContext,
+                StoreCursors storeCursors,
+                MemoryTracker memoryTracker) {
+            super(
+                    storageReader.allocateNodeCursor(cursorContext, storeCursors),
+                    storageReader,
+                    true,
+                    cursorContext,
+                    storeCursors,
+                    memoryTracker);
+            this.relationshipCursor = storageReader.allocateRelationshipTraversalCursor(cursorContext, storeCursors);
+        }
+
+        @Override
+        public void initialize(long startId, long endId) {
+            this.nodeId = startId;
+            this.endNodeId = endId;
+            this.traversing = false;
+        }
+
+        @Override
+        public boolean next(InputEntityVisitor visitor) throws IOException {
+            while (true) {
+                if (traversing && nextOutgoingRelationship()) {
+                    visitor.startId(relationshipCursor.sourceNodeReference());
+                    visitor.endId(relationshipCursor.targetNodeReference());
+                    visitor.type(relationshipCursor.type());
+                    relationshipCursor.properties(storePropertyCursor, ALL_PROPERTIES);
+                    while (storePropertyCursor.next()) {
+                        visitor.property(
+                                storePropertyCursor.propertyKey(),
+                                storePropertyCursor.propertyValue().asObject());
+                    }
+                    storePropertyCursor.close();
+                    visitor.endOfEntity();
+                    return true;
+                }
+                traversing = false;
+                if (nodeId >= endNodeId) {
+                    return false;
+                }
+                read(cursor, nodeId++);
+                if (cursor.next()) {
+                    visitRecord(cursor, visitor);
+                }
+            }
+        }
+
+        private boolean nextOutgoingRelationship() {
+            while (relationshipCursor.next()) {
+                // Loops are seen once, and relationships are visited from their start node only
+                if (relationshipCursor.sourceNodeReference() == cursor.entityReference()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected void read(RecordNodeCursor cursor, long id) {
+            cursor.single(id);
+        }
+
+        @Override
+        void visitRecord(RecordNodeCursor record, InputEntityVisitor visitor) {
+            record.relationships(relationshipCursor, RelationshipSelection.selection(Direction.OUTGOING));
+            traversing = true;
+        }
+
+        @Override
+        public void close() {
+            relationshipCursor.close();
+            super.close();
+        }
+    }
+}
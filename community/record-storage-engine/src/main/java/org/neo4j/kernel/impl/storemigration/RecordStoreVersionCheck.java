@@ -28,6 +28,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.LegacyMetadataHandler;
 import org.neo4j.kernel.impl.store.MetaDataStore;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
 import org.neo4j.kernel.impl.store.format.RecordFormatSelector;
 import org.neo4j.kernel.impl.store.format.RecordFormats;
 import org.neo4j.storageengine.api.StoreVersionCheck;
@@ -102,7 +103,10 @@ public class RecordStoreVersionCheck implements StoreVersionCheck {
                     MigrationOutcome.NO_OP, currentVersion, versionIdentifier(formatToMigrateTo), null);
         }
 
-        if (formatToMigrateFrom.getFormatFamily().isHigherThan(formatToMigrateTo.getFormatFamily())) {
+        // The migrator writes all properties to property chains, so a store can't be migrated into a family which
+        // inlines properties in the records, no matter how it is ranked
+        if (formatToMigrateTo.getFormatFamily().equals(FormatFamily.ALIGNED_INLINED_PROPERTIES)
+                || formatToMigrateFrom.getFormatFamily().isHigherThan(formatToMigrateTo.getFormatFamily())) {
             return new MigrationCheckResult(
                     MigrationOutcome.UNSUPPORTED_MIGRATION_PATH,
                     currentVersion,
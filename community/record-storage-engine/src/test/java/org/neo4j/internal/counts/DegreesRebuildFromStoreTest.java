@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.sparse_node_degrees;
 import static org.neo4j.configuration.GraphDatabaseSettings.dense_node_threshold;
 import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
 import static org.neo4j.internal.recordstorage.Command.GroupDegreeCommand.combinedKeyOnGroupAndDirection;
@@ -31,11 +32,16 @@ import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.appl
 import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.openSimpleStorageEngine;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
 
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
 import org.eclipse.collections.impl.factory.primitive.LongLongMaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectLongMaps;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.neo4j.configuration.Config;
@@ -163,6 +169,74 @@ class DegreesRebuildFromStoreTest {
         rebuildAndVerify(layout, config, expectedDegrees);
     }
 
+    @Test
+    void shouldRebuildNodeDegreesStore() throws Exception {
+        // given a dataset containing mixed sparse and dense nodes with relationships in random directions,
+        //       where some of the relationships have been deleted again
+        int denseThreshold = dense_node_threshold.defaultValue();
+        RecordDatabaseLayout layout = RecordDatabaseLayout.ofFlat(directory.homePath());
+        MutableObjectLongMap<List<Object>> expectedDegrees = ObjectLongMaps.mutable.empty();
+        Config config = Config.newBuilder()
+                .set(dense_node_threshold, denseThreshold)
+                .set(sparse_node_degrees, true)
+                .build();
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = openStorageEngine(layout, config);
+            int[] relationshipTypes = createRelationshipTypes(storageEngine);
+            life.add(storageEngine);
+            List<RelationshipData> relationships = generateData(storageEngine, denseThreshold, relationshipTypes);
+            List<RelationshipData> deletions = new ArrayList<>();
+            for (RelationshipData relationship : relationships) {
+                if (random.nextInt(10) == 0) {
+                    deletions.add(relationship);
+                } else {
+                    addDegree(expectedDegrees, relationship);
+                }
+            }
+            applyLogicalChanges(storageEngine, (state, tx) -> {
+                NodeState nodeState = mock(NodeState.class);
+                when(nodeState.labelDiffSets()).thenReturn(LongDiffSets.EMPTY);
+                when(state.getNodeState(anyLong())).thenReturn(nodeState);
+                tx.visitRelationshipModifications(new FlatRelationshipModifications(
+                        new RelationshipData[0], deletions.toArray(new RelationshipData[0])));
+            });
+            assertThat(nodeDegrees(storageEngine)).isEqualTo(expectedDegrees);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        // when
+        directory.getFileSystem().deleteFile(GBPTreeNodeDegreesStore.file(layout));
+
+        // then
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(layout, config));
+            assertThat(nodeDegrees(storageEngine)).isEqualTo(expectedDegrees);
+        }
+    }
+
+    private static void addDegree(MutableObjectLongMap<List<Object>> degrees, RelationshipData relationship) {
+        if (relationship.startNode() == relationship.endNode()) {
+            degrees.addToValue(List.of(relationship.startNode(), relationship.type(), LOOP), 1);
+        } else {
+            degrees.addToValue(List.of(relationship.startNode(), relationship.type(), OUTGOING), 1);
+            degrees.addToValue(List.of(relationship.endNode(), relationship.type(), INCOMING), 1);
+        }
+    }
+
+    private static MutableObjectLongMap<List<Object>> nodeDegrees(RecordStorageEngine storageEngine) {
+        MutableObjectLongMap<List<Object>> degrees = ObjectLongMaps.mutable.empty();
+        storageEngine
+                .nodeDegreesStore()
+                .accept(
+                        (nodeId, type, direction, degree) -> {
+                            if (degree != 0) {
+                                degrees.put(List.of(nodeId, type, direction), degree);
+                            }
+                        },
+                        NULL_CONTEXT);
+        return degrees;
+    }
+
     private void rebuildAndVerify(RecordDatabaseLayout layout, Config config, MutableLongLongMap expectedDegrees) {
         rebuildAndVerifyDirectlyUsingRebuilderDirectly(layout, config, expectedDegrees);
         rebuildAndVerifyByStartingStorageEngine(layout, config, expectedDegrees);
@@ -234,8 +308,8 @@ class DegreesRebuildFromStoreTest {
         return types;
     }
 
-    private void generateData(RecordStorageEngine storageEngine, int denseThreshold, int[] relationshipTypes)
-            throws Exception {
+    private List<RelationshipData> generateData(
+            RecordStorageEngine storageEngine, int denseThreshold, int[] relationshipTypes) throws Exception {
         int numNodes = 100;
         long[] nodes = new long[numNodes];
         applyLogicalChanges(storageEngine, (state, tx) -> {
@@ -264,6 +338,7 @@ class DegreesRebuildFromStoreTest {
             tx.visitRelationshipModifications(
                     new FlatRelationshipModifications(relationships.toArray(new RelationshipData[0])));
         });
+        return relationships;
     }
 
     private RecordStorageEngine openStorageEngine(RecordDatabaseLayout layout, Config config) {
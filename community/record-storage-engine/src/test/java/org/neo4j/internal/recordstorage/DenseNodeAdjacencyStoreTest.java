@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dense_node_adjacency_lists;
+import static org.neo4j.configuration.GraphDatabaseSettings.dense_node_threshold;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.applyLogicalChanges;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.openSimpleStorageEngine;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
+import static org.neo4j.storageengine.api.RelationshipSelection.selection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.configuration.Config;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications.RelationshipData;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.lifecycle.Lifespan;
+import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.api.txstate.LongDiffSets;
+import org.neo4j.storageengine.api.txstate.NodeState;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@ExtendWith(RandomExtension.class)
+@EphemeralPageCacheExtension
+class DenseNodeAdjacencyStoreTest {
+    private static final int DENSE_THRESHOLD = 10;
+    private static final int NUMBER_OF_TYPES = 3;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    private final List<RelationshipData> relationships = new ArrayList<>();
+    private RecordDatabaseLayout layout;
+    private long[] nodes;
+
+    @BeforeEach
+    void setUp() {
+        layout = RecordDatabaseLayout.ofFlat(directory.homePath());
+    }
+
+    @Test
+    void shouldTraverseDenseNodesByAdjacencyListsKeptUpToDateOnApply() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            createNodes(storageEngine, 30);
+            createRelationships(storageEngine, 200);
+            assertTraversals(storageEngine);
+
+            deleteRelationships(storageEngine, 50);
+            createRelationships(storageEngine, 100);
+            assertTraversals(storageEngine);
+        }
+    }
+
+    @Test
+    void shouldBuildAdjacencyListsWhenMissing() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(false));
+            createNodes(storageEngine, 30);
+            createRelationships(storageEngine, 200);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(DenseNodeAdjacencyStore.file(layout)))
+                .isFalse();
+
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            assertTraversals(storageEngine);
+            deleteRelationships(storageEngine, 50);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            assertTraversals(storageEngine);
+        }
+    }
+
+    @Test
+    void shouldDeleteAdjacencyListsWhenNotKept() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            createNodes(storageEngine, 30);
+            createRelationships(storageEngine, 200);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(DenseNodeAdjacencyStore.file(layout)))
+                .isTrue();
+
+        // when changing relationships while the adjacency lists aren't kept
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(false));
+            deleteRelationships(storageEngine, 50);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(DenseNodeAdjacencyStore.file(layout)))
+                .isFalse();
+
+        // then they're built again, including those changes
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            assertTraversals(storageEngine);
+        }
+    }
+
+    private void assertTraversals(RecordStorageEngine storageEngine) {
+        NeoStores neoStores = storageEngine.testAccessNeoStores();
+        List<RelationshipSelection> selections = List.of(
+                ALL_RELATIONSHIPS,
+                selection(Direction.INCOMING),
+                selection(random.nextInt(NUMBER_OF_TYPES), Direction.OUTGOING),
+                selection(new int[] {0, 2}, Direction.BOTH),
+                selection(new int[] {1, 1, 2}, Direction.INCOMING));
+        int denseNodes = 0;
+        try (RecordStorageReader reader = storageEngine.newReader();
+                StoreCursors storeCursors = storageEngine.createStorageCursors(NULL_CONTEXT);
+                RecordNodeCursor nodeCursor = reader.allocateNodeCursor(NULL_CONTEXT, storeCursors);
+                RecordRelationshipTraversalCursor adjacencyCursor =
+                        reader.allocateRelationshipTraversalCursor(NULL_CONTEXT, storeCursors);
+                RecordRelationshipTraversalCursor groupsCursor = new RecordRelationshipTraversalCursor(
+                        neoStores.getRelationshipStore(),
+                        neoStores.getRelationshipGroupStore(),
+                        storageEngine.relationshipGroupDegreesStore(),
+                        NULL_CONTEXT)) {
+            for (long node : nodes) {
+                nodeCursor.single(node);
+                assertThat(nodeCursor.next()).isTrue();
+                if (nodeCursor.isDense()) {
+                    denseNodes++;
+                }
+                for (RelationshipSelection selection : selections) {
+                    nodeCursor.relationships(groupsCursor, selection);
+                    Set<List<Long>> expected = relationships(groupsCursor);
+                    nodeCursor.relationships(adjacencyCursor, selection);
+                    assertThat(relationships(adjacencyCursor))
+                            .as("relationships of node %d selected by %s", node, selection)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+        assertThat(denseNodes).isGreaterThan(0);
+    }
+
+    private static Set<List<Long>> relationships(RecordRelationshipTraversalCursor cursor) {
+        Set<List<Long>> relationships = new HashSet<>();
+        while (cursor.next()) {
+            relationships.add(List.of(
+                    cursor.entityReference(),
+                    (long) cursor.type(),
+                    cursor.sourceNodeReference(),
+                    cursor.targetNodeReference(),
+                    cursor.neighbourNodeReference(),
+                    cursor.hasProperties() ? 1L : 0L));
+        }
+        return relationships;
+    }
+
+    private void createNodes(RecordStorageEngine storageEngine, int count) throws Exception {
+        nodes = new long[count];
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            NodeStore nodeStore = storageEngine.testAccessNeoStores().getNodeStore();
+            for (int i = 0; i < count; i++) {
+                nodes[i] = nodeStore.nextId(NULL_CONTEXT);
+                tx.visitCreatedNode(nodes[i]);
+            }
+        });
+    }
+
+    private void createRelationships(RecordStorageEngine storageEngine, int count) throws Exception {
+        RelationshipStore relationshipStore =
+                storageEngine.testAccessNeoStores().getRelationshipStore();
+        RelationshipData[] created = new RelationshipData[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = new RelationshipData(
+                    relationshipStore.nextId(NULL_CONTEXT),
+                    random.nextInt(NUMBER_OF_TYPES),
+                    random.among(nodes),
+                    random.among(nodes));
+            relationships.add(created[i]);
+        }
+        apply(storageEngine, new FlatRelationshipModifications(created, new RelationshipData[0]));
+    }
+
+    private void deleteRelationships(RecordStorageEngine storageEngine, int count) throws Exception {
+        RelationshipData[] deleted = new RelationshipData[count];
+        for (int i = 0; i < count; i++) {
+            deleted[i] = relationships.remove(random.nextInt(relationships.size()));
+        }
+        apply(storageEngine, new FlatRelationshipModifications(new RelationshipData[0], deleted));
+    }
+
+    private static void apply(RecordStorageEngine storageEngine, FlatRelationshipModifications modifications)
+            throws Exception {
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            NodeState nodeState = mock(NodeState.class);
+            when(nodeState.labelDiffSets()).thenReturn(LongDiffSets.EMPTY);
+            when(state.getNodeState(anyLong())).thenReturn(nodeState);
+            tx.visitRelationshipModifications(modifications);
+        });
+    }
+
+    private RecordStorageEngine openStorageEngine(boolean adjacencyLists) {
+        Config config = Config.newBuilder()
+                .set(dense_node_threshold, DENSE_THRESHOLD)
+                .set(dense_node_adjacency_lists, adjacencyLists)
+                .build();
+        return openSimpleStorageEngine(directory.getFileSystem(), pageCache, layout, config);
+    }
+}
@@ -43,6 +43,7 @@ import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.MetaDataRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
@@ -726,6 +727,7 @@ public class LogCommandSerializationV5_0Test {
         }
         if (inUse) {
             record.initialize(inUse, random.nextLong(), random.nextBoolean(), random.nextLong(), random.nextLong());
+            record.setInlinedPropertyBlocks(randomInlinedPropertyBlocks());
         }
 
         if (random.nextBoolean()) {
@@ -746,6 +748,13 @@ public class LogCommandSerializationV5_0Test {
         return record;
     }
 
+    private long[] randomInlinedPropertyBlocks() {
+        return random.random()
+                .longs()
+                .limit(random.nextInt(InlinedProperties.MAX_BLOCKS + 1))
+                .toArray();
+    }
+
     private List<DynamicRecord> randomLabelDynamicRecords(long nodeId, boolean mustIncludeUsed) {
         if (mustIncludeUsed || random.nextBoolean()) {
             var labels = random.random()
@@ -794,6 +803,7 @@ public class LogCommandSerializationV5_0Test {
                     random.nextLong(),
                     random.nextBoolean(),
                     random.nextBoolean());
+            record.setInlinedPropertyBlocks(randomInlinedPropertyBlocks());
         }
 
         if (random.nextBoolean()) {
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.columnar_node_properties;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.applyLogicalChanges;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.openSimpleStorageEngine;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.factory.primitive.LongSets;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongObjectMaps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.configuration.Config;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.lifecycle.Lifespan;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.PropertyKeyValue;
+import org.neo4j.storageengine.api.StorageProperty;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+@ExtendWith(RandomExtension.class)
+@EphemeralPageCacheExtension
+class NodePropertyColumnStoreTest {
+    private static final int TRANSACTION = 0;
+    private static final int ACCOUNT = 1;
+    private static final int AMOUNT = 0;
+    private static final int NOTE = 1;
+    private static final List<String> COLUMNS = List.of("Transaction:amount", "Transaction:note", "Account:balance");
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    private final MutableLongSet transactionNodes = LongSets.mutable.empty();
+    private final MutableLongObjectMap<Value> amounts = LongObjectMaps.mutable.empty();
+    private final MutableLongObjectMap<Value> notes = LongObjectMaps.mutable.empty();
+    private final List<Long> nodes = new ArrayList<>();
+    private RecordDatabaseLayout layout;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        layout = RecordDatabaseLayout.ofFlat(directory.homePath());
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            applyLogicalChanges(storageEngine, (state, tx) -> {
+                tx.visitCreatedLabelToken(TRANSACTION, "Transaction", false);
+                tx.visitCreatedLabelToken(ACCOUNT, "Account", false);
+                tx.visitCreatedPropertyKeyToken(AMOUNT, "amount", false);
+                tx.visitCreatedPropertyKeyToken(NOTE, "note", false);
+            });
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+    }
+
+    @Test
+    void shouldScanColumnsKeptUpToDateOnApply() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            try (RecordStorageReader reader = storageEngine.newReader()) {
+                assertThat(reader.hasNodePropertyColumn(TRANSACTION, AMOUNT)).isTrue();
+                assertThat(reader.hasNodePropertyColumn(TRANSACTION, NOTE)).isTrue();
+                assertThat(reader.hasNodePropertyColumn(ACCOUNT, AMOUNT)).isFalse();
+                assertThatThrownBy(() -> reader.allocateNodePropertyColumnCursor(
+                                ACCOUNT, AMOUNT, NULL_CONTEXT, StoreCursors.NULL, EmptyMemoryTracker.INSTANCE))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+
+            createNodes(storageEngine, 500);
+            assertColumns(storageEngine);
+
+            changeNodes(storageEngine, 200);
+            assertColumns(storageEngine);
+        }
+    }
+
+    @Test
+    void shouldBuildColumnsWhenMissing() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(List.of()));
+            createNodes(storageEngine, 500);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(NodePropertyColumnStore.file(layout, TRANSACTION, AMOUNT)))
+                .isFalse();
+
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            assertColumns(storageEngine);
+            changeNodes(storageEngine, 200);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            assertColumns(storageEngine);
+        }
+    }
+
+    @Test
+    void shouldDeleteColumnsNoLongerListed() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            createNodes(storageEngine, 500);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(NodePropertyColumnStore.file(layout, TRANSACTION, NOTE)))
+                .isTrue();
+
+        // when changing nodes while one of the columns isn't kept
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(List.of("Transaction:amount")));
+            changeNodes(storageEngine, 200);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(NodePropertyColumnStore.file(layout, TRANSACTION, AMOUNT)))
+                .isTrue();
+        assertThat(directory.getFileSystem().fileExists(NodePropertyColumnStore.file(layout, TRANSACTION, NOTE)))
+                .isFalse();
+
+        // then it's built again, including those changes
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(COLUMNS));
+            assertColumns(storageEngine);
+        }
+    }
+
+    private void assertColumns(RecordStorageEngine storageEngine) {
+        assertThat(scan(storageEngine, AMOUNT)).isEqualTo(expectedColumn(amounts));
+        assertThat(scan(storageEngine, NOTE)).isEqualTo(expectedColumn(notes));
+        try (RecordStorageReader reader = storageEngine.newReader();
+                StoreCursors storeCursors = storageEngine.createStorageCursors(NULL_CONTEXT);
+                NodePropertyColumnCursor cursor = reader.allocateNodePropertyColumnCursor(
+                        TRANSACTION, AMOUNT, NULL_CONTEXT, storeCursors, EmptyMemoryTracker.INSTANCE)) {
+            long node = random.among(nodes);
+            cursor.single(node);
+            Value expected = expectedColumn(amounts).get(node);
+            assertThat(cursor.next()).isEqualTo(expected != null);
+            if (expected != null) {
+                assertThat(cursor.nodeReference()).isEqualTo(node);
+                assertThat(cursor.propertyValue()).isEqualTo(expected);
+                assertThat(cursor.next()).isFalse();
+            }
+        }
+    }
+
+    private static MutableLongObjectMap<Value> scan(RecordStorageEngine storageEngine, int propertyKey) {
+        MutableLongObjectMap<Value> values = LongObjectMaps.mutable.empty();
+        try (RecordStorageReader reader = storageEngine.newReader();
+                StoreCursors storeCursors = storageEngine.createStorageCursors(NULL_CONTEXT);
+                NodePropertyColumnCursor cursor = reader.allocateNodePropertyColumnCursor(
+                        TRANSACTION, propertyKey, NULL_CONTEXT, storeCursors, EmptyMemoryTracker.INSTANCE)) {
+            cursor.scan();
+            long previous = -1;
+            while (cursor.next()) {
+                assertThat(cursor.nodeReference()).isGreaterThan(previous);
+                previous = cursor.nodeReference();
+                values.put(cursor.nodeReference(), cursor.propertyValue());
+            }
+        }
+        return values;
+    }
+
+    private MutableLongObjectMap<Value> expectedColumn(MutableLongObjectMap<Value> values) {
+        return values.select((node, value) -> transactionNodes.contains(node));
+    }
+
+    private void createNodes(RecordStorageEngine storageEngine, int count) throws Exception {
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            NodeStore nodeStore = storageEngine.testAccessNeoStores().getNodeStore();
+            for (int i = 0; i < count; i++) {
+                long node = nodeStore.nextId(NULL_CONTEXT);
+                nodes.add(node);
+                tx.visitCreatedNode(node);
+                int label = random.nextBoolean() ? TRANSACTION : ACCOUNT;
+                if (label == TRANSACTION) {
+                    transactionNodes.add(node);
+                }
+                tx.visitNodeLabelChanges(node, LongSets.immutable.of(label), LongSets.immutable.empty());
+                List<StorageProperty> properties = new ArrayList<>();
+                if (random.nextInt(5) > 0) {
+                    properties.add(setProperty(amounts, node, AMOUNT, randomAmount()));
+                }
+                if (random.nextBoolean()) {
+                    properties.add(setProperty(notes, node, NOTE, Values.stringValue(random.nextAlphaNumericString())));
+                }
+                tx.visitNodePropertyChanges(node, properties, List.of(), IntSets.immutable.empty());
+            }
+        });
+    }
+
+    private void changeNodes(RecordStorageEngine storageEngine, int count) throws Exception {
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            MutableLongSet changedNodes = LongSets.mutable.empty();
+            for (int i = 0; i < count && !nodes.isEmpty(); i++) {
+                long node = nodes.get(random.nextInt(nodes.size()));
+                if (!changedNodes.add(node)) {
+                    continue;
+                }
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        if (transactionNodes.remove(node)) {
+                            tx.visitNodeLabelChanges(
+                                    node, LongSets.immutable.empty(), LongSets.immutable.of(TRANSACTION));
+                        } else {
+                            transactionNodes.add(node);
+                            tx.visitNodeLabelChanges(
+                                    node, LongSets.immutable.of(TRANSACTION), LongSets.immutable.empty());
+                        }
+                    }
+                    case 1 -> {
+                        boolean existed = amounts.containsKey(node);
+                        StorageProperty property = setProperty(amounts, node, AMOUNT, randomAmount());
+                        tx.visitNodePropertyChanges(
+                                node,
+                                existed ? List.of() : List.of(property),
+                                existed ? List.of(property) : List.of(),
+                                IntSets.immutable.empty());
+                    }
+                    case 2 -> {
+                        if (amounts.remove(node) != null) {
+                            tx.visitNodePropertyChanges(node, List.of(), List.of(), IntSets.immutable.of(AMOUNT));
+                        }
+                    }
+                    default -> {
+                        nodes.remove(node);
+                        transactionNodes.remove(node);
+                        amounts.remove(node);
+                        notes.remove(node);
+                        tx.visitDeletedNode(node);
+                    }
+                }
+            }
+        });
+    }
+
+    private Value randomAmount() {
+        return switch (random.nextInt(6)) {
+            case 0 -> Values.intValue(random.nextInt());
+            case 1 -> Values.longValue(random.nextLong());
+            case 2 -> Values.doubleValue(random.nextDouble());
+            case 3 -> Values.floatValue(random.nextFloat());
+            case 4 -> Values.booleanValue(random.nextBoolean());
+            default -> Values.stringValue(random.nextAlphaNumericString());
+        };
+    }
+
+    private static StorageProperty setProperty(
+            MutableLongObjectMap<Value> values, long node, int propertyKey, Value value) {
+        values.put(node, value);
+        return new PropertyKeyValue(propertyKey, value);
+    }
+
+    private RecordStorageEngine openStorageEngine(List<String> columns) {
+        Config config = Config.defaults(columnar_node_properties, columns);
+        return openSimpleStorageEngine(directory.getFileSystem(), pageCache, layout, config);
+    }
+}
@@ -49,6 +49,7 @@ import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.StoreType;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
@@ -344,6 +345,52 @@ class PropertyCreatorTest {
         assertEquals(propCount + 1, propertyRecordsInUse());
     }
 
+    @Test
+    void shouldInlineSmallPropertiesAndMoveThemToChainWhenTheyNoLongerFit() {
+        // GIVEN
+        creator = new PropertyCreator(
+                propertyStore.getStringStore(),
+                propertyStore.getArrayStore(),
+                propertyStore,
+                new PropertyTraverser(),
+                cursorContext,
+                true);
+        long propCount = propertyRecordsInUse();
+
+        // WHEN
+        setProperty(0, 10);
+        setProperty(1, true);
+
+        // THEN
+        assertInlined(property(0, 10), property(1, true));
+        assertEquals(
+                Record.NO_NEXT_PROPERTY.longValue(),
+                primitive.forReadingLinkage().getNextProp());
+        assertEquals(propCount, propertyRecordsInUse());
+
+        // WHEN
+        String longString = "this is a really long string, believe me!";
+        setProperty(2, longString);
+        setProperty(0, 11);
+        setProperty(1, longString);
+
+        // THEN
+        assertInlined(property(0, 11));
+        assertChain(record(property(1, longString, true), property(2, longString, true)));
+        assertEquals(propCount + 1, propertyRecordsInUse());
+    }
+
+    private void assertInlined(ExpectedProperty... expectedProperties) {
+        long[] inlinedBlocks = primitive.forReadingData().getInlinedPropertyBlocks();
+        assertEquals(
+                expectedProperties.length, InlinedProperties.all(inlinedBlocks).size());
+        for (ExpectedProperty expectedProperty : expectedProperties) {
+            PropertyBlock block = InlinedProperties.get(inlinedBlocks, expectedProperty.key);
+            assertNotNull(block);
+            assertEquals(expectedProperty.value, block.getType().value(block, propertyStore, StoreCursors.NULL));
+        }
+    }
+
     private static void prepareDirtyGenerator(PropertyStore store) {
         var idGenerator = store.getIdGenerator();
         var marker = idGenerator.marker(NULL_CONTEXT);
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.PROPERTY_CURSOR;
+import static org.neo4j.io.IOUtils.closeAllUnchecked;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.EmptyVersionContextSupplier.EMPTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_LABELS_FIELD;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.kernel.impl.transaction.log.LogTailMetadata.EMPTY_LOG_TAIL;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongSets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+
+@EphemeralPageCacheExtension
+@EphemeralNeo4jLayoutExtension
+class PropertyPrefetcherTest {
+    private static final int NODES = 100;
+    private static final int PROPERTY_ID_STRIDE = 50;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    private final PageCacheTracer pageCacheTracer = new DefaultPageCacheTracer();
+    private final CursorContextFactory contextFactory = new CursorContextFactory(pageCacheTracer, EMPTY);
+    private NeoStores neoStores;
+    private StoreCursors storeCursors;
+    private CursorContext cursorContext;
+
+    @BeforeEach
+    void setUp() {
+        neoStores = new StoreFactory(
+                        databaseLayout,
+                        Config.defaults(),
+                        new DefaultIdGeneratorFactory(
+                                fileSystem, immediate(), pageCacheTracer, databaseLayout.getDatabaseName()),
+                        pageCache,
+                        pageCacheTracer,
+                        fileSystem,
+                        NullLogProvider.getInstance(),
+                        contextFactory,
+                        false,
+                        EMPTY_LOG_TAIL)
+                .openAllNeoStores();
+        storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT);
+        cursorContext = contextFactory.create("scan");
+    }
+
+    @AfterEach
+    void tearDown() {
+        closeAllUnchecked(cursorContext, storeCursors, neoStores);
+    }
+
+    @Test
+    void shouldTouchEachPropertyPageOfTheBatchOnce() {
+        // given
+        createNodesWithSpreadOutProperties();
+        PropertyPrefetcher prefetcher = new PropertyPrefetcher(
+                neoStores.getNodeStore(), neoStores.getPropertyStore(), NODES, 0, NODES - 1, cursorContext);
+        long pins = pageCacheTracer.pins();
+
+        // when
+        prefetcher.run();
+
+        // then the node page and each distinct property page of the batch are pinned once
+        assertThat(pageCacheTracer.pins() - pins).isEqualTo(1 + propertyPages(0, NODES));
+    }
+
+    @Test
+    void shouldOnlyTouchPropertyPagesOfNodesAheadOfTheScan() {
+        // given
+        createNodesWithSpreadOutProperties();
+        int distance = 10;
+        PropertyPrefetcher prefetcher = new PropertyPrefetcher(
+                neoStores.getNodeStore(), neoStores.getPropertyStore(), distance, 0, NODES - 1, cursorContext);
+        long pins = pageCacheTracer.pins();
+
+        // when the scan has already moved on to the last nodes of the batch
+        prefetcher.scannedUpTo(NODES - distance);
+        prefetcher.run();
+
+        // then
+        assertThat(pageCacheTracer.pins() - pins).isEqualTo(1 + propertyPages(NODES - distance, distance));
+    }
+
+    @Test
+    void shouldNotTouchAnythingWhenStopped() {
+        // given
+        createNodesWithSpreadOutProperties();
+        PropertyPrefetcher prefetcher = new PropertyPrefetcher(
+                neoStores.getNodeStore(), neoStores.getPropertyStore(), NODES, 0, NODES - 1, cursorContext);
+        long pins = pageCacheTracer.pins();
+
+        // when
+        prefetcher.stop();
+        prefetcher.run();
+
+        // then
+        assertThat(pageCacheTracer.pins()).isEqualTo(pins);
+    }
+
+    /**
+     * Creates nodes where every other one has properties, spread out over the property store.
+     */
+    private void createNodesWithSpreadOutProperties() {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        PropertyStore propertyStore = neoStores.getPropertyStore();
+        try (var nodeCursor = storeCursors.writeCursor(NODE_CURSOR);
+                var propertyCursor = storeCursors.writeCursor(PROPERTY_CURSOR)) {
+            for (long id = 0; id < NODES; id++) {
+                long nextProp = id % 2 == 0 ? id * PROPERTY_ID_STRIDE : NO_NEXT_PROPERTY.longValue();
+                nodeStore.updateRecord(
+                        new NodeRecord(id)
+                                .initialize(
+                                        true,
+                                        nextProp,
+                                        false,
+                                        NO_NEXT_RELATIONSHIP.longValue(),
+                                        NO_LABELS_FIELD.longValue()),
+                        nodeCursor,
+                        NULL_CONTEXT,
+                        StoreCursors.NULL);
+            }
+            PropertyRecord lastProperty = new PropertyRecord(NODES * PROPERTY_ID_STRIDE);
+            lastProperty.setInUse(true);
+            propertyStore.updateRecord(lastProperty, propertyCursor, NULL_CONTEXT, StoreCursors.NULL);
+        }
+    }
+
+    private long propertyPages(long fromNode, int count) {
+        MutableLongSet pages = LongSets.mutable.empty();
+        for (long id = fromNode; id < fromNode + count; id++) {
+            if (id % 2 == 0) {
+                pages.add(id * PROPERTY_ID_STRIDE / neoStores.getPropertyStore().getRecordsPerPage());
+            }
+        }
+        return pages.size();
+    }
+}
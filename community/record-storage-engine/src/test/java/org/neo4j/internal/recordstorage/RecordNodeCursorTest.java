@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -35,8 +36,13 @@ import static org.mockito.Mockito.when;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.kernel.impl.store.record.Record.NO_LABELS_FIELD;
 import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
 
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.counts.NodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
@@ -139,4 +145,48 @@ class RecordNodeCursorTest {
         verify(relationshipStore).getRecordByCursor(eq(relationshipId), any(), any(), any());
         verify(relationshipStore, never()).getRecordByCursor(eq(nextRelationshipId), any(), any(), any());
     }
+
+    @Test
+    void shouldLookUpDegreesOfSparseNodeForSelectedTypes() {
+        // given
+        NodeStore nodeStore = mock(NodeStore.class);
+        long nodeId = 5;
+        when(nodeStore.getHighestPossibleIdInUse(NULL_CONTEXT)).thenReturn(nodeId + 1);
+        doAnswer(invocationOnMock -> {
+                    long id = invocationOnMock.getArgument(0);
+                    NodeRecord record = invocationOnMock.getArgument(1);
+                    record.setId(id);
+                    record.initialize(true, NULL_REFERENCE.longValue(), false, 99, NO_LABELS_FIELD.longValue());
+                    return null;
+                })
+                .when(nodeStore)
+                .getRecordByCursor(eq(nodeId), any(), any(), any());
+        RelationshipStore relationshipStore = mock(RelationshipStore.class);
+        NodeDegreesStore nodeDegreesStore = mock(NodeDegreesStore.class);
+        when(nodeDegreesStore.degree(nodeId, 1, OUTGOING, NULL_CONTEXT)).thenReturn(3L);
+        when(nodeDegreesStore.degree(nodeId, 1, LOOP, NULL_CONTEXT)).thenReturn(1L);
+        when(nodeDegreesStore.degree(nodeId, 2, OUTGOING, NULL_CONTEXT)).thenReturn(7L);
+        RecordNodeCursor nodeCursor = new RecordNodeCursor(
+                nodeStore,
+                relationshipStore,
+                null,
+                null,
+                null,
+                nodeDegreesStore,
+                0,
+                null,
+                NULL_CONTEXT,
+                StoreCursors.NULL);
+
+        // when
+        nodeCursor.single(nodeId);
+        assertThat(nodeCursor.next()).isTrue();
+        SingleDegree mutator = new SingleDegree();
+        nodeCursor.degrees(RelationshipSelection.selection(new int[] {1, 2, 1}, Direction.OUTGOING), mutator);
+
+        // then
+        assertThat(mutator.getTotal()).isEqualTo(3 + 1 + 7);
+        verifyNoInteractions(relationshipStore);
+        verify(nodeDegreesStore, never()).degree(anyLong(), anyInt(), eq(INCOMING), any());
+    }
 }
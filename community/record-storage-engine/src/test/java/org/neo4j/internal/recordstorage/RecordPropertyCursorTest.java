@@ -20,6 +20,7 @@
 package org.neo4j.internal.recordstorage;
 
 import static java.lang.String.format;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -62,6 +63,7 @@ import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
 import org.neo4j.kernel.impl.store.format.RecordFormats;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
@@ -262,6 +264,37 @@ public class RecordPropertyCursorTest {
         assertThat(valueMapping.isEmpty()).isTrue();
     }
 
+    @Test
+    void shouldReadInlinedPropertiesBeforePropertyChain() {
+        // given
+        Value[] values = createValues(4, 10);
+        List<PropertyBlock> blocks = blocksOf(neoStores.getPropertyStore(), values);
+        long[] inlinedBlocks = EMPTY_LONG_ARRAY;
+        List<PropertyBlock> chainBlocks = new ArrayList<>();
+        for (PropertyBlock block : blocks) {
+            if (InlinedProperties.fits(inlinedBlocks, block)) {
+                inlinedBlocks = InlinedProperties.with(inlinedBlocks, block);
+            } else {
+                chainBlocks.add(block);
+            }
+        }
+        DirectRecordAccessSet access = new DirectRecordAccessSet(neoStores, idGeneratorFactory, NULL_CONTEXT);
+        long firstPropertyId = createPropertyChain(owner, chainBlocks, access.getPropertyRecords());
+        access.commit();
+        owner.setNextProp(firstPropertyId);
+        owner.setInlinedPropertyBlocks(inlinedBlocks);
+
+        // when
+        Map<Integer, Value> expectedValues = asMap(values);
+        RecordPropertyCursor cursor = createCursor();
+        cursor.initNodeProperties(InlinedPropertiesReference.propertiesReference(owner), ALL_PROPERTIES, owner.getId());
+        while (cursor.next()) {
+            // then
+            assertEquals(expectedValues.remove(cursor.propertyKey()), cursor.propertyValue());
+        }
+        assertTrue(expectedValues.isEmpty());
+    }
+
     protected RecordPropertyCursor createCursor() {
         return new RecordPropertyCursor(neoStores.getPropertyStore(), NULL_CONTEXT, INSTANCE);
     }
@@ -51,6 +51,7 @@ import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.RelationshipBatch;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
@@ -178,6 +179,42 @@ class RecordRelationshipScanCursorTest {
         }
     }
 
+    @Test
+    void shouldReadAllInUseRelationshipsInColumnarBatches() {
+        // given
+        RelationshipStore relationshipStore = neoStores.getRelationshipStore();
+        int count = 1_000;
+        relationshipStore.setHighId(count + 1);
+        Set<Long> expected = new HashSet<>();
+        try (var cursor = storeCursors.writeCursor(RELATIONSHIP_CURSOR)) {
+            for (long id = 0; id < count; id++) {
+                boolean inUse = random.nextBoolean();
+                createRelationshipRecord(id, (int) (id % 5), relationshipStore, cursor, inUse);
+                if (inUse) {
+                    expected.add(id);
+                }
+            }
+        }
+
+        // when
+        RelationshipBatch batch = new RelationshipBatch(random.nextInt(1, 300));
+        try (RecordRelationshipScanCursor cursor = createRelationshipCursor()) {
+            cursor.scan();
+            while (cursor.nextBatch(batch)) {
+                // then
+                for (int i = 0; i < batch.size(); i++) {
+                    long id = batch.ids()[i];
+                    assertThat(expected.remove(id)).as("relationship " + id).isTrue();
+                    assertThat(batch.types()[i]).isEqualTo((int) (id % 5));
+                    assertThat(batch.sourceNodes()[i]).isEqualTo(1);
+                    assertThat(batch.targetNodes()[i]).isEqualTo(2);
+                }
+            }
+            assertThat(cursor.next()).isFalse();
+        }
+        assertThat(expected).isEmpty();
+    }
+
     private void assertSeesRelationships(Set<Long> expected) {
         try (RecordRelationshipScanCursor cursor = createRelationshipCursor()) {
             cursor.scan();
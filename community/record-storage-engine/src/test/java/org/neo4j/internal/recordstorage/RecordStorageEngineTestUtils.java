@@ -49,6 +49,7 @@ import org.neo4j.lock.ResourceLocker;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.StandardConstraintRuleAccessor;
 import org.neo4j.storageengine.api.StorageCommand;
@@ -72,6 +73,7 @@ public class RecordStorageEngineTestUtils {
                 layout,
                 config,
                 pageCache,
+                mock(JobScheduler.class),
                 fs,
                 NullLogProvider.getInstance(),
                 NullLogProvider.getInstance(),
@@ -29,8 +29,10 @@ import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.StandaloneDynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.InlinedProperties;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
@@ -50,6 +52,7 @@ public class LimitedRecordGenerators implements RecordGenerators {
     private final int tokenBits;
     private final long nullValue;
     private final float fractionNullValues;
+    private final boolean inlineProperties;
 
     public LimitedRecordGenerators(
             RandomValues random,
@@ -66,6 +69,7 @@ public class LimitedRecordGenerators implements RecordGenerators {
         this.tokenBits = tokenBits;
         this.nullValue = nullValue;
         this.fractionNullValues = 0.2f;
+        this.inlineProperties = formats.hasCapability(RecordStorageCapability.INLINED_PROPERTIES);
     }
 
     @Override
@@ -96,7 +100,7 @@ public class LimitedRecordGenerators implements RecordGenerators {
 
     @Override
     public Generator<RelationshipRecord> relationship() {
-        return (recordSize, format, recordId) -> new RelationshipRecord(recordId)
+        return (recordSize, format, recordId) -> withRandomInlinedProperties(new RelationshipRecord(recordId)
                 .initialize(
                         random.nextBoolean(),
                         randomLongOrOccasionallyNull(propertyBits),
@@ -108,7 +112,7 @@ public class LimitedRecordGenerators implements RecordGenerators {
                         randomLongOrOccasionallyNull(entityBits),
                         randomLongOrOccasionallyNull(entityBits),
                         random.nextBoolean(),
-                        random.nextBoolean());
+                        random.nextBoolean()));
     }
 
     @Override
@@ -151,13 +155,36 @@ public class LimitedRecordGenerators implements RecordGenerators {
 
     @Override
     public Generator<NodeRecord> node() {
-        return (recordSize, format, recordId) -> new NodeRecord(recordId)
+        return (recordSize, format, recordId) -> withRandomInlinedProperties(new NodeRecord(recordId)
                 .initialize(
                         random.nextBoolean(),
                         randomLongOrOccasionallyNull(propertyBits),
                         random.nextBoolean(),
                         randomLongOrOccasionallyNull(entityBits),
-                        randomLongOrOccasionallyNull(nodeLabelBits, 0));
+                        randomLongOrOccasionallyNull(nodeLabelBits, 0)));
+    }
+
+    private <R extends PrimitiveRecord> R withRandomInlinedProperties(R record) {
+        if (inlineProperties && record.inUse()) {
+            long[] inlinedBlocks = record.getInlinedPropertyBlocks();
+            int numberOfProperties = random.nextInt(InlinedProperties.MAX_BLOCKS + 1);
+            for (int i = 0; i < numberOfProperties; i++) {
+                PropertyBlock block = new PropertyBlock();
+                PropertyStore.encodeValue(
+                        block,
+                        random.nextInt(tokenBits),
+                        random.nextValue(),
+                        new StandaloneDynamicRecordAllocator(),
+                        new StandaloneDynamicRecordAllocator(),
+                        CursorContext.NULL_CONTEXT,
+                        INSTANCE);
+                if (InlinedProperties.fits(inlinedBlocks, block)) {
+                    inlinedBlocks = InlinedProperties.with(inlinedBlocks, block);
+                }
+            }
+            record.setInlinedPropertyBlocks(inlinedBlocks);
+        }
+        return record;
     }
 
     @Override
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storemigration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseSettings.dense_node_threshold;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineFactory.createMigrationTargetSchemaRuleAccess;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.applyLogicalChanges;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.openSimpleStorageEngine;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+import static org.neo4j.kernel.impl.transaction.log.LogTailMetadata.EMPTY_LOG_TAIL;
+import static org.neo4j.storageengine.api.PropertySelection.ALL_PROPERTIES;
+import static org.neo4j.token.api.TokenConstants.ANY_LABEL;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectLongMaps;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.batchimport.StandardBatchImporterFactory;
+import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
+import org.neo4j.internal.helpers.collection.Iterables;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.RecordStorageEngine;
+import org.neo4j.internal.recordstorage.SchemaStorage;
+import org.neo4j.internal.schema.ConstraintDescriptor;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.internal.schema.SchemaRule;
+import org.neo4j.internal.schema.constraints.ConstraintDescriptorFactory;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications.RelationshipData;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.lifecycle.Lifespan;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.logging.internal.NullLogService;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.PropertyKeyValue;
+import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.storageengine.api.StorageEntityCursor;
+import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
+import org.neo4j.storageengine.api.StorageReader;
+import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
+import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.api.txstate.LongDiffSets;
+import org.neo4j.storageengine.api.txstate.NodeState;
+import org.neo4j.storageengine.migration.SchemaRuleMigrationAccess;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+@ExtendWith(RandomExtension.class)
+@EphemeralPageCacheExtension
+class RecordStoreDefragmenterTest {
+    private static final int NUM_NODES = 50;
+    private static final int NUM_TYPES = 3;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    private final Config config = Config.defaults(dense_node_threshold, 10);
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void setUp() {
+        jobScheduler = new ThreadPoolJobScheduler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldKeepNodesRelationshipsAndPropertiesWhenDefragmenting() throws Exception {
+        // given a store where relationships have been created and deleted over a couple of rounds
+        RecordDatabaseLayout layout = RecordDatabaseLayout.ofFlat(directory.directory("db"));
+        MutableLongObjectMap<Value> expectedNodes = LongObjectMaps.mutable.empty();
+        List<RelationshipData> expectedRelationships = new ArrayList<>();
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openSimpleStorageEngine(fs, pageCache, layout, config));
+            createData(storageEngine, expectedNodes, expectedRelationships);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        List<SchemaRule> expectedSchemaRules = createSchemaRules(layout);
+
+        // when
+        defragmenter()
+                .defragment(
+                        layout,
+                        RecordDatabaseLayout.ofFlat(directory.directory("defragmentation")),
+                        ExecutionMonitor.INVISIBLE);
+
+        // then
+        assertThat(fs.fileExists(directory.homePath().resolve("defragmentation")))
+                .isFalse();
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openSimpleStorageEngine(fs, pageCache, layout, config));
+            try (StorageReader reader = storageEngine.newReader();
+                    StoreCursors storeCursors = storageEngine.createStorageCursors(NULL_CONTEXT);
+                    StorageNodeCursor nodeCursor = reader.allocateNodeCursor(NULL_CONTEXT, storeCursors);
+                    StorageRelationshipScanCursor relationshipCursor =
+                            reader.allocateRelationshipScanCursor(NULL_CONTEXT, storeCursors);
+                    StorageRelationshipTraversalCursor traversalCursor =
+                            reader.allocateRelationshipTraversalCursor(NULL_CONTEXT, storeCursors);
+                    StoragePropertyCursor propertyCursor =
+                            reader.allocatePropertyCursor(NULL_CONTEXT, storeCursors, EmptyMemoryTracker.INSTANCE)) {
+                MutableLongObjectMap<Value> nodes = LongObjectMaps.mutable.empty();
+                MutableObjectLongMap<List<Object>> degrees = ObjectLongMaps.mutable.empty();
+                nodeCursor.scan();
+                while (nodeCursor.next()) {
+                    nodes.put(nodeCursor.entityReference(), singlePropertyValue(nodeCursor, propertyCursor));
+                    nodeCursor.relationships(traversalCursor, RelationshipSelection.ALL_RELATIONSHIPS);
+                    while (traversalCursor.next()) {
+                        degrees.addToValue(List.of(nodeCursor.entityReference(), traversalCursor.type()), 1);
+                    }
+                }
+                assertThat(nodes).isEqualTo(expectedNodes);
+
+                MutableObjectLongMap<List<Object>> relationships = ObjectLongMaps.mutable.empty();
+                relationshipCursor.scan();
+                while (relationshipCursor.next()) {
+                    relationships.addToValue(
+                            List.of(
+                                    relationshipCursor.sourceNodeReference(),
+                                    relationshipCursor.targetNodeReference(),
+                                    relationshipCursor.type(),
+                                    singlePropertyValue(relationshipCursor, propertyCursor)),
+                            1);
+                }
+                assertThat(relationships).isEqualTo(relationships(expectedRelationships));
+                assertThat(degrees).isEqualTo(degrees(expectedRelationships));
+            }
+            assertThat(storageEngine
+                            .countsAccessor()
+                            .relationshipCount(ANY_LABEL, ANY_RELATIONSHIP_TYPE, ANY_LABEL, NULL_CONTEXT))
+                    .isEqualTo(expectedRelationships.size());
+        }
+        assertSchemaRules(layout, expectedSchemaRules);
+    }
+
+    private RecordStoreDefragmenter defragmenter() {
+        return new RecordStoreDefragmenter(
+                fs,
+                pageCache,
+                PageCacheTracer.NULL,
+                config,
+                NullLogService.getInstance(),
+                jobScheduler,
+                NULL_CONTEXT_FACTORY,
+                new StandardBatchImporterFactory(),
+                EmptyMemoryTracker.INSTANCE);
+    }
+
+    private List<SchemaRule> createSchemaRules(RecordDatabaseLayout layout) throws Exception {
+        try (NeoStores stores = storeFactory(layout).openAllNeoStores();
+                SchemaRuleMigrationAccess schemaAccess = createMigrationTargetSchemaRuleAccess(
+                        stores, NULL_CONTEXT_FACTORY, EmptyMemoryTracker.INSTANCE)) {
+            stores.start(NULL_CONTEXT);
+            IndexDescriptor index = IndexPrototype.forSchema(SchemaDescriptors.forLabel(0, 0))
+                    .withName("index")
+                    .materialise(schemaAccess.nextId());
+            long constraintId = schemaAccess.nextId();
+            IndexDescriptor constraintIndex = IndexPrototype.uniqueForSchema(SchemaDescriptors.forLabel(1, 0))
+                    .withName("constraint")
+                    .materialise(schemaAccess.nextId())
+                    .withOwningConstraintId(constraintId);
+            ConstraintDescriptor constraint = ConstraintDescriptorFactory.uniqueForSchema(
+                            constraintIndex.schema(), IndexType.RANGE)
+                    .withName("constraint")
+                    .withId(constraintId)
+                    .withOwnedIndexId(constraintIndex.getId());
+            List<SchemaRule> rules = List.of(index, constraintIndex, constraint);
+            for (SchemaRule rule : rules) {
+                schemaAccess.writeSchemaRule(rule);
+            }
+            stores.flush(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+            return rules;
+        }
+    }
+
+    private void assertSchemaRules(RecordDatabaseLayout layout, List<SchemaRule> expectedSchemaRules) {
+        try (NeoStores stores = storeFactory(layout).openAllNeoStores();
+                CachedStoreCursors storeCursors = new CachedStoreCursors(stores, NULL_CONTEXT)) {
+            stores.start(NULL_CONTEXT);
+            SchemaStorage schemaStorage = new SchemaStorage(
+                    stores.getSchemaStore(), RecordStorageMigrator.createTokenHolders(stores, storeCursors));
+            List<SchemaRule> schemaRules = Iterables.asList(schemaStorage.getAll(storeCursors));
+            assertThat(schemaRules).containsExactlyInAnyOrderElementsOf(expectedSchemaRules);
+            // Constraints are equal regardless of their ids and names, so compare those separately
+            assertThat(schemaRules)
+                    .extracting(SchemaRule::getId, SchemaRule::getName)
+                    .containsExactlyInAnyOrderElementsOf(expectedSchemaRules.stream()
+                            .map(rule -> tuple(rule.getId(), rule.getName()))
+                            .toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StoreFactory storeFactory(RecordDatabaseLayout layout) {
+        return new StoreFactory(
+                layout,
+                config,
+                new DefaultIdGeneratorFactory(fs, immediate(), PageCacheTracer.NULL, layout.getDatabaseName()),
+                pageCache,
+                PageCacheTracer.NULL,
+                fs,
+                NullLogProvider.getInstance(),
+                NULL_CONTEXT_FACTORY,
+                false,
+                EMPTY_LOG_TAIL);
+    }
+
+    private void createData(
+            RecordStorageEngine storageEngine,
+            MutableLongObjectMap<Value> expectedNodes,
+            List<RelationshipData> expectedRelationships)
+            throws Exception {
+        long[] nodes = new long[NUM_NODES];
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            for (int i = 0; i < NUM_TYPES; i++) {
+                tx.visitCreatedRelationshipTypeToken(i, "TYPE_" + i, false);
+            }
+            tx.visitCreatedPropertyKeyToken(0, "key", false);
+            tx.visitCreatedLabelToken(0, "Label", false);
+            tx.visitCreatedLabelToken(1, "UniqueLabel", false);
+            for (int i = 0; i < NUM_NODES; i++) {
+                nodes[i] = storageEngine.testAccessNeoStores().getNodeStore().nextId(NULL_CONTEXT);
+                tx.visitCreatedNode(nodes[i]);
+                Value value = Values.stringValue(random.nextAlphaNumericString(1, 100));
+                tx.visitNodePropertyChanges(
+                        nodes[i], List.of(new PropertyKeyValue(0, value)), List.of(), IntSets.immutable.empty());
+                expectedNodes.put(nodes[i], value);
+            }
+        });
+
+        for (int round = 0; round < 3; round++) {
+            List<RelationshipData> creations = new ArrayList<>();
+            for (int i = 0; i < NUM_NODES * 5; i++) {
+                creations.add(new RelationshipData(
+                        storageEngine
+                                .testAccessNeoStores()
+                                .getRelationshipStore()
+                                .nextId(NULL_CONTEXT),
+                        random.nextInt(NUM_TYPES),
+                        random.among(nodes),
+                        random.among(nodes),
+                        List.of(new PropertyKeyValue(0, Values.longValue(random.nextLong())))));
+            }
+            List<RelationshipData> deletions = new ArrayList<>();
+            expectedRelationships.removeIf(relationship -> random.nextBoolean() && deletions.add(relationship));
+            expectedRelationships.addAll(creations);
+            applyLogicalChanges(storageEngine, (state, tx) -> {
+                NodeState nodeState = mock(NodeState.class);
+                when(nodeState.labelDiffSets()).thenReturn(LongDiffSets.EMPTY);
+                when(state.getNodeState(anyLong())).thenReturn(nodeState);
+                tx.visitRelationshipModifications(new FlatRelationshipModifications(
+                        creations.toArray(new RelationshipData[0]), deletions.toArray(new RelationshipData[0])));
+            });
+        }
+    }
+
+    private static Value singlePropertyValue(StorageEntityCursor entityCursor, StoragePropertyCursor propertyCursor) {
+        entityCursor.properties(propertyCursor, ALL_PROPERTIES);
+        assertThat(propertyCursor.next()).isTrue();
+        Value value = propertyCursor.propertyValue();
+        assertThat(propertyCursor.next()).isFalse();
+        return value;
+    }
+
+    private static MutableObjectLongMap<List<Object>> relationships(List<RelationshipData> relationships) {
+        MutableObjectLongMap<List<Object>> result = ObjectLongMaps.mutable.empty();
+        for (RelationshipData relationship : relationships) {
+            result.addToValue(
+                    List.of(
+                            relationship.startNode(),
+                            relationship.endNode(),
+                            relationship.type(),
+                            relationship.properties().iterator().next().value()),
+                    1);
+        }
+        return result;
+    }
+
+    private static MutableObjectLongMap<List<Object>> degrees(List<RelationshipData> relationships) {
+        MutableObjectLongMap<List<Object>> result = ObjectLongMaps.mutable.empty();
+        for (RelationshipData relationship : relationships) {
+            result.addToValue(List.of(relationship.startNode(), relationship.type()), 1);
+            if (relationship.startNode() != relationship.endNode()) {
+                result.addToValue(List.of(relationship.endNode(), relationship.type()), 1);
+            }
+        }
+        return result;
+    }
+}
@@ -53,6 +53,7 @@ import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.monitoring.Health;
 import org.neo4j.monitoring.PanicEventGenerator;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.ConstraintRuleAccessor;
 import org.neo4j.storageengine.api.IndexUpdateListener;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
@@ -242,6 +243,7 @@ public class RecordStorageEngineSupport {
                     databaseLayout,
                     config,
                     pageCache,
+                    mock(JobScheduler.class),
                     fs,
                     internalLogProvider,
                     userLogProvider,
@@ -103,6 +103,15 @@ public interface IndexCapability {
      */
     boolean supportPartitionedScan(IndexQuery... queries);
 
+    /**
+     * Can a composite index be queried without constraining its first property, as long as a property after it is constrained.
+     * Such queries skip over the distinct values of the first property, so their cost grows with the number of those values
+     * rather than with the number of entries in the index.
+     */
+    default boolean supportsSkipScan() {
+        return false;
+    }
+
     /**
      * @return an array of behaviours that are particular to the implementation or configuration of this index.
      * It could be anything that planning could look at and either try to avoid, seek out, or issue warning for.
@@ -20,6 +20,7 @@
 package org.neo4j.internal.schema;
 
 import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
 import static org.neo4j.internal.schema.SchemaUserDescription.TOKEN_ID_NAME_LOOKUP;
 
 import java.util.ArrayList;
@@ -28,6 +29,7 @@ import java.util.List;
 import java.util.OptionalLong;
 import java.util.stream.Stream;
 import org.neo4j.common.TokenNameLookup;
+import org.neo4j.values.storable.IntArray;
 
 public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaRule {
     /**
@@ -37,6 +39,11 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
     public static final IndexDescriptor NO_INDEX = new IndexDescriptor();
     // Needs to be possible to create IndexDescriptors with this special id during migration
     public static final long FORMER_LABEL_SCAN_STORE_ID = -2;
+    /**
+     * Index config setting with the ids of the properties which a {@link IndexType#RANGE range} index stores together with its
+     * entries, in addition to the properties of its schema, as an int array.
+     */
+    public static final String INCLUDED_PROPERTIES_SETTING = "range.included_properties";
 
     private final long id;
     private final String name;
@@ -47,6 +54,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
     private final IndexCapability capability;
     private final IndexType indexType;
     private final IndexConfig indexConfig;
+    private final int[] includedPropertyIds;
 
     IndexDescriptor(long id, IndexPrototype prototype) {
         this(
@@ -92,6 +100,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         this.capability = capability;
         this.indexType = indexType;
         this.indexConfig = indexConfig;
+        this.includedPropertyIds = includedPropertyIds(indexType, indexConfig);
     }
 
     /**
@@ -107,6 +116,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         this.capability = IndexCapability.NO_CAPABILITY;
         this.indexType = IndexType.RANGE;
         this.indexConfig = IndexConfig.empty();
+        this.includedPropertyIds = EMPTY_INT_ARRAY;
     }
 
     @Override
@@ -150,6 +160,24 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         return indexConfig;
     }
 
+    /**
+     * @return the ids of the properties, not part of the schema of this index, whose values are stored together with the entries
+     * of this index. Only range indexes can have included properties, see {@link #INCLUDED_PROPERTIES_SETTING}.
+     */
+    @Override
+    public int[] getIncludedPropertyIds() {
+        return includedPropertyIds;
+    }
+
+    private static int[] includedPropertyIds(IndexType indexType, IndexConfig indexConfig) {
+        if (indexType != IndexType.RANGE) {
+            return EMPTY_INT_ARRAY;
+        }
+        return indexConfig.get(INCLUDED_PROPERTIES_SETTING) instanceof IntArray included
+                ? included.asObjectCopy()
+                : EMPTY_INT_ARRAY;
+    }
+
     /**
      * Produce a new index descriptor that is the same as this index descriptor in every way, except it has the given index config.
      * @param indexConfig The index config of the new index descriptor.
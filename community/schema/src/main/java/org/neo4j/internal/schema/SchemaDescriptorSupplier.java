@@ -19,11 +19,21 @@
  */
 package org.neo4j.internal.schema;
 
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
+
 import org.neo4j.common.TokenNameLookup;
 
 public interface SchemaDescriptorSupplier {
     SchemaDescriptor schema();
 
+    /**
+     * @return ids of properties which aren't part of the {@link #schema() schema}, but whose values are kept together with the
+     * values of the schema properties, like the included properties of an index.
+     */
+    default int[] getIncludedPropertyIds() {
+        return EMPTY_INT_ARRAY;
+    }
+
     /**
      * Produce a user-friendly description of this schema entity.
      *
@@ -38,6 +38,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
+import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.impl.factory.Sets;
 import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
@@ -183,6 +184,17 @@ public class SchemaCache {
                 entityType, changedEntityTokens, unchangedEntityTokens, properties, propertyListIsComplete);
     }
 
+    /**
+     * Returns the value indexes that have any of the given properties as an included property, as opposed to the indexes returned
+     * by {@link #getValueIndexesRelatedTo(long[], long[], int[], boolean, EntityType)}, which are related by their key properties.
+     * An index can be returned by both.
+     */
+    public Set<IndexDescriptor> getValueIndexesWithIncludedPropertiesRelatedTo(
+            long[] changedEntityTokens, long[] unchangedEntityTokens, int[] properties, EntityType entityType) {
+        return schemaCacheState.getIndexesWithIncludedPropertiesRelatedTo(
+                entityType, changedEntityTokens, unchangedEntityTokens, properties);
+    }
+
     public Collection<IndexBackedConstraintDescriptor> getUniquenessConstraintsRelatedTo(
             long[] changedLabels,
             long[] unchangedLabels,
@@ -218,6 +230,8 @@ public class SchemaCache {
         private final Map<TypeDescriptorKey, IndexDescriptor> indexesBySchemaAndType;
         private final SchemaDescriptorLookupSet<IndexDescriptor> indexesByNode;
         private final SchemaDescriptorLookupSet<IndexDescriptor> indexesByRelationship;
+        // Indexes are also related to changes of their included properties, which the lookup sets don't know about
+        private final Set<IndexDescriptor> indexesWithIncludedProperties;
         private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> uniquenessConstraintsByNode;
         private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> uniquenessConstraintsByRelationship;
         private final Map<String, IndexDescriptor> indexesByName;
@@ -245,6 +259,7 @@ public class SchemaCache {
             this.indexesBySchemaAndType = new HashMap<>();
             this.indexesByNode = new SchemaDescriptorLookupSet<>();
             this.indexesByRelationship = new SchemaDescriptorLookupSet<>();
+            this.indexesWithIncludedProperties = new HashSet<>();
             this.uniquenessConstraintsByNode = new SchemaDescriptorLookupSet<>();
             this.uniquenessConstraintsByRelationship = new SchemaDescriptorLookupSet<>();
             this.indexesByName = new HashMap<>();
@@ -267,6 +282,7 @@ public class SchemaCache {
             this.indexesBySchemaAndType = new HashMap<>(schemaCacheState.indexesBySchemaAndType);
             this.indexesByNode = new SchemaDescriptorLookupSet<>();
             this.indexesByRelationship = new SchemaDescriptorLookupSet<>();
+            this.indexesWithIncludedProperties = new HashSet<>(schemaCacheState.indexesWithIncludedProperties);
             this.uniquenessConstraintsByNode = new SchemaDescriptorLookupSet<>();
             this.uniquenessConstraintsByRelationship = new SchemaDescriptorLookupSet<>();
             // Now fill the node/relationship sets
@@ -394,6 +410,44 @@ public class SchemaCache {
                             set, changedEntityTokens, unchangedEntityTokens, properties, propertyListIsComplete));
         }
 
+        Set<IndexDescriptor> getIndexesWithIncludedPropertiesRelatedTo(
+                EntityType entityType, long[] changedEntityTokens, long[] unchangedEntityTokens, int[] properties) {
+            if (indexesWithIncludedProperties.isEmpty()) {
+                return emptySet();
+            }
+            Set<IndexDescriptor> descriptors = new HashSet<>();
+            for (IndexDescriptor index : indexesWithIncludedProperties) {
+                SchemaDescriptor schema = index.schema();
+                if (schema.entityType() == entityType
+                        && (schema.isAffected(changedEntityTokens) || schema.isAffected(unchangedEntityTokens))
+                        && containsAny(properties, index.getIncludedPropertyIds())) {
+                    descriptors.add(index);
+                }
+            }
+            return descriptors;
+        }
+
+        private boolean hasIndexWithIncludedPropertyRelated(long[] tokens, int propertyKey, EntityType entityType) {
+            for (IndexDescriptor index : indexesWithIncludedProperties) {
+                SchemaDescriptor schema = index.schema();
+                if (schema.entityType() == entityType
+                        && schema.isAffected(tokens)
+                        && ArrayUtils.contains(index.getIncludedPropertyIds(), propertyKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean containsAny(int[] properties, int[] candidates) {
+            for (int candidate : candidates) {
+                if (ArrayUtils.contains(properties, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         Set<IndexBackedConstraintDescriptor> getUniquenessConstraintsRelatedTo(
                 EntityType entityType,
                 long[] changedEntityTokens,
@@ -455,7 +509,8 @@ public class SchemaCache {
 
         boolean hasRelatedSchema(long[] tokens, int propertyKey, EntityType entityType) {
             return selectIndexSetByEntityType(entityType).has(tokens, propertyKey)
-                    || selectUniquenessConstraintSetByEntityType(entityType).has(tokens, propertyKey);
+                    || selectUniquenessConstraintSetByEntityType(entityType).has(tokens, propertyKey)
+                    || hasIndexWithIncludedPropertyRelated(tokens, propertyKey, entityType);
         }
 
         boolean hasRelatedSchema(int token, EntityType entityType) {
@@ -497,6 +552,9 @@ public class SchemaCache {
                 indexesBySchemaAndType.put(new TypeDescriptorKey(index.getIndexType(), schema), index);
                 indexesByName.put(rule.getName(), index);
                 selectIndexSetByEntityType(schema.entityType()).add(index);
+                if (index.getIncludedPropertyIds().length > 0) {
+                    indexesWithIncludedProperties.add(index);
+                }
             }
         }
 
@@ -521,6 +579,7 @@ public class SchemaCache {
                 indexesBySchemaAndType.remove(new TypeDescriptorKey(index.getIndexType(), schema));
                 indexesByName.remove(index.getName(), index);
                 selectIndexSetByEntityType(schema.entityType()).remove(index);
+                indexesWithIncludedProperties.remove(index);
             }
         }
     }
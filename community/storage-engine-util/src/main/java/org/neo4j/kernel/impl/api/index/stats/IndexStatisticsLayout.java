@@ -22,15 +22,32 @@ package org.neo4j.kernel.impl.api.index.stats;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 
 /**
  * {@link GBPTree} layout in {@link IndexStatisticsStore}, using {@link IndexStatisticsKey} and {@link IndexStatisticsValue}.
  */
 public class IndexStatisticsLayout extends Layout.Adapter<IndexStatisticsKey, IndexStatisticsValue> {
+    // Formats of the values, which all fit in the fixed value size. The format of a tree is kept in its header and
+    // values in trees of older formats have stale data after the fields of their format
+    static final byte FORMAT_COUNTS = 0;
+    static final byte FORMAT_UNIQUE_VALUES_ERROR = 1;
+    static final byte FORMAT_VALUE_HISTOGRAM = 2;
+    static final byte CURRENT_FORMAT = FORMAT_VALUE_HISTOGRAM;
+
+    private volatile byte format = FORMAT_COUNTS;
+
     public IndexStatisticsLayout() {
         super(true, 556_677, 0, 2);
     }
 
+    /**
+     * Values are read according to the format of the tree, as found in its header.
+     */
+    void setFormat(byte format) {
+        this.format = format;
+    }
+
     @Override
     public IndexStatisticsKey newKey() {
         return new IndexStatisticsKey();
@@ -68,6 +85,21 @@ public class IndexStatisticsLayout extends Layout.Adapter<IndexStatisticsKey, In
         cursor.putLong(value.getSampleSize());
         cursor.putLong(value.getUpdatesCount());
         cursor.putLong(value.getIndexSize());
+        cursor.putLong(Double.doubleToLongBits(value.getUniqueValuesError()));
+        IndexValueHistogram histogram = value.getValueHistogram();
+        double[] boundaries = histogram.boundaries();
+        double[] mostCommonValues = histogram.mostCommonValues();
+        double[] mostCommonValueFractions = histogram.mostCommonValueFractions();
+        cursor.putInt(boundaries.length);
+        cursor.putInt(mostCommonValues.length);
+        cursor.putLong(Double.doubleToLongBits(histogram.histogramFraction()));
+        for (double boundary : boundaries) {
+            cursor.putLong(Double.doubleToLongBits(boundary));
+        }
+        for (int i = 0; i < mostCommonValues.length; i++) {
+            cursor.putLong(Double.doubleToLongBits(mostCommonValues[i]));
+            cursor.putLong(Double.doubleToLongBits(mostCommonValueFractions[i]));
+        }
     }
 
     @Override
@@ -81,6 +113,36 @@ public class IndexStatisticsLayout extends Layout.Adapter<IndexStatisticsKey, In
         into.setSampleSize(cursor.getLong());
         into.setUpdatesCount(cursor.getLong());
         into.setIndexSize(cursor.getLong());
+        byte format = this.format;
+        double uniqueValuesError = format >= FORMAT_UNIQUE_VALUES_ERROR ? Double.longBitsToDouble(cursor.getLong()) : 0;
+        into.setUniqueValuesError(Double.isFinite(uniqueValuesError) && uniqueValuesError > 0 ? uniqueValuesError : 0);
+        into.setValueHistogram(
+                format >= FORMAT_VALUE_HISTOGRAM ? readValueHistogram(cursor) : IndexValueHistogram.EMPTY);
+    }
+
+    private static IndexValueHistogram readValueHistogram(PageCursor cursor) {
+        int numberOfBoundaries = cursor.getInt();
+        int numberOfMostCommonValues = cursor.getInt();
+        if (numberOfBoundaries < 0
+                || numberOfBoundaries == 1
+                || numberOfBoundaries > IndexValueHistogram.MAX_BUCKETS + 1
+                || numberOfMostCommonValues < 0
+                || numberOfMostCommonValues > IndexValueHistogram.MAX_MOST_COMMON_VALUES) {
+            // This is an inconsistent read which will be retried, or a broken value which is better left unused
+            return IndexValueHistogram.EMPTY;
+        }
+        double histogramFraction = Double.longBitsToDouble(cursor.getLong());
+        double[] boundaries = new double[numberOfBoundaries];
+        for (int i = 0; i < numberOfBoundaries; i++) {
+            boundaries[i] = Double.longBitsToDouble(cursor.getLong());
+        }
+        double[] mostCommonValues = new double[numberOfMostCommonValues];
+        double[] mostCommonValueFractions = new double[numberOfMostCommonValues];
+        for (int i = 0; i < numberOfMostCommonValues; i++) {
+            mostCommonValues[i] = Double.longBitsToDouble(cursor.getLong());
+            mostCommonValueFractions[i] = Double.longBitsToDouble(cursor.getLong());
+        }
+        return new IndexValueHistogram(boundaries, histogramFraction, mostCommonValues, mostCommonValueFractions);
     }
 
     @Override
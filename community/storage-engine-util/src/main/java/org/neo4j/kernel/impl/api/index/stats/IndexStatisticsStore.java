@@ -48,6 +48,7 @@ import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
@@ -60,7 +61,8 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
  */
 public class IndexStatisticsStore extends LifecycleAdapter
         implements IndexStatisticsVisitor.Visitable, ConsistencyCheckable {
-    private static final ImmutableIndexStatistics EMPTY_STATISTICS = new ImmutableIndexStatistics(0, 0, 0, 0);
+    private static final ImmutableIndexStatistics EMPTY_STATISTICS =
+            new ImmutableIndexStatistics(0, 0, 0, 0, 0, IndexValueHistogram.EMPTY);
 
     // Used in GBPTree.seek. Please don't use for writes
     private static final IndexStatisticsKey LOWEST_KEY = new IndexStatisticsKey(Long.MIN_VALUE);
@@ -133,7 +135,8 @@ public class IndexStatisticsStore extends LifecycleAdapter
                     path,
                     layout,
                     GBPTree.NO_MONITOR,
-                    GBPTree.NO_HEADER_READER,
+                    headerBytes -> layout.setFormat(
+                            headerBytes.remaining() > 0 ? headerBytes.get() : IndexStatisticsLayout.FORMAT_COUNTS),
                     recoveryCleanupWorkCollector,
                     readOnly,
                     openOptions.newWithout(PageCacheOpenOptions.MULTI_VERSIONED),
@@ -156,14 +159,25 @@ public class IndexStatisticsStore extends LifecycleAdapter
 
     public IndexSample indexSample(long indexId) {
         ImmutableIndexStatistics value = cache.getOrDefault(indexId, EMPTY_STATISTICS);
-        return new IndexSample(value.indexSize, value.sampleUniqueValues, value.sampleSize, value.updatesCount);
+        return new IndexSample(
+                value.indexSize,
+                value.sampleUniqueValues,
+                value.sampleSize,
+                value.updatesCount,
+                value.uniqueValuesError,
+                value.valueHistogram);
     }
 
     public void replaceStats(long indexId, IndexSample sample) {
         cache.put(
                 indexId,
                 new ImmutableIndexStatistics(
-                        sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize()));
+                        sample.uniqueValues(),
+                        sample.sampleSize(),
+                        sample.updates(),
+                        sample.indexSize(),
+                        sample.uniqueValuesError(),
+                        sample.valueHistogram()));
     }
 
     public void removeIndex(long indexId) {
@@ -177,7 +191,9 @@ public class IndexStatisticsStore extends LifecycleAdapter
                         existing.sampleUniqueValues,
                         existing.sampleSize,
                         existing.updatesCount + delta,
-                        existing.indexSize));
+                        existing.indexSize,
+                        existing.uniqueValuesError,
+                        existing.valueHistogram));
     }
 
     @Override
@@ -200,7 +216,9 @@ public class IndexStatisticsStore extends LifecycleAdapter
         // There's an assumption that there will never be concurrent calls to checkpoint. This is guarded outside.
         clearTree(cursorContext);
         writeCacheContentsIntoTree(cursorContext);
-        tree.checkpoint(flushEvent, cursorContext);
+        // All values in the tree have now been written in the current format
+        layout.setFormat(IndexStatisticsLayout.CURRENT_FORMAT);
+        tree.checkpoint(cursor -> cursor.putByte(IndexStatisticsLayout.CURRENT_FORMAT), flushEvent, cursorContext);
     }
 
     @Override
@@ -254,7 +272,12 @@ public class IndexStatisticsStore extends LifecycleAdapter
                 writer.put(
                         new IndexStatisticsKey(entry.getKey()),
                         new IndexStatisticsValue(
-                                stats.sampleUniqueValues, stats.sampleSize, stats.updatesCount, stats.indexSize));
+                                stats.sampleUniqueValues,
+                                stats.sampleSize,
+                                stats.updatesCount,
+                                stats.indexSize,
+                                stats.uniqueValuesError,
+                                stats.valueHistogram));
             }
         }
     }
@@ -275,16 +298,32 @@ public class IndexStatisticsStore extends LifecycleAdapter
         private final long sampleSize;
         private final long updatesCount;
         private final long indexSize;
+        private final double uniqueValuesError;
+        private final IndexValueHistogram valueHistogram;
 
-        ImmutableIndexStatistics(long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize) {
+        ImmutableIndexStatistics(
+                long sampleUniqueValues,
+                long sampleSize,
+                long updatesCount,
+                long indexSize,
+                double uniqueValuesError,
+                IndexValueHistogram valueHistogram) {
             this.sampleUniqueValues = sampleUniqueValues;
             this.sampleSize = sampleSize;
             this.updatesCount = updatesCount;
             this.indexSize = indexSize;
+            this.uniqueValuesError = uniqueValuesError;
+            this.valueHistogram = valueHistogram;
         }
 
         ImmutableIndexStatistics(IndexStatisticsValue value) {
-            this(value.getSampleUniqueValues(), value.getSampleSize(), value.getUpdatesCount(), value.getIndexSize());
+            this(
+                    value.getSampleUniqueValues(),
+                    value.getSampleSize(),
+                    value.getUpdatesCount(),
+                    value.getIndexSize(),
+                    value.getUniqueValuesError(),
+                    value.getValueHistogram());
         }
     }
 }
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.api.index.stats;
 
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+
 class IndexStatisticsValue {
     static final int SIZE = Long.SIZE * 4;
 
@@ -26,14 +28,24 @@ class IndexStatisticsValue {
     private long sampleSize;
     private long updatesCount;
     private long indexSize;
+    private double uniqueValuesError;
+    private IndexValueHistogram valueHistogram = IndexValueHistogram.EMPTY;
 
     IndexStatisticsValue() {}
 
-    IndexStatisticsValue(long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize) {
+    IndexStatisticsValue(
+            long sampleUniqueValues,
+            long sampleSize,
+            long updatesCount,
+            long indexSize,
+            double uniqueValuesError,
+            IndexValueHistogram valueHistogram) {
         this.sampleUniqueValues = sampleUniqueValues;
         this.sampleSize = sampleSize;
         this.updatesCount = updatesCount;
         this.indexSize = indexSize;
+        this.uniqueValuesError = uniqueValuesError;
+        this.valueHistogram = valueHistogram;
     }
 
     long getSampleUniqueValues() {
@@ -67,4 +79,20 @@ class IndexStatisticsValue {
     public void setIndexSize(long indexSize) {
         this.indexSize = indexSize;
     }
+
+    double getUniqueValuesError() {
+        return uniqueValuesError;
+    }
+
+    void setUniqueValuesError(double uniqueValuesError) {
+        this.uniqueValuesError = uniqueValuesError;
+    }
+
+    IndexValueHistogram getValueHistogram() {
+        return valueHistogram;
+    }
+
+    void setValueHistogram(IndexValueHistogram valueHistogram) {
+        this.valueHistogram = valueHistogram;
+    }
 }
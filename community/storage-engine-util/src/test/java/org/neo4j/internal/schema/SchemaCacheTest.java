@@ -51,6 +51,7 @@ import org.neo4j.storageengine.api.StandardConstraintRuleAccessor;
 import org.neo4j.test.Race;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.ValueCategory;
+import org.neo4j.values.storable.Values;
 
 class SchemaCacheTest {
     private final SchemaRule hans = newIndexRule(1, 0, 5);
@@ -574,6 +575,33 @@ class SchemaCacheTest {
                 .contains(rel35_8);
     }
 
+    @Test
+    void shouldGetIndexesRelatedByIncludedPropertiesSeparately() {
+        IndexDescriptor including = IndexPrototype.forSchema(forLabel(3, 4))
+                .withName("including")
+                .withIndexType(IndexType.RANGE)
+                .withIndexConfig(
+                        IndexConfig.with(IndexDescriptor.INCLUDED_PROPERTIES_SETTING, Values.intArray(new int[] {9})))
+                .materialise(10);
+        SchemaCache cache = newSchemaCache(schema3_4, schema5_6_7, including);
+
+        assertThat(cache.getValueIndexesRelatedTo(noEntityToken, entityTokens(3), properties(9), false, NODE))
+                .isEmpty();
+        assertThat(cache.getValueIndexesRelatedTo(entityTokens(3), noEntityToken, properties(9), true, NODE))
+                .isEmpty();
+        assertThat(cache.getValueIndexesWithIncludedPropertiesRelatedTo(
+                        noEntityToken, entityTokens(3), properties(9), NODE))
+                .containsExactly(including);
+        assertThat(cache.getValueIndexesWithIncludedPropertiesRelatedTo(
+                        noEntityToken, entityTokens(5), properties(9), NODE))
+                .isEmpty();
+        assertThat(cache.getValueIndexesWithIncludedPropertiesRelatedTo(
+                        noEntityToken, entityTokens(3), properties(4), NODE))
+                .isEmpty();
+        assertTrue(cache.hasRelatedSchema(entityTokens(3), 9, NODE));
+        assertFalse(cache.hasRelatedSchema(entityTokens(5), 9, NODE));
+    }
+
     @Test
     void shouldGetRelatedNodeConstraints() {
         // given
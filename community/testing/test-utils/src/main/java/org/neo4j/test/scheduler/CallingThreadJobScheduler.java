@@ -21,11 +21,32 @@ package org.neo4j.test.scheduler;
 
 import static org.mockito.Mockito.mock;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import org.neo4j.scheduler.CallableExecutor;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobMonitoringParams;
 
 public class CallingThreadJobScheduler extends JobSchedulerAdapter {
+    @Override
+    public CallableExecutor executor(Group group) {
+        return new CallableExecutor() {
+            @Override
+            public <T> Future<T> submit(Callable<T> callable) {
+                FutureTask<T> task = new FutureTask<>(callable);
+                task.run();
+                return task;
+            }
+
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+    }
+
     @Override
     public JobHandle<?> schedule(Group group, Runnable job) {
         job.run();